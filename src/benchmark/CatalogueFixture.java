@@ -0,0 +1,58 @@
+package benchmark;
+
+import wms.Register;
+
+/**
+ * The class fills registers with a generated catalogue for the benchmarks.
+ *
+ * @author agent.
+ * @version 1.0
+ * @since Oct 18, 2026.
+ */
+final class CatalogueFixture {
+  private static final String[] BRANDS = {"Pergo", "Rehau", "Nordic Door", "Hunton", "Velux"};
+  private static final String[] COLORS = {"Brown", "White", "Black", "Light brown", "Grey"};
+
+  private CatalogueFixture() {
+  }
+
+  /**
+   * The method creates the item number of the item with the given index.
+   *
+   * @param index index of the item.
+   * @return the item number.
+   */
+  static String itemNumber(int index) {
+    return "IT" + index;
+  }
+
+  /**
+   * The method creates the item numbers of a catalogue of the given size.
+   *
+   * @param size number of items.
+   * @return the item numbers.
+   */
+  static String[] itemNumbers(int size) {
+    String[] itemNumbers = new String[size];
+    for (int i = 0; i < size; i++) {
+      itemNumbers[i] = itemNumber(i);
+    }
+    return itemNumbers;
+  }
+
+  /**
+   * The method registers a catalogue of the given size.
+   * Every tenth item is out of stock, and the items are spread over all categories.
+   *
+   * @param register the register to fill.
+   * @param size number of items.
+   */
+  static void fill(Register register, int size) {
+    for (int i = 0; i < size; i++) {
+      register.registerItem(itemNumber(i), "Benchmark item " + i, 100 + (i * 31) % 9_900,
+              BRANDS[i % BRANDS.length], 1 + i % 40, 0.1 + (i % 30) / 10.0,
+              0.1 + (i % 25) / 10.0, COLORS[i % COLORS.length],
+              i % 10 == 0 ? 0 : 1 + i % 500, 1 + i % 4);
+    }
+  }
+}
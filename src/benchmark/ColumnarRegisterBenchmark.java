@@ -0,0 +1,87 @@
+package benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import wms.ColumnarItemRegister;
+import wms.ConcurrentItemRegister;
+import wms.ItemRegister;
+import wms.ItemView;
+import wms.Register;
+
+/**
+ * The class compares the scan-heavy queries of the ColumnarItemRegister with the registers
+ * that keep one object per item. The ConcurrentItemRegister scans its objects for these queries,
+ * while the ItemRegister answers them from its indexes. The setup prints the retained heap per
+ * item of each register.
+ *
+ * @author agent.
+ * @version 1.0
+ * @since Oct 18, 2026.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class ColumnarRegisterBenchmark {
+
+  @Param({"100000", "1000000"})
+  private int size;
+
+  @Param({"columnar", "object-scan", "object-indexed"})
+  private String implementation;
+
+  private Register register;
+
+  /**
+   * The method registers the catalogue, and prints how much heap it retains per item.
+   */
+  @Setup
+  public void setup() {
+    long before = usedHeap();
+    register = switch (implementation) {
+      case "columnar" -> new ColumnarItemRegister();
+      case "object-scan" -> new ConcurrentItemRegister();
+      default -> new ItemRegister();
+    };
+    CatalogueFixture.fill(register, size);
+    long after = usedHeap();
+    System.out.printf("%n%s: %d bytes of heap per item%n", implementation,
+            (after - before) / size);
+  }
+
+  /**
+   * The method measures the used heap after a full collection.
+   *
+   * @return the used heap in bytes.
+   */
+  private static long usedHeap() {
+    Runtime runtime = Runtime.getRuntime();
+    for (int i = 0; i < 3; i++) {
+      System.gc();
+    }
+    return runtime.totalMemory() - runtime.freeMemory();
+  }
+
+  @Benchmark
+  public List<ItemView> getItemsByCategory() {
+    return register.getItemsByCategory(2);
+  }
+
+  @Benchmark
+  public List<ItemView> checkForRestockOfItems() {
+    return register.checkForRestockOfItems();
+  }
+}
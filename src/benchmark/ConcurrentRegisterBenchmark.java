@@ -0,0 +1,144 @@
+package benchmark;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import wms.ConcurrentItemRegister;
+import wms.ItemRegister;
+import wms.ItemView;
+import wms.Register;
+import wms.ShardedItemRegister;
+
+/**
+ * The class measures how stock movements scale with the number of threads. It compares the
+ * ConcurrentItemRegister and the ShardedItemRegister against an ItemRegister guarded by one
+ * global lock.
+ * Run it once for each thread count to see the scaling, for example with
+ * -Djmh.args="ConcurrentRegisterBenchmark -t 4".
+ *
+ * @author agent.
+ * @version 1.0
+ * @since Oct 18, 2026.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConcurrentRegisterBenchmark {
+  private static final int SIZE = 10_000;
+
+  @Param({"global-lock", "striped", "sharded"})
+  private String implementation;
+
+  private Register register;
+  private String[] itemNumbers;
+
+  /**
+   * The method registers the catalogue before the benchmark.
+   */
+  @Setup
+  public void setup() {
+    register = switch (implementation) {
+      case "striped" -> new ConcurrentItemRegister();
+      case "sharded" -> new ShardedItemRegister();
+      default -> new GlobalLockRegister();
+    };
+    CatalogueFixture.fill(register, SIZE);
+    itemNumbers = CatalogueFixture.itemNumbers(SIZE);
+    for (String itemNumber : itemNumbers) {
+      register.increaseStorage(itemNumber, 1_000_000);
+    }
+  }
+
+  @Benchmark
+  public ItemView read() {
+    return register.getItemByItemNr(itemNumbers[ThreadLocalRandom.current().nextInt(SIZE)]);
+  }
+
+  /**
+   * The method moves one unit in or out of the storage of a random item.
+   *
+   * @return whether the movement succeeded.
+   */
+  @Benchmark
+  public boolean stockMovement() {
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    String itemNumber = itemNumbers[random.nextInt(SIZE)];
+    return random.nextBoolean()
+            ? register.increaseStorage(itemNumber, 1)
+            : register.decreaseStorage(itemNumber, 1);
+  }
+
+  /**
+   * The method looks up an item nine times in ten, and otherwise moves one unit in or out
+   * of its storage.
+   *
+   * @return the item, or null after a movement.
+   */
+  @Benchmark
+  public ItemView mixed() {
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    String itemNumber = itemNumbers[random.nextInt(SIZE)];
+    if (random.nextInt(10) != 0) {
+      return register.getItemByItemNr(itemNumber);
+    }
+    if (random.nextBoolean()) {
+      register.increaseStorage(itemNumber, 1);
+    } else {
+      register.decreaseStorage(itemNumber, 1);
+    }
+    return null;
+  }
+
+  @Benchmark
+  public List<ItemView> listItemsInCategory() {
+    return register.getItemsByCategory(1 + ThreadLocalRandom.current().nextInt(4));
+  }
+
+  /**
+   * The class is an ItemRegister where the benchmarked operations hold one global lock.
+   */
+  private static final class GlobalLockRegister extends ItemRegister {
+    @Override
+    public synchronized void registerItem(String itemNumber, String description, int price,
+                                          String brandName, double weight, double length,
+                                          double height, String color, int amountInStorage,
+                                          int category) {
+      super.registerItem(itemNumber, description, price, brandName, weight, length, height,
+              color, amountInStorage, category);
+    }
+
+    @Override
+    public synchronized ItemView getItemByItemNr(String itemNumber) {
+      return super.getItemByItemNr(itemNumber);
+    }
+
+    @Override
+    public synchronized boolean increaseStorage(String itemNumber, int increase) {
+      return super.increaseStorage(itemNumber, increase);
+    }
+
+    @Override
+    public synchronized boolean decreaseStorage(String itemNumber, int decrease) {
+      return super.decreaseStorage(itemNumber, decrease);
+    }
+
+    @Override
+    public synchronized List<ItemView> getItemsByCategory(int category) {
+      return super.getItemsByCategory(category);
+    }
+  }
+}
@@ -0,0 +1,94 @@
+package benchmark;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import wms.ConcurrentItemRegister;
+import wms.ItemView;
+import wms.UpdateResult;
+
+/**
+ * The class measures conditional price changes by 4 threads on a small set of hot items,
+ * and how many of them are applied or rejected for a version conflict,
+ * against price changes that do not check the version.
+ *
+ * @author agent.
+ * @version 1.0
+ * @since Oct 18, 2026.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+public class ConflictBenchmark {
+  @Param({"1", "16", "1024"})
+  private int hotItems;
+
+  private ConcurrentItemRegister register;
+  private String[] itemNumbers;
+
+  /**
+   * The class counts the outcomes of the conditional updates of one thread.
+   */
+  @State(Scope.Thread)
+  @AuxCounters(AuxCounters.Type.OPERATIONS)
+  public static class Outcomes {
+    public long applied;
+    public long conflicts;
+
+    /**
+     * The method resets the counters before each iteration.
+     */
+    @Setup(Level.Iteration)
+    public void reset() {
+      applied = 0;
+      conflicts = 0;
+    }
+  }
+
+  /**
+   * The method registers the hot items.
+   */
+  @Setup
+  public void setup() {
+    register = new ConcurrentItemRegister();
+    CatalogueFixture.fill(register, hotItems);
+    itemNumbers = CatalogueFixture.itemNumbers(hotItems);
+  }
+
+  @Benchmark
+  public UpdateResult conditionalChangePrice(Outcomes outcomes) {
+    String itemNumber = itemNumbers[ThreadLocalRandom.current().nextInt(hotItems)];
+    ItemView item = register.getItemByItemNr(itemNumber);
+    UpdateResult result = register.changePriceIfVersion(itemNumber, item.getPrice() ^ 1,
+            item.getVersion());
+    if (result.isApplied()) {
+      outcomes.applied++;
+    } else {
+      outcomes.conflicts++;
+    }
+    return result;
+  }
+
+  @Benchmark
+  public boolean lockingChangePrice() {
+    String itemNumber = itemNumbers[ThreadLocalRandom.current().nextInt(hotItems)];
+    return register.changePrice(itemNumber, register.getItemByItemNr(itemNumber).getPrice() ^ 1);
+  }
+}
@@ -0,0 +1,80 @@
+package benchmark;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import wms.ItemEventBus;
+import wms.ItemRegister;
+
+/**
+ * The class measures what publishing change events costs a stock change, in a register of
+ * 100k items without events, with a listener that keeps up, and with a listener that is so
+ * slow that most events are dropped.
+ *
+ * @author agent.
+ * @version 1.0
+ * @since Oct 18, 2026.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EventBenchmark {
+  private static final int SIZE = 100_000;
+
+  @Param({"none", "fastListener", "slowListener"})
+  private String listener;
+
+  private ItemRegister register;
+  private ItemEventBus bus;
+  private String[] itemNumbers;
+  private int next;
+
+  /**
+   * The method registers the catalogue, with an event bus unless there is no listener.
+   */
+  @Setup
+  public void setup() {
+    if (!listener.equals("none")) {
+      bus = new ItemEventBus();
+      bus.subscribe(listener.equals("fastListener") ? events -> { } : events -> {
+        try {
+          Thread.sleep(1);
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+      });
+    }
+    register = new ItemRegister(bus);
+    CatalogueFixture.fill(register, SIZE);
+    itemNumbers = CatalogueFixture.itemNumbers(SIZE);
+  }
+
+  /**
+   * The method closes the event bus.
+   */
+  @TearDown
+  public void tearDown() {
+    if (bus != null) {
+      bus.close();
+    }
+  }
+
+  @Benchmark
+  public boolean increaseStorage() {
+    next = next + 1 == SIZE ? 0 : next + 1;
+    return register.increaseStorage(itemNumbers[next], 1);
+  }
+}
@@ -0,0 +1,82 @@
+package benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import wms.ItemExporter;
+import wms.ItemRegister;
+
+/**
+ * The class measures how long it takes to export a register of 1M items to CSV and to the
+ * binary format, and prints the size of each file.
+ *
+ * @author agent.
+ * @version 1.0
+ * @since Oct 18, 2026.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class ExportBenchmark {
+  private static final int SIZE = 1_000_000;
+
+  private ItemRegister register;
+  private Path directory;
+
+  /**
+   * The method registers the catalogue before the benchmark, and discounts every fifth item.
+   *
+   * @throws IOException if the directory of the exports could not be created.
+   */
+  @Setup
+  public void setup() throws IOException {
+    register = new ItemRegister();
+    CatalogueFixture.fill(register, SIZE);
+    for (int i = 0; i < SIZE; i += 5) {
+      register.addDiscount(CatalogueFixture.itemNumber(i), 10);
+    }
+    directory = Files.createTempDirectory("export-benchmark");
+  }
+
+  /**
+   * The method prints the size of the exports, and deletes them.
+   *
+   * @throws IOException if the exports could not be deleted.
+   */
+  @TearDown
+  public void tearDown() throws IOException {
+    for (String name : new String[] {"catalogue.csv", "catalogue.bin"}) {
+      Path file = directory.resolve(name);
+      if (Files.exists(file)) {
+        System.out.println(name + ": " + Files.size(file) / SIZE + " bytes per item");
+        Files.delete(file);
+      }
+    }
+    Files.delete(directory);
+  }
+
+  @Benchmark
+  public void exportCsv() throws IOException {
+    ItemExporter.exportCsv(register, directory.resolve("catalogue.csv"));
+  }
+
+  @Benchmark
+  public void exportBinary() throws IOException {
+    ItemExporter.exportBinary(register, directory.resolve("catalogue.bin"));
+  }
+}
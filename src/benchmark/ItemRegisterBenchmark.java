@@ -0,0 +1,183 @@
+package benchmark;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SortedMap;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import wms.Item;
+import wms.ItemRegister;
+import wms.ItemView;
+import wms.StockMovement;
+
+/**
+ * The class benchmarks the operations of the ItemRegister for catalogues of 1k to 1M items.
+ * The benchmark profile runs it with the GC profiler, which reports the allocation rate
+ * of each operation: mvn -P benchmark test-compile exec:exec -Djmh.args=ItemRegisterBenchmark
+ *
+ * @author agent.
+ * @version 1.0
+ * @since Oct 18, 2026.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class ItemRegisterBenchmark {
+
+  @Param({"1000", "10000", "100000", "1000000"})
+  private int size;
+
+  private static final int BATCH_SIZE = 500;
+
+  private ItemRegister register;
+  private String[] itemNumbers;
+  private List<StockMovement> batch;
+  private int next;
+
+  /**
+   * The method registers the catalogue before the benchmark.
+   */
+  @Setup
+  public void setup() {
+    register = new ItemRegister();
+    CatalogueFixture.fill(register, size);
+    itemNumbers = CatalogueFixture.itemNumbers(size);
+    // Every item of the batch is moved in and then out again, to keep the amounts constant.
+    batch = new ArrayList<>(BATCH_SIZE);
+    for (int i = 0; i < BATCH_SIZE; i++) {
+      batch.add(new StockMovement(itemNumbers[i / 2 * 7 % size], i % 2 == 0 ? 3 : -3));
+    }
+  }
+
+  /**
+   * The method picks the next item number, walking through the catalogue.
+   *
+   * @return an item number of a registered item.
+   */
+  private String nextItemNumber() {
+    next = next + 1 == size ? 0 : next + 1;
+    return itemNumbers[next];
+  }
+
+  /**
+   * The method registers a new item and removes it again, to keep the catalogue size constant.
+   *
+   * @return whether the item was removed.
+   */
+  @Benchmark
+  public boolean registerItem() {
+    register.registerItem("NEW", "Benchmark item", 100, "Brand", 1, 1, 1, "White", 1, 1);
+    return register.removeItemFromStorage("NEW");
+  }
+
+  @Benchmark
+  public ItemView getItemByItemNr() {
+    return register.getItemByItemNr(nextItemNumber());
+  }
+
+  /**
+   * The method increases and then decreases the storage of an item,
+   * to keep the amount in storage constant.
+   *
+   * @return whether the decrease succeeded.
+   */
+  @Benchmark
+  public boolean increaseAndDecreaseStorage() {
+    String itemNumber = nextItemNumber();
+    register.increaseStorage(itemNumber, 1);
+    return register.decreaseStorage(itemNumber, 1);
+  }
+
+  /**
+   * The method adds a discount to an item and resets it again, to keep the price constant.
+   *
+   * @return whether the reset succeeded.
+   */
+  @Benchmark
+  public boolean addDiscount() {
+    String itemNumber = nextItemNumber();
+    register.addDiscount(itemNumber, 10);
+    return register.resetPriceOfItemToBeforeDiscount(itemNumber);
+  }
+
+  @Benchmark
+  public SortedMap<Integer, String> applyStockMovements() {
+    return register.applyStockMovements(batch);
+  }
+
+  /**
+   * The method applies the same lines as applyStockMovements, with one call per line.
+   * It is the baseline for the throughput of the batch.
+   *
+   * @return whether the last line succeeded.
+   */
+  @Benchmark
+  public boolean stockMovementsOneByOne() {
+    boolean succeeded = false;
+    for (StockMovement movement : batch) {
+      succeeded = movement.getChange() < 0
+              ? register.decreaseStorage(movement.getItemNumber(), -movement.getChange())
+              : register.increaseStorage(movement.getItemNumber(), movement.getChange());
+    }
+    return succeeded;
+  }
+
+  @Benchmark
+  public List<ItemView> getItemsByCategory() {
+    next = next + 1 == size ? 0 : next + 1;
+    return register.getItemsByCategory(1 + next % 4);
+  }
+
+  /**
+   * The method copies every item of a category query, like the register did before it
+   * returned read-only views. It is the baseline for the allocation rate of getItemsByCategory.
+   *
+   * @return copies of the items in the category.
+   */
+  @Benchmark
+  public List<Item> getItemsByCategoryWithCopies() {
+    next = next + 1 == size ? 0 : next + 1;
+    List<ItemView> items = register.getItemsByCategory(1 + next % 4);
+    List<Item> copies = new ArrayList<>(items.size());
+    for (ItemView item : items) {
+      copies.add(new Item(item));
+    }
+    return copies;
+  }
+
+  @Benchmark
+  public List<ItemView> checkForRestockOfItems() {
+    return register.checkForRestockOfItems();
+  }
+
+  @Benchmark
+  public String toStringOfRegister() {
+    return register.toString();
+  }
+
+  /**
+   * The method streams the whole register to a writer that discards the text,
+   * to compare the allocation of streaming with building the text in toString.
+   *
+   * @throws IOException never, the writer discards the text.
+   */
+  @Benchmark
+  public void writeTo() throws IOException {
+    register.writeTo(Writer.nullWriter());
+  }
+}
@@ -0,0 +1,143 @@
+package benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import wms.ItemRegister;
+import wms.Movement;
+import wms.MovementLedger;
+
+/**
+ * The class measures a movement ledger that holds tens of millions of movements, most of
+ * them spilled to disk: recording a change of stock, reading the movements in a time range
+ * and of one item, and reconstructing the stock of one item and of the whole catalogue at
+ * a moment. The clock advances one millisecond per hundred movements.
+ *
+ * @author agent.
+ * @version 1.0
+ * @since Oct 18, 2026.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class LedgerBenchmark {
+  private static final int SIZE = 100_000;
+  private static final int MOVEMENTS_PER_MILLISECOND = 100;
+
+  @Param({"20000000"})
+  private int movements;
+
+  private Path spillDirectory;
+  private long ticks;
+  private MovementLedger ledger;
+  private ItemRegister register;
+  private ItemRegister registerWithoutLedger;
+  private String[] itemNumbers;
+  private long endTime;
+
+  /**
+   * The method registers the catalogue, and records the movements by receiving and issuing
+   * stock of random items.
+   *
+   * @throws IOException if the spill directory could not be created.
+   */
+  @Setup
+  public void setup() throws IOException {
+    spillDirectory = Files.createTempDirectory("ledger");
+    ledger = new MovementLedger(() -> ticks++ / MOVEMENTS_PER_MILLISECOND, spillDirectory, 64);
+    register = new ItemRegister(null, ledger);
+    registerWithoutLedger = new ItemRegister();
+    CatalogueFixture.fill(register, SIZE);
+    CatalogueFixture.fill(registerWithoutLedger, SIZE);
+    itemNumbers = CatalogueFixture.itemNumbers(SIZE);
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    while (ledger.getMovementCount() < movements) {
+      String itemNumber = itemNumbers[random.nextInt(SIZE)];
+      if (!register.increaseStorage(itemNumber, 1 + random.nextInt(10))) {
+        throw new IllegalStateException("The catalogue is missing " + itemNumber + ".");
+      }
+      register.decreaseStorageIfAvailable(itemNumber, random.nextInt(10));
+    }
+    endTime = ticks / MOVEMENTS_PER_MILLISECOND;
+  }
+
+  /**
+   * The method deletes the spilled segments.
+   *
+   * @throws IOException if the files could not be deleted.
+   */
+  @TearDown
+  public void tearDown() throws IOException {
+    ledger.close();
+    Files.deleteIfExists(spillDirectory);
+  }
+
+  /**
+   * The method picks a random moment in the history of the ledger.
+   *
+   * @return the moment.
+   */
+  private long randomTime() {
+    return ThreadLocalRandom.current().nextLong(endTime);
+  }
+
+  @Benchmark
+  public boolean increaseStorage() {
+    return register.increaseStorage(itemNumbers[ThreadLocalRandom.current().nextInt(SIZE)], 1);
+  }
+
+  @Benchmark
+  public boolean increaseStorageWithoutLedger() {
+    return registerWithoutLedger.increaseStorage(
+            itemNumbers[ThreadLocalRandom.current().nextInt(SIZE)], 1);
+  }
+
+  @Benchmark
+  public List<Movement> movementsInTenMilliseconds() {
+    long from = randomTime();
+    return ledger.getMovements(from, from + 10);
+  }
+
+  @Benchmark
+  public int countMovementsInHalfTheHistory() {
+    long from = randomTime() / 2;
+    return ledger.countMovements(from, from + endTime / 2);
+  }
+
+  @Benchmark
+  public List<Movement> movementsOfItem() {
+    return ledger.getMovements(itemNumbers[ThreadLocalRandom.current().nextInt(SIZE)],
+            0, Long.MAX_VALUE);
+  }
+
+  @Benchmark
+  public int stockOfItemAtTime() {
+    return ledger.getStockAt(itemNumbers[ThreadLocalRandom.current().nextInt(SIZE)],
+            randomTime());
+  }
+
+  @Benchmark
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  public Map<String, Integer> stockOfCatalogueAtTime() {
+    return ledger.getStockAt(randomTime());
+  }
+}
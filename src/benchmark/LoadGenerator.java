@@ -0,0 +1,133 @@
+package benchmark;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import wms.DurableItemRegister;
+import wms.FsyncPolicy;
+import wms.RegisterServer;
+
+/**
+ * The class generates load on a register server, the way many handheld scanners would,
+ * and reports the throughput and the 50th and 99th percentile latency.
+ *
+ * <p>Each client repeatedly looks up a random item, and every fifth request increases its
+ * storage instead. Without a URL, a server is started in this process, on a register of
+ * 10k items in a temporary directory whose log is never forced to disk, so the report
+ * shows the cost of the server rather than of the disk. Run it with:
+ * {@code mvn -P benchmark test-compile exec:exec -Dexec.mainClass=benchmark.LoadGenerator}
+ * or directly with java on the test classpath, with the arguments clients, seconds and url.</p>
+ *
+ * @author agent.
+ * @version 1.0
+ * @since Oct 18, 2026.
+ */
+public final class LoadGenerator {
+  private static final int ITEMS = 10_000;
+
+  private LoadGenerator() {
+  }
+
+  /**
+   * The main method runs the load, and prints the report.
+   *
+   * @param args the number of clients, which is 200 if it is not given, the number of seconds,
+   *             which is 10 if it is not given, and the URL of the server, which is a server
+   *             in this process if it is not given.
+   * @throws Exception if the server could not be started, or a client failed.
+   */
+  public static void main(String[] args) throws Exception {
+    int clients = args.length > 0 ? Integer.parseInt(args[0]) : 200;
+    int seconds = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+    if (args.length > 2) {
+      run(args[2], clients, seconds);
+      return;
+    }
+    Path directory = Files.createTempDirectory("wms-load");
+    try (DurableItemRegister register = DurableItemRegister.open(directory,
+            FsyncPolicy.NONE, 0);
+         RegisterServer server = new RegisterServer(register,
+                 new InetSocketAddress("localhost", 0), clients)) {
+      CatalogueFixture.fill(register, ITEMS);
+      run("http://localhost:" + server.getPort(), clients, seconds);
+    }
+  }
+
+  /**
+   * The method runs the clients for a number of seconds, and prints the report.
+   *
+   * @param url the URL of the server.
+   * @param clients the number of clients.
+   * @param seconds the number of seconds.
+   * @throws InterruptedException if the thread is interrupted while waiting for the clients.
+   */
+  private static void run(String url, int clients, int seconds) throws InterruptedException {
+    HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    long end = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+    long[][] latencies = new long[clients][];
+    int[] errors = new int[clients];
+    Thread[] threads = new Thread[clients];
+    for (int c = 0; c < clients; c++) {
+      int id = c;
+      threads[c] = new Thread(() -> {
+        long[] recorded = new long[1024];
+        int count = 0;
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (System.nanoTime() < end) {
+          String itemNumber = CatalogueFixture.itemNumber(random.nextInt(ITEMS));
+          HttpRequest request = random.nextInt(5) == 0
+                  ? HttpRequest.newBuilder(URI.create(url + "/items/" + itemNumber + "/increase"))
+                          .POST(HttpRequest.BodyPublishers.ofString("{\"amount\": 1}")).build()
+                  : HttpRequest.newBuilder(URI.create(url + "/items/" + itemNumber)).build();
+          long start = System.nanoTime();
+          try {
+            if (client.send(request, HttpResponse.BodyHandlers.ofString()).statusCode() != 200) {
+              errors[id]++;
+            }
+          } catch (IOException e) {
+            errors[id]++;
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            break;
+          }
+          if (count == recorded.length) {
+            recorded = Arrays.copyOf(recorded, count * 2);
+          }
+          recorded[count++] = System.nanoTime() - start;
+        }
+        latencies[id] = Arrays.copyOf(recorded, count);
+      });
+      threads[c].start();
+    }
+    for (Thread thread : threads) {
+      thread.join();
+    }
+    long[] all = Arrays.stream(latencies).flatMapToLong(Arrays::stream).sorted().toArray();
+    System.out.printf("%d clients, %d requests in %d s, %.0f requests/s, %d errors%n",
+            clients, all.length, seconds, all.length / (double) seconds,
+            Arrays.stream(errors).sum());
+    if (all.length > 0) {
+      System.out.printf("p50 %.2f ms, p99 %.2f ms, max %.2f ms%n",
+              percentile(all, 0.50), percentile(all, 0.99), all[all.length - 1] / 1e6);
+    }
+  }
+
+  /**
+   * The method finds a percentile of sorted latencies.
+   *
+   * @param sorted the latencies in nanoseconds, sorted ascending.
+   * @param fraction the percentile, as a fraction.
+   * @return the latency in milliseconds.
+   */
+  private static double percentile(long[] sorted, double fraction) {
+    return sorted[Math.min(sorted.length - 1, (int) (sorted.length * fraction))] / 1e6;
+  }
+}
@@ -0,0 +1,69 @@
+package benchmark;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import wms.InstrumentedRegister;
+import wms.ItemRegister;
+import wms.ItemView;
+import wms.Register;
+
+/**
+ * The class measures the overhead of the metrics of an InstrumentedRegister, by running the
+ * same lookups and stock movements on a plain ItemRegister, on an instrumented one that
+ * measures the latency of every call, and on one that measures one call in 16.
+ *
+ * @author agent.
+ * @version 1.0
+ * @since Oct 18, 2026.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MetricsBenchmark {
+  private static final int SIZE = 10_000;
+
+  @Param({"plain", "instrumented", "sampled"})
+  private String implementation;
+
+  private Register register;
+  private String[] itemNumbers;
+
+  /**
+   * The method registers the catalogue before the benchmark.
+   */
+  @Setup
+  public void setup() {
+    ItemRegister itemRegister = new ItemRegister();
+    register = switch (implementation) {
+      case "instrumented" -> new InstrumentedRegister(itemRegister);
+      case "sampled" -> new InstrumentedRegister(itemRegister, 16);
+      default -> itemRegister;
+    };
+    CatalogueFixture.fill(register, SIZE);
+    itemNumbers = CatalogueFixture.itemNumbers(SIZE);
+  }
+
+  @Benchmark
+  public ItemView getItemByItemNr() {
+    return register.getItemByItemNr(itemNumbers[ThreadLocalRandom.current().nextInt(SIZE)]);
+  }
+
+  @Benchmark
+  public boolean increaseStorage() {
+    return register.increaseStorage(itemNumbers[ThreadLocalRandom.current().nextInt(SIZE)], 1);
+  }
+}
@@ -0,0 +1,69 @@
+package benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import wms.ConcurrentItemRegister;
+import wms.ItemView;
+
+/**
+ * The class measures the catalogue-wide scans of the ConcurrentItemRegister, sequential and
+ * in parallel, for catalogues of different sizes. The size where the parallel scans start to
+ * win is the parallel threshold of the register. Run it with as many cores as the register
+ * is deployed on, for example with -Djmh.args="ParallelScanBenchmark -jvmArgs
+ * -XX:ActiveProcessorCount=8".
+ *
+ * @author agent.
+ * @version 1.0
+ * @since Oct 18, 2026.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class ParallelScanBenchmark {
+  @Param({"1000", "10000", "100000", "1000000"})
+  private int size;
+
+  @Param({"sequential", "parallel"})
+  private String mode;
+
+  private ConcurrentItemRegister register;
+
+  /**
+   * The method registers the catalogue before the benchmark.
+   */
+  @Setup
+  public void setup() {
+    register = new ConcurrentItemRegister();
+    CatalogueFixture.fill(register, size);
+    register.setParallelThreshold(mode.equals("parallel") ? 0 : Integer.MAX_VALUE);
+  }
+
+  @Benchmark
+  public List<ItemView> checkForRestockOfItems() {
+    return register.checkForRestockOfItems();
+  }
+
+  @Benchmark
+  public List<ItemView> getItemsByCategory() {
+    return register.getItemsByCategory(2);
+  }
+
+  @Benchmark
+  public long streamItems() {
+    return register.streamItems().count();
+  }
+}
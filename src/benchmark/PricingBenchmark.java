@@ -0,0 +1,83 @@
+package benchmark;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import wms.Campaign;
+import wms.ItemRegister;
+import wms.ItemView;
+import wms.PricingEngine;
+
+/**
+ * The class measures a sale on a whole category, started and ended by discounting every item
+ * and resetting its price, against adding and removing a campaign. It also measures reading
+ * the effective price of an item while a hundred campaigns are active.
+ *
+ * @author agent.
+ * @version 1.0
+ * @since Oct 18, 2026.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PricingBenchmark {
+  private static final int SIZE = 100_000;
+
+  private ItemRegister register;
+  private List<ItemView> categoryItems;
+  private PricingEngine engine;
+  private ItemView[] items;
+
+  /**
+   * The method registers the catalogue, and adds a hundred campaigns on brands and item sets.
+   */
+  @Setup
+  public void setup() {
+    register = new ItemRegister();
+    CatalogueFixture.fill(register, SIZE);
+    categoryItems = register.getItemsByCategory(1);
+    items = register.streamItems().toArray(ItemView[]::new);
+    engine = new PricingEngine();
+    for (int i = 0; i < 100; i++) {
+      engine.addCampaign(Campaign.forItems("Campaign " + i,
+              List.of(CatalogueFixture.itemNumber(i * 7), CatalogueFixture.itemNumber(i * 11)),
+              1 + i % 50, 0, Long.MAX_VALUE));
+    }
+    engine.addCampaign(Campaign.forBrand("Brand week", "Pergo", 15, 0, Long.MAX_VALUE));
+  }
+
+  @Benchmark
+  public int categorySaleWithDiscounts() {
+    for (ItemView item : categoryItems) {
+      register.addDiscount(item.getItemNumber(), 20);
+    }
+    for (ItemView item : categoryItems) {
+      register.resetPriceOfItemToBeforeDiscount(item.getItemNumber());
+    }
+    return categoryItems.size();
+  }
+
+  @Benchmark
+  public boolean categorySaleWithCampaign() {
+    engine.addCampaign(Campaign.forCategory("Category sale", 1, 20, 0, Long.MAX_VALUE));
+    return engine.removeCampaign("Category sale");
+  }
+
+  @Benchmark
+  public int effectivePrice() {
+    return engine.getEffectivePrice(items[ThreadLocalRandom.current().nextInt(SIZE)]);
+  }
+}
@@ -0,0 +1,63 @@
+package benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import wms.Category;
+import wms.ItemAttribute;
+import wms.ItemQuery;
+import wms.ItemRegister;
+import wms.ItemView;
+
+/**
+ * The class compares a query for windows in a narrow price range with a height and weight
+ * limit in a register of 1M items, answered from the range indexes and by a full scan.
+ *
+ * @author agent.
+ * @version 1.0
+ * @since Oct 18, 2026.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class QueryBenchmark {
+  private static final int SIZE = 1_000_000;
+
+  private ItemRegister register;
+  private ItemQuery query;
+
+  /**
+   * The method registers the catalogue, and builds the range indexes with a first query.
+   */
+  @Setup
+  public void setup() {
+    register = new ItemRegister();
+    CatalogueFixture.fill(register, SIZE);
+    query = new ItemQuery().inCategory(Category.WINDOWS.getCategoryNr())
+            .between(ItemAttribute.HEIGHT, 1.2, 1.8).atMost(ItemAttribute.WEIGHT, 40)
+            .between(ItemAttribute.PRICE, 1000, 1100);
+    register.findItems(query);
+  }
+
+  @Benchmark
+  public List<ItemView> indexed() {
+    return register.findItems(query);
+  }
+
+  @Benchmark
+  public List<ItemView> fullScan() {
+    return register.streamItems().filter(query::test).toList();
+  }
+}
@@ -0,0 +1,89 @@
+package benchmark;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import wms.ConcurrentItemRegister;
+import wms.Reservation;
+import wms.ReservationEngine;
+
+/**
+ * The class measures the reservation engine while it holds a million open reservations:
+ * making and releasing a reservation, and advancing the timer wheel by one tick, which
+ * expires the reservations of the tick and makes as many new ones to keep the number open.
+ *
+ * @author agent.
+ * @version 1.0
+ * @since Oct 18, 2026.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ReservationBenchmark {
+  private static final int ITEMS = 10_000;
+  private static final int OPEN_RESERVATIONS = 1_000_000;
+  private static final long TICK_MILLIS = 100;
+  private static final int SLOTS = 4096;
+  private static final long TURN_MILLIS = TICK_MILLIS * SLOTS;
+
+  private AtomicLong clock;
+  private ReservationEngine engine;
+  private String[] itemNumbers;
+
+  /**
+   * The method makes the open reservations, with expiry times spread over a turn of the wheel.
+   */
+  @Setup
+  public void setup() {
+    ConcurrentItemRegister register = new ConcurrentItemRegister();
+    CatalogueFixture.fill(register, ITEMS);
+    itemNumbers = CatalogueFixture.itemNumbers(ITEMS);
+    for (String itemNumber : itemNumbers) {
+      register.increaseStorage(itemNumber, 100_000_000);
+    }
+    clock = new AtomicLong();
+    engine = new ReservationEngine(register, TICK_MILLIS, SLOTS, clock::get);
+    SplittableRandom random = new SplittableRandom(42);
+    for (int i = 0; i < OPEN_RESERVATIONS; i++) {
+      engine.reserve(itemNumbers[random.nextInt(ITEMS)], 1, 1 + random.nextLong(TURN_MILLIS));
+    }
+  }
+
+  @Benchmark
+  public boolean reserveAndRelease() {
+    Reservation reservation = engine.reserve(
+            itemNumbers[ThreadLocalRandom.current().nextInt(ITEMS)], 1, TURN_MILLIS);
+    return engine.release(reservation.getId());
+  }
+
+  /**
+   * The method advances the clock by one tick, expires the reservations of the tick,
+   * and replaces them with reservations that expire a turn of the wheel later.
+   *
+   * @return the number of expired reservations.
+   */
+  @Benchmark
+  public int expireTick() {
+    clock.addAndGet(TICK_MILLIS);
+    int expired = engine.expireReservations();
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    for (int i = 0; i < expired; i++) {
+      engine.reserve(itemNumbers[random.nextInt(ITEMS)], 1, TURN_MILLIS);
+    }
+    return expired;
+  }
+}
@@ -0,0 +1,56 @@
+package benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import wms.ItemRegister;
+import wms.ItemView;
+
+/**
+ * The class measures the latency of searches for the top 10 matches in a register of 1M items:
+ * an item number, an item number prefix, a substring of descriptions, an item number with
+ * a typo, and a brand name shared by a fifth of the catalogue.
+ *
+ * @author agent.
+ * @version 1.0
+ * @since Oct 18, 2026.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class SearchBenchmark {
+  private static final int SIZE = 1_000_000;
+
+  @Param({"it654321", "it65432", "item 65432", "it654e21", "hunton"})
+  private String query;
+
+  private ItemRegister register;
+
+  /**
+   * The method registers the catalogue, and builds the search index with a first search.
+   */
+  @Setup
+  public void setup() {
+    register = new ItemRegister();
+    CatalogueFixture.fill(register, SIZE);
+    register.search("it1", 1);
+  }
+
+  @Benchmark
+  public List<ItemView> search() {
+    return register.search(query, 10);
+  }
+}
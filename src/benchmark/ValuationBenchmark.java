@@ -0,0 +1,102 @@
+package benchmark;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import wms.Category;
+import wms.InventoryValuation;
+import wms.ItemRegister;
+import wms.ItemView;
+
+/**
+ * The class measures reading the stock value, weight and volume of the whole register and of
+ * one category from the running totals, against recomputing them with a full scan. It also
+ * measures the stock and price changes that keep the totals up to date.
+ *
+ * @author agent.
+ * @version 1.0
+ * @since Oct 18, 2026.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class ValuationBenchmark {
+  @Param({"100000"})
+  private int size;
+
+  private ItemRegister register;
+  private String[] itemNumbers;
+  private int next;
+
+  /**
+   * The method registers the catalogue.
+   */
+  @Setup
+  public void setup() {
+    register = new ItemRegister();
+    CatalogueFixture.fill(register, size);
+    itemNumbers = CatalogueFixture.itemNumbers(size);
+  }
+
+  /**
+   * The method retrieves the next item number, going round the catalogue.
+   *
+   * @return the item number.
+   */
+  private String nextItemNumber() {
+    next = next + 1 == size ? 0 : next + 1;
+    return itemNumbers[next];
+  }
+
+  @Benchmark
+  public InventoryValuation valuation() {
+    return register.getValuation();
+  }
+
+  @Benchmark
+  public InventoryValuation valuationOfCategory() {
+    return register.getValuation(Category.DOORS);
+  }
+
+  @Benchmark
+  public BigDecimal fullScan() {
+    long value = 0;
+    BigDecimal weight = BigDecimal.ZERO;
+    BigDecimal volume = BigDecimal.ZERO;
+    for (ItemView item : register.streamItems().toList()) {
+      BigDecimal factor = BigDecimal.valueOf(item.getAmountInStorage());
+      value += (long) item.getPrice() * item.getAmountInStorage();
+      weight = weight.add(new BigDecimal(item.getWeight()).multiply(factor));
+      volume = volume.add(new BigDecimal(item.getLength())
+              .multiply(new BigDecimal(item.getHeight())).multiply(factor));
+    }
+    return weight.add(volume).add(BigDecimal.valueOf(value));
+  }
+
+  @Benchmark
+  public boolean increaseAndDecreaseStorage() {
+    String itemNumber = nextItemNumber();
+    register.increaseStorage(itemNumber, 1);
+    return register.decreaseStorage(itemNumber, 1);
+  }
+
+  @Benchmark
+  public boolean addDiscount() {
+    String itemNumber = nextItemNumber();
+    register.addDiscount(itemNumber, 10);
+    return register.resetPriceOfItemToBeforeDiscount(itemNumber);
+  }
+}
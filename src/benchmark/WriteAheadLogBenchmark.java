@@ -0,0 +1,89 @@
+package benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import wms.DurableItemRegister;
+import wms.FsyncPolicy;
+
+/**
+ * The class measures the mutation throughput of the DurableItemRegister for each fsync policy.
+ * The mutations run on several threads, so group commit can share one fsync between them.
+ *
+ * @author agent.
+ * @version 1.0
+ * @since Oct 18, 2026.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(8)
+public class WriteAheadLogBenchmark {
+  private static final int SIZE = 10_000;
+
+  @Param({"ALWAYS", "GROUP_COMMIT", "NONE"})
+  private FsyncPolicy policy;
+
+  @Param({"100000"})
+  private int snapshotInterval;
+
+  private Path directory;
+  private DurableItemRegister register;
+  private String[] itemNumbers;
+
+  /**
+   * The method opens a durable register in a new directory and registers the catalogue.
+   *
+   * @throws IOException if the register could not be opened.
+   */
+  @Setup
+  public void setup() throws IOException {
+    directory = Files.createTempDirectory("wms-wal-benchmark");
+    register = DurableItemRegister.open(directory, FsyncPolicy.NONE, 0);
+    CatalogueFixture.fill(register, SIZE);
+    register.snapshot();
+    register.close();
+    register = DurableItemRegister.open(directory, policy, snapshotInterval);
+    itemNumbers = CatalogueFixture.itemNumbers(SIZE);
+  }
+
+  /**
+   * The method closes the register and deletes its directory.
+   *
+   * @throws IOException if the directory could not be deleted.
+   */
+  @TearDown
+  public void tearDown() throws IOException {
+    register.close();
+    try (Stream<Path> files = Files.walk(directory)) {
+      for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+        Files.delete(file);
+      }
+    }
+  }
+
+  @Benchmark
+  public boolean increaseStorage() {
+    return register.increaseStorage(itemNumbers[ThreadLocalRandom.current().nextInt(SIZE)], 1);
+  }
+}
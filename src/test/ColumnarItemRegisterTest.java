@@ -0,0 +1,178 @@
+package test;
+
+import java.util.List;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import wms.Category;
+import wms.ColumnarItemRegister;
+import wms.Item;
+import wms.ItemRegister;
+import wms.ItemView;
+import wms.Register;
+
+/**
+ * The class tests the ColumnarItemRegister class.
+ *
+ * @author agent.
+ * @version 1.0
+ * @since Oct 18, 2026.
+ */
+class ColumnarItemRegisterTest {
+
+  private ColumnarItemRegister register;
+
+  @BeforeEach
+  void setup() {
+    register = new ColumnarItemRegister();
+  }
+
+  @Test
+  void shouldRegisterItem() {
+    Item item = new Item("24GH", "Laminate flooring with extra moisture protection",
+            2000, "Pergo", 7.5, 0.3, 1.3, "Brown", 30, 1);
+    addDefaultItem();
+    Assertions.assertEquals(item, register.getItemByItemNr(" 24gh"));
+    Assertions.assertEquals(item.toString(), register.getItemByItemNr("24GH").toString());
+  }
+
+  @Test
+  void shouldNotRegisterItem() {
+    addDefaultItem();
+    Assertions.assertThrows(IllegalArgumentException.class, this::addDefaultItem);
+    Assertions.assertThrows(IllegalArgumentException.class,
+            () -> register.registerItem("25GH", " ", 2000, "Pergo", 7.5, 0.3, 1.3, "Brown", 30, 1));
+  }
+
+  @Test
+  void shouldChangeStorageAndPrice() {
+    addDefaultItem();
+    register.increaseStorage("24GH", 10);
+    register.decreaseStorage("24GH", 5);
+    register.addDiscount("24GH", 60);
+    ItemView item = register.getItemByItemNr("24GH");
+    Assertions.assertEquals(35, item.getAmountInStorage());
+    Assertions.assertEquals(800, item.getPrice());
+    Assertions.assertEquals(1, register.countDiscountedItems());
+    Assertions.assertTrue(register.resetPriceOfItemToBeforeDiscount("24GH"));
+    Assertions.assertEquals(2000, item.getPrice());
+    Assertions.assertEquals(0, register.countDiscountedItems());
+    Assertions.assertFalse(register.resetPriceOfItemToBeforeDiscount("24GH"));
+  }
+
+  @Test
+  void shouldNotDecreaseStorageBelowZero() {
+    addDefaultItem();
+    Assertions.assertThrows(IllegalArgumentException.class,
+            () -> register.decreaseStorage("24GH", 31));
+  }
+
+  @Test
+  void shouldNotIncreaseStorageBeyondLargestAmount() {
+    addDefaultItem();
+    Assertions.assertThrows(IllegalArgumentException.class,
+            () -> register.increaseStorage("24GH", Integer.MAX_VALUE));
+    Assertions.assertEquals(30, register.getItemByItemNr("24GH").getAmountInStorage());
+  }
+
+  @Test
+  void shouldOrderEqualKeysByItemNumber() {
+    for (String itemNumber : List.of("D4", "B2", "A1", "C3", "E5")) {
+      register.registerItem(itemNumber, "Item " + itemNumber, 100, "Brand", 1, 1, 1, "White",
+              0, 1);
+    }
+    Assertions.assertTrue(register.removeItemFromStorage("D4"));
+    Assertions.assertEquals(List.of("A1", "B2", "C3", "E5"), register.getItemsByCategory(1)
+            .stream().map(ItemView::getItemNumber).toList());
+    Assertions.assertEquals(List.of("A1", "B2", "C3", "E5"), register.checkForRestockOfItems()
+            .stream().map(ItemView::getItemNumber).toList());
+  }
+
+  @Test
+  void shouldKeepViewsValidWhenRowsMove() {
+    for (int i = 0; i < 100; i++) {
+      register.registerItem("IT" + i, "Item " + i, i, "Brand", 1, 1, 1, "White", i, 1 + i % 4);
+    }
+    ItemView last = register.getItemByItemNr("IT99");
+    for (int i = 0; i < 99; i += 2) {
+      Assertions.assertTrue(register.removeItemFromStorage("IT" + i));
+    }
+    Assertions.assertEquals(50, register.size());
+    Assertions.assertEquals(99, last.getPrice());
+    for (int i = 1; i < 100; i += 2) {
+      Assertions.assertEquals(i, register.getItemByItemNr("IT" + i).getAmountInStorage());
+    }
+    Assertions.assertNull(register.getItemByItemNr("IT0"));
+  }
+
+  @Test
+  void shouldKeepShowingRemovedItem() {
+    addDefaultItem();
+    register.registerItem("25GH", "Parquet", 3000, "Tarkett", 8, 0.3, 1.2, "Oak", 12, 1);
+    ItemView removed = register.getItemByItemNr("24GH");
+    register.decreaseStorage("24GH", 5);
+    String description = removed.toString();
+    long version = removed.getVersion();
+    Assertions.assertTrue(register.removeItemFromStorage("24GH"));
+    register.registerItem("24GH", "Vinyl flooring", 900, "Pergo", 5, 0.2, 1.2, "Grey", 3, 1);
+    Assertions.assertEquals(25, removed.getAmountInStorage());
+    Assertions.assertEquals(description, removed.toString());
+    Assertions.assertEquals(version, removed.getVersion());
+    Assertions.assertEquals("Vinyl flooring",
+            register.getItemByItemNr("24GH").getDescription());
+    Assertions.assertEquals(12, register.getItemByItemNr("25GH").getAmountInStorage());
+  }
+
+  @Test
+  void shouldMatchItemRegisterQueries() {
+    ItemRegister reference = new ItemRegister();
+    for (int i = 0; i < 200; i++) {
+      register.registerItem("IT" + i, "Item " + i, (i * 37) % 101, "Brand" + i % 3, 1, 1, 1,
+              "White", i % 7, 1 + i % 4);
+      reference.registerItem("IT" + i, "Item " + i, (i * 37) % 101, "Brand" + i % 3, 1, 1, 1,
+              "White", i % 7, 1 + i % 4);
+    }
+    for (int category = 1; category <= 4; category++) {
+      assertSamePrices(reference.getItemsByCategory(category),
+              register.getItemsByCategory(category));
+    }
+    Assertions.assertEquals(reference.checkForRestockOfItems().size(),
+            register.checkForRestockOfItems().size());
+    Assertions.assertEquals(reference.toString().length(), register.toString().length());
+  }
+
+  @Test
+  void shouldMatchItemRegisterReorderThresholds() {
+    ItemRegister reference = new ItemRegister();
+    for (int i = 0; i < 40; i++) {
+      register.registerItem("IT" + i, "Item " + i, 100, "Brand", 1, 1, 1, "White", i,
+              1 + i % 4);
+      reference.registerItem("IT" + i, "Item " + i, 100, "Brand", 1, 1, 1, "White", i,
+              1 + i % 4);
+    }
+    for (Register target : List.of(register, reference)) {
+      target.setReorderThreshold(Category.WINDOWS, 20);
+      Assertions.assertTrue(target.setReorderThreshold("IT5", 30));
+      Assertions.assertTrue(target.setReorderThreshold("IT9", 0));
+      Assertions.assertTrue(target.removeItemFromStorage("IT1"));
+      Assertions.assertFalse(target.setReorderThreshold("IT1", 10));
+    }
+    Assertions.assertEquals(
+            reference.checkForRestockOfItems().stream().map(ItemView::getItemNumber).toList(),
+            register.checkForRestockOfItems().stream().map(ItemView::getItemNumber).toList());
+    Assertions.assertThrows(IllegalArgumentException.class,
+            () -> register.setReorderThreshold(Category.DOORS, -1));
+  }
+
+  private void assertSamePrices(List<ItemView> expected, List<ItemView> actual) {
+    Assertions.assertEquals(expected.size(), actual.size());
+    for (int i = 0; i < expected.size(); i++) {
+      Assertions.assertEquals(expected.get(i).getPrice(), actual.get(i).getPrice());
+    }
+  }
+
+  private void addDefaultItem() {
+    register.registerItem("24GH", "Laminate flooring with extra moisture protection", 2000,
+            "Pergo", 7.5, 0.3, 1.3, "Brown", 30, 1);
+  }
+}
@@ -0,0 +1,198 @@
+package test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import wms.Category;
+import wms.ConcurrentItemRegister;
+import wms.ItemView;
+import wms.StockMovement;
+import wms.UpdateResult;
+
+/**
+ * The class tests the ConcurrentItemRegister class.
+ *
+ * @author agent.
+ * @version 1.0
+ * @since Oct 18, 2026.
+ */
+class ConcurrentItemRegisterTest {
+
+  private ConcurrentItemRegister register;
+
+  @BeforeEach
+  void setup() {
+    register = new ConcurrentItemRegister();
+  }
+
+  @Test
+  void shouldRegisterItem() {
+    addDefaultItem();
+    Assertions.assertEquals(30, register.getItemByItemNr("24gh").getAmountInStorage());
+  }
+
+  @Test
+  void shouldNotRegisterItem() {
+    addDefaultItem();
+    Assertions.assertThrows(IllegalArgumentException.class, this::addDefaultItem);
+  }
+
+  @Test
+  void shouldNotIncreaseStorageOfUnknownItem() {
+    Assertions.assertFalse(register.increaseStorage("24GH", 10));
+  }
+
+  @Test
+  void shouldAddAndResetDiscount() {
+    addDefaultItem();
+    register.addDiscount("24GH", 60);
+    Assertions.assertEquals(800, register.getItemByItemNr("24GH").getPrice());
+    Assertions.assertTrue(register.resetPriceOfItemToBeforeDiscount("24GH"));
+    Assertions.assertEquals(2000, register.getItemByItemNr("24GH").getPrice());
+  }
+
+  @Test
+  void shouldCheckForRestockOfItems() {
+    addDefaultItem();
+    register.decreaseStorage("24GH", 30);
+    Assertions.assertEquals(1, register.checkForRestockOfItems().size());
+  }
+
+  @Test
+  void shouldUseReorderThresholds() {
+    addDefaultItem();
+    register.setReorderThreshold(Category.FLOOR_LAMINATES, 30);
+    Assertions.assertEquals(1, register.checkForRestockOfItems().size());
+    Assertions.assertTrue(register.setReorderThreshold("24gh", 10));
+    Assertions.assertTrue(register.checkForRestockOfItems().isEmpty());
+    register.decreaseStorage("24GH", 20);
+    Assertions.assertEquals(1, register.checkForRestockOfItems().size());
+    Assertions.assertFalse(register.setReorderThreshold("34GH", 10));
+    Assertions.assertThrows(IllegalArgumentException.class,
+            () -> register.setReorderThreshold("24GH", -1));
+  }
+
+  @Test
+  void shouldNotLoseConcurrentStockUpdates() throws Exception {
+    addDefaultItem();
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+    List<Future<?>> futures = new ArrayList<>();
+    for (int i = 0; i < 8; i++) {
+      futures.add(executor.submit(() -> {
+        for (int j = 0; j < 10_000; j++) {
+          register.increaseStorage("24GH", 2);
+          register.decreaseStorage("24GH", 1);
+        }
+      }));
+    }
+    for (Future<?> future : futures) {
+      future.get();
+    }
+    executor.shutdown();
+    Assertions.assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+    Assertions.assertEquals(30 + 8 * 10_000, register.getItemByItemNr("24GH").getAmountInStorage());
+  }
+
+  @Test
+  void shouldApplyConcurrentBatchesAsOneUnit() throws Exception {
+    addDefaultItem();
+    register.registerItem("20GH", "Durable laminate flooring", 1500, "Champs Elysess",
+            6, 0.4, 0.9, "Brown", 0, 1);
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+    List<Future<?>> futures = new ArrayList<>();
+    for (int i = 0; i < 8; i++) {
+      String from = i % 2 == 0 ? "24GH" : "20GH";
+      String to = i % 2 == 0 ? "20GH" : "24GH";
+      futures.add(executor.submit(() -> {
+        for (int j = 0; j < 10_000; j++) {
+          register.applyStockMovements(List.of(new StockMovement(from, -3),
+                  new StockMovement(to, 3)));
+        }
+      }));
+    }
+    for (Future<?> future : futures) {
+      future.get();
+    }
+    executor.shutdown();
+    Assertions.assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+    Assertions.assertEquals(30, register.getItemByItemNr("24GH").getAmountInStorage()
+            + register.getItemByItemNr("20GH").getAmountInStorage());
+    Assertions.assertEquals(1, register.applyStockMovements(List.of(
+            new StockMovement("24GH", 1), new StockMovement("99XX", -1))).size());
+    Assertions.assertEquals(30, register.getItemByItemNr("24GH").getAmountInStorage()
+            + register.getItemByItemNr("20GH").getAmountInStorage());
+  }
+
+  @Test
+  void shouldNeverOversellWithConditionalDecreases() throws Exception {
+    addDefaultItem();
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+    List<Future<Integer>> futures = new ArrayList<>();
+    for (int i = 0; i < 8; i++) {
+      futures.add(executor.submit(() -> {
+        int sold = 0;
+        while (true) {
+          ItemView item = register.getItemByItemNr("24GH");
+          UpdateResult result = register.decreaseStorageIfVersion("24GH", 1, item.getVersion());
+          if (result == UpdateResult.APPLIED) {
+            sold++;
+          } else if (result == UpdateResult.INSUFFICIENT_STOCK) {
+            return sold;
+          }
+        }
+      }));
+    }
+    int sold = 0;
+    for (Future<Integer> future : futures) {
+      sold += future.get();
+    }
+    executor.shutdown();
+    Assertions.assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+    Assertions.assertEquals(30, sold);
+    Assertions.assertEquals(0, register.getItemByItemNr("24GH").getAmountInStorage());
+    Assertions.assertEquals(30, register.getItemByItemNr("24GH").getVersion());
+  }
+
+  @Test
+  void shouldRejectStaleConditionalPriceChange() {
+    addDefaultItem();
+    long version = register.getItemByItemNr("24GH").getVersion();
+    Assertions.assertEquals(UpdateResult.APPLIED,
+            register.changePriceIfVersion("24GH", 2100, version));
+    Assertions.assertEquals(UpdateResult.VERSION_CONFLICT,
+            register.changePriceIfVersion("24GH", 1900, version));
+    Assertions.assertEquals(2100, register.getItemByItemNr("24GH").getPrice());
+    Assertions.assertEquals(UpdateResult.INSUFFICIENT_STOCK,
+            register.decreaseStorageIfAvailable("24GH", 31));
+    Assertions.assertEquals(UpdateResult.NOT_FOUND,
+            register.decreaseStorageIfAvailable("12TL", 1));
+  }
+
+  @Test
+  void shouldGiveSameResultsWithParallelScans() {
+    for (int i = 0; i < 2000; i++) {
+      register.registerItem("IT" + i, "Item " + i, 100 + (i * 31) % 900, "Pergo", 1, 1, 1,
+              "Brown", i % 7 == 0 ? 0 : i, 1 + i % 4);
+    }
+    List<ItemView> restock = register.checkForRestockOfItems();
+    List<ItemView> category = register.getItemsByCategory(2);
+    String description = register.toString();
+    register.setParallelThreshold(0);
+    Assertions.assertEquals(restock, register.checkForRestockOfItems());
+    Assertions.assertEquals(category, register.getItemsByCategory(2));
+    Assertions.assertEquals(description, register.toString());
+    Assertions.assertThrows(IllegalArgumentException.class,
+            () -> register.setParallelThreshold(-1));
+  }
+
+  private void addDefaultItem() {
+    register.registerItem("24GH", "Laminate flooring with extra moisture protection", 2000,
+            "Pergo", 7.5, 0.3, 1.3, "Brown", 30, 1);
+  }
+}
@@ -0,0 +1,262 @@
+package test;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import wms.Campaign;
+import wms.Category;
+import wms.DurableItemRegister;
+import wms.FsyncPolicy;
+import wms.ItemView;
+import wms.StockMovement;
+
+/**
+ * The class tests the DurableItemRegister class.
+ *
+ * @author agent.
+ * @version 1.0
+ * @since Oct 18, 2026.
+ */
+class DurableItemRegisterTest {
+
+  @TempDir
+  Path directory;
+
+  @Test
+  void shouldRecoverFromLog() throws IOException {
+    try (DurableItemRegister register = open(0)) {
+      addItems(register);
+    }
+    try (DurableItemRegister register = open(0)) {
+      assertRecovered(register);
+    }
+  }
+
+  @Test
+  void shouldRecoverFromSnapshotAndLog() throws IOException {
+    try (DurableItemRegister register = open(3)) {
+      addItems(register);
+    }
+    try (DurableItemRegister register = open(3)) {
+      assertRecovered(register);
+      register.snapshot();
+    }
+    try (DurableItemRegister register = open(0)) {
+      assertRecovered(register);
+    }
+  }
+
+  @Test
+  void shouldRestoreItemsInRegistrationOrder() throws IOException {
+    String items;
+    try (DurableItemRegister register = open(0)) {
+      addItems(register);
+      register.registerItem("10AB", "Parquet flooring", 3000, "Tarkett", 8, 0.3, 1.2, "Oak",
+              12, 1);
+      register.registerItem("30AB", "Ceramic wall tile", 300, "Marazzi", 1, 0.3, 0.3, "White",
+              50, 1);
+      register.snapshot();
+      items = register.toString();
+    }
+    try (DurableItemRegister register = open(0)) {
+      Assertions.assertEquals(items, register.toString());
+      Assertions.assertEquals("20GH", register.getItems(1, 1).get(0).getItemNumber());
+    }
+  }
+
+  @Test
+  void shouldKeepVersionsAcrossRestart() throws IOException {
+    long version;
+    try (DurableItemRegister register = open(0)) {
+      addItems(register);
+      version = register.getItemByItemNr("24GH").getVersion();
+      register.snapshot();
+    }
+    try (DurableItemRegister register = open(0)) {
+      Assertions.assertEquals(version, register.getItemByItemNr("24GH").getVersion());
+      register.increaseStorage("24GH", 1);
+      Assertions.assertEquals(version + 1, register.getItemByItemNr("24GH").getVersion());
+    }
+    try (DurableItemRegister register = open(0)) {
+      Assertions.assertEquals(version + 1, register.getItemByItemNr("24GH").getVersion());
+      Assertions.assertFalse(register.decreaseStorageIfVersion("24GH", 1, version).isApplied());
+      Assertions.assertTrue(register.decreaseStorageIfVersion("24GH", 1, version + 1)
+              .isApplied());
+    }
+  }
+
+  @Test
+  void shouldKeepCampaignsAcrossRestart() throws IOException {
+    try (DurableItemRegister register = open(0)) {
+      addItems(register);
+      register.addCampaign(Campaign.forBrand("Pergo week", "pergo", 20, 0, Long.MAX_VALUE));
+      register.addCampaign(Campaign.forItems("Clearance", List.of("20gh"), 50, 0,
+              Long.MAX_VALUE));
+      register.addCampaign(Campaign.forCategory("Floors", 1, 10, 0, Long.MAX_VALUE));
+      Assertions.assertThrows(IllegalArgumentException.class, () -> register.addCampaign(
+              Campaign.forCategory("Floors", 2, 10, 0, Long.MAX_VALUE)));
+      Assertions.assertTrue(register.removeCampaign("Clearance"));
+      Assertions.assertFalse(register.removeCampaign("Clearance"));
+    }
+    try (DurableItemRegister register = open(0)) {
+      Assertions.assertEquals(List.of("Pergo week", "Floors"),
+              register.getCampaigns().stream().map(Campaign::getName).toList());
+      Assertions.assertEquals(800,
+              register.getEffectivePrice(register.getItemByItemNr("24GH")));
+      Assertions.assertEquals(1350,
+              register.getEffectivePrice(register.getItemByItemNr("20GH")));
+    }
+  }
+
+  @Test
+  void shouldKeepReorderThresholdsAcrossRestart() throws IOException {
+    try (DurableItemRegister register = open(0)) {
+      addItems(register);
+      register.setReorderThreshold(Category.FLOOR_LAMINATES, 40);
+      Assertions.assertTrue(register.setReorderThreshold("24GH", 10));
+      Assertions.assertFalse(register.setReorderThreshold("40DS", 10));
+      Assertions.assertThrows(IllegalArgumentException.class,
+              () -> register.setReorderThreshold(Category.DOORS, -1));
+    }
+    try (DurableItemRegister register = open(0)) {
+      Assertions.assertEquals(List.of("20GH"), register.checkForRestockOfItems().stream()
+              .map(ItemView::getItemNumber).toList());
+      register.snapshot();
+    }
+    try (DurableItemRegister register = open(0)) {
+      Assertions.assertEquals(List.of("20GH"), register.checkForRestockOfItems().stream()
+              .map(ItemView::getItemNumber).toList());
+      Assertions.assertTrue(register.decreaseStorage("24GH", 25));
+      Assertions.assertEquals(List.of("20GH", "24GH"), register.checkForRestockOfItems()
+              .stream().map(ItemView::getItemNumber).toList());
+    }
+  }
+
+  @Test
+  void shouldKeepRecordsAppendedAfterBackgroundSnapshot() throws IOException {
+    try (DurableItemRegister register = open(2)) {
+      addItems(register);
+      for (int i = 0; i < 100; i++) {
+        register.increaseStorage("20GH", 1);
+      }
+    }
+    Assertions.assertTrue(Files.exists(directory.resolve("register.snapshot")));
+    try (DurableItemRegister register = open(0)) {
+      Assertions.assertEquals(100, register.getItemByItemNr("20GH").getAmountInStorage());
+      assertRecovered(register);
+    }
+  }
+
+  @Test
+  void shouldRecoverBatchOfStockMovements() throws IOException {
+    try (DurableItemRegister register = open(0)) {
+      addItems(register);
+      Assertions.assertTrue(register.applyStockMovements(List.of(new StockMovement("24gh", -5),
+              new StockMovement("20GH", 7), new StockMovement("24GH", 2))).isEmpty());
+      long size = Files.size(directory.resolve("register.wal"));
+      Assertions.assertEquals(1, register.applyStockMovements(List.of(
+              new StockMovement("20GH", 1), new StockMovement("24GH", -33))).size());
+      Assertions.assertEquals(size, Files.size(directory.resolve("register.wal")));
+    }
+    try (DurableItemRegister register = open(0)) {
+      Assertions.assertEquals(32, register.getItemByItemNr("24GH").getAmountInStorage());
+      Assertions.assertEquals(7, register.getItemByItemNr("20GH").getAmountInStorage());
+    }
+  }
+
+  @Test
+  void shouldIgnoreTornRecordAtEndOfLog() throws IOException {
+    try (DurableItemRegister register = open(0)) {
+      addItems(register);
+    }
+    Path log = directory.resolve("register.wal");
+    try (FileChannel channel = FileChannel.open(log, StandardOpenOption.WRITE)) {
+      channel.truncate(channel.size() - 3);
+    }
+    try (DurableItemRegister register = open(0)) {
+      Assertions.assertEquals("Durable laminate flooring",
+              register.getItemByItemNr("20GH").getDescription());
+      register.increaseStorage("24GH", 1);
+    }
+    try (DurableItemRegister register = open(0)) {
+      Assertions.assertEquals(36, register.getItemByItemNr("24GH").getAmountInStorage());
+    }
+  }
+
+  @Test
+  void shouldNotLogFailedMutations() throws IOException {
+    try (DurableItemRegister register = open(0)) {
+      addItems(register);
+      long size = Files.size(directory.resolve("register.wal"));
+      Assertions.assertFalse(register.increaseStorage("99XX", 5));
+      Assertions.assertThrows(IllegalArgumentException.class,
+              () -> register.changePrice("24GH", -1));
+      Assertions.assertEquals(size, Files.size(directory.resolve("register.wal")));
+    }
+  }
+
+  @Test
+  void shouldStartFromSnapshotOfMillionItems() throws IOException {
+    int size = 1_000_000;
+    try (DurableItemRegister register =
+                 DurableItemRegister.open(directory, FsyncPolicy.NONE, 0)) {
+      for (int i = 0; i < size; i++) {
+        register.registerItem("IT" + i, "Item " + i, 100 + i % 1000, "Brand " + i % 50,
+                1, 1, 1, "Color " + i % 10, i % 100, 1 + i % 4);
+      }
+      register.addDiscount("IT42", 50);
+      register.snapshot();
+    }
+    long start = System.nanoTime();
+    try (DurableItemRegister register =
+                 DurableItemRegister.open(directory, FsyncPolicy.NONE, 0)) {
+      Assertions.assertEquals("Brand 49", register.getItemByItemNr("IT999999").getBrandName());
+      long coldStart = System.nanoTime() - start;
+      Assertions.assertEquals(size, register.size());
+      Assertions.assertEquals(71, register.getItemByItemNr("it42").getPrice());
+
+      start = System.nanoTime();
+      Assertions.assertTrue(register.resetPriceOfItemToBeforeDiscount("IT42"));
+      long rebuild = System.nanoTime() - start;
+      Assertions.assertEquals(142, register.getItemByItemNr("IT42").getPrice());
+      Assertions.assertEquals(size, register.size());
+      System.out.println("Snapshot of " + size + " items: cold start and first lookup "
+              + coldStart / 1_000_000 + " ms, rebuild of the register "
+              + rebuild / 1_000_000 + " ms");
+    }
+  }
+
+  private DurableItemRegister open(int snapshotInterval) throws IOException {
+    return DurableItemRegister.open(directory, FsyncPolicy.GROUP_COMMIT, snapshotInterval);
+  }
+
+  private void addItems(DurableItemRegister register) {
+    register.registerItem("24GH", "Laminate flooring with extra moisture protection", 2000,
+            "Pergo", 7.5, 0.3, 1.3, "Brown", 30, 1);
+    register.registerItem("20GH", "Durable laminate flooring", 1500,
+            "Champs Elysess", 6, 0.4, 0.9, "Brown", 0, 1);
+    register.registerItem("40DS", "Wooden outer door", 6200,
+            "Nordic Door", 10, 1.2, 2.2, "Black", 0, 3);
+    register.increaseStorage("24GH", 10);
+    register.decreaseStorage("24GH", 5);
+    register.addDiscount("24GH", 50);
+    register.removeItemFromStorage("40DS");
+    register.changeDescription("20GH", "Durable laminate flooring");
+  }
+
+  private void assertRecovered(DurableItemRegister register) {
+    Assertions.assertEquals(2, register.size());
+    Assertions.assertEquals(35, register.getItemByItemNr("24GH").getAmountInStorage());
+    Assertions.assertEquals(1000, register.getItemByItemNr("24GH").getPrice());
+    Assertions.assertNull(register.getItemByItemNr("40DS"));
+    Assertions.assertTrue(register.resetPriceOfItemToBeforeDiscount("24GH"));
+    Assertions.assertEquals(2000, register.getItemByItemNr("24GH").getPrice());
+    Assertions.assertTrue(register.addDiscount("24GH", 50));
+  }
+}
@@ -0,0 +1,100 @@
+package test;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import wms.InstrumentedRegister;
+import wms.ItemRegister;
+import wms.OperationMetricsMXBean;
+import wms.StockMovement;
+
+/**
+ * The class tests the InstrumentedRegister class.
+ *
+ * @author agent.
+ * @version 1.0
+ * @since Oct 18, 2026.
+ */
+class InstrumentedRegisterTest {
+
+  private InstrumentedRegister register;
+
+  @BeforeEach
+  void setup() {
+    register = new InstrumentedRegister(new ItemRegister());
+    register.registerItem("24GH", "Laminate flooring with extra moisture protection", 2000,
+            "Pergo", 7.5, 0.3, 1.3, "Brown", 30, 1);
+    register.registerItem("32VD", "Two-way window", 1600,
+            "Rehau", 8, 0.50, 0.50, "White", 0, 2);
+  }
+
+  @Test
+  void shouldCountCallsFailuresAndErrors() {
+    Assertions.assertNotNull(register.getItemByItemNr("24GH"));
+    Assertions.assertNull(register.getItemByItemNr("12TL"));
+    Assertions.assertFalse(register.increaseStorage("12TL", 1));
+    Assertions.assertThrows(IllegalArgumentException.class,
+            () -> register.increaseStorage("24GH", -1));
+    Assertions.assertTrue(register.addDiscount("24GH", 10));
+
+    OperationMetricsMXBean lookups = register.getOperationMetrics("getItemByItemNr");
+    Assertions.assertEquals(2, lookups.getCalls());
+    Assertions.assertEquals(1, lookups.getFailures());
+    Assertions.assertTrue(lookups.getP50Nanos() <= lookups.getP99Nanos());
+    Assertions.assertTrue(lookups.getP99Nanos() <= lookups.getMaxNanos());
+    OperationMetricsMXBean increases = register.getOperationMetrics("increaseStorage");
+    Assertions.assertEquals(2, increases.getCalls());
+    Assertions.assertEquals(1, increases.getFailures());
+    Assertions.assertEquals(1, increases.getErrors());
+
+    Assertions.assertEquals(2, register.getItemCount());
+    Assertions.assertEquals(1, register.getOutOfStockCount());
+    Assertions.assertEquals(1, register.getDiscountedItemCount());
+    Assertions.assertThrows(IllegalArgumentException.class,
+            () -> new InstrumentedRegister(new ItemRegister(), 3));
+    String dump = register.dumpMetrics();
+    Assertions.assertTrue(dump.contains("wms_items_out_of_stock 1\n"));
+    Assertions.assertTrue(dump.contains("wms_operation_calls{operation=\"registerItem\"} 2\n"));
+  }
+
+  @Test
+  void shouldTrackItemsOutOfStock() {
+    ItemRegister items = new ItemRegister();
+    items.registerItem("20GH", "Durable laminate flooring", 1500,
+            "Champs Elysess", 6, 0.4, 0.9, "Brown", 0, 1);
+    InstrumentedRegister instrumented = new InstrumentedRegister(items);
+    Assertions.assertEquals(1, instrumented.getOutOfStockCount());
+    instrumented.registerItem("24GH", "Laminate flooring with extra moisture protection", 2000,
+            "Pergo", 7.5, 0.3, 1.3, "Brown", 3, 1);
+    Assertions.assertEquals(1, instrumented.getOutOfStockCount());
+    Assertions.assertTrue(instrumented.decreaseStorage("24gh", 3));
+    Assertions.assertEquals(2, instrumented.getOutOfStockCount());
+    Assertions.assertTrue(instrumented.applyStockMovements(List.of(
+            new StockMovement("20GH", 5), new StockMovement("24GH", 1))).isEmpty());
+    Assertions.assertEquals(0, instrumented.getOutOfStockCount());
+    Assertions.assertTrue(instrumented.decreaseStorage("20GH", 5));
+    Assertions.assertEquals(1, instrumented.getOutOfStockCount());
+    Assertions.assertTrue(instrumented.removeItemFromStorage("20GH"));
+    Assertions.assertEquals(0, instrumented.getOutOfStockCount());
+  }
+
+  @Test
+  void shouldExposeMetricsThroughJmx() throws Exception {
+    MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+    register.registerMBeans("test");
+    try {
+      register.changePrice("24GH", 2100);
+      Assertions.assertEquals(2, server.getAttribute(
+              new ObjectName("wms:type=Register,name=\"test\""), "ItemCount"));
+      Assertions.assertEquals(1L, server.getAttribute(new ObjectName(
+              "wms:type=RegisterOperation,register=\"test\",operation=changePrice"), "Calls"));
+    } finally {
+      register.unregisterMBeans();
+    }
+    Assertions.assertTrue(server.queryNames(new ObjectName("wms:*"), null).isEmpty());
+  }
+}
@@ -0,0 +1,174 @@
+package test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Predicate;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import wms.Category;
+import wms.InventoryValuation;
+import wms.ItemRegister;
+import wms.ItemView;
+import wms.ShardedItemRegister;
+import wms.StockMovement;
+
+/**
+ * The class tests the valuations kept by the ItemRegister class.
+ *
+ * @author agent.
+ * @version 1.0
+ * @since Oct 18, 2026.
+ */
+class InventoryValuationTest {
+  private static final String[] BRANDS = {"Pergo", "pergo", "Tarkett", "Boen", "Kahrs"};
+  private static final double[] SIZES = {0.1, 0.3, 1.3, 2.05, 7.5, 12.25, 1e-3};
+
+  private ItemRegister register;
+
+  @BeforeEach
+  void setup() {
+    register = new ItemRegister();
+  }
+
+  /**
+   * The method recomputes a valuation from the items that match a filter.
+   *
+   * @param items the items.
+   * @param filter the filter.
+   * @return the valuation, as the item count, amount, value, weight and volume.
+   */
+  private static List<Object> recompute(List<ItemView> items, Predicate<ItemView> filter) {
+    int itemCount = 0;
+    long amount = 0;
+    long value = 0;
+    BigDecimal weight = BigDecimal.ZERO;
+    BigDecimal volume = BigDecimal.ZERO;
+    for (ItemView item : items) {
+      if (filter.test(item)) {
+        BigDecimal factor = BigDecimal.valueOf(item.getAmountInStorage());
+        itemCount++;
+        amount += item.getAmountInStorage();
+        value += (long) item.getPrice() * item.getAmountInStorage();
+        weight = weight.add(new BigDecimal(item.getWeight()).multiply(factor));
+        volume = volume.add(new BigDecimal(item.getLength())
+                .multiply(new BigDecimal(item.getHeight())).multiply(factor));
+      }
+    }
+    return List.of(itemCount, amount, value, weight.stripTrailingZeros(),
+            volume.stripTrailingZeros());
+  }
+
+  /**
+   * The method converts a valuation to the same form as a recomputed one.
+   *
+   * @param valuation the valuation.
+   * @return the item count, amount, value, weight and volume.
+   */
+  private static List<Object> valuesOf(InventoryValuation valuation) {
+    return List.of(valuation.getItemCount(), valuation.getTotalAmount(),
+            valuation.getStockValue(), valuation.getTotalWeight().stripTrailingZeros(),
+            valuation.getTotalVolume().stripTrailingZeros());
+  }
+
+  /**
+   * The method checks every valuation of the register against a recomputation.
+   */
+  private void assertMatchesRecomputation() {
+    List<ItemView> items = register.streamItems().toList();
+    Assertions.assertEquals(recompute(items, item -> true), valuesOf(register.getValuation()));
+    for (Category category : Category.values()) {
+      Assertions.assertEquals(
+              recompute(items, item -> item.getCategory() == category.getCategoryNr()),
+              valuesOf(register.getValuation(category)));
+    }
+    for (String brand : BRANDS) {
+      Assertions.assertEquals(
+              recompute(items, item -> item.getBrandName().equalsIgnoreCase(brand)),
+              valuesOf(register.getValuationOfBrand(brand)));
+    }
+  }
+
+  @Test
+  void shouldMatchRecomputationAfterRandomChanges() {
+    Random random = new Random(42);
+    List<String> itemNumbers = new ArrayList<>();
+    for (int i = 0; i < 5_000; i++) {
+      int operation = itemNumbers.isEmpty() ? 0 : random.nextInt(8);
+      String itemNumber = itemNumbers.isEmpty()
+              ? null : itemNumbers.get(random.nextInt(itemNumbers.size()));
+      switch (operation) {
+        case 0 -> {
+          String newItemNumber = "N" + i;
+          register.registerItem(newItemNumber, "Item " + i, random.nextInt(10_000),
+                  BRANDS[random.nextInt(BRANDS.length)], SIZES[random.nextInt(SIZES.length)],
+                  SIZES[random.nextInt(SIZES.length)], SIZES[random.nextInt(SIZES.length)],
+                  "Brown", random.nextInt(100), 1 + random.nextInt(4));
+          itemNumbers.add(newItemNumber);
+        }
+        case 1 -> register.increaseStorage(itemNumber, random.nextInt(50));
+        case 2 -> register.decreaseStorageIfAvailable(itemNumber, random.nextInt(50));
+        case 3 -> register.changePrice(itemNumber, random.nextInt(10_000));
+        case 4 -> register.addDiscount(itemNumber, random.nextInt(101));
+        case 5 -> register.resetPriceOfItemToBeforeDiscount(itemNumber);
+        case 6 -> register.applyStockMovements(List.of(
+                new StockMovement(itemNumber, random.nextInt(20)),
+                new StockMovement(itemNumbers.get(random.nextInt(itemNumbers.size())),
+                        -random.nextInt(5))));
+        default -> {
+          if (random.nextInt(4) == 0) {
+            register.removeItemFromStorage(itemNumber);
+            itemNumbers.remove(itemNumber);
+          }
+        }
+      }
+      if (i % 500 == 0) {
+        assertMatchesRecomputation();
+      }
+    }
+    assertMatchesRecomputation();
+  }
+
+  @Test
+  void shouldValueCategoriesAndBrands() {
+    register.registerItem("24GH", "Laminate flooring", 200, "Pergo",
+            7.5, 0.3, 1.3, "Brown", 30, 1);
+    register.registerItem("42GH", "Laminate flooring", 100, "PERGO ",
+            2.5, 1.0, 2.0, "Brown", 10, 1);
+    register.registerItem("11AB", "Window", 5000, "Velux",
+            12.0, 1.0, 1.0, "White", 2, 2);
+    register.addDiscount("11AB", 50);
+    register.decreaseStorage("24GH", 10);
+
+    InventoryValuation pergo = register.getValuationOfBrand("pergo");
+    Assertions.assertEquals(2, pergo.getItemCount());
+    Assertions.assertEquals(30, pergo.getTotalAmount());
+    Assertions.assertEquals(200 * 20 + 100 * 10, pergo.getStockValue());
+    Assertions.assertEquals(0, new BigDecimal("175").compareTo(pergo.getTotalWeight()));
+    Assertions.assertEquals(5000, register.getValuation(Category.WINDOWS).getStockValue());
+    Assertions.assertEquals(10_000, register.getValuation().getStockValue());
+    Assertions.assertEquals(0, register.getValuation(Category.DOORS).getItemCount());
+
+    register.removeItemFromStorage("11AB");
+    Assertions.assertEquals(0, register.getValuationOfBrand("Velux").getItemCount());
+    Assertions.assertEquals(0, register.getValuation(Category.WINDOWS).getStockValue());
+  }
+
+  @Test
+  void shouldAddUpValuationsOfShards() {
+    ShardedItemRegister sharded = new ShardedItemRegister(8);
+    for (int i = 0; i < 100; i++) {
+      sharded.registerItem("N" + i, "Item " + i, i, BRANDS[i % BRANDS.length],
+              0.1, 0.3, 1.3, "Brown", i, 1 + i % 4);
+      register.registerItem("N" + i, "Item " + i, i, BRANDS[i % BRANDS.length],
+              0.1, 0.3, 1.3, "Brown", i, 1 + i % 4);
+    }
+    Assertions.assertEquals(valuesOf(register.getValuation()), valuesOf(sharded.getValuation()));
+    Assertions.assertEquals(valuesOf(register.getValuation(Category.LUMBER)),
+            valuesOf(sharded.getValuation(Category.LUMBER)));
+    Assertions.assertEquals(valuesOf(register.getValuationOfBrand("Boen")),
+            valuesOf(sharded.getValuationOfBrand("Boen")));
+  }
+}
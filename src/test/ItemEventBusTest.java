@@ -0,0 +1,140 @@
+package test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import wms.ItemEvent;
+import wms.ItemEventBus;
+import wms.ItemEventType;
+import wms.ItemRegister;
+import wms.StockMovement;
+
+/**
+ * The class tests the ItemEventBus class, and the events published by the ItemRegister class.
+ *
+ * @author agent.
+ * @version 1.0
+ * @since Oct 18, 2026.
+ */
+class ItemEventBusTest {
+  private List<ItemEvent> received;
+
+  @BeforeEach
+  void setup() {
+    received = new ArrayList<>();
+  }
+
+  @Test
+  void shouldPublishEveryChangeInOrder() {
+    ItemEventBus bus = new ItemEventBus(8, 3);
+    bus.subscribe(received::addAll);
+    ItemRegister register = new ItemRegister(bus);
+    register.registerItem("24GH", "Laminate flooring with extra moisture protection", 2000,
+            "Pergo", 7.5, 0.3, 1.3, "Brown", 30, 1);
+    register.increaseStorage("24GH", 10);
+    register.decreaseStorage("24GH", 0);
+    register.applyStockMovements(List.of(new StockMovement("24gh", -15),
+            new StockMovement("24GH", 5)));
+    register.addDiscount("24GH", 50);
+    register.resetPriceOfItemToBeforeDiscount("24GH");
+    register.changePrice("24GH", 2100);
+    register.changeDescription("24GH", "Laminate flooring");
+    register.removeItemFromStorage("24GH");
+    bus.close();
+    Assertions.assertEquals(List.of(ItemEventType.REGISTERED, ItemEventType.STOCK_CHANGED,
+            ItemEventType.STOCK_CHANGED, ItemEventType.DISCOUNT_APPLIED,
+            ItemEventType.DISCOUNT_RESET, ItemEventType.PRICE_CHANGED,
+            ItemEventType.DESCRIPTION_CHANGED, ItemEventType.REMOVED),
+            received.stream().map(ItemEvent::getType).toList());
+    Assertions.assertEquals(30, received.get(0).getItem().getAmountInStorage());
+    Assertions.assertEquals(40, received.get(2).getOldValue());
+    Assertions.assertEquals(30, received.get(2).getNewValue());
+    Assertions.assertEquals(1000, received.get(3).getNewValue());
+    Assertions.assertEquals("Laminate flooring", received.get(6).getDescription());
+    Assertions.assertEquals(2100, received.get(7).getItem().getPrice());
+    Assertions.assertEquals(8, bus.getPublishedCount());
+    Assertions.assertEquals(0, bus.getDroppedCount());
+  }
+
+  @Test
+  void shouldDropEventsInsteadOfWaitingForSlowListener() throws InterruptedException {
+    ItemEventBus bus = new ItemEventBus(4, 1);
+    CountDownLatch delivering = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    bus.subscribe(events -> {
+      delivering.countDown();
+      try {
+        release.await();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      received.addAll(events);
+    });
+    ItemRegister register = new ItemRegister(bus);
+    register.registerItem("24GH", "Laminate flooring", 2000, "Pergo", 7.5, 0.3, 1.3,
+            "Brown", 30, 1);
+    Assertions.assertTrue(delivering.await(10, TimeUnit.SECONDS));
+    for (int i = 0; i < 10; i++) {
+      register.increaseStorage("24GH", 1);
+    }
+    Assertions.assertEquals(40, register.getItemByItemNr("24GH").getAmountInStorage());
+    release.countDown();
+    bus.close();
+    Assertions.assertEquals(5, bus.getPublishedCount());
+    Assertions.assertEquals(6, bus.getDroppedCount());
+    Assertions.assertEquals(5, received.size());
+    Assertions.assertEquals(34, received.get(4).getNewValue());
+  }
+
+  @Test
+  void shouldCountListenerFailures() {
+    ItemEventBus bus = new ItemEventBus(8, 1);
+    bus.subscribe(events -> {
+      throw new IllegalStateException();
+    });
+    bus.subscribe(received::addAll);
+    ItemRegister register = new ItemRegister(bus);
+    register.registerItem("24GH", "Laminate flooring", 2000, "Pergo", 7.5, 0.3, 1.3,
+            "Brown", 30, 1);
+    register.increaseStorage("24GH", 1);
+    bus.close();
+    Assertions.assertEquals(2, received.size());
+    Assertions.assertEquals(2, bus.getListenerFailureCount());
+  }
+
+  @Test
+  void shouldDeliverOrDropEveryEventPublishedWhileClosing() throws InterruptedException {
+    for (int round = 0; round < 50; round++) {
+      ItemEventBus bus = new ItemEventBus(1 << 12, 64);
+      AtomicLong delivered = new AtomicLong();
+      bus.subscribe(events -> delivered.addAndGet(events.size()));
+      ItemRegister register = new ItemRegister(bus);
+      register.registerItem("24GH", "Laminate flooring", 2000, "Pergo", 7.5, 0.3, 1.3,
+              "Brown", 30, 1);
+      CountDownLatch started = new CountDownLatch(2);
+      List<Thread> publishers = new ArrayList<>();
+      for (int t = 0; t < 2; t++) {
+        Thread publisher = new Thread(() -> {
+          started.countDown();
+          for (int i = 0; i < 2000; i++) {
+            register.increaseStorage("24GH", 1);
+          }
+        });
+        publisher.start();
+        publishers.add(publisher);
+      }
+      started.await();
+      bus.close();
+      for (Thread publisher : publishers) {
+        publisher.join();
+      }
+      Assertions.assertEquals(bus.getPublishedCount(), delivered.get());
+      Assertions.assertEquals(4001, bus.getPublishedCount() + bus.getDroppedCount());
+    }
+  }
+}
@@ -0,0 +1,103 @@
+package test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import wms.DurableItemRegister;
+import wms.FsyncPolicy;
+import wms.ImportReport;
+import wms.ItemExporter;
+import wms.ItemImporter;
+import wms.ItemRegister;
+import wms.ItemView;
+
+/**
+ * The class tests the ItemExporter class.
+ *
+ * @author agent.
+ * @version 1.0
+ * @since Oct 18, 2026.
+ */
+class ItemExporterTest {
+
+  private ItemRegister register;
+
+  @TempDir
+  Path directory;
+
+  @BeforeEach
+  void setup() {
+    register = new ItemRegister();
+    register.registerItem("24GH", "Laminate flooring, with \"extra\" moisture protection", 2000,
+            "Pergo", 7.5, 0.3, 1.3, "Brown", 30, 1);
+    register.registerItem("40DS", "Wooden outer door", 6200,
+            "Nordic Door", 10, 1.2, 2.2, "Black", 0, 3);
+    for (int i = 0; i < 10_000; i++) {
+      register.registerItem("IT" + i, "Item " + i, i, "Brand", 0.1 + i, 1, 1, "White", i,
+              1 + i % 4);
+    }
+    register.addDiscount("24GH", 25);
+  }
+
+  @Test
+  void shouldExportAndImportCsv() throws IOException {
+    Path file = directory.resolve("catalogue.csv");
+    ItemExporter.exportCsv(register, file);
+    Assertions.assertTrue(Files.readString(file).startsWith("itemNumber,description,price"));
+    ItemRegister imported = new ItemRegister();
+    ImportReport report = new ItemImporter(',').importItems(file, imported);
+    assertSameRegister(report, imported);
+  }
+
+  @Test
+  void shouldExportAndImportBinary() throws IOException {
+    Path file = directory.resolve("catalogue.bin");
+    ItemExporter.exportBinary(register, file);
+    ItemRegister imported = new ItemRegister();
+    ImportReport report = ItemImporter.importBinary(file, imported);
+    assertSameRegister(report, imported);
+  }
+
+  @Test
+  void shouldExportDurableRegister() throws IOException {
+    Path logDirectory = directory.resolve("register");
+    Path file = directory.resolve("catalogue.bin");
+    ItemExporter.exportBinary(register, file);
+    try (DurableItemRegister durable = DurableItemRegister.open(logDirectory,
+            FsyncPolicy.GROUP_COMMIT, 0)) {
+      ItemImporter.importBinary(file, durable);
+      durable.snapshot();
+    }
+    try (DurableItemRegister durable = DurableItemRegister.open(logDirectory,
+            FsyncPolicy.GROUP_COMMIT, 0)) {
+      Path csvFile = directory.resolve("durable.csv");
+      ItemExporter.exportCsv(durable, csvFile);
+      ItemRegister imported = new ItemRegister();
+      assertSameRegister(new ItemImporter(',').importItems(csvFile, imported), imported);
+      Path binaryFile = directory.resolve("durable.bin");
+      ItemExporter.exportBinary(durable, binaryFile);
+      imported = new ItemRegister();
+      assertSameRegister(ItemImporter.importBinary(binaryFile, imported), imported);
+    }
+  }
+
+  private void assertSameRegister(ImportReport report, ItemRegister imported) {
+    Assertions.assertEquals(register.size(), report.getImportedCount());
+    Assertions.assertTrue(report.getRejectedRows().isEmpty());
+    List<ItemView> items = register.streamItems().toList();
+    Assertions.assertEquals(items, imported.streamItems().toList());
+    for (ItemView item : items) {
+      Assertions.assertEquals(item.toString(),
+              imported.getItemByItemNr(item.getItemNumber()).toString());
+    }
+    Assertions.assertEquals(1500, imported.getItemByItemNr("24GH").getPrice());
+    Assertions.assertTrue(imported.resetPriceOfItemToBeforeDiscount("24GH"));
+    Assertions.assertEquals(2000, imported.getItemByItemNr("24GH").getPrice());
+    Assertions.assertFalse(imported.resetPriceOfItemToBeforeDiscount("40DS"));
+  }
+}
@@ -0,0 +1,139 @@
+package test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import wms.DurableItemRegister;
+import wms.FsyncPolicy;
+import wms.ImportReport;
+import wms.ItemExporter;
+import wms.ItemImporter;
+import wms.ItemRegister;
+
+/**
+ * The class tests the ItemImporter class.
+ *
+ * @author agent.
+ * @version 1.0
+ * @since Oct 18, 2026.
+ */
+class ItemImporterTest {
+  private static final String HEADER = "itemNumber,description,price,brandName,weight,"
+          + "length,height,color,amountInStorage,category\n";
+
+  private ItemRegister register;
+
+  @TempDir
+  Path directory;
+
+  @BeforeEach
+  void setup() {
+    register = new ItemRegister();
+  }
+
+  @Test
+  void shouldImportItemsFromCsv() throws IOException {
+    ImportReport report = new ItemImporter(',').importItems(new StringReader(HEADER
+            + "24GH,\"Laminate flooring, with \"\"extra\"\" protection\",2000,Pergo,7.5,0.3,1.3,"
+            + "Brown,30,1\n"
+            + "\n"
+            + "40DS,Wooden outer door,6200,Nordic Door,10,1.2,2.2,Black,0,3\n"), register);
+    Assertions.assertEquals(2, report.getImportedCount());
+    Assertions.assertTrue(report.getRejectedRows().isEmpty());
+    Assertions.assertEquals("Laminate flooring, with \"extra\" protection",
+            register.getItemByItemNr("24GH").getDescription());
+    Assertions.assertEquals(List.of(register.getItemByItemNr("40DS")),
+            register.checkForRestockOfItems());
+  }
+
+  @Test
+  void shouldReportRejectedRowsWithoutAborting() throws IOException {
+    ImportReport report = new ItemImporter(',').importItems(new StringReader(HEADER
+            + "24GH,Laminate flooring,2000,Pergo,7.5,0.3,1.3,Brown,30,1\n"
+            + "24gh,Duplicate,2000,Pergo,7.5,0.3,1.3,Brown,30,1\n"
+            + "30GH,Laminate flooring,cheap,Pergo,7.5,0.3,1.3,Brown,30,1\n"
+            + "31GH,Laminate flooring,2000,Pergo,7.5,0.3,1.3,Brown,30,9\n"
+            + "32GH,Laminate flooring,2000,Pergo\n"
+            + "40DS,Wooden outer door,6200,Nordic Door,10,1.2,2.2,Black,0,3\n"), register);
+    Assertions.assertEquals(2, report.getImportedCount());
+    Assertions.assertEquals(Set.of(3L, 4L, 5L, 6L), report.getRejectedRows().keySet());
+    Assertions.assertEquals("The price must be a whole number.",
+            report.getRejectedRows().get(4L));
+    Assertions.assertEquals("Laminate flooring", register.getItemByItemNr("24GH").getDescription());
+    Assertions.assertNotNull(register.getItemByItemNr("40DS"));
+  }
+
+  @Test
+  void shouldImportLargeTsvFileInFileOrder() throws IOException {
+    Path file = directory.resolve("catalogue.tsv");
+    StringBuilder sb = new StringBuilder(HEADER.replace(',', '\t'));
+    for (int i = 0; i < 20_000; i++) {
+      sb.append("IT").append(i % 15_000).append("\tItem ").append(i).append("\t100\tBrand\t1\t1\t1")
+              .append("\tWhite\t").append(i % 7).append('\t').append(1 + i % 4).append('\n');
+    }
+    Files.writeString(file, sb);
+    ImportReport report = ItemImporter.forFile(file).importItems(file, register);
+    Assertions.assertEquals(15_000, report.getImportedCount());
+    Assertions.assertEquals(5_000, report.getRejectedRows().size());
+    Assertions.assertEquals(15_002L, report.getRejectedRows().firstKey());
+    Assertions.assertEquals("Item 14999", register.getItemByItemNr("IT14999").getDescription());
+  }
+
+  @Test
+  void shouldLogItemsImportedIntoDurableRegister() throws IOException {
+    Path file = directory.resolve("catalogue.csv");
+    StringBuilder sb = new StringBuilder(HEADER);
+    for (int i = 0; i < 10_000; i++) {
+      sb.append("IT").append(i % 6_000).append(",Item ").append(i).append(",100,Brand,1,1,1")
+              .append(",White,").append(i % 7).append(',').append(1 + i % 4).append('\n');
+    }
+    Files.writeString(file, sb);
+    Path logDirectory = directory.resolve("register");
+    try (DurableItemRegister durable = DurableItemRegister.open(logDirectory,
+            FsyncPolicy.GROUP_COMMIT, 0)) {
+      durable.registerItem("IT5", "Registered before", 100, "Brand", 1, 1, 1, "White", 1, 1);
+      ImportReport report = ItemImporter.forFile(file).importItems(file, durable);
+      Assertions.assertEquals(5_999, report.getImportedCount());
+      Assertions.assertEquals(4_001, report.getRejectedRows().size());
+      Assertions.assertEquals(7L, report.getRejectedRows().firstKey());
+    }
+    try (DurableItemRegister durable = DurableItemRegister.open(logDirectory,
+            FsyncPolicy.GROUP_COMMIT, 0)) {
+      Assertions.assertEquals(6_000, durable.size());
+      Assertions.assertEquals("Registered before", durable.getItemByItemNr("IT5").getDescription());
+      Assertions.assertEquals("Item 5999", durable.getItemByItemNr("IT5999").getDescription());
+    }
+  }
+
+  @Test
+  void shouldImportBinaryFileIntoDurableRegister() throws IOException {
+    register.registerItem("24GH", "Laminate flooring", 2000, "Pergo", 7.5, 0.3, 1.3, "Brown", 30,
+            1);
+    register.registerItem("40DS", "Wooden outer door", 6200, "Nordic Door", 10, 1.2, 2.2,
+            "Black", 0, 3);
+    register.addDiscount("40DS", 50);
+    Path file = directory.resolve("catalogue.bin");
+    ItemExporter.exportBinary(register, file);
+    Path logDirectory = directory.resolve("register");
+    try (DurableItemRegister durable = DurableItemRegister.open(logDirectory,
+            FsyncPolicy.GROUP_COMMIT, 0)) {
+      Assertions.assertEquals(2, ItemImporter.importBinary(file, durable).getImportedCount());
+      Assertions.assertEquals(Set.of(1L, 2L),
+              ItemImporter.importBinary(file, durable).getRejectedRows().keySet());
+    }
+    try (DurableItemRegister durable = DurableItemRegister.open(logDirectory,
+            FsyncPolicy.GROUP_COMMIT, 0)) {
+      Assertions.assertEquals(2, durable.size());
+      Assertions.assertEquals(3100, durable.getItemByItemNr("40DS").getPrice());
+      Assertions.assertTrue(durable.resetPriceOfItemToBeforeDiscount("40DS"));
+      Assertions.assertEquals(6200, durable.getItemByItemNr("40DS").getPrice());
+    }
+  }
+}
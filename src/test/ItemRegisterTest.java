@@ -1,11 +1,21 @@
 package test;
 
+import java.io.IOException;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import wms.Category;
 import wms.Item;
+import wms.ItemAttribute;
+import wms.ItemQuery;
 import wms.ItemRegister;
+import wms.ItemView;
+import wms.StockMovement;
+import wms.UpdateResult;
 
 /**
  * The class tests the ItemRegister class.
@@ -46,7 +56,7 @@ class ItemRegisterTest {
   @Test
   void shouldGetItemByItemNr() {
     addDefaultItem();
-    Item item = register.getItemByItemNr("24GH");
+    ItemView item = register.getItemByItemNr("24GH");
     Assertions.assertEquals("24GH", item.getItemNumber());
   }
 
@@ -91,6 +101,32 @@ class ItemRegisterTest {
     Assertions.assertNull(register.getItemByItemNr("24GH"));
   }
 
+  @Test
+  void shouldNotExposeMutableItem() {
+    addDefaultItem();
+    Assertions.assertFalse(register.getItemByItemNr("24GH") instanceof Item);
+  }
+
+  @Test
+  void shouldGetItemByItemNrIgnoringCaseAndWhitespace() {
+    addDefaultItem();
+    Assertions.assertEquals("24GH", register.getItemByItemNr(" 24gh ").getItemNumber());
+  }
+
+  @Test
+  void shouldNotRemoveItemFromStorage() {
+    addDefaultItem();
+    Assertions.assertFalse(register.removeItemFromStorage("34GH"));
+  }
+
+  @Test
+  void shouldForgetDiscountWhenItemIsRemoved() {
+    shouldAddDiscount();
+    register.removeItemFromStorage("24GH");
+    addDefaultItem();
+    Assertions.assertFalse(register.resetPriceOfItemToBeforeDiscount("24GH"));
+  }
+
   @Test
   void shouldAddDiscount() {
     addDefaultItem();
@@ -149,24 +185,273 @@ class ItemRegisterTest {
   @Test
   void shouldGetItemsByCategory() {
     addDefaultItem();
-    List<Item> itemsByCategory = register.getItemsByCategory(1);
+    List<ItemView> itemsByCategory = register.getItemsByCategory(1);
     Assertions.assertEquals(1, itemsByCategory.size());
   }
 
+  @Test
+  void shouldGetItemsByCategorySortedByPrice() {
+    addDefaultItem();
+    register.registerItem("20GH", "Durable laminate flooring", 1500,
+            "Champs Elysess", 6, 0.4, 0.9, "Brown", 0, 1);
+    register.registerItem("32VD", "Two-way window", 1600,
+            "Rehau", 8, 0.50, 0.50, "White", 15, 2);
+    register.changePrice("20GH", 2500);
+    register.addDiscount("24GH", 10);
+    List<ItemView> itemsByCategory = register.getItemsByCategory(1);
+    Assertions.assertEquals(2, itemsByCategory.size());
+    Assertions.assertEquals("20GH", itemsByCategory.get(0).getItemNumber());
+    Assertions.assertEquals("24GH", itemsByCategory.get(1).getItemNumber());
+  }
+
+  @Test
+  void shouldNotGetRemovedItemsByCategory() {
+    addDefaultItem();
+    register.removeItemFromStorage("24GH");
+    Assertions.assertTrue(register.getItemsByCategory(1).isEmpty());
+  }
+
   @Test
   void shouldCheckForRestockOfItems() {
     register.registerItem("24GH", "Laminate flooring with extra moisture protection", 2000,
             "Pergo", 7.5, 0.3, 1.3, "Brown", 0, 1);
-    List<Item> listItemsWithEmptyStock = register.checkForRestockOfItems();
+    List<ItemView> listItemsWithEmptyStock = register.checkForRestockOfItems();
     Assertions.assertEquals(1, listItemsWithEmptyStock.size());
   }
 
+  @Test
+  void shouldTrackRestockWhenStockChanges() {
+    addDefaultItem();
+    Assertions.assertTrue(register.checkForRestockOfItems().isEmpty());
+    register.decreaseStorage("24GH", 30);
+    Assertions.assertEquals(1, register.checkForRestockOfItems().size());
+    register.increaseStorage("24GH", 1);
+    Assertions.assertTrue(register.checkForRestockOfItems().isEmpty());
+  }
+
+  @Test
+  void shouldCheckForRestockOfItemsSortedByCategoryName() {
+    register.registerItem("24GH", "Laminate flooring with extra moisture protection", 2000,
+            "Pergo", 7.5, 0.3, 1.3, "Brown", 0, 1);
+    register.registerItem("40DS", "Wooden outer door", 6200,
+            "Nordic Door", 10, 1.2, 2.2, "Black", 0, 3);
+    List<ItemView> listItemsWithEmptyStock = register.checkForRestockOfItems();
+    Assertions.assertEquals("40DS", listItemsWithEmptyStock.get(0).getItemNumber());
+    Assertions.assertEquals("24GH", listItemsWithEmptyStock.get(1).getItemNumber());
+  }
+
+  @Test
+  void shouldUseReorderThresholds() {
+    addDefaultItem();
+    register.setReorderThreshold(Category.FLOOR_LAMINATES, 30);
+    Assertions.assertEquals(1, register.checkForRestockOfItems().size());
+    Assertions.assertTrue(register.setReorderThreshold("24GH", 10));
+    Assertions.assertTrue(register.checkForRestockOfItems().isEmpty());
+    register.decreaseStorage("24GH", 20);
+    Assertions.assertEquals(1, register.checkForRestockOfItems().size());
+  }
+
+  @Test
+  void shouldNotSetReorderThreshold() {
+    addDefaultItem();
+    Assertions.assertFalse(register.setReorderThreshold("34GH", 10));
+    Assertions.assertThrows(IllegalArgumentException.class,
+            () -> register.setReorderThreshold("24GH", -1));
+  }
+
   @Test
   void testToString() {
     addDefaultItem();
     Assertions.assertEquals(register.getItemByItemNr("24GH").toString(), register.toString());
   }
 
+  @Test
+  void shouldWriteSameTextAsToString() throws IOException {
+    addDefaultItem();
+    register.registerItem("40DS", "Wooden outer door", 6200,
+            "Nordic Door", 10, 1.2, 2.2, "Black", 0, 3);
+    StringBuilder sb = new StringBuilder();
+    register.writeTo(sb);
+    Assertions.assertEquals(register.toString(), sb.toString());
+    Assertions.assertTrue(sb.indexOf("40DS") < sb.indexOf("24GH"));
+  }
+
+  @Test
+  void shouldGetItemsPageByPage() {
+    for (int i = 0; i < 10; i++) {
+      register.registerItem("IT" + i, "Item " + i, i, "Brand", 1, 1, 1, "White", i, 1 + i % 4);
+    }
+    List<ItemView> allItems = register.streamItems().toList();
+    Assertions.assertEquals(10, allItems.size());
+    Assertions.assertEquals(allItems.subList(3, 7), register.getItems(3, 4));
+    Assertions.assertEquals(allItems.subList(8, 10), register.getItems(8, 5));
+    Assertions.assertTrue(register.getItems(10, 5).isEmpty());
+    Assertions.assertThrows(IllegalArgumentException.class, () -> register.getItems(-1, 5));
+  }
+
+  @Test
+  void shouldApplyStockMovementsAsOneUnit() {
+    addDefaultItem();
+    register.registerItem("40DS", "Wooden outer door", 6200,
+            "Nordic Door", 10, 1.2, 2.2, "Black", 0, 3);
+    Map<Integer, String> failures = register.applyStockMovements(List.of(
+            new StockMovement("24GH", -30), new StockMovement("40ds", 5),
+            new StockMovement("24GH", 12), new StockMovement("40DS", -2)));
+    Assertions.assertTrue(failures.isEmpty());
+    Assertions.assertEquals(12, register.getItemByItemNr("24GH").getAmountInStorage());
+    Assertions.assertEquals(3, register.getItemByItemNr("40DS").getAmountInStorage());
+    Assertions.assertTrue(register.checkForRestockOfItems().isEmpty());
+  }
+
+  @Test
+  void shouldNotApplyStockMovementsWithInvalidLines() {
+    addDefaultItem();
+    Map<Integer, String> failures = register.applyStockMovements(List.of(
+            new StockMovement("24GH", 5), new StockMovement("99XX", 1),
+            new StockMovement("24GH", -36), new StockMovement("24GH", -35)));
+    Assertions.assertEquals(Set.of(1, 2), failures.keySet());
+    Assertions.assertEquals(30, register.getItemByItemNr("24GH").getAmountInStorage());
+    Assertions.assertThrows(IllegalArgumentException.class, () -> new StockMovement(" ", 1));
+  }
+
+  @Test
+  void shouldSearchByPrefixSubstringAndTypo() {
+    addDefaultItem();
+    register.registerItem("20GH", "Durable laminate flooring", 1500,
+            "Champs Elysess", 6, 0.4, 0.9, "Brown", 0, 1);
+    register.registerItem("40DS", "Wooden outer door", 6200,
+            "Nordic Door", 10, 1.2, 2.2, "Black", 0, 3);
+    register.registerItem("2", "Door stop", 50, "Pergo", 1, 1, 1, "Grey", 10, 3);
+    Assertions.assertEquals(List.of(register.getItemByItemNr("24GH"),
+            register.getItemByItemNr("20GH")), register.search("24gh", 10));
+    Assertions.assertEquals(List.of(register.getItemByItemNr("24GH")),
+            register.search("24", 10));
+    Assertions.assertEquals(List.of(register.getItemByItemNr("40DS"),
+            register.getItemByItemNr("2")), register.search("do", 10));
+    Assertions.assertEquals(List.of(register.getItemByItemNr("40DS"),
+            register.getItemByItemNr("2")), register.search("DOOR", 10));
+    Assertions.assertEquals(List.of(register.getItemByItemNr("24GH"),
+            register.getItemByItemNr("20GH")), register.search("aminate", 10));
+    Assertions.assertEquals(List.of(register.getItemByItemNr("24GH"),
+            register.getItemByItemNr("20GH")), register.search("lamimate", 10));
+    Assertions.assertEquals(List.of(register.getItemByItemNr("24GH"),
+            register.getItemByItemNr("2")), register.search("pergp", 10));
+    Assertions.assertEquals(1, register.search("door", 1).size());
+    Assertions.assertTrue(register.search("window", 10).isEmpty());
+    Assertions.assertThrows(IllegalArgumentException.class, () -> register.search(" d ", 10));
+  }
+
+  @Test
+  void shouldKeepSearchIndexUpToDate() {
+    addDefaultItem();
+    Assertions.assertEquals(1, register.search("moisture", 10).size());
+    register.changeDescription("24GH", "Laminate flooring with extra water protection");
+    Assertions.assertTrue(register.search("moisture", 10).isEmpty());
+    Assertions.assertEquals(1, register.search("water", 10).size());
+    register.registerItem("40DS", "Wooden outer door", 6200,
+            "Nordic Door", 10, 1.2, 2.2, "Black", 0, 3);
+    Assertions.assertEquals(1, register.search("wooden", 10).size());
+    register.removeItemFromStorage("40DS");
+    Assertions.assertTrue(register.search("wooden", 10).isEmpty());
+    for (int i = 0; i < 3000; i++) {
+      register.registerItem("IT" + i, "Item " + i, i, "Brand", 1, 1, 1, "White", i, 1);
+      register.removeItemFromStorage("IT" + i);
+    }
+    Assertions.assertEquals(List.of(register.getItemByItemNr("24GH")),
+            register.search("water", 10));
+    Assertions.assertTrue(register.search("it29", 10).isEmpty());
+  }
+
+  @Test
+  void shouldFindItemsByRangesWithMostSelectiveIndex() {
+    for (int i = 0; i < 2000; i++) {
+      register.registerItem("IT" + i, "Item " + i, 100 + i, "Brand", 1 + i % 80,
+              0.5 + (i % 10) / 10.0, 0.1 + 0.1 * (i % 30), i % 2 == 0 ? "White" : "Black", i,
+              1 + i % 4);
+    }
+    ItemQuery query = new ItemQuery().inCategory(Category.WINDOWS.getCategoryNr())
+            .between(ItemAttribute.HEIGHT, 1.2, 1.8).atMost(ItemAttribute.WEIGHT, 40);
+    List<ItemView> expected = register.streamItems().filter(query::test)
+            .sorted(Comparator.comparing(ItemView::getItemNumber)).toList();
+    Assertions.assertFalse(expected.isEmpty());
+    Assertions.assertEquals(expected, register.findItems(query));
+    Assertions.assertTrue(register.explainQuery(query).startsWith("Range index on height"));
+    ItemQuery narrowPrice = query.between(ItemAttribute.PRICE, 100, 120).withColor("white");
+    Assertions.assertEquals("Range index on price, 21 candidates.",
+            register.explainQuery(narrowPrice));
+    Assertions.assertEquals(register.streamItems().filter(narrowPrice::test).toList(),
+            register.findItems(narrowPrice));
+    Assertions.assertEquals("Category index on Doors, 500 candidates.",
+            register.explainQuery(new ItemQuery().inCategory(3).atLeast(ItemAttribute.PRICE, 0)));
+    Assertions.assertEquals("Full scan, 2000 candidates.", register.explainQuery(
+            new ItemQuery().atMost(ItemAttribute.AMOUNT_IN_STORAGE, 10)));
+    Assertions.assertTrue(register.findItems(
+            new ItemQuery().between(ItemAttribute.HEIGHT, 1, 2).atMost(ItemAttribute.HEIGHT, 0.5))
+            .isEmpty());
+  }
+
+  @Test
+  void shouldKeepRangeIndexesUpToDate() {
+    addDefaultItem();
+    ItemQuery cheap = new ItemQuery().atMost(ItemAttribute.PRICE, 1500);
+    Assertions.assertTrue(register.findItems(cheap).isEmpty());
+    register.addDiscount("24GH", 50);
+    Assertions.assertEquals(List.of(register.getItemByItemNr("24GH")), register.findItems(cheap));
+    register.changePrice("24GH", 1600);
+    Assertions.assertTrue(register.findItems(cheap).isEmpty());
+    register.registerItem("40DS", "Wooden outer door", 1000,
+            "Nordic Door", 10, 1.2, 2.2, "Black", 0, 3);
+    Assertions.assertEquals(List.of(register.getItemByItemNr("40DS")), register.findItems(cheap));
+    register.removeItemFromStorage("40DS");
+    Assertions.assertTrue(register.findItems(cheap).isEmpty());
+    for (int i = 0; i < 3000; i++) {
+      register.registerItem("IT" + i, "Item " + i, i, "Brand", 1, 1, 1, "White", i, 1);
+      if (i % 2 == 0) {
+        register.removeItemFromStorage("IT" + i);
+      }
+    }
+    Assertions.assertEquals(750, register.findItems(cheap).size());
+    Assertions.assertEquals("Range index on price, 750 candidates.",
+            register.explainQuery(cheap));
+  }
+
+  @Test
+  void shouldApplyConditionalUpdatesOnlyIfItemIsUnchanged() {
+    addDefaultItem();
+    ItemView item = register.getItemByItemNr("24GH");
+    long version = item.getVersion();
+    Assertions.assertEquals(UpdateResult.APPLIED,
+            register.decreaseStorageIfVersion("24GH", 5, version));
+    Assertions.assertEquals(version + 1, item.getVersion());
+    Assertions.assertEquals(UpdateResult.VERSION_CONFLICT,
+            register.decreaseStorageIfVersion("24GH", 5, version));
+    Assertions.assertEquals(UpdateResult.INSUFFICIENT_STOCK,
+            register.decreaseStorageIfVersion("24GH", 26, version + 1));
+    Assertions.assertEquals(25, item.getAmountInStorage());
+    register.addDiscount("24GH", 10);
+    Assertions.assertEquals(UpdateResult.VERSION_CONFLICT,
+            register.changePriceIfVersion("24GH", 2500, version + 1));
+    Assertions.assertEquals(UpdateResult.APPLIED,
+            register.changePriceIfVersion("24GH", 2500, item.getVersion()));
+    Assertions.assertEquals(2500, item.getPrice());
+    Assertions.assertFalse(register.resetPriceOfItemToBeforeDiscount("24GH"));
+    Assertions.assertEquals(UpdateResult.NOT_FOUND,
+            register.changePriceIfVersion("12TL", 2500, 0));
+    Assertions.assertThrows(IllegalArgumentException.class,
+            () -> register.decreaseStorageIfVersion("24GH", -1, item.getVersion()));
+  }
+
+  @Test
+  void shouldDecreaseStorageOnlyIfAvailable() {
+    addDefaultItem();
+    Assertions.assertEquals(UpdateResult.INSUFFICIENT_STOCK,
+            register.decreaseStorageIfAvailable("24GH", 31));
+    Assertions.assertEquals(UpdateResult.APPLIED,
+            register.decreaseStorageIfAvailable("24GH", 30));
+    Assertions.assertEquals(List.of(register.getItemByItemNr("24GH")),
+            register.checkForRestockOfItems());
+  }
+
   private void addDefaultItem() {
     register.registerItem("24GH", "Laminate flooring with extra moisture protection", 2000,
             "Pergo", 7.5, 0.3, 1.3, "Brown", 30, 1);
@@ -0,0 +1,187 @@
+package test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import wms.ItemRegister;
+import wms.Movement;
+import wms.MovementLedger;
+import wms.MovementReason;
+import wms.StockMovement;
+
+/**
+ * The class tests the MovementLedger class.
+ *
+ * @author agent.
+ * @version 1.0
+ * @since Oct 18, 2026.
+ */
+class MovementLedgerTest {
+
+  @TempDir
+  Path directory;
+
+  private AtomicLong clock;
+  private MovementLedger ledger;
+  private ItemRegister register;
+
+  @BeforeEach
+  void setup() {
+    clock = new AtomicLong(1_000);
+    ledger = new MovementLedger(clock::get, null, 1);
+    register = new ItemRegister(null, ledger);
+  }
+
+  /**
+   * The method registers an item with the given amount in storage.
+   *
+   * @param register the register.
+   * @param itemNumber item number.
+   * @param amount amount in storage.
+   */
+  private static void addItem(ItemRegister register, String itemNumber, int amount) {
+    register.registerItem(itemNumber, "Laminate flooring", 2000, "Pergo",
+            7.5, 0.3, 1.3, "Brown", amount, 1);
+  }
+
+  @Test
+  void shouldRecordEveryChangeOfStock() {
+    addItem(register, "24GH", 30);
+    clock.set(2_000);
+    register.increaseStorage("24gh", 5);
+    register.decreaseStorage("24GH", 10);
+    register.increaseStorage("24GH", 0);
+    clock.set(3_000);
+    register.applyStockMovements(List.of(new StockMovement("24GH", 4),
+            new StockMovement("24GH", -20)));
+    clock.set(4_000);
+    register.removeItemFromStorage("24GH");
+
+    List<Movement> movements = ledger.getMovements("24gh", 0, Long.MAX_VALUE);
+    Assertions.assertEquals(List.of(MovementReason.REGISTERED, MovementReason.RECEIVED,
+            MovementReason.ISSUED, MovementReason.BATCH, MovementReason.BATCH,
+            MovementReason.REMOVED), movements.stream().map(Movement::getReason).toList());
+    Assertions.assertEquals(List.of(30, 5, -10, 4, -20, -9),
+            movements.stream().map(Movement::getChange).toList());
+    Assertions.assertEquals(List.of(30, 35, 25, 29, 9, 0),
+            movements.stream().map(Movement::getBalance).toList());
+
+    Assertions.assertEquals(2, ledger.countMovements(2_000, 3_000));
+    Assertions.assertEquals(2, ledger.getMovements(3_000, 4_000).size());
+    Assertions.assertEquals(25, ledger.getStockAt("24GH", 2_000));
+    Assertions.assertEquals(9, ledger.getStockAt("24GH", 3_999));
+    Assertions.assertEquals(0, ledger.getStockAt("24GH", 999));
+    Assertions.assertEquals(Map.of("24GH", 9), ledger.getStockAt(3_500));
+    Assertions.assertTrue(ledger.getStockAt(4_000).isEmpty());
+    Assertions.assertTrue(ledger.getMovements("99XX", 0, Long.MAX_VALUE).isEmpty());
+  }
+
+  @Test
+  void shouldReconstructStockAtAnyTime() {
+    Random random = new Random(7);
+    List<String> itemNumbers = new ArrayList<>();
+    Map<Long, Map<String, Integer>> snapshots = new HashMap<>();
+    for (int i = 0; i < 20_000; i++) {
+      clock.addAndGet(random.nextInt(3));
+      if (itemNumbers.isEmpty() || random.nextInt(50) == 0) {
+        String itemNumber = "N" + i;
+        addItem(register, itemNumber, random.nextInt(100));
+        itemNumbers.add(itemNumber);
+      } else {
+        String itemNumber = itemNumbers.get(random.nextInt(itemNumbers.size()));
+        if (random.nextBoolean()) {
+          register.increaseStorage(itemNumber, random.nextInt(10));
+        } else if (random.nextInt(100) > 0) {
+          register.decreaseStorageIfAvailable(itemNumber, random.nextInt(10));
+        } else {
+          register.removeItemFromStorage(itemNumber);
+          itemNumbers.remove(itemNumber);
+        }
+      }
+      if (random.nextInt(1_000) == 0) {
+        Map<String, Integer> stock = new TreeMap<>();
+        register.streamItems().forEach(item -> stock.put(item.getItemNumber(),
+                item.getAmountInStorage()));
+        clock.incrementAndGet();
+        snapshots.put(clock.get() - 1, stock);
+      }
+    }
+    Assertions.assertFalse(snapshots.isEmpty());
+    for (Map.Entry<Long, Map<String, Integer>> snapshot : snapshots.entrySet()) {
+      Assertions.assertEquals(snapshot.getValue(), ledger.getStockAt(snapshot.getKey()));
+      for (Map.Entry<String, Integer> item : snapshot.getValue().entrySet()) {
+        Assertions.assertEquals(item.getValue(),
+                ledger.getStockAt(item.getKey(), snapshot.getKey()));
+      }
+    }
+  }
+
+  @Test
+  void shouldAnswerTheSameAfterSpillingSegments() throws IOException {
+    clock.set(0);
+    Path spillDirectory = directory.resolve("ledger");
+    MovementLedger spilling = new MovementLedger(clock::get, spillDirectory, 1);
+    ItemRegister spillingRegister = new ItemRegister(null, spilling);
+    for (int i = 0; i < 100; i++) {
+      addItem(register, "N" + i, 0);
+      addItem(spillingRegister, "N" + i, 0);
+    }
+    for (int i = 0; i < 200_000; i++) {
+      clock.set(i / 10);
+      register.increaseStorage("N" + i % 100, 1 + i % 3);
+      spillingRegister.increaseStorage("N" + i % 100, 1 + i % 3);
+    }
+    Assertions.assertEquals(3, spilling.getSpilledSegmentCount());
+    Assertions.assertEquals(ledger.getMovementCount(), spilling.getMovementCount());
+    Assertions.assertEquals(ledger.getMovements(1_000, 15_000).toString(),
+            spilling.getMovements(1_000, 15_000).toString());
+    Assertions.assertEquals(ledger.getMovements("N42", 0, 20_000).toString(),
+            spilling.getMovements("N42", 0, 20_000).toString());
+    Assertions.assertEquals(ledger.getStockAt(7_777), spilling.getStockAt(7_777));
+
+    spilling.close();
+    try (var files = Files.list(spillDirectory)) {
+      Assertions.assertEquals(0, files.count());
+    }
+  }
+
+  @Test
+  void shouldKeepSpilledSegmentsOfLedgersApart() throws IOException {
+    MovementLedger first = new MovementLedger(clock::get, directory, 1);
+    MovementLedger second = new MovementLedger(clock::get, directory, 1);
+    ItemRegister firstRegister = new ItemRegister(null, first);
+    ItemRegister secondRegister = new ItemRegister(null, second);
+    addItem(firstRegister, "A1", 0);
+    addItem(secondRegister, "B2", 0);
+    for (int i = 0; i < 140_000; i++) {
+      firstRegister.increaseStorage("A1", 1);
+      secondRegister.increaseStorage("B2", 2);
+    }
+    Assertions.assertEquals(2, first.getSpilledSegmentCount());
+    Assertions.assertEquals(2, second.getSpilledSegmentCount());
+    Movement firstIncrease = first.getMovements(0, Long.MAX_VALUE).get(1);
+    Movement secondIncrease = second.getMovements(0, Long.MAX_VALUE).get(1);
+    Assertions.assertEquals("A1", firstIncrease.getItemNumber());
+    Assertions.assertEquals(1, firstIncrease.getBalance());
+    Assertions.assertEquals("B2", secondIncrease.getItemNumber());
+    Assertions.assertEquals(2, secondIncrease.getBalance());
+
+    first.close();
+    Assertions.assertEquals(280_000, second.getStockAt("B2", clock.get()));
+    second.close();
+    try (var files = Files.list(directory)) {
+      Assertions.assertEquals(0, files.count());
+    }
+  }
+}
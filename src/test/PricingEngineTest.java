@@ -0,0 +1,75 @@
+package test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import wms.Campaign;
+import wms.ItemRegister;
+import wms.ItemView;
+import wms.PricingEngine;
+
+/**
+ * The class tests the PricingEngine class.
+ *
+ * @author agent.
+ * @version 1.0
+ * @since Oct 18, 2026.
+ */
+class PricingEngineTest {
+
+  private ItemRegister register;
+  private AtomicLong clock;
+  private PricingEngine engine;
+
+  @BeforeEach
+  void setup() {
+    register = new ItemRegister();
+    register.registerItem("24GH", "Laminate flooring with extra moisture protection", 2000,
+            "Pergo", 7.5, 0.3, 1.3, "Brown", 30, 1);
+    register.registerItem("32VD", "Two-way window", 1600,
+            "Rehau", 8, 0.50, 0.50, "White", 15, 2);
+    register.registerItem("20GH", "Durable laminate flooring", 1500,
+            "Pergo", 6, 0.4, 0.9, "Brown", 0, 1);
+    clock = new AtomicLong(1_000);
+    engine = new PricingEngine(clock::get);
+  }
+
+  @Test
+  void shouldApplyBestActiveCampaignWithoutChangingPrice() {
+    engine.addCampaign(Campaign.forCategory("Floor sale", 1, 10, 1_000, 5_000));
+    engine.addCampaign(Campaign.forBrand("Rehau week", "rehau", 25, 2_000, 5_000));
+    engine.addCampaign(Campaign.forItems("Clearance", List.of("20gh"), 50, 1_000, 3_000));
+    ItemView flooring = register.getItemByItemNr("24GH");
+    ItemView window = register.getItemByItemNr("32VD");
+    ItemView clearance = register.getItemByItemNr("20GH");
+
+    Assertions.assertEquals(1800, engine.getEffectivePrice(flooring));
+    Assertions.assertEquals(1600, engine.getEffectivePrice(window));
+    Assertions.assertEquals(750, engine.getEffectivePrice(clearance));
+    Assertions.assertEquals("Clearance", engine.findBestCampaign(clearance).getName());
+
+    clock.set(2_000);
+    Assertions.assertEquals(1200, engine.getEffectivePrice(window));
+    Assertions.assertEquals(2000, register.getItemByItemNr("24GH").getPrice());
+    Assertions.assertThrows(IllegalArgumentException.class,
+            () -> engine.addCampaign(Campaign.forCategory("Floor sale", 2, 5, 0, 10)));
+  }
+
+  @Test
+  void shouldDropCampaignsWhenTheyEnd() {
+    engine.addCampaign(Campaign.forCategory("Floor sale", 1, 10, 1_000, 5_000));
+    engine.addCampaign(Campaign.forItems("Clearance", List.of("20GH"), 50, 1_000, 3_000));
+    Assertions.assertEquals(2, engine.getCampaigns().size());
+
+    clock.set(3_000);
+    Assertions.assertEquals(1350, engine.getEffectivePrice(register.getItemByItemNr("20GH")));
+    Assertions.assertEquals(1, engine.getCampaigns().size());
+    Assertions.assertTrue(engine.removeCampaign("Floor sale"));
+    Assertions.assertFalse(engine.removeCampaign("Floor sale"));
+    Assertions.assertNull(engine.findBestCampaign(register.getItemByItemNr("24GH")));
+    Assertions.assertThrows(IllegalArgumentException.class,
+            () -> Campaign.forBrand("Empty", "Pergo", 10, 5_000, 5_000));
+  }
+}
@@ -0,0 +1,126 @@
+package test;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import wms.Campaign;
+import wms.DurableItemRegister;
+import wms.FsyncPolicy;
+import wms.RegisterServer;
+
+/**
+ * The class tests the RegisterServer class.
+ *
+ * @author agent.
+ * @version 1.0
+ * @since Oct 18, 2026.
+ */
+class RegisterServerTest {
+  private static final String DOOR = "{\"itemNumber\": \"40DS\", \"description\": "
+          + "\"Wooden \\\"outer\\\" door\", \"price\": 6200, \"brandName\": \"Nordic Door\", "
+          + "\"weight\": 10, \"length\": 1.2, \"height\": 2.2, \"color\": \"Black\", "
+          + "\"amountInStorage\": 0, \"category\": 3}";
+
+  private DurableItemRegister register;
+  private RegisterServer server;
+  private HttpClient client;
+
+  @TempDir
+  Path directory;
+
+  @BeforeEach
+  void setup() throws IOException {
+    register = DurableItemRegister.open(directory, FsyncPolicy.NONE, 0);
+    server = new RegisterServer(register, new InetSocketAddress("localhost", 0), 4);
+    client = HttpClient.newHttpClient();
+  }
+
+  @AfterEach
+  void tearDown() throws IOException {
+    server.close();
+    register.close();
+  }
+
+  private HttpResponse<String> send(String method, String path, String body)
+          throws IOException, InterruptedException {
+    HttpRequest request = HttpRequest.newBuilder(
+                    URI.create("http://localhost:" + server.getPort() + path))
+            .method(method, body == null
+                    ? HttpRequest.BodyPublishers.noBody()
+                    : HttpRequest.BodyPublishers.ofString(body))
+            .build();
+    return client.send(request, HttpResponse.BodyHandlers.ofString());
+  }
+
+  @Test
+  void shouldServeEveryMenuOperation() throws IOException, InterruptedException {
+    HttpResponse<String> response = send("POST", "/items", DOOR);
+    Assertions.assertEquals(201, response.statusCode());
+    Assertions.assertTrue(response.body()
+            .contains("\"description\":\"Wooden \\\"outer\\\" door\""));
+    Assertions.assertEquals(409, send("POST", "/items", DOOR).statusCode());
+    Assertions.assertTrue(send("GET", "/restock", null).body().contains("\"40DS\""));
+    Assertions.assertEquals(200, send("POST", "/items/40ds/increase", "{\"amount\": 5}")
+            .statusCode());
+    Assertions.assertTrue(send("POST", "/items/40DS/decrease", "{\"amount\": 2}").body()
+            .contains("\"amountInStorage\":3"));
+    Assertions.assertTrue(send("POST", "/items/40DS/discount", "{\"discount\": 50}").body()
+            .contains("\"price\":3100"));
+    Assertions.assertTrue(send("DELETE", "/items/40DS/discount", null).body()
+            .contains("\"price\":6200"));
+    Assertions.assertEquals(404, send("DELETE", "/items/40DS/discount", null).statusCode());
+    Assertions.assertEquals(409, send("PUT", "/items/40DS/price",
+            "{\"price\": 5900, \"expectedVersion\": 3}").statusCode());
+    Assertions.assertTrue(send("PUT", "/items/40DS/price", "{\"price\": 5900}").body()
+            .contains("\"price\":5900"));
+    Assertions.assertTrue(send("PUT", "/items/40DS/description",
+            "{\"description\": \"Oak door\"}").body().contains("\"Oak door\""));
+    Assertions.assertTrue(send("GET", "/items?category=3", null).body().startsWith("[{"));
+    Assertions.assertTrue(send("GET", "/search?q=oak", null).body().contains("\"40DS\""));
+    Assertions.assertTrue(send("GET", "/items?offset=0&limit=10", null).body()
+            .contains("\"40DS\""));
+    Assertions.assertEquals(204, send("DELETE", "/items/40DS", null).statusCode());
+    Assertions.assertEquals(404, send("GET", "/items/40DS", null).statusCode());
+    Assertions.assertEquals("[]", send("GET", "/items", null).body());
+  }
+
+  @Test
+  void shouldAnswerInvalidRequestsWithErrors() throws IOException, InterruptedException {
+    send("POST", "/items", DOOR);
+    HttpResponse<String> response = send("POST", "/items/40DS/decrease", "{\"amount\": -1}");
+    Assertions.assertEquals(400, response.statusCode());
+    Assertions.assertEquals("{\"error\":\"The amount you want to remove, "
+            + "can't be less than zero.\"}", response.body());
+    Assertions.assertEquals(400, send("POST", "/items/40DS/increase", "{\"amount\": \"x\"}")
+            .statusCode());
+    Assertions.assertEquals(400, send("POST", "/items/40DS/increase", "{amount: 1}")
+            .statusCode());
+    Assertions.assertEquals(400, send("POST", "/items/40DS/increase", "{}").statusCode());
+    Assertions.assertEquals(404, send("POST", "/items/12TL/increase", "{\"amount\": 1}")
+            .statusCode());
+    Assertions.assertEquals(405, send("GET", "/items/40DS/increase", null).statusCode());
+    Assertions.assertEquals(404, send("GET", "/warehouses", null).statusCode());
+    Assertions.assertEquals(400, send("GET", "/search?q=a", null).statusCode());
+  }
+
+  @Test
+  void shouldAnswerWithEffectivePrice() throws IOException, InterruptedException {
+    send("POST", "/items", DOOR);
+    Assertions.assertTrue(send("GET", "/items/40DS", null).body()
+            .contains("\"price\":6200,\"effectivePrice\":6200"));
+    register.addCampaign(Campaign.forCategory("Door sale", 3, 50, 0, Long.MAX_VALUE));
+    Assertions.assertTrue(send("GET", "/items/40DS", null).body()
+            .contains("\"price\":6200,\"effectivePrice\":3100"));
+    Assertions.assertTrue(send("GET", "/items?category=3", null).body()
+            .contains("\"effectivePrice\":3100"));
+  }
+}
@@ -0,0 +1,116 @@
+package test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import wms.ConcurrentItemRegister;
+import wms.Reservation;
+import wms.ReservationEngine;
+import wms.StockLevel;
+
+/**
+ * The class tests the ReservationEngine class.
+ *
+ * @author agent.
+ * @version 1.0
+ * @since Oct 18, 2026.
+ */
+class ReservationEngineTest {
+
+  private ConcurrentItemRegister register;
+  private AtomicLong clock;
+  private ReservationEngine engine;
+
+  @BeforeEach
+  void setup() {
+    register = new ConcurrentItemRegister();
+    register.registerItem("24GH", "Laminate flooring with extra moisture protection", 2000,
+            "Pergo", 2, 1.2, 0.2, "Brown", 30, 1);
+    clock = new AtomicLong(1_000);
+    engine = new ReservationEngine(register, 10, 8, clock::get);
+  }
+
+  @Test
+  void shouldReserveCommitAndRelease() {
+    Reservation first = engine.reserve("24gh", 20, 60_000);
+    Assertions.assertNotNull(first);
+    Assertions.assertNull(engine.reserve("24GH", 11, 60_000));
+    Reservation second = engine.reserve("24GH", 10, 60_000);
+    Assertions.assertNotNull(second);
+    Assertions.assertEquals(0, engine.getStockLevel("24GH").getAvailable());
+
+    Assertions.assertTrue(engine.commit(first.getId()));
+    Assertions.assertFalse(engine.commit(first.getId()));
+    Assertions.assertTrue(engine.release(second.getId()));
+    Assertions.assertFalse(engine.release(second.getId()));
+
+    StockLevel level = engine.getStockLevel("24GH");
+    Assertions.assertEquals(10, level.getOnHand());
+    Assertions.assertEquals(0, level.getReserved());
+    Assertions.assertEquals(10, level.getAvailable());
+    Assertions.assertEquals(0, engine.getOpenReservationCount());
+    Assertions.assertNull(engine.reserve("12TL", 1, 60_000));
+    Assertions.assertNull(engine.getStockLevel("12TL"));
+    Assertions.assertThrows(IllegalArgumentException.class,
+            () -> engine.reserve("24GH", 0, 60_000));
+  }
+
+  @Test
+  void shouldExpireReservationsAfterTimeToLive() {
+    Reservation shortLived = engine.reserve("24GH", 10, 25);
+    Reservation longLived = engine.reserve("24GH", 10, 500);
+    clock.addAndGet(24);
+    Assertions.assertEquals(0, engine.expireReservations());
+    clock.addAndGet(1);
+    Assertions.assertFalse(engine.commit(shortLived.getId()));
+    Assertions.assertEquals(10, engine.getStockLevel("24GH").getReserved());
+
+    clock.addAndGet(474);
+    Assertions.assertEquals(0, engine.expireReservations());
+    Assertions.assertEquals(longLived, engine.getReservation(longLived.getId()));
+    clock.addAndGet(1);
+    Assertions.assertEquals(1, engine.expireReservations());
+    Assertions.assertNull(engine.getReservation(longLived.getId()));
+    Assertions.assertEquals(30, engine.getStockLevel("24GH").getAvailable());
+    Assertions.assertEquals(30, register.getItemByItemNr("24GH").getAmountInStorage());
+  }
+
+  @Test
+  void shouldNeverOversellUnderConcurrentReservations() throws Exception {
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+    List<Future<Integer>> futures = new ArrayList<>();
+    for (int i = 0; i < 8; i++) {
+      futures.add(executor.submit(() -> {
+        int sold = 0;
+        for (int j = 0; j < 100; j++) {
+          Reservation reservation = engine.reserve("24GH", 1, 60_000);
+          if (reservation == null) {
+            continue;
+          }
+          if (j % 3 == 0) {
+            engine.release(reservation.getId());
+          } else if (engine.commit(reservation.getId())) {
+            sold++;
+          }
+        }
+        return sold;
+      }));
+    }
+    int sold = 0;
+    for (Future<Integer> future : futures) {
+      sold += future.get();
+    }
+    executor.shutdown();
+    Assertions.assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+    Assertions.assertEquals(30, sold);
+    Assertions.assertEquals(0, register.getItemByItemNr("24GH").getAmountInStorage());
+    Assertions.assertEquals(0, engine.getStockLevel("24GH").getReserved());
+  }
+}
@@ -0,0 +1,99 @@
+package test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import wms.Category;
+import wms.ItemView;
+import wms.ShardedItemRegister;
+
+/**
+ * The class tests the ShardedItemRegister class.
+ *
+ * @author agent.
+ * @version 1.0
+ * @since Oct 18, 2026.
+ */
+class ShardedItemRegisterTest {
+
+  private ShardedItemRegister register;
+
+  @BeforeEach
+  void setup() {
+    register = new ShardedItemRegister(8);
+    register.registerItem("24GH", "Laminate flooring with extra moisture protection", 2000,
+            "Pergo", 7.5, 0.3, 1.3, "Brown", 30, 1);
+    register.registerItem("32VD", "Two-way window", 1600,
+            "Rehau", 8, 0.50, 0.50, "White", 0, 2);
+    register.registerItem("20GH", "Durable laminate flooring", 1500,
+            "Champs Elysess", 6, 0.4, 0.9, "Brown", 0, 1);
+  }
+
+  @Test
+  void shouldRouteOperationsToTheShardOfTheItem() {
+    Assertions.assertThrows(IllegalArgumentException.class,
+            () -> register.registerItem("24gh", "Duplicate", 100, "Pergo", 1, 1, 1, "Brown",
+                    1, 1));
+    Assertions.assertTrue(register.increaseStorage("24gh", 5));
+    Assertions.assertEquals(35, register.getItemByItemNr("24GH").getAmountInStorage());
+    Assertions.assertTrue(register.addDiscount("32VD", 50));
+    Assertions.assertEquals(1, register.countDiscountedItems());
+    Assertions.assertTrue(register.removeItemFromStorage("20GH"));
+    Assertions.assertNull(register.getItemByItemNr("20GH"));
+    Assertions.assertEquals(2, register.size());
+  }
+
+  @Test
+  void shouldUseReorderThresholdsInEveryShard() {
+    register.setReorderThreshold(Category.FLOOR_LAMINATES, 30);
+    Assertions.assertTrue(register.setReorderThreshold("32VD", 0));
+    Assertions.assertEquals(List.of("20GH", "24GH", "32VD"), register.checkForRestockOfItems()
+            .stream().map(ItemView::getItemNumber).toList());
+    Assertions.assertTrue(register.setReorderThreshold("24gh", 10));
+    Assertions.assertEquals(List.of("20GH", "32VD"), register.checkForRestockOfItems()
+            .stream().map(ItemView::getItemNumber).toList());
+    Assertions.assertFalse(register.setReorderThreshold("40DS", 10));
+  }
+
+  @Test
+  void shouldMergeShardsInCategoryNameOrder() {
+    register.setParallelThreshold(0);
+    List<String> itemNumbers = register.streamItems().map(ItemView::getItemNumber).toList();
+    Assertions.assertEquals(List.of("20GH", "24GH", "32VD"), itemNumbers);
+    List<ItemView> restock = register.checkForRestockOfItems();
+    Assertions.assertEquals(List.of("20GH", "32VD"),
+            restock.stream().map(ItemView::getItemNumber).toList());
+    List<ItemView> floors = register.getItemsByCategory(1);
+    Assertions.assertEquals(2000, floors.get(0).getPrice());
+    Assertions.assertEquals(1500, floors.get(1).getPrice());
+    Assertions.assertTrue(register.toString().indexOf("20GH")
+            < register.toString().indexOf("32VD"));
+  }
+
+  @Test
+  void shouldKeepStockConsistentUnderConcurrentMovements() throws Exception {
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+    List<Future<?>> futures = new ArrayList<>();
+    for (int i = 0; i < 8; i++) {
+      futures.add(executor.submit(() -> {
+        for (int j = 0; j < 1000; j++) {
+          register.increaseStorage("24GH", 1);
+          register.decreaseStorage("24GH", 1);
+          register.getItemsByCategory(1);
+        }
+      }));
+    }
+    for (Future<?> future : futures) {
+      future.get();
+    }
+    executor.shutdown();
+    Assertions.assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+    Assertions.assertEquals(30, register.getItemByItemNr("24GH").getAmountInStorage());
+  }
+}
@@ -0,0 +1,244 @@
+package wms;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * The class represents a price campaign: a discount in percent on the items of a category,
+ * the items of a brand, or a set of items, during a period of time.
+ *
+ * <p>A campaign is active from its start time, inclusive, to its end time, exclusive.
+ * Both are given in milliseconds since the epoch.</p>
+ *
+ * @author agent.
+ * @version 1.0
+ * @since Oct 18, 2026.
+ */
+public final class Campaign {
+  private final String name;
+  private final int discount;
+  private final int category;
+  private final String brandName;
+  private final Set<String> itemNumbers;
+  private final long startsAt;
+  private final long endsAt;
+
+  /**
+   * Constructor to create a campaign.
+   *
+   * @param name the name of the campaign.
+   * @param discount the discount in percent.
+   * @param category the category number of the discounted items, or zero.
+   * @param brandName the brand name of the discounted items, or null.
+   * @param itemNumbers the item numbers of the discounted items, which may be empty.
+   * @param startsAt the start time.
+   * @param endsAt the end time.
+   * @throws IllegalArgumentException if the name is blank, the discount is not a number
+   *                                  between 0 and 100, or the campaign does not end after
+   *                                  it starts.
+   */
+  private Campaign(String name, int discount, int category, String brandName,
+                   Set<String> itemNumbers, long startsAt, long endsAt) {
+    if (name == null || name.isBlank()) {
+      throw new IllegalArgumentException("\nThe name of the campaign can't be blank.");
+    }
+    if (discount < 0 || discount > 100) {
+      throw new IllegalArgumentException("\nMake sure the discount is between 0 and 100 percent.");
+    }
+    if (endsAt <= startsAt) {
+      throw new IllegalArgumentException("\nThe campaign must end after it starts.");
+    }
+    this.name = name.trim();
+    this.discount = discount;
+    this.category = category;
+    this.brandName = brandName;
+    this.itemNumbers = itemNumbers;
+    this.startsAt = startsAt;
+    this.endsAt = endsAt;
+  }
+
+  /**
+   * The method creates a campaign on every item in a category.
+   *
+   * @param name the name of the campaign.
+   * @param category the category number.
+   * @param discount the discount in percent.
+   * @param startsAt the start time.
+   * @param endsAt the end time.
+   * @return the campaign.
+   * @throws IllegalArgumentException if the category number is not between 1 and 4,
+   *                                  or any other argument is invalid.
+   */
+  public static Campaign forCategory(String name, int category, int discount, long startsAt,
+                                     long endsAt) {
+    if (Category.getCategoryNameByCategoryNr(category) == null) {
+      throw new IllegalArgumentException("\nThe category number must be between 1 and 4.");
+    }
+    return new Campaign(name, discount, category, null, Set.of(), startsAt, endsAt);
+  }
+
+  /**
+   * The method creates a campaign on every item of a brand. The brand name is not
+   * case sensitive.
+   *
+   * @param name the name of the campaign.
+   * @param brandName the brand name.
+   * @param discount the discount in percent.
+   * @param startsAt the start time.
+   * @param endsAt the end time.
+   * @return the campaign.
+   * @throws IllegalArgumentException if the brand name is blank,
+   *                                  or any other argument is invalid.
+   */
+  public static Campaign forBrand(String name, String brandName, int discount, long startsAt,
+                                  long endsAt) {
+    if (brandName == null || brandName.isBlank()) {
+      throw new IllegalArgumentException("\nThe brand name can't be blank.");
+    }
+    return new Campaign(name, discount, 0, brandName.trim(), Set.of(), startsAt, endsAt);
+  }
+
+  /**
+   * The method creates a campaign on a set of items. The item numbers are not
+   * case sensitive.
+   *
+   * @param name the name of the campaign.
+   * @param itemNumbers the item numbers.
+   * @param discount the discount in percent.
+   * @param startsAt the start time.
+   * @param endsAt the end time.
+   * @return the campaign.
+   * @throws IllegalArgumentException if there are no item numbers,
+   *                                  or any other argument is invalid.
+   */
+  public static Campaign forItems(String name, Collection<String> itemNumbers, int discount,
+                                  long startsAt, long endsAt) {
+    if (itemNumbers.isEmpty()) {
+      throw new IllegalArgumentException("\nThe campaign must include at least one item.");
+    }
+    Set<String> normalized = new HashSet<>();
+    for (String itemNumber : itemNumbers) {
+      normalized.add(normalizeItemNr(itemNumber));
+    }
+    return new Campaign(name, discount, 0, null, Collections.unmodifiableSet(normalized),
+            startsAt, endsAt);
+  }
+
+  /**
+   * The method normalizes an item number to the form used as key in the register.
+   *
+   * @param itemNumber item number.
+   * @return the normalized item number.
+   */
+  static String normalizeItemNr(String itemNumber) {
+    return itemNumber.toUpperCase().trim();
+  }
+
+  /**
+   * The method normalizes a brand name to the form used as key by the pricing engine.
+   *
+   * @param brandName brand name.
+   * @return the normalized brand name.
+   */
+  static String normalizeBrandName(String brandName) {
+    return brandName.toUpperCase().trim();
+  }
+
+  /**
+   * The method checks if the campaign is active at a time.
+   *
+   * @param time the time in milliseconds since the epoch.
+   * @return a boolean to see if the campaign is active.
+   */
+  public boolean isActiveAt(long time) {
+    return startsAt <= time && time < endsAt;
+  }
+
+  /**
+   * The method applies the discount of the campaign to a price,
+   * rounded in the same way as a discount added to an item.
+   *
+   * @param price the price.
+   * @return the discounted price.
+   */
+  public int applyTo(int price) {
+    return (int) Math.round(price * (100 - discount) / 100.0);
+  }
+
+  /**
+   * The method retrieves the name of the campaign.
+   *
+   * @return the name.
+   */
+  public String getName() {
+    return name;
+  }
+
+  /**
+   * The method retrieves the discount of the campaign.
+   *
+   * @return the discount in percent.
+   */
+  public int getDiscount() {
+    return discount;
+  }
+
+  /**
+   * The method retrieves the category number of the discounted items.
+   *
+   * @return the category number, or zero if the campaign is not on a category.
+   */
+  public int getCategory() {
+    return category;
+  }
+
+  /**
+   * The method retrieves the brand name of the discounted items.
+   *
+   * @return the brand name, or null if the campaign is not on a brand.
+   */
+  public String getBrandName() {
+    return brandName;
+  }
+
+  /**
+   * The method retrieves the normalized item numbers of the discounted items.
+   *
+   * @return an unmodifiable set of item numbers, which is empty if the campaign
+   *         is not on a set of items.
+   */
+  public Set<String> getItemNumbers() {
+    return itemNumbers;
+  }
+
+  /**
+   * The method retrieves the start time of the campaign.
+   *
+   * @return the start time in milliseconds since the epoch.
+   */
+  public long getStartsAt() {
+    return startsAt;
+  }
+
+  /**
+   * The method retrieves the end time of the campaign.
+   *
+   * @return the end time in milliseconds since the epoch.
+   */
+  public long getEndsAt() {
+    return endsAt;
+  }
+
+  @Override
+  public String toString() {
+    String scope = category != 0 ? Category.getCategoryNameByCategoryNr(category)
+            : brandName != null ? brandName : itemNumbers.size() + " items";
+    return "\nCampaign: " + name + "."
+            + "\nDiscount: " + discount + " %."
+            + "\nOn: " + scope + "."
+            + "\nFrom: " + startsAt + " ms."
+            + "\nUntil: " + endsAt + " ms.";
+  }
+}
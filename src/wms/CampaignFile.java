@@ -0,0 +1,115 @@
+package wms;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The class stores the price campaigns of a register in a small binary file.
+ *
+ * <p>Campaigns are few and rarely change, so the whole file is written again on every change
+ * rather than appended to a log. It is first written to a temporary file, which then replaces
+ * the old file, so a crash leaves either the old or the new campaigns.</p>
+ *
+ * @author agent.
+ * @version 1.0
+ * @since Oct 18, 2026.
+ */
+final class CampaignFile {
+  private static final int MAGIC = 0x574D4331;
+
+  private CampaignFile() {
+  }
+
+  /**
+   * The method reads the campaigns from a file.
+   *
+   * @param file the file.
+   * @return the campaigns in the order they were added, which is empty if the file
+   *         does not exist.
+   * @throws IOException if the file could not be read, or is not a campaign file.
+   */
+  static List<Campaign> read(Path file) throws IOException {
+    List<Campaign> campaigns = new ArrayList<>();
+    if (!Files.exists(file)) {
+      return campaigns;
+    }
+    try (DataInputStream in = new DataInputStream(
+            new ByteArrayInputStream(Files.readAllBytes(file)))) {
+      if (in.readInt() != MAGIC) {
+        throw new IOException("\nThe file is not a campaign file.");
+      }
+      for (int count = in.readInt(); count > 0; count--) {
+        String name = in.readUTF();
+        int discount = in.readInt();
+        int category = in.readInt();
+        String brandName = in.readBoolean() ? in.readUTF() : null;
+        List<String> itemNumbers = new ArrayList<>();
+        for (int items = in.readInt(); items > 0; items--) {
+          itemNumbers.add(in.readUTF());
+        }
+        long startsAt = in.readLong();
+        long endsAt = in.readLong();
+        if (category != 0) {
+          campaigns.add(Campaign.forCategory(name, category, discount, startsAt, endsAt));
+        } else if (brandName != null) {
+          campaigns.add(Campaign.forBrand(name, brandName, discount, startsAt, endsAt));
+        } else {
+          campaigns.add(Campaign.forItems(name, itemNumbers, discount, startsAt, endsAt));
+        }
+      }
+    }
+    return campaigns;
+  }
+
+  /**
+   * The method writes the campaigns to a file, replacing the campaigns in it.
+   *
+   * @param campaigns the campaigns.
+   * @param file the file.
+   * @throws IOException if the file could not be written.
+   */
+  static void write(List<Campaign> campaigns, Path file) throws IOException {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (DataOutputStream out = new DataOutputStream(bytes)) {
+      out.writeInt(MAGIC);
+      out.writeInt(campaigns.size());
+      for (Campaign campaign : campaigns) {
+        out.writeUTF(campaign.getName());
+        out.writeInt(campaign.getDiscount());
+        out.writeInt(campaign.getCategory());
+        out.writeBoolean(campaign.getBrandName() != null);
+        if (campaign.getBrandName() != null) {
+          out.writeUTF(campaign.getBrandName());
+        }
+        out.writeInt(campaign.getItemNumbers().size());
+        for (String itemNumber : campaign.getItemNumbers()) {
+          out.writeUTF(itemNumber);
+        }
+        out.writeLong(campaign.getStartsAt());
+        out.writeLong(campaign.getEndsAt());
+      }
+    }
+    Path temporaryFile = file.resolveSibling(file.getFileName() + ".tmp");
+    try (FileChannel channel = FileChannel.open(temporaryFile, StandardOpenOption.CREATE,
+            StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+      ByteBuffer buffer = ByteBuffer.wrap(bytes.toByteArray());
+      while (buffer.hasRemaining()) {
+        channel.write(buffer);
+      }
+      channel.force(true);
+    }
+    Files.move(temporaryFile, file, StandardCopyOption.REPLACE_EXISTING,
+            StandardCopyOption.ATOMIC_MOVE);
+  }
+}
@@ -1,5 +1,9 @@
 package wms;
 
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
 /**
  * The class contains a set of categories.
  *
@@ -25,6 +29,11 @@ public enum Category {
    */
   LUMBER(4, "Lumber");
 
+  private static final Category[] CATEGORIES = values();
+  private static final List<Category> CATEGORIES_SORTED_BY_NAME = Arrays.stream(values())
+          .sorted(Comparator.comparing(Category::getCategoryName))
+          .toList();
+
   private final int categoryNr;
   private final String categoryName;
 
@@ -46,7 +55,7 @@ public enum Category {
    * @return category name.
    */
   public static String getCategoryNameByCategoryNr(int categoryNr) {
-    for (Category category : Category.values()) {
+    for (Category category : CATEGORIES) {
       if (category.getCategoryNr() == categoryNr) {
         return category.getCategoryName();
       }
@@ -54,6 +63,15 @@ public enum Category {
     return null;
   }
 
+  /**
+   * The method retrieves all categories sorted by category name.
+   *
+   * @return an unmodifiable list of the categories sorted by category name.
+   */
+  public static List<Category> getCategoriesSortedByName() {
+    return CATEGORIES_SORTED_BY_NAME;
+  }
+
   /**
    * The method retrieves the category number assigned to the enum.
    *
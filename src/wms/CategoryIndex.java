@@ -0,0 +1,118 @@
+package wms;
+
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+
+/**
+ * The class represents a secondary index of items by category number.
+ * Each category keeps its items sorted by price descending and then by item number,
+ * so a category can be listed in price order without scanning or sorting the whole register.
+ * Each category also keeps its items in the order they were registered, so the whole register
+ * can be listed in category name order without sorting.
+ *
+ * <p>The price of an item is part of its position in the index, so an item must be removed
+ * from the index before its price changes, and added again afterwards.</p>
+ *
+ * @author agent.
+ * @version 1.0
+ * @since Oct 18, 2026.
+ */
+class CategoryIndex {
+  static final Comparator<Item> PRICE_DESCENDING = Comparator
+          .comparingInt(Item::getPrice).reversed()
+          .thenComparing(Item::getItemNumber);
+
+  private final Map<Integer, NavigableSet<Item>> itemsByCategory;
+  private final Map<Integer, Map<String, Item>> itemsByCategoryInRegistrationOrder;
+
+  /**
+   * Constructor to create an empty category index.
+   */
+  CategoryIndex() {
+    this.itemsByCategory = new HashMap<>();
+    this.itemsByCategoryInRegistrationOrder = new HashMap<>();
+  }
+
+  /**
+   * The method adds an item to the index.
+   *
+   * @param item the item to add.
+   */
+  void add(Item item) {
+    itemsByCategory.computeIfAbsent(item.getCategory(), c -> new TreeSet<>(PRICE_DESCENDING))
+            .add(item);
+    itemsByCategoryInRegistrationOrder.computeIfAbsent(item.getCategory(),
+            c -> new LinkedHashMap<>()).putIfAbsent(item.getItemNumber(), item);
+  }
+
+  /**
+   * The method removes an item from the index.
+   *
+   * @param item the item to remove.
+   */
+  void remove(Item item) {
+    NavigableSet<Item> items = itemsByCategory.get(item.getCategory());
+    if (items != null) {
+      items.remove(item);
+    }
+  }
+
+  /**
+   * The method removes an item from the index for good. Unlike remove,
+   * which is also used around price changes, it forgets the registration order of the item.
+   *
+   * @param item the item to remove.
+   */
+  void unregister(Item item) {
+    remove(item);
+    Map<String, Item> items = itemsByCategoryInRegistrationOrder.get(item.getCategory());
+    if (items != null) {
+      items.remove(item.getItemNumber());
+    }
+  }
+
+  /**
+   * The method retrieves the items in a category, in the order they were registered.
+   *
+   * @param category the category number.
+   * @return an iterator over the items in the category.
+   */
+  Iterator<Item> iterateInRegistrationOrder(int category) {
+    Map<String, Item> items = itemsByCategoryInRegistrationOrder.get(category);
+    if (items == null) {
+      return Collections.emptyIterator();
+    }
+    return Collections.unmodifiableCollection(items.values()).iterator();
+  }
+
+  /**
+   * The method retrieves the number of items in a category.
+   *
+   * @param category the category number.
+   * @return the number of items in the category.
+   */
+  int count(int category) {
+    Map<String, Item> items = itemsByCategoryInRegistrationOrder.get(category);
+    return items == null ? 0 : items.size();
+  }
+
+  /**
+   * The method retrieves the items in a category, sorted by price descending.
+   *
+   * @param category the category number.
+   * @return an unmodifiable live view of the items in the category.
+   */
+  NavigableSet<Item> getItems(int category) {
+    NavigableSet<Item> items = itemsByCategory.get(category);
+    if (items == null) {
+      return Collections.emptyNavigableSet();
+    }
+    return Collections.unmodifiableNavigableSet(items);
+  }
+}
@@ -1,5 +1,8 @@
 package wms;
 
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
 import java.util.Scanner;
 
 /**
@@ -12,7 +15,10 @@ import java.util.Scanner;
 public class Client {
   private static final Scanner sc = new Scanner(System.in);
 
-  private static final ItemRegister register = new ItemRegister();
+  private static final Path DATA_DIRECTORY = Path.of("wms-data");
+  private static final int SNAPSHOT_INTERVAL = 1000;
+
+  private static DurableItemRegister register;
   private static final Client client = new Client();
 
   private static final int SEE_ALL_ITEMS = 1;
@@ -27,7 +33,9 @@ public class Client {
   private static final int CHANGE_PRICE = 10;
   private static final int CHANGE_DESCRIPTION = 11;
   private static final int CHECK_FOR_RESTOCK_OF_ITEMS = 12;
-  private static final int EXIT = 13;
+  private static final int SEARCH_FOR_ITEMS = 13;
+  private static final int EXIT = 14;
+  private static final int SEARCH_LIMIT = 20;
 
   /**
    * The main method is used to communicate with the user.
@@ -35,13 +43,21 @@ public class Client {
    * @param args an array of String values.
    */
   public static void main(String[] args) {
-    client.testData();
-    client.runMenu();
+    try (DurableItemRegister durableRegister = DurableItemRegister.open(DATA_DIRECTORY,
+            FsyncPolicy.GROUP_COMMIT, SNAPSHOT_INTERVAL)) {
+      register = durableRegister;
+      if (register.size() == 0) {
+        client.testData();
+      }
+      client.runMenu();
+    } catch (IOException e) {
+      System.out.println("\nThe storage in " + DATA_DIRECTORY + " could not be read or written.");
+    }
     sc.close();
   }
 
   /**
-   * The method holds test data.
+   * The method holds test data, which is registered the first time the program is started.
    */
   private void testData() {
     register.registerItem("24GH", "Laminate flooring with extra moisture protection", 2000,
@@ -77,7 +93,8 @@ public class Client {
             10. Change the price of an item.
             11. Change the description of an item.
             12. Check which Items need replenishment.
-            13. Exit.
+            13. Search for items.
+            14. Exit.
             """);
   }
 
@@ -87,7 +104,7 @@ public class Client {
   private void runMenu() {
     int choice = 0;
     try {
-      while (choice != 13) {
+      while (choice != EXIT) {
         client.showMenu();
 
         choice = Integer.parseInt(sc.nextLine().trim());
@@ -105,6 +122,7 @@ public class Client {
           case CHANGE_PRICE -> changePrice();
           case CHANGE_DESCRIPTION -> changeDescription();
           case CHECK_FOR_RESTOCK_OF_ITEMS -> checkForRestockOfItems();
+          case SEARCH_FOR_ITEMS -> searchForItems();
           case EXIT -> exit();
           default -> invalidInput();
         }
@@ -125,11 +143,16 @@ public class Client {
    * The method displays all items.
    */
   private void seeAllItems() {
-    if (register.toString().isEmpty()) {
+    if (register.size() == 0) {
       System.out.println("\nNo items registered.");
     } else {
       System.out.println("All items in storage:");
-      System.out.println(register);
+      try {
+        register.writeTo(System.out);
+      } catch (IOException e) {
+        System.out.println("\nCould not display the items. Try again.");
+      }
+      System.out.println();
     }
   }
 
@@ -325,6 +348,21 @@ public class Client {
     }
   }
 
+  /**
+   * The method searches for items by item number, brand name and description.
+   */
+  private void searchForItems() {
+    System.out.println("\nYou have chosen to search for items.");
+    System.out.println("Type in a part of an item number, brand name or description.");
+    List<ItemView> items = register.search(sc.nextLine(), SEARCH_LIMIT);
+    if (items.isEmpty()) {
+      System.out.println("\nNo items match the search.");
+    } else {
+      System.out.println("\nThe " + items.size() + " best matching items.");
+      System.out.println(items);
+    }
+  }
+
   /**
    * The method shows that you have exited the program.
    */
@@ -337,7 +375,7 @@ public class Client {
    */
   private void invalidInput() {
     System.out.println("\nYou have entered an invalid number. "
-            + "Try again with a number between 1 and 13.");
+            + "Try again with a number between 1 and 14.");
   }
 }
 
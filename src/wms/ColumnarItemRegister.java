@@ -0,0 +1,703 @@
+package wms;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * The class represents an item register that stores the items column by column.
+ *
+ * <p>Instead of one object per item, every field is kept in its own array, and an item is a row
+ * index into these arrays. Brand names and colors are dictionary-encoded, since many items share
+ * them. Rows are kept dense: removing an item moves the last row into its place. Queries that scan
+ * the catalogue, such as category filters and restock checks, therefore only read the primitive
+ * columns they need, and each item costs a fraction of the heap of an object of the class Item.</p>
+ *
+ * <p>Items are found through an open-addressing hash table that maps item numbers to rows.
+ * The views handed out by the register read the columns directly. Each row has at most one
+ * view, which is moved along with the row, so a view always reads the row of its own item and
+ * never the row of an item that was registered later with the same item number. Like a view of
+ * an object of the class Item, a view of a removed item keeps showing the item as it was when
+ * it was removed. The register only holds its views weakly, and forgets a view once it is
+ * collected, so listing the whole catalogue does not leave an object per item on the heap.</p>
+ *
+ * <p>Listings sort primitive keys that hold the sort value and the row. Items with the same
+ * sort value are then ordered by item number, as in the class ItemRegister, since the rows
+ * are reordered when items are removed.</p>
+ *
+ * @author agent.
+ * @version 1.0
+ * @since Oct 18, 2026.
+ */
+public class ColumnarItemRegister implements Register {
+  private static final int INITIAL_CAPACITY = 16;
+  private static final int NO_DISCOUNT = -1;
+  private static final int NO_THRESHOLD = -1;
+
+  private final StringDictionary brandNames;
+  private final StringDictionary colors;
+
+  private String[] itemNumbers;
+  private String[] descriptions;
+  private int[] prices;
+  private int[] priceBeforeDiscount;
+  private int[] brandCodes;
+  private double[] weights;
+  private double[] lengths;
+  private double[] heights;
+  private int[] colorCodes;
+  private int[] amounts;
+  private byte[] categories;
+  private long[] versions;
+  private int[] reorderThresholds;
+  private ViewReference[] views;
+  private final ReferenceQueue<RowView> collectedViews;
+  private int size;
+
+  private int[] slots;
+  private final int[] categoryReorderThresholds;
+
+  /**
+   * Constructor to create an empty ColumnarItemRegister.
+   */
+  public ColumnarItemRegister() {
+    this.brandNames = new StringDictionary();
+    this.colors = new StringDictionary();
+    this.itemNumbers = new String[INITIAL_CAPACITY];
+    this.descriptions = new String[INITIAL_CAPACITY];
+    this.prices = new int[INITIAL_CAPACITY];
+    this.priceBeforeDiscount = new int[INITIAL_CAPACITY];
+    this.brandCodes = new int[INITIAL_CAPACITY];
+    this.weights = new double[INITIAL_CAPACITY];
+    this.lengths = new double[INITIAL_CAPACITY];
+    this.heights = new double[INITIAL_CAPACITY];
+    this.colorCodes = new int[INITIAL_CAPACITY];
+    this.amounts = new int[INITIAL_CAPACITY];
+    this.categories = new byte[INITIAL_CAPACITY];
+    this.versions = new long[INITIAL_CAPACITY];
+    this.reorderThresholds = new int[INITIAL_CAPACITY];
+    this.views = new ViewReference[INITIAL_CAPACITY];
+    this.collectedViews = new ReferenceQueue<>();
+    this.slots = new int[INITIAL_CAPACITY * 2];
+    this.categoryReorderThresholds = new int[Category.values().length + 1];
+  }
+
+  /**
+   * The method normalizes an item number to the form used as key in the register.
+   *
+   * @param itemNumber item number.
+   * @return the normalized item number.
+   */
+  private static String normalizeItemNr(String itemNumber) {
+    return itemNumber.toUpperCase().trim();
+  }
+
+  /**
+   * The method finds the first slot in the hash table to probe for an item number.
+   *
+   * @param key normalized item number.
+   * @return the home slot of the item number.
+   */
+  private int homeSlot(String key) {
+    int hash = key.hashCode() * 0x9E3779B9;
+    return (hash ^ (hash >>> 16)) & (slots.length - 1);
+  }
+
+  /**
+   * The method finds the slot in the hash table holding an item number.
+   * A slot holds the row of the item plus one, and zero marks an empty slot.
+   *
+   * @param key normalized item number.
+   * @return the slot holding the item number, or -1 if it is not registered.
+   */
+  private int findSlot(String key) {
+    int mask = slots.length - 1;
+    for (int slot = homeSlot(key); slots[slot] != 0; slot = (slot + 1) & mask) {
+      if (itemNumbers[slots[slot] - 1].equals(key)) {
+        return slot;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * The method finds the row of an item number.
+   *
+   * @param key normalized item number.
+   * @return the row of the item, or -1 if it is not registered.
+   */
+  int findRow(String key) {
+    int slot = findSlot(key);
+    return slot < 0 ? -1 : slots[slot] - 1;
+  }
+
+  /**
+   * The method puts a row into the hash table under the item number of the row.
+   *
+   * @param row the row.
+   */
+  private void insertSlot(int row) {
+    int mask = slots.length - 1;
+    int slot = homeSlot(itemNumbers[row]);
+    while (slots[slot] != 0) {
+      slot = (slot + 1) & mask;
+    }
+    slots[slot] = row + 1;
+  }
+
+  /**
+   * The method empties a slot of the hash table, and shifts the following entries back,
+   * so no lookup has to probe past an empty slot.
+   *
+   * @param slot the slot to empty.
+   */
+  private void deleteSlot(int slot) {
+    int mask = slots.length - 1;
+    int hole = slot;
+    int next = slot;
+    while (true) {
+      next = (next + 1) & mask;
+      if (slots[next] == 0) {
+        break;
+      }
+      int home = homeSlot(itemNumbers[slots[next] - 1]);
+      boolean reachableWithoutHole = hole <= next
+              ? hole < home && home <= next
+              : hole < home || home <= next;
+      if (!reachableWithoutHole) {
+        slots[hole] = slots[next];
+        hole = next;
+      }
+    }
+    slots[hole] = 0;
+  }
+
+  /**
+   * The method makes room for one more row, growing the columns and the hash table if needed.
+   */
+  private void ensureCapacity() {
+    if (size == itemNumbers.length) {
+      int capacity = itemNumbers.length + (itemNumbers.length >> 1);
+      itemNumbers = Arrays.copyOf(itemNumbers, capacity);
+      descriptions = Arrays.copyOf(descriptions, capacity);
+      prices = Arrays.copyOf(prices, capacity);
+      priceBeforeDiscount = Arrays.copyOf(priceBeforeDiscount, capacity);
+      brandCodes = Arrays.copyOf(brandCodes, capacity);
+      weights = Arrays.copyOf(weights, capacity);
+      lengths = Arrays.copyOf(lengths, capacity);
+      heights = Arrays.copyOf(heights, capacity);
+      colorCodes = Arrays.copyOf(colorCodes, capacity);
+      amounts = Arrays.copyOf(amounts, capacity);
+      categories = Arrays.copyOf(categories, capacity);
+      versions = Arrays.copyOf(versions, capacity);
+      reorderThresholds = Arrays.copyOf(reorderThresholds, capacity);
+      views = Arrays.copyOf(views, capacity);
+    }
+    if ((size + 1) * 2 > slots.length) {
+      slots = new int[slots.length * 2];
+      for (int row = 0; row < size; row++) {
+        insertSlot(row);
+      }
+    }
+  }
+
+  /**
+   * The method copies every column of one row into another row.
+   *
+   * @param from the row to copy from.
+   * @param to the row to copy to.
+   */
+  private void moveRow(int from, int to) {
+    itemNumbers[to] = itemNumbers[from];
+    descriptions[to] = descriptions[from];
+    prices[to] = prices[from];
+    priceBeforeDiscount[to] = priceBeforeDiscount[from];
+    brandCodes[to] = brandCodes[from];
+    weights[to] = weights[from];
+    lengths[to] = lengths[from];
+    heights[to] = heights[from];
+    colorCodes[to] = colorCodes[from];
+    amounts[to] = amounts[from];
+    categories[to] = categories[from];
+    versions[to] = versions[from];
+    reorderThresholds[to] = reorderThresholds[from];
+    views[to] = views[from];
+    if (views[to] != null) {
+      views[to].row = to;
+      RowView view = views[to].get();
+      if (view != null) {
+        view.row = to;
+      }
+    }
+  }
+
+  /**
+   * The method retrieves the view of a row, and creates it if the row has no view
+   * that is still referenced.
+   *
+   * @param row the row.
+   * @return the view of the row.
+   */
+  private RowView view(int row) {
+    RowView view = views[row] == null ? null : views[row].get();
+    if (view == null) {
+      view = new RowView(row);
+      views[row] = new ViewReference(view, row, collectedViews);
+    }
+    return view;
+  }
+
+  /**
+   * The method forgets the views that have been collected, so their references can be
+   * collected too.
+   */
+  private void forgetCollectedViews() {
+    for (Reference<? extends RowView> collected = collectedViews.poll(); collected != null;
+         collected = collectedViews.poll()) {
+      ViewReference reference = (ViewReference) collected;
+      if (reference.row >= 0 && views[reference.row] == reference) {
+        views[reference.row] = null;
+      }
+    }
+  }
+
+  @Override
+  public int size() {
+    return size;
+  }
+
+  @Override
+  public int countDiscountedItems() {
+    int count = 0;
+    for (int row = 0; row < size; row++) {
+      if (priceBeforeDiscount[row] != NO_DISCOUNT) {
+        count++;
+      }
+    }
+    return count;
+  }
+
+  @Override
+  public void registerItem(String itemNumber, String description, int price,
+                           String brandName, double weight, double length, double height,
+                           String color, int amountInStorage, int category) {
+    if (findSlot(normalizeItemNr(itemNumber)) >= 0) {
+      throw new IllegalArgumentException("\nAn item with the same item number already exists.");
+    }
+    // The class Item holds the validation and normalization rules for every field.
+    Item item = new Item(itemNumber, description, price, brandName, weight,
+            length, height, color, amountInStorage, category);
+    ensureCapacity();
+    int row = size++;
+    itemNumbers[row] = item.getItemNumber();
+    descriptions[row] = item.getDescription();
+    prices[row] = item.getPrice();
+    priceBeforeDiscount[row] = NO_DISCOUNT;
+    brandCodes[row] = brandNames.encode(item.getBrandName());
+    weights[row] = item.getWeight();
+    lengths[row] = item.getLength();
+    heights[row] = item.getHeight();
+    colorCodes[row] = colors.encode(item.getColor());
+    amounts[row] = item.getAmountInStorage();
+    categories[row] = (byte) item.getCategory();
+    versions[row] = 0;
+    reorderThresholds[row] = NO_THRESHOLD;
+    insertSlot(row);
+  }
+
+  @Override
+  public ItemView getItemByItemNr(String itemNumber) {
+    forgetCollectedViews();
+    int row = findRow(normalizeItemNr(itemNumber));
+    if (row < 0) {
+      return null;
+    }
+    return view(row);
+  }
+
+  @Override
+  public boolean increaseStorage(String itemNumber, int increase) {
+    int row = findRow(normalizeItemNr(itemNumber));
+    if (row < 0) {
+      return false;
+    }
+    if (increase < 0) {
+      throw new IllegalArgumentException("\nThe increase can't be less than zero.");
+    }
+    try {
+      amounts[row] = Math.addExact(amounts[row], increase);
+    } catch (ArithmeticException e) {
+      throw new IllegalArgumentException("\nThe amount in storage would be too large. Try again");
+    }
+    versions[row]++;
+    return true;
+  }
+
+  @Override
+  public boolean decreaseStorage(String itemNumber, int decrease) {
+    int row = findRow(normalizeItemNr(itemNumber));
+    if (row < 0) {
+      return false;
+    }
+    if (decrease < 0) {
+      throw new IllegalArgumentException("\nThe amount you want to remove, "
+              + "can't be less than zero.");
+    }
+    if (amounts[row] - decrease < 0) {
+      throw new IllegalArgumentException("\nAmount in storage can't be less than zero. Try again");
+    }
+    amounts[row] -= decrease;
+    versions[row]++;
+    return true;
+  }
+
+  @Override
+  public boolean removeItemFromStorage(String itemNumber) {
+    int slot = findSlot(normalizeItemNr(itemNumber));
+    if (slot < 0) {
+      return false;
+    }
+    int row = slots[slot] - 1;
+    deleteSlot(slot);
+    if (views[row] != null) {
+      RowView view = views[row].get();
+      if (view != null) {
+        view.detach();
+      }
+      views[row].row = -1;
+    }
+    int last = --size;
+    if (row != last) {
+      slots[findSlot(itemNumbers[last])] = row + 1;
+      moveRow(last, row);
+    }
+    itemNumbers[last] = null;
+    descriptions[last] = null;
+    views[last] = null;
+    return true;
+  }
+
+  @Override
+  public boolean addDiscount(String itemNumber, int discount) {
+    int row = findRow(normalizeItemNr(itemNumber));
+    if (row < 0) {
+      return false;
+    }
+    if (discount < 0 || discount > 100) {
+      throw new IllegalArgumentException("\nMake sure the discount is between 0 and 100 percent.");
+    }
+    if (priceBeforeDiscount[row] == NO_DISCOUNT) {
+      priceBeforeDiscount[row] = prices[row];
+    }
+    prices[row] = (int) Math.round(prices[row] * (100 - discount) / 100.0);
+    versions[row]++;
+    return true;
+  }
+
+  @Override
+  public boolean resetPriceOfItemToBeforeDiscount(String itemNumber) {
+    int row = findRow(normalizeItemNr(itemNumber));
+    if (row < 0 || priceBeforeDiscount[row] == NO_DISCOUNT) {
+      return false;
+    }
+    prices[row] = priceBeforeDiscount[row];
+    priceBeforeDiscount[row] = NO_DISCOUNT;
+    versions[row]++;
+    return true;
+  }
+
+  @Override
+  public boolean changePrice(String itemNumber, int newPrice) {
+    int row = findRow(normalizeItemNr(itemNumber));
+    if (row < 0) {
+      return false;
+    }
+    if (newPrice < 0) {
+      throw new IllegalArgumentException("\nPrice can't be less than zero. Try again");
+    }
+    prices[row] = newPrice;
+    priceBeforeDiscount[row] = NO_DISCOUNT;
+    versions[row]++;
+    return true;
+  }
+
+  @Override
+  public boolean changeDescription(String itemNumber, String newDescription) {
+    int row = findRow(normalizeItemNr(itemNumber));
+    if (row < 0) {
+      return false;
+    }
+    if (newDescription.isBlank()) {
+      throw new IllegalArgumentException("\nYou must enter a description for the item. Try again");
+    }
+    descriptions[row] = newDescription.trim();
+    versions[row]++;
+    return true;
+  }
+
+  /**
+   * The method gets items by category number, by scanning the category column.
+   *
+   * @param category the category number.
+   * @return read-only views of all items with given category, sorted by price descending.
+   */
+  @Override
+  public List<ItemView> getItemsByCategory(int category) {
+    // Each key holds the inverted price in the high bits and the row in the low bits,
+    // so sorting the keys ascending sorts the rows by price descending.
+    long[] keys = new long[size];
+    int matches = 0;
+    for (int row = 0; row < size; row++) {
+      if (categories[row] == category) {
+        keys[matches++] = ((long) (Integer.MAX_VALUE - prices[row]) << 32) | row;
+      }
+    }
+    return views(keys, matches);
+  }
+
+  /**
+   * The method checks for which items need replenishment, by scanning the amount column.
+   *
+   * @return read-only views of all items that need replenishment, sorted by category name.
+   */
+  @Override
+  public boolean setReorderThreshold(String itemNumber, int threshold) {
+    int row = findRow(normalizeItemNr(itemNumber));
+    if (row < 0) {
+      return false;
+    }
+    RestockTracker.checkThreshold(threshold);
+    reorderThresholds[row] = threshold;
+    return true;
+  }
+
+  @Override
+  public void setReorderThreshold(Category category, int threshold) {
+    RestockTracker.checkThreshold(threshold);
+    categoryReorderThresholds[category.getCategoryNr()] = threshold;
+  }
+
+  @Override
+  public List<ItemView> checkForRestockOfItems() {
+    int[] rankOfCategory = categoryRanks();
+    long[] keys = new long[size];
+    int matches = 0;
+    for (int row = 0; row < size; row++) {
+      int threshold = reorderThresholds[row] != NO_THRESHOLD
+              ? reorderThresholds[row] : categoryReorderThresholds[categories[row]];
+      if (amounts[row] <= threshold) {
+        keys[matches++] = ((long) rankOfCategory[categories[row]] << 32) | row;
+      }
+    }
+    return views(keys, matches);
+  }
+
+  /**
+   * The method finds the position of each category number when the categories
+   * are sorted by category name.
+   *
+   * @return the rank of each category, indexed by category number.
+   */
+  private static int[] categoryRanks() {
+    List<Category> sortedCategories = Category.getCategoriesSortedByName();
+    int[] rankOfCategory = new int[Category.values().length + 1];
+    for (int rank = 0; rank < sortedCategories.size(); rank++) {
+      rankOfCategory[sortedCategories.get(rank).getCategoryNr()] = rank;
+    }
+    return rankOfCategory;
+  }
+
+  /**
+   * The method sorts sort keys that hold a sort value in their high 32 bits and a row in
+   * their low 32 bits, orders the rows with the same sort value by item number, and creates
+   * a view of each row in that order.
+   *
+   * @param keys the sort keys.
+   * @param count the number of keys in use.
+   * @return the views in key order.
+   */
+  private List<ItemView> views(long[] keys, int count) {
+    forgetCollectedViews();
+    Arrays.sort(keys, 0, count);
+    List<ItemView> views = new ArrayList<>(count);
+    int start = 0;
+    while (start < count) {
+      int end = start + 1;
+      while (end < count && keys[end] >>> 32 == keys[start] >>> 32) {
+        end++;
+      }
+      if (end - start > 1) {
+        Integer[] tied = new Integer[end - start];
+        for (int i = start; i < end; i++) {
+          tied[i - start] = (int) keys[i];
+        }
+        Arrays.sort(tied, (a, b) -> itemNumbers[a].compareTo(itemNumbers[b]));
+        for (int row : tied) {
+          views.add(view(row));
+        }
+      } else {
+        views.add(view((int) keys[start]));
+      }
+      start = end;
+    }
+    return views;
+  }
+
+  /**
+   * The method sorts the rows after category name and then after item number.
+   *
+   * @return the sorted rows.
+   */
+  private int[] sortRowsAfterCategoryName() {
+    int[] rankOfCategory = categoryRanks();
+    return IntStream.range(0, size).boxed()
+            .sorted((a, b) -> rankOfCategory[categories[a]] != rankOfCategory[categories[b]]
+                    ? Integer.compare(rankOfCategory[categories[a]], rankOfCategory[categories[b]])
+                    : itemNumbers[a].compareTo(itemNumbers[b]))
+            .mapToInt(Integer::intValue)
+            .toArray();
+  }
+
+  /**
+   * The method streams all registered items, sorted by category name and then by item number.
+   * The rows are sorted when the stream is consumed, and views are created one at a time.
+   *
+   * @return a stream of read-only views of all items.
+   */
+  @Override
+  public Stream<ItemView> streamItems() {
+    return Stream.of(this).flatMap(register -> {
+      register.forgetCollectedViews();
+      return Arrays.stream(sortRowsAfterCategoryName()).mapToObj(register::view);
+    });
+  }
+
+  /**
+   * The method gives each registered item in the register their descriptions,
+   * and displays it, sorted by category name and then by item number.
+   *
+   * @return all the items with their descriptions.
+   */
+  @Override
+  public String toString() {
+    StringBuilder sb = new StringBuilder();
+    for (int row : sortRowsAfterCategoryName()) {
+      sb.append(Item.describe(new RowView(row)));
+    }
+    return sb.toString();
+  }
+
+  /**
+   * The class is the weak reference of the register to the view of a row. It keeps the row
+   * itself, so the register can forget the view once it is collected, and the row is -1 once
+   * the item is removed.
+   */
+  private static final class ViewReference extends WeakReference<RowView> {
+    private int row;
+
+    private ViewReference(RowView view, int row, ReferenceQueue<RowView> queue) {
+      super(view, queue);
+      this.row = row;
+    }
+  }
+
+  /**
+   * The class is a read-only view of one row of the register. The register moves the view
+   * along with its row, and detaches it when the item is removed, so it then reads a copy of
+   * the item as it was when it was removed.
+   */
+  private final class RowView implements ItemView {
+    private final String itemNumber;
+    private int row;
+    private Item removed;
+    private long removedVersion;
+
+    private RowView(int row) {
+      this.itemNumber = itemNumbers[row];
+      this.row = row;
+    }
+
+    /**
+     * The method copies the row into the view, since the row is reused after the removal.
+     */
+    private void detach() {
+      removedVersion = versions[row];
+      removed = new Item(this);
+    }
+
+    @Override
+    public String getItemNumber() {
+      return itemNumber;
+    }
+
+    @Override
+    public String getDescription() {
+      return removed == null ? descriptions[row] : removed.getDescription();
+    }
+
+    @Override
+    public int getPrice() {
+      return removed == null ? prices[row] : removed.getPrice();
+    }
+
+    @Override
+    public String getBrandName() {
+      return removed == null ? brandNames.decode(brandCodes[row]) : removed.getBrandName();
+    }
+
+    @Override
+    public double getWeight() {
+      return removed == null ? weights[row] : removed.getWeight();
+    }
+
+    @Override
+    public double getLength() {
+      return removed == null ? lengths[row] : removed.getLength();
+    }
+
+    @Override
+    public double getHeight() {
+      return removed == null ? heights[row] : removed.getHeight();
+    }
+
+    @Override
+    public String getColor() {
+      return removed == null ? colors.decode(colorCodes[row]) : removed.getColor();
+    }
+
+    @Override
+    public int getAmountInStorage() {
+      return removed == null ? amounts[row] : removed.getAmountInStorage();
+    }
+
+    @Override
+    public int getCategory() {
+      return removed == null ? categories[row] : removed.getCategory();
+    }
+
+    @Override
+    public long getVersion() {
+      return removed == null ? versions[row] : removedVersion;
+    }
+
+    @Override
+    public String toString() {
+      return Item.describe(this);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      return this == o || o instanceof ItemView item && Item.hasSameFields(this, item);
+    }
+
+    @Override
+    public int hashCode() {
+      return itemNumber.hashCode();
+    }
+  }
+}
@@ -0,0 +1,565 @@
+package wms;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * The class represents a thread-safe item register.
+ *
+ * <p>Items are kept in a concurrent map keyed by normalized item number. Every mutation of an
+ * item is done while holding one of a fixed set of striped locks, chosen by the hash of the item
+ * number, so updates of the same item are atomic while updates of different items rarely contend.
+ * Reads never take a lock, and rely on the volatile fields of the class Item.</p>
+ *
+ * @author agent.
+ * @version 1.0
+ * @since Oct 18, 2026.
+ */
+public class ConcurrentItemRegister implements Register {
+  private static final int DEFAULT_STRIPES = 64;
+  private static final Comparator<Item> CATEGORY_NAME_THEN_ITEM_NUMBER = Comparator
+          .comparing(Item::getCategoryName).thenComparing(Item::getItemNumber);
+
+  /**
+   * The number of items from which a scan gains from running in parallel, chosen with
+   * ParallelScanBenchmark. Splitting the items and merging the results costs about 25
+   * microseconds, and a sequential scan of fewer items takes less than half a millisecond,
+   * so below it a parallel scan saves too little to make up for the threads it occupies.
+   */
+  public static final int DEFAULT_PARALLEL_THRESHOLD = 10_000;
+
+  private final Map<String, Item> items;
+  private final Map<String, Integer> priceOfItemsBeforeDiscount;
+  private final Map<String, Integer> reorderThresholds;
+  private final Map<Integer, Integer> categoryReorderThresholds;
+  private final ReentrantLock[] locks;
+  private volatile int parallelThreshold;
+
+  /**
+   * Constructor to create an object of ConcurrentItemRegister,
+   * with a default number of lock stripes.
+   */
+  public ConcurrentItemRegister() {
+    this(DEFAULT_STRIPES);
+  }
+
+  /**
+   * Constructor to create an object of ConcurrentItemRegister.
+   *
+   * @param stripes the number of lock stripes, rounded up to a power of two.
+   * @throws IllegalArgumentException if stripes is less than one.
+   */
+  public ConcurrentItemRegister(int stripes) {
+    if (stripes < 1) {
+      throw new IllegalArgumentException("\nThe number of lock stripes must be at least one.");
+    }
+    int size = Integer.highestOneBit(stripes);
+    if (size < stripes) {
+      size <<= 1;
+    }
+    this.items = new ConcurrentHashMap<>();
+    this.priceOfItemsBeforeDiscount = new ConcurrentHashMap<>();
+    this.reorderThresholds = new ConcurrentHashMap<>();
+    this.categoryReorderThresholds = new ConcurrentHashMap<>();
+    this.parallelThreshold = Integer.MAX_VALUE;
+    this.locks = new ReentrantLock[size];
+    for (int i = 0; i < size; i++) {
+      locks[i] = new ReentrantLock();
+    }
+  }
+
+  /**
+   * The method normalizes an item number to the form used as key in the register.
+   *
+   * @param itemNumber item number.
+   * @return the normalized item number.
+   */
+  private static String normalizeItemNr(String itemNumber) {
+    return itemNumber.toUpperCase().trim();
+  }
+
+  /**
+   * The method finds the lock stripe guarding an item number.
+   *
+   * @param key normalized item number.
+   * @return the lock guarding the item number.
+   */
+  ReentrantLock lockFor(String key) {
+    return locks[stripeFor(key)];
+  }
+
+  /**
+   * The method finds the index of the lock stripe guarding an item number.
+   *
+   * @param key normalized item number.
+   * @return the index of the lock guarding the item number.
+   */
+  private int stripeFor(String key) {
+    int hash = key.hashCode();
+    return (hash ^ (hash >>> 16)) & (locks.length - 1);
+  }
+
+  /**
+   * The method turns on parallel scans for registers of at least a number of items. The scans
+   * behind getItemsByCategory, checkForRestockOfItems, streamItems and toString then split the
+   * items over the common fork-join pool, filter and sort each part in parallel, and merge
+   * the parts. Scans are sequential by default.
+   *
+   * @param minItems the smallest number of items to scan in parallel, such as
+   *                 DEFAULT_PARALLEL_THRESHOLD, or Integer.MAX_VALUE to keep every scan
+   *                 sequential.
+   * @throws IllegalArgumentException if the number of items is less than zero.
+   */
+  public void setParallelThreshold(int minItems) {
+    if (minItems < 0) {
+      throw new IllegalArgumentException("\nThe number of items can't be less than zero.");
+    }
+    this.parallelThreshold = minItems;
+  }
+
+  /**
+   * The method streams the registered items, in parallel if the register has reached the
+   * parallel threshold. The items of a concurrent map split evenly, so each part is scanned
+   * by its own thread.
+   *
+   * @return a stream of the items, in no particular order.
+   */
+  private Stream<Item> scanItems() {
+    return items.size() >= parallelThreshold
+            ? items.values().parallelStream() : items.values().stream();
+  }
+
+  /**
+   * The method sorts the items after category name,
+   * and after item number within the same category.
+   *
+   * @return a sorted item list.
+   */
+  private List<Item> sortListAfterCategoryName() {
+    return scanItems()
+            .sorted(CATEGORY_NAME_THEN_ITEM_NUMBER)
+            .collect(Collectors.toList());
+  }
+
+  @Override
+  public void registerItem(String itemNumber, String description, int price,
+                           String brandName, double weight, double length, double height,
+                           String color, int amountInStorage, int category) {
+    if (items.containsKey(normalizeItemNr(itemNumber))) {
+      throw new IllegalArgumentException("\nAn item with the same item number already exists.");
+    }
+    Item item = new Item(itemNumber, description, price, brandName, weight,
+            length, height, color, amountInStorage, category);
+    ReentrantLock lock = lockFor(item.getItemNumber());
+    lock.lock();
+    try {
+      if (items.putIfAbsent(item.getItemNumber(), item) != null) {
+        throw new IllegalArgumentException("\nAn item with the same item number already exists.");
+      }
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public ItemView getItemByItemNr(String itemNumber) {
+    Item item = items.get(normalizeItemNr(itemNumber));
+    if (item == null) {
+      return null;
+    }
+    return item.asView();
+  }
+
+  @Override
+  public boolean increaseStorage(String itemNumber, int increase) {
+    String key = normalizeItemNr(itemNumber);
+    if (!items.containsKey(key)) {
+      return false;
+    }
+    if (increase < 0) {
+      throw new IllegalArgumentException("\nThe increase can't be less than zero.");
+    }
+    ReentrantLock lock = lockFor(key);
+    lock.lock();
+    try {
+      Item item = items.get(key);
+      if (item == null) {
+        return false;
+      }
+      item.setAmountInStorage(item.getAmountInStorage() + increase);
+      return true;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public boolean decreaseStorage(String itemNumber, int decrease) {
+    String key = normalizeItemNr(itemNumber);
+    if (!items.containsKey(key)) {
+      return false;
+    }
+    if (decrease < 0) {
+      throw new IllegalArgumentException("\nThe amount you want to remove, "
+              + "can't be less than zero.");
+    }
+    ReentrantLock lock = lockFor(key);
+    lock.lock();
+    try {
+      Item item = items.get(key);
+      if (item == null) {
+        return false;
+      }
+      item.setAmountInStorage(item.getAmountInStorage() - decrease);
+      return true;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public boolean removeItemFromStorage(String itemNumber) {
+    String key = normalizeItemNr(itemNumber);
+    ReentrantLock lock = lockFor(key);
+    lock.lock();
+    try {
+      if (items.remove(key) == null) {
+        return false;
+      }
+      priceOfItemsBeforeDiscount.remove(key);
+      reorderThresholds.remove(key);
+      return true;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public boolean addDiscount(String itemNumber, int discount) {
+    String key = normalizeItemNr(itemNumber);
+    if (!items.containsKey(key)) {
+      return false;
+    }
+    if (discount < 0 || discount > 100) {
+      throw new IllegalArgumentException("\nMake sure the discount is between 0 and 100 percent.");
+    }
+    ReentrantLock lock = lockFor(key);
+    lock.lock();
+    try {
+      Item item = items.get(key);
+      if (item == null) {
+        return false;
+      }
+      priceOfItemsBeforeDiscount.putIfAbsent(key, item.getPrice());
+      item.setPrice((int) Math.round(item.getPrice() * (100 - discount) / 100.0));
+      return true;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public boolean resetPriceOfItemToBeforeDiscount(String itemNumber) {
+    String key = normalizeItemNr(itemNumber);
+    ReentrantLock lock = lockFor(key);
+    lock.lock();
+    try {
+      Integer priceBeforeDiscount = priceOfItemsBeforeDiscount.remove(key);
+      if (priceBeforeDiscount == null) {
+        return false;
+      }
+      items.get(key).setPrice(priceBeforeDiscount);
+      return true;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public boolean changePrice(String itemNumber, int newPrice) {
+    String key = normalizeItemNr(itemNumber);
+    ReentrantLock lock = lockFor(key);
+    lock.lock();
+    try {
+      Item item = items.get(key);
+      if (item == null) {
+        return false;
+      }
+      item.setPrice(newPrice);
+      priceOfItemsBeforeDiscount.remove(key);
+      reorderThresholds.remove(key);
+      return true;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * The method reduces the amount of an item, if the item has not changed since it was read
+   * and has enough in storage. If the version already differs the update fails before taking
+   * a lock. Otherwise it waits for the lock of the item, which is only held for a few field
+   * updates, and checks the version again, so it only fails if the item really changed.
+   * A caller that gets a conflict can read the item again and retry.
+   *
+   * @param itemNumber item number.
+   * @param decrease the removal of the quantity.
+   * @param expectedVersion the version of the item when it was read.
+   * @return the outcome of the update.
+   * @throws IllegalArgumentException if the decrease is less than zero.
+   */
+  public UpdateResult decreaseStorageIfVersion(String itemNumber, int decrease,
+                                               long expectedVersion) {
+    return decreaseIf(normalizeItemNr(itemNumber), decrease, expectedVersion, true);
+  }
+
+  /**
+   * The method applies a batch of stock movements as one unit. The locks of every item in the
+   * batch are held while it is validated and applied, and they are taken in the order of the
+   * stripes, so two batches can never wait for each other.
+   *
+   * @param movements the lines of the batch.
+   * @return the reason each invalid line was rejected, by the index of the line,
+   *         which is empty if the batch was applied.
+   */
+  @Override
+  public SortedMap<Integer, String> applyStockMovements(List<StockMovement> movements) {
+    int[] stripes = movements.stream()
+            .mapToInt(movement -> stripeFor(normalizeItemNr(movement.getItemNumber())))
+            .distinct().sorted().toArray();
+    for (int stripe : stripes) {
+      locks[stripe].lock();
+    }
+    try {
+      return Register.super.applyStockMovements(movements);
+    } finally {
+      for (int i = stripes.length - 1; i >= 0; i--) {
+        locks[stripes[i]].unlock();
+      }
+    }
+  }
+
+  /**
+   * The method reduces the amount of an item, if it has at least as many in storage
+   * as the decrease, while holding the lock of the item.
+   *
+   * @param itemNumber item number.
+   * @param decrease the removal of the quantity.
+   * @return the outcome of the update.
+   * @throws IllegalArgumentException if the decrease is less than zero.
+   */
+  public UpdateResult decreaseStorageIfAvailable(String itemNumber, int decrease) {
+    return decreaseIf(normalizeItemNr(itemNumber), decrease, 0, false);
+  }
+
+  /**
+   * The method reduces the amount of an item if the conditions hold.
+   *
+   * @param key normalized item number.
+   * @param decrease the removal of the quantity.
+   * @param expectedVersion the version of the item when it was read.
+   * @param checkVersion whether the version of the item must be the expected version.
+   * @return the outcome of the update.
+   * @throws IllegalArgumentException if the decrease is less than zero.
+   */
+  private UpdateResult decreaseIf(String key, int decrease, long expectedVersion,
+                                  boolean checkVersion) {
+    Item item = items.get(key);
+    if (item == null) {
+      return UpdateResult.NOT_FOUND;
+    }
+    if (decrease < 0) {
+      throw new IllegalArgumentException("\nThe amount you want to remove, "
+              + "can't be less than zero.");
+    }
+    if (checkVersion && item.getVersion() != expectedVersion) {
+      return UpdateResult.VERSION_CONFLICT;
+    }
+    ReentrantLock lock = lockFor(key);
+    lock.lock();
+    try {
+      if (items.get(key) != item) {
+        return UpdateResult.NOT_FOUND;
+      }
+      if (checkVersion && item.getVersion() != expectedVersion) {
+        return UpdateResult.VERSION_CONFLICT;
+      }
+      if (item.getAmountInStorage() < decrease) {
+        return UpdateResult.INSUFFICIENT_STOCK;
+      }
+      item.setAmountInStorage(item.getAmountInStorage() - decrease);
+      return UpdateResult.APPLIED;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * The method changes the price of an item, if the item has not changed since it was read.
+   * If the version already differs the update fails before taking a lock. Otherwise it waits
+   * for the lock of the item, and checks the version again while holding it.
+   *
+   * @param itemNumber item number.
+   * @param newPrice new price.
+   * @param expectedVersion the version of the item when it was read.
+   * @return the outcome of the update.
+   * @throws IllegalArgumentException if the new price is less than zero.
+   */
+  public UpdateResult changePriceIfVersion(String itemNumber, int newPrice,
+                                           long expectedVersion) {
+    String key = normalizeItemNr(itemNumber);
+    Item item = items.get(key);
+    if (item == null) {
+      return UpdateResult.NOT_FOUND;
+    }
+    if (newPrice < 0) {
+      throw new IllegalArgumentException("\nPrice can't be less than zero. Try again");
+    }
+    if (item.getVersion() != expectedVersion) {
+      return UpdateResult.VERSION_CONFLICT;
+    }
+    ReentrantLock lock = lockFor(key);
+    lock.lock();
+    try {
+      if (items.get(key) != item) {
+        return UpdateResult.NOT_FOUND;
+      }
+      if (item.getVersion() != expectedVersion) {
+        return UpdateResult.VERSION_CONFLICT;
+      }
+      item.setPrice(newPrice);
+      priceOfItemsBeforeDiscount.remove(key);
+      return UpdateResult.APPLIED;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public boolean changeDescription(String itemNumber, String newDescription) {
+    String key = normalizeItemNr(itemNumber);
+    ReentrantLock lock = lockFor(key);
+    lock.lock();
+    try {
+      Item item = items.get(key);
+      if (item == null) {
+        return false;
+      }
+      item.setDescription(newDescription);
+      return true;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * The method gets items by category number.
+   * Prices can change while the items are sorted, so the items are sorted
+   * on the price each item had when it was read.
+   *
+   * @param category the category number.
+   * @return read-only views of all items with given category, sorted by price descending.
+   */
+  @Override
+  public List<ItemView> getItemsByCategory(int category) {
+    return scanItems()
+            .filter(item -> item.getCategory() == category)
+            .map(item -> Map.entry(item.getPrice(), item))
+            .sorted(Map.Entry.<Integer, Item>comparingByKey().reversed()
+                    .thenComparing(entry -> entry.getValue().getItemNumber()))
+            .map(entry -> entry.getValue().asView())
+            .collect(Collectors.toList());
+  }
+
+  @Override
+  public boolean setReorderThreshold(String itemNumber, int threshold) {
+    String key = normalizeItemNr(itemNumber);
+    if (!items.containsKey(key)) {
+      return false;
+    }
+    RestockTracker.checkThreshold(threshold);
+    ReentrantLock lock = lockFor(key);
+    lock.lock();
+    try {
+      if (!items.containsKey(key)) {
+        return false;
+      }
+      reorderThresholds.put(key, threshold);
+      return true;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public void setReorderThreshold(Category category, int threshold) {
+    RestockTracker.checkThreshold(threshold);
+    categoryReorderThresholds.put(category.getCategoryNr(), threshold);
+  }
+
+  /**
+   * The method retrieves the reorder threshold that applies to an item, which is the threshold
+   * set on the item, or else the threshold set on its category, or else zero.
+   *
+   * @param item the item.
+   * @return the reorder threshold of the item.
+   */
+  private int getReorderThreshold(Item item) {
+    Integer threshold = reorderThresholds.get(item.getItemNumber());
+    if (threshold == null) {
+      threshold = categoryReorderThresholds.getOrDefault(item.getCategory(), 0);
+    }
+    return threshold;
+  }
+
+  @Override
+  public List<ItemView> checkForRestockOfItems() {
+    return scanItems()
+            .filter(item -> item.getAmountInStorage() <= getReorderThreshold(item))
+            .sorted(CATEGORY_NAME_THEN_ITEM_NUMBER)
+            .map(Item::asView)
+            .collect(Collectors.toList());
+  }
+
+  @Override
+  public int size() {
+    return items.size();
+  }
+
+  @Override
+  public int countDiscountedItems() {
+    return priceOfItemsBeforeDiscount.size();
+  }
+
+  /**
+   * The method streams all registered items, sorted by category name and then by item number.
+   * The items are sorted when the stream is consumed, so the references to all items are held
+   * while the stream is read, but their descriptions are still produced one at a time.
+   *
+   * @return a stream of read-only views of all items.
+   */
+  @Override
+  public Stream<ItemView> streamItems() {
+    return Stream.of(this).flatMap(register -> sortListAfterCategoryName().stream())
+            .map(Item::asView);
+  }
+
+  /**
+   * The method gives each registered item in
+   * the register their descriptions, and displays it.
+   *
+   * @return all the items with their descriptions.
+   */
+  @Override
+  public String toString() {
+    return scanItems()
+            .sorted(CATEGORY_NAME_THEN_ITEM_NUMBER)
+            .map(Item::toString)
+            .collect(Collectors.joining());
+  }
+}
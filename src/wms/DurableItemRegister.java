@@ -0,0 +1,1128 @@
+package wms;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * The class represents an item register whose state survives a restart.
+ *
+ * <p>Every mutation is first validated against an in-memory ItemRegister, then appended as a
+ * compact binary record to a write-ahead log, and only then applied to the register, so a
+ * mutation whose record could not be appended never becomes visible. The mutation does not
+ * return before its record is durable according to the chosen FsyncPolicy. With ALWAYS, the
+ * record is forced before the mutation is applied; with the other policies, other threads may
+ * read a mutation whose record is written but not yet forced. If the log can't be written, the
+ * register becomes read-only, and every later mutation throws an IllegalStateException.</p>
+ *
+ * <p>After a configured number of records, a snapshot of the whole register is written on a
+ * background thread, and the records it covers are cut off the log, which bounds the time it
+ * takes to recover. The register is only locked while the items are copied, not while the
+ * snapshot is written. When the register is opened, it reads the latest snapshot and replays
+ * the log.</p>
+ *
+ * <p>The snapshot is memory-mapped rather than parsed. If the log has nothing to replay on top of
+ * it, items are looked up and counted straight from the mapped file, and the in-memory register
+ * is only built by the first operation that needs it. Items looked up before then are read-only
+ * copies, which do not reflect later changes.</p>
+ *
+ * <p>Mutations that fail, because the item does not exist or the input is invalid, are not
+ * logged. All methods are thread-safe. Mutations are applied one at a time under the write lock
+ * of a read-write lock, but they wait for their log record outside the lock, so concurrent
+ * mutations can share one fsync. Lookups, listings and valuations hold the read lock, so they
+ * run at the same time as each other. Searches and queries hold the write lock, since they build
+ * and refresh the search and range indexes as they read.</p>
+ *
+ * @author agent.
+ * @version 1.0
+ * @since Oct 18, 2026.
+ */
+public class DurableItemRegister implements Register, Closeable {
+  static final String LOG_FILE = "register.wal";
+  static final String SNAPSHOT_FILE = "register.snapshot";
+  static final String CAMPAIGN_FILE = "register.campaigns";
+
+  private static final byte REGISTER_ITEM = 1;
+  private static final byte INCREASE_STORAGE = 2;
+  private static final byte DECREASE_STORAGE = 3;
+  private static final byte REMOVE_ITEM = 4;
+  private static final byte ADD_DISCOUNT = 5;
+  private static final byte RESET_DISCOUNT = 6;
+  private static final byte CHANGE_PRICE = 7;
+  private static final byte CHANGE_DESCRIPTION = 8;
+  private static final byte STOCK_MOVEMENTS = 9;
+  private static final byte ITEM_THRESHOLD = 10;
+  private static final byte CATEGORY_THRESHOLD = 11;
+  private static final byte IMPORT_ITEMS = 12;
+
+  private final Path directory;
+  private final FsyncPolicy policy;
+  private final int snapshotInterval;
+  private final ItemRegister register;
+  private final WriteAheadLog log;
+  private final PricingEngine pricing;
+  private final Object campaignLock;
+  private RegisterSnapshot unloaded;
+  private final Lock readLock;
+  private final Lock writeLock;
+  private final Object snapshotLock;
+  private ByteBuffer scratch;
+  private int recordsSinceSnapshot;
+  private Thread snapshotter;
+  private volatile IOException snapshotFailure;
+  private volatile RuntimeException logFailure;
+
+  /**
+   * Constructor to create a DurableItemRegister around a recovered register.
+   *
+   * @param directory the directory of the log and the snapshot.
+   * @param policy when log records are forced to disk.
+   * @param snapshotInterval the number of log records between snapshots.
+   * @param register the recovered register.
+   * @param unloaded the snapshot that is not yet loaded into the register, or null.
+   * @param log the opened log.
+   * @param pricing the pricing engine with the recovered campaigns.
+   */
+  private DurableItemRegister(Path directory, FsyncPolicy policy, int snapshotInterval,
+                              ItemRegister register, RegisterSnapshot unloaded,
+                              WriteAheadLog log, PricingEngine pricing) {
+    this.directory = directory;
+    this.policy = policy;
+    this.snapshotInterval = snapshotInterval;
+    this.register = register;
+    this.unloaded = unloaded;
+    this.log = log;
+    this.pricing = pricing;
+    this.campaignLock = new Object();
+    ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    this.readLock = lock.readLock();
+    this.writeLock = lock.writeLock();
+    this.snapshotLock = new Object();
+    this.scratch = ByteBuffer.allocate(256);
+  }
+
+  /**
+   * The method opens a durable register in a directory. The state of the register is
+   * recovered from the snapshot and the log in the directory, if there are any,
+   * and its price campaigns from the campaign file.
+   *
+   * @param directory the directory of the log and the snapshot, which is created if needed.
+   * @param policy when log records are forced to disk.
+   * @param snapshotInterval the number of log records after which a snapshot is written in the
+   *                         background, or zero to only write snapshots when snapshot is called.
+   * @return the opened register.
+   * @throws IOException if the register could not be recovered.
+   * @throws IllegalArgumentException if snapshotInterval is less than zero.
+   */
+  public static DurableItemRegister open(Path directory, FsyncPolicy policy, int snapshotInterval)
+          throws IOException {
+    if (snapshotInterval < 0) {
+      throw new IllegalArgumentException("\nThe snapshot interval can't be less than zero.");
+    }
+    Files.createDirectories(directory);
+    ItemRegister register = new ItemRegister();
+    Path snapshotFile = directory.resolve(SNAPSHOT_FILE);
+    RegisterSnapshot snapshot = Files.exists(snapshotFile)
+            ? RegisterSnapshot.open(snapshotFile) : null;
+    long snapshotLsn = snapshot == null ? 0 : snapshot.getLsn();
+    // The snapshot is only loaded here if there are log records to replay on top of it.
+    RegisterSnapshot[] unloaded = {snapshot};
+    WriteAheadLog log = WriteAheadLog.open(directory.resolve(LOG_FILE), policy, snapshotLsn,
+        (lsn, type, payload) -> {
+          if (lsn > snapshotLsn) {
+            if (unloaded[0] != null) {
+              unloaded[0].restoreInto(register);
+              unloaded[0] = null;
+            }
+            replay(register, type, payload);
+          }
+        });
+    PricingEngine pricing = new PricingEngine();
+    for (Campaign campaign : CampaignFile.read(directory.resolve(CAMPAIGN_FILE))) {
+      pricing.addCampaign(campaign);
+    }
+    return new DurableItemRegister(directory, policy, snapshotInterval, register, unloaded[0],
+            log, pricing);
+  }
+
+  /**
+   * The method applies a log record to a register.
+   *
+   * @param register the register.
+   * @param type the type of the record.
+   * @param payload the payload of the record.
+   */
+  private static void replay(ItemRegister register, byte type, ByteBuffer payload) {
+    if (type == STOCK_MOVEMENTS) {
+      List<StockMovement> movements = new ArrayList<>();
+      for (int lines = payload.getInt(); lines > 0; lines--) {
+        movements.add(new StockMovement(getString(payload), payload.getInt()));
+      }
+      register.applyStockMovements(movements);
+      return;
+    }
+    if (type == IMPORT_ITEMS) {
+      for (int items = payload.getInt(); items > 0; items--) {
+        Item item = getItem(payload);
+        int priceBeforeDiscount = payload.getInt();
+        register.addItemIfAbsent(item,
+                priceBeforeDiscount == ItemExporter.NO_DISCOUNT ? null : priceBeforeDiscount);
+      }
+      return;
+    }
+    if (type == CATEGORY_THRESHOLD) {
+      int category = payload.getInt();
+      for (Category value : Category.values()) {
+        if (value.getCategoryNr() == category) {
+          register.setReorderThreshold(value, payload.getInt());
+        }
+      }
+      return;
+    }
+    String itemNumber = getString(payload);
+    switch (type) {
+      case REGISTER_ITEM -> register.registerItem(itemNumber, getString(payload),
+              payload.getInt(), getString(payload), payload.getDouble(), payload.getDouble(),
+              payload.getDouble(), getString(payload), payload.getInt(), payload.get());
+      case INCREASE_STORAGE -> register.increaseStorage(itemNumber, payload.getInt());
+      case DECREASE_STORAGE -> register.decreaseStorage(itemNumber, payload.getInt());
+      case REMOVE_ITEM -> register.removeItemFromStorage(itemNumber);
+      case ADD_DISCOUNT -> register.addDiscount(itemNumber, payload.getInt());
+      case RESET_DISCOUNT -> register.resetPriceOfItemToBeforeDiscount(itemNumber);
+      case CHANGE_PRICE -> register.changePrice(itemNumber, payload.getInt());
+      case CHANGE_DESCRIPTION -> register.changeDescription(itemNumber, getString(payload));
+      case ITEM_THRESHOLD -> register.setReorderThreshold(itemNumber, payload.getInt());
+      default -> throw new IllegalStateException("\nUnknown log record type " + type + ".");
+    }
+  }
+
+  /**
+   * The method reads an item from a payload, in the layout written by putItem.
+   *
+   * @param payload the payload.
+   * @return the item.
+   */
+  private static Item getItem(ByteBuffer payload) {
+    return new Item(getString(payload), getString(payload), payload.getInt(),
+            getString(payload), payload.getDouble(), payload.getDouble(), payload.getDouble(),
+            getString(payload), payload.getInt(), payload.get());
+  }
+
+  /**
+   * The method encodes the strings of an item as UTF-8.
+   *
+   * @param item the item.
+   * @return the item number, description, brand name and color of the item.
+   */
+  private static byte[][] encodeStrings(Item item) {
+    return new byte[][] {item.getItemNumber().getBytes(StandardCharsets.UTF_8),
+        item.getDescription().getBytes(StandardCharsets.UTF_8),
+        item.getBrandName().getBytes(StandardCharsets.UTF_8),
+        item.getColor().getBytes(StandardCharsets.UTF_8)};
+  }
+
+  /**
+   * The method computes the number of bytes putItem writes for an item.
+   *
+   * @param strings the encoded strings of the item.
+   * @return the number of bytes.
+   */
+  private static int itemSize(byte[][] strings) {
+    return strings[0].length + strings[1].length + strings[2].length + strings[3].length
+            + 6 * Integer.BYTES + 3 * Double.BYTES + Byte.BYTES;
+  }
+
+  /**
+   * The method writes the fields of an item to a payload.
+   *
+   * @param payload the payload.
+   * @param item the item.
+   * @param strings the encoded strings of the item.
+   * @return the payload.
+   */
+  private static ByteBuffer putItem(ByteBuffer payload, Item item, byte[][] strings) {
+    return payload.putInt(strings[0].length).put(strings[0])
+            .putInt(strings[1].length).put(strings[1])
+            .putInt(item.getPrice()).putInt(strings[2].length).put(strings[2])
+            .putDouble(item.getWeight()).putDouble(item.getLength())
+            .putDouble(item.getHeight()).putInt(strings[3].length).put(strings[3])
+            .putInt(item.getAmountInStorage()).put((byte) item.getCategory());
+  }
+
+  /**
+   * The method reads a length-prefixed UTF-8 string from a payload.
+   *
+   * @param payload the payload.
+   * @return the string.
+   */
+  private static String getString(ByteBuffer payload) {
+    byte[] bytes = new byte[payload.getInt()];
+    payload.get(bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  /**
+   * The method retrieves the in-memory register, and first loads the snapshot into it
+   * if that has not been done yet. It must be called while holding the write lock.
+   *
+   * @return the loaded register.
+   */
+  private ItemRegister loaded() {
+    if (unloaded != null) {
+      unloaded.restoreInto(register);
+      unloaded = null;
+    }
+    return register;
+  }
+
+  /**
+   * The method runs a query that only reads the register, while holding the read lock,
+   * so queries run at the same time as each other but not as mutations. If the snapshot
+   * is not loaded yet, the query instead runs while holding the write lock, after loading it.
+   *
+   * @param query the query.
+   * @param <T> the type of the result.
+   * @return the result of the query.
+   */
+  private <T> T read(Function<ItemRegister, T> query) {
+    readLock.lock();
+    try {
+      if (unloaded == null) {
+        return query.apply(register);
+      }
+    } finally {
+      readLock.unlock();
+    }
+    writeLock.lock();
+    try {
+      return query.apply(loaded());
+    } finally {
+      writeLock.unlock();
+    }
+  }
+
+  /**
+   * The method runs a query that changes the indexes of the register as it reads it,
+   * while holding the write lock.
+   *
+   * @param query the query.
+   * @param <T> the type of the result.
+   * @return the result of the query.
+   */
+  private <T> T readExclusively(Function<ItemRegister, T> query) {
+    writeLock.lock();
+    try {
+      return query.apply(loaded());
+    } finally {
+      writeLock.unlock();
+    }
+  }
+
+  /**
+   * The method clears the scratch buffer used to encode a record,
+   * and makes sure it has room for a given number of bytes.
+   *
+   * @param capacity the number of bytes needed.
+   * @return the cleared scratch buffer.
+   */
+  private ByteBuffer scratch(int capacity) {
+    if (scratch.capacity() < capacity) {
+      scratch = ByteBuffer.allocate(Math.max(capacity, scratch.capacity() * 2));
+    }
+    return scratch.clear();
+  }
+
+  /**
+   * The method starts encoding a record with an item number, leaving room for one integer.
+   *
+   * @param itemNumber item number.
+   * @return the scratch buffer holding the encoded item number.
+   */
+  private ByteBuffer encode(String itemNumber) {
+    byte[] bytes = itemNumber.getBytes(StandardCharsets.UTF_8);
+    return scratch(bytes.length + 2 * Integer.BYTES).putInt(bytes.length).put(bytes);
+  }
+
+  /**
+   * The method checks that the register can still be changed.
+   *
+   * @throws IllegalStateException if a write to the log has failed.
+   */
+  private void checkWritable() {
+    if (logFailure != null) {
+      throw new IllegalStateException(
+              "\nThe register is read-only, since its log could not be written.", logFailure);
+    }
+  }
+
+  /**
+   * The method appends a record for a mutation that has been validated but not yet applied.
+   * It must be called while holding the write lock, so the log has the same order
+   * as the mutations. If the record can't be appended, the register becomes read-only.
+   *
+   * @param type the type of the record.
+   * @param payload the payload, from the start of the buffer to its position.
+   * @return the sequence number of the record.
+   * @throws UncheckedIOException if the log could not be written.
+   */
+  private long append(byte type, ByteBuffer payload) {
+    long lsn;
+    try {
+      lsn = log.append(type, payload.flip());
+      if (policy == FsyncPolicy.ALWAYS) {
+        log.awaitDurable(lsn);
+      }
+    } catch (RuntimeException e) {
+      logFailure = e;
+      throw e;
+    }
+    if (snapshotInterval > 0 && ++recordsSinceSnapshot >= snapshotInterval) {
+      startSnapshot();
+    }
+    return lsn;
+  }
+
+  /**
+   * The method waits until a record is durable. If the log could not be written,
+   * the register becomes read-only, since the mutation has already been applied in memory.
+   *
+   * @param lsn the sequence number of the record.
+   * @throws UncheckedIOException if the log could not be written.
+   */
+  private void awaitDurable(long lsn) {
+    try {
+      log.awaitDurable(lsn);
+    } catch (RuntimeException e) {
+      logFailure = e;
+      throw e;
+    }
+  }
+
+  /**
+   * The method starts writing a snapshot on a background thread, unless one is being written.
+   * It must be called while holding the write lock.
+   */
+  private void startSnapshot() {
+    if (snapshotter != null && snapshotter.isAlive()) {
+      return;
+    }
+    snapshotter = new Thread(() -> {
+      try {
+        snapshot();
+      } catch (IOException e) {
+        snapshotFailure = e;
+      } catch (UncheckedIOException e) {
+        snapshotFailure = e.getCause();
+      }
+    }, "register-snapshot");
+    snapshotter.setDaemon(true);
+    snapshotter.start();
+  }
+
+  /**
+   * The method writes a snapshot of the register, and cuts the records it covers off the log.
+   * The register is only locked while the items are copied, so mutations and reads go on
+   * while the copy is written to disk.
+   *
+   * @throws IOException if the snapshot could not be written.
+   */
+  public void snapshot() throws IOException {
+    synchronized (snapshotLock) {
+      RegisterSnapshot.Contents contents;
+      long lsn;
+      long logSize;
+      // The copy only reads the register, so reads go on while it is made.
+      readLock.lock();
+      try {
+        if (unloaded != null) {
+          // Nothing has changed since the snapshot the register was opened from.
+          return;
+        }
+        contents = RegisterSnapshot.copy(register);
+        lsn = log.getLastLsn();
+        logSize = log.getSize();
+        recordsSinceSnapshot = 0;
+      } finally {
+        readLock.unlock();
+      }
+      log.awaitDurable(lsn);
+      contents.write(lsn, directory.resolve(SNAPSHOT_FILE));
+      log.truncate(logSize);
+    }
+  }
+
+  @Override
+  public void registerItem(String itemNumber, String description, int price,
+                           String brandName, double weight, double length, double height,
+                           String color, int amountInStorage, int category) {
+    Item item = new Item(itemNumber, description, price, brandName, weight, length, height,
+            color, amountInStorage, category);
+    long lsn;
+    writeLock.lock();
+    try {
+      checkWritable();
+      if (loaded().getItemByItemNr(item.getItemNumber()) != null) {
+        throw new IllegalArgumentException(
+                "\nAn item with the same item number already exists.");
+      }
+      byte[][] strings = encodeStrings(item);
+      lsn = append(REGISTER_ITEM, putItem(scratch(itemSize(strings)), item, strings));
+      register.addItemIfAbsent(item);
+    } finally {
+      writeLock.unlock();
+    }
+    awaitDurable(lsn);
+  }
+
+  /**
+   * The method adds a chunk of items, each unless an item with the same item number is
+   * already registered or comes earlier in the chunk. The added items are logged as one
+   * record, so after a restart either the whole chunk is added or none of it.
+   *
+   * @param items the items, where a null element is skipped.
+   * @param pricesBeforeDiscount the price before discount of each item,
+   *                             or -1 if the item has no discount.
+   * @return which of the items were added.
+   * @throws IllegalStateException if a write to the log has failed.
+   */
+  boolean[] addItemsIfAbsent(Item[] items, int[] pricesBeforeDiscount) {
+    boolean[] added = new boolean[items.length];
+    long lsn;
+    writeLock.lock();
+    try {
+      checkWritable();
+      ItemRegister register = loaded();
+      Set<String> itemNumbers = new HashSet<>();
+      byte[][][] strings = new byte[items.length][][];
+      int count = 0;
+      int capacity = Integer.BYTES;
+      for (int i = 0; i < items.length; i++) {
+        if (items[i] != null && register.getItemByItemNr(items[i].getItemNumber()) == null
+                && itemNumbers.add(items[i].getItemNumber())) {
+          added[i] = true;
+          strings[i] = encodeStrings(items[i]);
+          capacity += itemSize(strings[i]) + Integer.BYTES;
+          count++;
+        }
+      }
+      if (count == 0) {
+        return added;
+      }
+      ByteBuffer payload = scratch(capacity).putInt(count);
+      for (int i = 0; i < items.length; i++) {
+        if (added[i]) {
+          putItem(payload, items[i], strings[i]).putInt(pricesBeforeDiscount[i]);
+        }
+      }
+      lsn = append(IMPORT_ITEMS, payload);
+      for (int i = 0; i < items.length; i++) {
+        if (added[i]) {
+          register.addItemIfAbsent(items[i], pricesBeforeDiscount[i] == ItemExporter.NO_DISCOUNT
+                  ? null : pricesBeforeDiscount[i]);
+        }
+      }
+    } finally {
+      writeLock.unlock();
+    }
+    awaitDurable(lsn);
+    return added;
+  }
+
+  @Override
+  public ItemView getItemByItemNr(String itemNumber) {
+    readLock.lock();
+    try {
+      if (unloaded != null) {
+        return unloaded.find(itemNumber);
+      }
+      return register.getItemByItemNr(itemNumber);
+    } finally {
+      readLock.unlock();
+    }
+  }
+
+  @Override
+  public boolean increaseStorage(String itemNumber, int increase) {
+    long lsn;
+    writeLock.lock();
+    try {
+      checkWritable();
+      ItemView item = loaded().getItemByItemNr(itemNumber);
+      if (item == null) {
+        return false;
+      }
+      ItemRegister.checkIncrease(increase);
+      checkAmountInStorage(item.getAmountInStorage() + increase);
+      lsn = append(INCREASE_STORAGE, encode(itemNumber).putInt(increase));
+      register.increaseStorage(itemNumber, increase);
+    } finally {
+      writeLock.unlock();
+    }
+    awaitDurable(lsn);
+    return true;
+  }
+
+  @Override
+  public boolean decreaseStorage(String itemNumber, int decrease) {
+    long lsn;
+    writeLock.lock();
+    try {
+      checkWritable();
+      ItemView item = loaded().getItemByItemNr(itemNumber);
+      if (item == null) {
+        return false;
+      }
+      ItemRegister.checkDecrease(decrease);
+      checkAmountInStorage(item.getAmountInStorage() - decrease);
+      lsn = append(DECREASE_STORAGE, encode(itemNumber).putInt(decrease));
+      register.decreaseStorage(itemNumber, decrease);
+    } finally {
+      writeLock.unlock();
+    }
+    awaitDurable(lsn);
+    return true;
+  }
+
+  /**
+   * The method checks that the amount of an item after a change is valid,
+   * before the change is logged.
+   *
+   * @param amountInStorage the amount after the change.
+   * @throws IllegalArgumentException if the amount is less than zero.
+   */
+  private static void checkAmountInStorage(int amountInStorage) {
+    if (amountInStorage < 0) {
+      throw new IllegalArgumentException("\nAmount in storage can't be less than zero. Try again");
+    }
+  }
+
+  @Override
+  public boolean removeItemFromStorage(String itemNumber) {
+    long lsn;
+    writeLock.lock();
+    try {
+      checkWritable();
+      if (loaded().getItemByItemNr(itemNumber) == null) {
+        return false;
+      }
+      lsn = append(REMOVE_ITEM, encode(itemNumber));
+      register.removeItemFromStorage(itemNumber);
+    } finally {
+      writeLock.unlock();
+    }
+    awaitDurable(lsn);
+    return true;
+  }
+
+  @Override
+  public boolean addDiscount(String itemNumber, int discount) {
+    long lsn;
+    writeLock.lock();
+    try {
+      checkWritable();
+      if (loaded().getItemByItemNr(itemNumber) == null) {
+        return false;
+      }
+      ItemRegister.checkDiscount(discount);
+      lsn = append(ADD_DISCOUNT, encode(itemNumber).putInt(discount));
+      register.addDiscount(itemNumber, discount);
+    } finally {
+      writeLock.unlock();
+    }
+    awaitDurable(lsn);
+    return true;
+  }
+
+  @Override
+  public boolean resetPriceOfItemToBeforeDiscount(String itemNumber) {
+    long lsn;
+    writeLock.lock();
+    try {
+      checkWritable();
+      if (loaded().getPriceBeforeDiscount(itemNumber) == null) {
+        return false;
+      }
+      lsn = append(RESET_DISCOUNT, encode(itemNumber));
+      register.resetPriceOfItemToBeforeDiscount(itemNumber);
+    } finally {
+      writeLock.unlock();
+    }
+    awaitDurable(lsn);
+    return true;
+  }
+
+  @Override
+  public boolean changePrice(String itemNumber, int newPrice) {
+    long lsn;
+    writeLock.lock();
+    try {
+      checkWritable();
+      if (loaded().getItemByItemNr(itemNumber) == null) {
+        return false;
+      }
+      ItemRegister.checkPrice(newPrice);
+      lsn = append(CHANGE_PRICE, encode(itemNumber).putInt(newPrice));
+      register.changePrice(itemNumber, newPrice);
+    } finally {
+      writeLock.unlock();
+    }
+    awaitDurable(lsn);
+    return true;
+  }
+
+  /**
+   * The method reduces the amount of an item, if the item has not changed since it was read
+   * and has enough in storage. An applied update is logged as a plain decrease.
+   *
+   * @param itemNumber item number.
+   * @param decrease the removal of the quantity.
+   * @param expectedVersion the version of the item when it was read.
+   * @return the outcome of the update.
+   * @throws IllegalArgumentException if the decrease is less than zero.
+   * @see ItemRegister#decreaseStorageIfVersion(String, int, long)
+   */
+  public UpdateResult decreaseStorageIfVersion(String itemNumber, int decrease,
+                                               long expectedVersion) {
+    long lsn;
+    writeLock.lock();
+    try {
+      checkWritable();
+      ItemView item = loaded().getItemByItemNr(itemNumber);
+      if (item == null) {
+        return UpdateResult.NOT_FOUND;
+      }
+      ItemRegister.checkDecrease(decrease);
+      if (item.getVersion() != expectedVersion) {
+        return UpdateResult.VERSION_CONFLICT;
+      }
+      if (item.getAmountInStorage() < decrease) {
+        return UpdateResult.INSUFFICIENT_STOCK;
+      }
+      lsn = append(DECREASE_STORAGE, encode(itemNumber).putInt(decrease));
+      register.decreaseStorage(itemNumber, decrease);
+    } finally {
+      writeLock.unlock();
+    }
+    awaitDurable(lsn);
+    return UpdateResult.APPLIED;
+  }
+
+  /**
+   * The method reduces the amount of an item, if it has at least as many in storage
+   * as the decrease. An applied update is logged as a plain decrease.
+   *
+   * @param itemNumber item number.
+   * @param decrease the removal of the quantity.
+   * @return the outcome of the update.
+   * @throws IllegalArgumentException if the decrease is less than zero.
+   * @see ItemRegister#decreaseStorageIfAvailable(String, int)
+   */
+  public UpdateResult decreaseStorageIfAvailable(String itemNumber, int decrease) {
+    long lsn;
+    writeLock.lock();
+    try {
+      checkWritable();
+      ItemView item = loaded().getItemByItemNr(itemNumber);
+      if (item == null) {
+        return UpdateResult.NOT_FOUND;
+      }
+      ItemRegister.checkDecrease(decrease);
+      if (item.getAmountInStorage() < decrease) {
+        return UpdateResult.INSUFFICIENT_STOCK;
+      }
+      lsn = append(DECREASE_STORAGE, encode(itemNumber).putInt(decrease));
+      register.decreaseStorage(itemNumber, decrease);
+    } finally {
+      writeLock.unlock();
+    }
+    awaitDurable(lsn);
+    return UpdateResult.APPLIED;
+  }
+
+  /**
+   * The method changes the price of an item, if the item has not changed since it was read.
+   * An applied update is logged as a plain price change.
+   *
+   * @param itemNumber item number.
+   * @param newPrice new price.
+   * @param expectedVersion the version of the item when it was read.
+   * @return the outcome of the update.
+   * @throws IllegalArgumentException if the new price is less than zero.
+   * @see ItemRegister#changePriceIfVersion(String, int, long)
+   */
+  public UpdateResult changePriceIfVersion(String itemNumber, int newPrice,
+                                           long expectedVersion) {
+    long lsn;
+    writeLock.lock();
+    try {
+      checkWritable();
+      ItemView item = loaded().getItemByItemNr(itemNumber);
+      if (item == null) {
+        return UpdateResult.NOT_FOUND;
+      }
+      ItemRegister.checkPrice(newPrice);
+      if (item.getVersion() != expectedVersion) {
+        return UpdateResult.VERSION_CONFLICT;
+      }
+      lsn = append(CHANGE_PRICE, encode(itemNumber).putInt(newPrice));
+      register.changePrice(itemNumber, newPrice);
+    } finally {
+      writeLock.unlock();
+    }
+    awaitDurable(lsn);
+    return UpdateResult.APPLIED;
+  }
+
+  @Override
+  public boolean changeDescription(String itemNumber, String newDescription) {
+    long lsn;
+    writeLock.lock();
+    try {
+      checkWritable();
+      if (loaded().getItemByItemNr(itemNumber) == null) {
+        return false;
+      }
+      if (newDescription.isBlank()) {
+        throw new IllegalArgumentException(
+                "\nYou must enter a description for the item. Try again");
+      }
+      byte[] number = itemNumber.getBytes(StandardCharsets.UTF_8);
+      byte[] text = newDescription.getBytes(StandardCharsets.UTF_8);
+      lsn = append(CHANGE_DESCRIPTION, scratch(number.length + text.length + 2 * Integer.BYTES)
+              .putInt(number.length).put(number).putInt(text.length).put(text));
+      register.changeDescription(itemNumber, newDescription);
+    } finally {
+      writeLock.unlock();
+    }
+    awaitDurable(lsn);
+    return true;
+  }
+
+  /**
+   * The method applies a batch of stock movements as one unit. The whole batch is logged
+   * as one record, so after a restart either all of its lines are applied or none are.
+   *
+   * @param movements the lines of the batch.
+   * @return the reason each invalid line was rejected, by the index of the line,
+   *         which is empty if the batch was applied.
+   * @see ItemRegister#applyStockMovements(List)
+   */
+  @Override
+  public SortedMap<Integer, String> applyStockMovements(List<StockMovement> movements) {
+    long lsn;
+    writeLock.lock();
+    try {
+      checkWritable();
+      SortedMap<Integer, String> failures = loaded().checkStockMovements(movements);
+      if (!failures.isEmpty() || movements.isEmpty()) {
+        return failures;
+      }
+      byte[][] numbers = new byte[movements.size()][];
+      int capacity = Integer.BYTES;
+      for (int line = 0; line < numbers.length; line++) {
+        numbers[line] = movements.get(line).getItemNumber().getBytes(StandardCharsets.UTF_8);
+        capacity += numbers[line].length + 2 * Integer.BYTES;
+      }
+      ByteBuffer payload = scratch(capacity).putInt(numbers.length);
+      for (int line = 0; line < numbers.length; line++) {
+        payload.putInt(numbers[line].length).put(numbers[line])
+                .putInt(movements.get(line).getChange());
+      }
+      lsn = append(STOCK_MOVEMENTS, payload);
+      register.applyStockMovements(movements);
+    } finally {
+      writeLock.unlock();
+    }
+    awaitDurable(lsn);
+    return new TreeMap<>();
+  }
+
+  @Override
+  public List<ItemView> getItemsByCategory(int category) {
+    return read(register -> register.getItemsByCategory(category));
+  }
+
+  @Override
+  public boolean setReorderThreshold(String itemNumber, int threshold) {
+    long lsn;
+    writeLock.lock();
+    try {
+      checkWritable();
+      if (loaded().getItemByItemNr(itemNumber) == null) {
+        return false;
+      }
+      RestockTracker.checkThreshold(threshold);
+      lsn = append(ITEM_THRESHOLD, encode(itemNumber).putInt(threshold));
+      register.setReorderThreshold(itemNumber, threshold);
+    } finally {
+      writeLock.unlock();
+    }
+    awaitDurable(lsn);
+    return true;
+  }
+
+  @Override
+  public void setReorderThreshold(Category category, int threshold) {
+    long lsn;
+    writeLock.lock();
+    try {
+      checkWritable();
+      RestockTracker.checkThreshold(threshold);
+      lsn = append(CATEGORY_THRESHOLD,
+              scratch(2 * Integer.BYTES).putInt(category.getCategoryNr()).putInt(threshold));
+      loaded().setReorderThreshold(category, threshold);
+    } finally {
+      writeLock.unlock();
+    }
+    awaitDurable(lsn);
+  }
+
+  @Override
+  public List<ItemView> checkForRestockOfItems() {
+    return read(ItemRegister::checkForRestockOfItems);
+  }
+
+  /**
+   * The method searches for items by item number, brand name and description.
+   *
+   * @param query the search, which is not case sensitive.
+   * @param limit the maximum number of items to find.
+   * @return read-only views of the best matching items, best match first.
+   * @throws IllegalArgumentException if the search has less than two characters,
+   *                                  or the limit is less than zero.
+   * @see ItemRegister#search(String, int)
+   */
+  public List<ItemView> search(String query, int limit) {
+    return readExclusively(register -> register.search(query, limit));
+  }
+
+  /**
+   * The method finds the items that match a query.
+   *
+   * @param query the query.
+   * @return read-only views of the matching items, sorted by category name and item number.
+   * @see ItemRegister#findItems(ItemQuery)
+   */
+  public List<ItemView> findItems(ItemQuery query) {
+    return readExclusively(register -> register.findItems(query));
+  }
+
+  /**
+   * The method retrieves the value, amount, weight and volume of all items in storage.
+   *
+   * @return the valuation of all items.
+   * @see ItemRegister#getValuation()
+   */
+  public InventoryValuation getValuation() {
+    return read(ItemRegister::getValuation);
+  }
+
+  /**
+   * The method retrieves the value, amount, weight and volume of the items in a category.
+   *
+   * @param category the category.
+   * @return the valuation of the items in the category.
+   * @see ItemRegister#getValuation(Category)
+   */
+  public InventoryValuation getValuation(Category category) {
+    return read(register -> register.getValuation(category));
+  }
+
+  /**
+   * The method retrieves the value, amount, weight and volume of the items of a brand.
+   *
+   * @param brandName brand name, which is not case sensitive.
+   * @return the valuation of the items of the brand.
+   * @see ItemRegister#getValuationOfBrand(String)
+   */
+  public InventoryValuation getValuationOfBrand(String brandName) {
+    return read(register -> register.getValuationOfBrand(brandName));
+  }
+
+  @Override
+  public int size() {
+    readLock.lock();
+    try {
+      return unloaded != null ? unloaded.size() : register.size();
+    } finally {
+      readLock.unlock();
+    }
+  }
+
+  @Override
+  public int countDiscountedItems() {
+    return read(ItemRegister::countDiscountedItems);
+  }
+
+  /**
+   * The method streams all registered items, sorted by category name. The references to the
+   * items are collected while holding the lock, and the stream is read after it is released.
+   *
+   * @return a stream of read-only views of all items.
+   */
+  @Override
+  public Stream<ItemView> streamItems() {
+    return read(register -> register.streamItems().toList().stream());
+  }
+
+  @Override
+  public List<ItemView> getItems(int offset, int limit) {
+    return read(register -> register.getItems(offset, limit));
+  }
+
+  @Override
+  public String toString() {
+    return read(ItemRegister::toString);
+  }
+
+  /**
+   * The method runs an export of the register while holding the read lock, so it runs at the
+   * same time as other reads, but mutations wait until it is written.
+   *
+   * @param export the export.
+   * @throws IOException if the export could not be written.
+   */
+  void export(ItemExporter.Export export) throws IOException {
+    try {
+      read(register -> {
+        try {
+          export.write(register);
+        } catch (IOException e) {
+          throw new UncheckedIOException(e);
+        }
+        return null;
+      });
+    } catch (UncheckedIOException e) {
+      throw e.getCause();
+    }
+  }
+
+  /**
+   * The method adds a price campaign, which changes the effective price of the items
+   * it covers but not their price. The campaigns are written to the campaign file before
+   * the campaign takes effect.
+   *
+   * @param campaign the campaign.
+   * @throws IllegalArgumentException if a campaign with the same name exists.
+   * @throws UncheckedIOException if the campaign file could not be written.
+   * @see PricingEngine#addCampaign(Campaign)
+   */
+  public void addCampaign(Campaign campaign) {
+    synchronized (campaignLock) {
+      List<Campaign> campaigns = new ArrayList<>(pricing.getCampaigns());
+      for (Campaign existing : campaigns) {
+        if (existing.getName().equals(campaign.getName())) {
+          throw new IllegalArgumentException("\nA campaign with the same name already exists.");
+        }
+      }
+      campaigns.add(campaign);
+      writeCampaigns(campaigns);
+      pricing.addCampaign(campaign);
+    }
+  }
+
+  /**
+   * The method removes a price campaign before it ends.
+   *
+   * @param name the name of the campaign.
+   * @return a boolean to see if the campaign was removed.
+   * @throws UncheckedIOException if the campaign file could not be written.
+   * @see PricingEngine#removeCampaign(String)
+   */
+  public boolean removeCampaign(String name) {
+    synchronized (campaignLock) {
+      List<Campaign> campaigns = new ArrayList<>(pricing.getCampaigns());
+      if (!campaigns.removeIf(campaign -> campaign.getName().equals(name.trim()))) {
+        return false;
+      }
+      writeCampaigns(campaigns);
+      return pricing.removeCampaign(name);
+    }
+  }
+
+  /**
+   * The method writes the campaigns to the campaign file.
+   *
+   * @param campaigns the campaigns.
+   * @throws UncheckedIOException if the file could not be written.
+   */
+  private void writeCampaigns(List<Campaign> campaigns) {
+    try {
+      CampaignFile.write(campaigns, directory.resolve(CAMPAIGN_FILE));
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /**
+   * The method retrieves the price campaigns that have not ended.
+   *
+   * @return an unmodifiable list of campaigns, in the order they were added.
+   */
+  public List<Campaign> getCampaigns() {
+    return pricing.getCampaigns();
+  }
+
+  /**
+   * The method computes the effective price of an item, which is its price with the best
+   * active campaign on it applied. It takes no lock, since the campaigns are read from
+   * immutable lookup tables and the price from the item.
+   *
+   * @param item the item.
+   * @return the effective price of the item.
+   * @see PricingEngine#getEffectivePrice(ItemView)
+   */
+  public int getEffectivePrice(ItemView item) {
+    return pricing.getEffectivePrice(item);
+  }
+
+  /**
+   * The method waits for a snapshot that is being written, writes the remaining log records
+   * and closes the log.
+   *
+   * @throws IOException if the log could not be written or closed,
+   *                     or the last snapshot written in the background failed.
+   */
+  @Override
+  public void close() throws IOException {
+    Thread running;
+    writeLock.lock();
+    try {
+      running = snapshotter;
+    } finally {
+      writeLock.unlock();
+    }
+    if (running != null) {
+      try {
+        running.join();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new InterruptedIOException("\nInterrupted while waiting for the snapshot.");
+      }
+    }
+    writeLock.lock();
+    try {
+      log.close();
+    } finally {
+      writeLock.unlock();
+    }
+    if (snapshotFailure != null) {
+      throw snapshotFailure;
+    }
+  }
+}
@@ -0,0 +1,191 @@
+package wms;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Arrays;
+
+/**
+ * The class keeps an exact running sum of products of doubles and whole numbers.
+ *
+ * <p>Every finite double is a whole number times a power of two, so products and sums of
+ * them are exact if they are kept as a whole number times a power of two. The whole number
+ * is kept in an array of words in two's complement, least significant word first, and the
+ * power of two is lowered in steps of a word when a smaller term is added. A term is added
+ * to the words in place, with carries, so adding does not allocate unless the sum needs more
+ * words, which only happens when it reaches a new magnitude or precision.</p>
+ *
+ * @author agent.
+ * @version 1.0
+ * @since Oct 18, 2026.
+ */
+final class ExactSum {
+  private static final long FRACTION_MASK = (1L << 52) - 1;
+
+  private long[] words;
+  private int exponent;
+
+  /**
+   * Constructor to create a sum of zero.
+   */
+  ExactSum() {
+    this.words = new long[4];
+  }
+
+  /**
+   * The method adds the product of a positive finite double and a whole number.
+   *
+   * @param value the double.
+   * @param factor the whole number, which may be negative.
+   */
+  void addProduct(double value, int factor) {
+    long mantissa = mantissa(value);
+    int shift = Long.numberOfTrailingZeros(mantissa);
+    long amount = Math.abs((long) factor);
+    long product = (mantissa >>> shift) * amount;
+    long high = Math.multiplyHigh(mantissa >>> shift, amount);
+    add(product, high, 0, exponent(value) + shift, factor < 0);
+  }
+
+  /**
+   * The method adds the product of two positive finite doubles and a whole number.
+   *
+   * @param a the first double.
+   * @param b the second double.
+   * @param factor the whole number, which may be negative.
+   */
+  void addProduct(double a, double b, int factor) {
+    long mantissaA = mantissa(a);
+    long mantissaB = mantissa(b);
+    int shiftA = Long.numberOfTrailingZeros(mantissaA);
+    int shiftB = Long.numberOfTrailingZeros(mantissaB);
+    mantissaA >>>= shiftA;
+    mantissaB >>>= shiftB;
+    long amount = Math.abs((long) factor);
+    // The product of the mantissas has at most 106 bits, and the amount at most 32 bits.
+    long low = mantissaA * mantissaB;
+    long high = Math.multiplyHigh(mantissaA, mantissaB);
+    long lowTimesAmount = low * amount;
+    long carry = Math.multiplyHigh(low, amount) + ((low >> 63) & amount);
+    long middle = high * amount + carry;
+    long top = Math.multiplyHigh(high, amount)
+            + (Long.compareUnsigned(middle, carry) < 0 ? 1 : 0);
+    add(lowTimesAmount, middle, top, exponent(a) + shiftA + exponent(b) + shiftB, factor < 0);
+  }
+
+  /**
+   * The method retrieves the whole number of a positive finite double,
+   * including the implicit leading bit.
+   *
+   * @param value the double.
+   * @return the whole number.
+   */
+  private static long mantissa(double value) {
+    long fraction = Double.doubleToRawLongBits(value) & FRACTION_MASK;
+    return Math.getExponent(value) < Double.MIN_EXPONENT ? fraction : fraction | 1L << 52;
+  }
+
+  /**
+   * The method retrieves the power of two of a positive finite double,
+   * so the double is its whole number times two to that power.
+   *
+   * @param value the double.
+   * @return the power of two.
+   */
+  private static int exponent(double value) {
+    return Math.max(Math.getExponent(value), Double.MIN_EXPONENT) - 52;
+  }
+
+  /**
+   * The method adds or subtracts a term of up to three words times a power of two.
+   *
+   * @param low the least significant word of the term.
+   * @param middle the middle word of the term.
+   * @param high the most significant word of the term.
+   * @param power the power of two of the term.
+   * @param negative true to subtract the term.
+   */
+  private void add(long low, long middle, long high, int power, boolean negative) {
+    if ((low | middle | high) == 0) {
+      return;
+    }
+    if (power < exponent) {
+      int shiftWords = (exponent - power + 63) >>> 6;
+      long[] shifted = new long[words.length + shiftWords];
+      System.arraycopy(words, 0, shifted, shiftWords, words.length);
+      words = shifted;
+      exponent -= shiftWords << 6;
+    }
+    int offset = power - exponent;
+    int index = offset >>> 6;
+    int shift = offset & 63;
+    long w0 = low << shift;
+    long w1 = shift == 0 ? middle : middle << shift | low >>> (64 - shift);
+    long w2 = shift == 0 ? high : high << shift | middle >>> (64 - shift);
+    long w3 = shift == 0 ? 0 : high >>> (64 - shift);
+    long extension = 0;
+    if (negative) {
+      w0 = ~w0 + 1;
+      w1 = ~w1 + (w0 == 0 ? 1 : 0);
+      w2 = ~w2 + (w0 == 0 && w1 == 0 ? 1 : 0);
+      w3 = ~w3 + (w0 == 0 && w1 == 0 && w2 == 0 ? 1 : 0);
+      extension = -1;
+    }
+    // The term fits in the words below the top word, so the sum fits in all of them.
+    ensureLength(index + 5);
+    long carry = 0;
+    for (int i = index; i < words.length; i++) {
+      long term = switch (i - index) {
+        case 0 -> w0;
+        case 1 -> w1;
+        case 2 -> w2;
+        case 3 -> w3;
+        default -> extension;
+      };
+      if (i > index + 3 && term == 0 && carry == 0) {
+        break;
+      }
+      long word = words[i];
+      long sum = word + term + carry;
+      carry = Long.compareUnsigned(sum, word) < 0 || carry != 0 && sum == word ? 1 : 0;
+      words[i] = sum;
+    }
+    if (words[words.length - 1] != words[words.length - 2] >> 63) {
+      ensureLength(words.length + 1);
+    }
+  }
+
+  /**
+   * The method makes room for more words, which are filled with the sign of the sum.
+   *
+   * @param length the number of words needed.
+   */
+  private void ensureLength(int length) {
+    if (words.length < length) {
+      int oldLength = words.length;
+      long sign = words[oldLength - 1] >> 63;
+      words = Arrays.copyOf(words, Math.max(length, oldLength + (oldLength >> 1)));
+      Arrays.fill(words, oldLength, words.length, sign);
+    }
+  }
+
+  /**
+   * The method converts the sum to a decimal, which is exact, since every power of two
+   * has a finite decimal expansion.
+   *
+   * @return the sum as a decimal.
+   */
+  BigDecimal toBigDecimal() {
+    byte[] bytes = new byte[words.length * Long.BYTES];
+    for (int i = 0; i < words.length; i++) {
+      long word = words[words.length - 1 - i];
+      for (int j = 0; j < Long.BYTES; j++) {
+        bytes[i * Long.BYTES + j] = (byte) (word >>> (56 - 8 * j));
+      }
+    }
+    BigInteger unscaled = new BigInteger(bytes);
+    if (exponent >= 0) {
+      return new BigDecimal(unscaled.shiftLeft(exponent));
+    }
+    return new BigDecimal(unscaled.multiply(BigInteger.valueOf(5).pow(-exponent)), -exponent);
+  }
+}
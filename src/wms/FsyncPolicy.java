@@ -0,0 +1,25 @@
+package wms;
+
+/**
+ * The class contains the policies for when the write-ahead log forces its records to disk.
+ *
+ * @author agent.
+ * @version 1.0
+ * @since Oct 18, 2026.
+ */
+public enum FsyncPolicy {
+  /**
+   * Every record is written and forced to disk on its own before the mutation returns.
+   */
+  ALWAYS,
+  /**
+   * Records from concurrent mutations are written and forced to disk together. Every mutation
+   * still waits until its record is on disk, but many mutations share the cost of one fsync.
+   */
+  GROUP_COMMIT,
+  /**
+   * Records are written to the operating system before the mutation returns, but never forced.
+   * A crash of the process loses nothing, but a crash of the machine can lose recent mutations.
+   */
+  NONE
+}
@@ -0,0 +1,56 @@
+package wms;
+
+import java.util.Collections;
+import java.util.SortedMap;
+
+/**
+ * The class represents the outcome of an import of items from a file.
+ *
+ * @author agent.
+ * @version 1.0
+ * @since Oct 18, 2026.
+ */
+public final class ImportReport {
+  private final int importedCount;
+  private final SortedMap<Long, String> rejectedRows;
+
+  /**
+   * Constructor to create an import report.
+   *
+   * @param importedCount the number of items that were registered.
+   * @param rejectedRows the reason each rejected row was rejected, by its line or row number.
+   */
+  ImportReport(int importedCount, SortedMap<Long, String> rejectedRows) {
+    this.importedCount = importedCount;
+    this.rejectedRows = Collections.unmodifiableSortedMap(rejectedRows);
+  }
+
+  /**
+   * The method retrieves the number of items that were registered.
+   *
+   * @return the number of registered items.
+   */
+  public int getImportedCount() {
+    return importedCount;
+  }
+
+  /**
+   * The method retrieves the rows that were rejected.
+   *
+   * @return the reason each rejected row was rejected, by its line number in a text file,
+   *         where the header is line 1, or by its row number in a binary file.
+   */
+  public SortedMap<Long, String> getRejectedRows() {
+    return rejectedRows;
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder sb = new StringBuilder();
+    sb.append(importedCount).append(" items imported, ")
+            .append(rejectedRows.size()).append(" rows rejected.");
+    rejectedRows.forEach((row, reason) ->
+            sb.append("\nRow ").append(row).append(": ").append(reason));
+    return sb.toString();
+  }
+}
@@ -0,0 +1,455 @@
+package wms;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SortedMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * The class wraps a register, and measures every operation on it.
+ *
+ * <p>For every operation the class counts the calls, the calls that failed because they
+ * returned false or null, and the calls that threw an exception, and records the latency of
+ * every call in a histogram. It also reports gauges of the catalogue: the number of items,
+ * the number of items out of stock, and the number of discounted items. The number of items
+ * and of discounted items are read from the register when they are asked for. The items out of
+ * stock are read once when the class is created, and then kept in a set that every stock change
+ * made through the class updates, so reading the gauge never visits the items. Changes made to
+ * the wrapped register without going through the class are not seen by the gauge.</p>
+ *
+ * <p>The metrics can be read through JMX, once registerMBeans is called, or as text from
+ * dumpMetrics. The class is as thread-safe as the register it wraps.</p>
+ *
+ * @author agent.
+ * @version 1.0
+ * @since Oct 18, 2026.
+ */
+public class InstrumentedRegister implements Register, RegisterMetricsMXBean {
+  private final Register register;
+  private final int sampleRate;
+  private final List<OperationMetrics> operations;
+  private final List<ObjectName> registeredNames;
+  private final ConcurrentHashMap<String, Boolean> itemsOutOfStock;
+  private final OperationMetrics registerItem;
+  private final OperationMetrics getItemByItemNr;
+  private final OperationMetrics increaseStorage;
+  private final OperationMetrics decreaseStorage;
+  private final OperationMetrics removeItemFromStorage;
+  private final OperationMetrics addDiscount;
+  private final OperationMetrics resetPriceOfItemToBeforeDiscount;
+  private final OperationMetrics changePrice;
+  private final OperationMetrics changeDescription;
+  private final OperationMetrics applyStockMovements;
+  private final OperationMetrics getItemsByCategory;
+  private final OperationMetrics setReorderThreshold;
+  private final OperationMetrics checkForRestockOfItems;
+  private final OperationMetrics getItems;
+
+  /**
+   * Constructor to create an instrumented register that measures the latency of every call.
+   *
+   * @param register the register to measure.
+   */
+  public InstrumentedRegister(Register register) {
+    this(register, 1);
+  }
+
+  /**
+   * Constructor to create an instrumented register that measures the latency of a random
+   * sample of the calls. Every call is still counted. Reading the clock twice is most of the
+   * overhead of measuring a call, so sampling makes the overhead smaller on fast operations.
+   *
+   * @param register the register to measure.
+   * @param sampleRate the latency is measured for one in this many calls, on average.
+   * @throws IllegalArgumentException if the sample rate is not a power of two.
+   */
+  public InstrumentedRegister(Register register, int sampleRate) {
+    if (sampleRate < 1 || Integer.bitCount(sampleRate) != 1) {
+      throw new IllegalArgumentException("\nThe sample rate must be a power of two.");
+    }
+    this.register = register;
+    this.sampleRate = sampleRate;
+    this.operations = new ArrayList<>();
+    this.registeredNames = new ArrayList<>();
+    this.itemsOutOfStock = new ConcurrentHashMap<>();
+    register.streamItems().filter(item -> item.getAmountInStorage() <= 0)
+            .forEach(item -> itemsOutOfStock.put(item.getItemNumber(), true));
+    this.registerItem = operation("registerItem");
+    this.getItemByItemNr = operation("getItemByItemNr");
+    this.increaseStorage = operation("increaseStorage");
+    this.decreaseStorage = operation("decreaseStorage");
+    this.removeItemFromStorage = operation("removeItemFromStorage");
+    this.addDiscount = operation("addDiscount");
+    this.resetPriceOfItemToBeforeDiscount = operation("resetPriceOfItemToBeforeDiscount");
+    this.changePrice = operation("changePrice");
+    this.changeDescription = operation("changeDescription");
+    this.applyStockMovements = operation("applyStockMovements");
+    this.getItemsByCategory = operation("getItemsByCategory");
+    this.setReorderThreshold = operation("setReorderThreshold");
+    this.checkForRestockOfItems = operation("checkForRestockOfItems");
+    this.getItems = operation("getItems");
+  }
+
+  /**
+   * The method creates the metrics of an operation.
+   *
+   * @param name the name of the operation.
+   * @return the metrics.
+   */
+  private OperationMetrics operation(String name) {
+    OperationMetrics metrics = new OperationMetrics(name, sampleRate);
+    operations.add(metrics);
+    return metrics;
+  }
+
+  /**
+   * The method reads the amount of an item after it may have changed, and adds it to or
+   * removes it from the items out of stock. The amount is read while the entry of the item is
+   * locked, so the last update of an item always reads its latest amount.
+   *
+   * @param itemNumber item number.
+   */
+  private void updateOutOfStock(String itemNumber) {
+    itemsOutOfStock.compute(itemNumber.toUpperCase().trim(), (key, outOfStock) -> {
+      ItemView item = register.getItemByItemNr(key);
+      return item != null && item.getAmountInStorage() <= 0 ? Boolean.TRUE : null;
+    });
+  }
+
+  /**
+   * The method retrieves the metrics of every operation.
+   *
+   * @return an unmodifiable list of the metrics, one for each operation.
+   */
+  public List<OperationMetricsMXBean> getOperationMetrics() {
+    return List.copyOf(operations);
+  }
+
+  /**
+   * The method retrieves the metrics of an operation.
+   *
+   * @param operation the name of the register method.
+   * @return the metrics, or null if the operation is not measured.
+   */
+  public OperationMetricsMXBean getOperationMetrics(String operation) {
+    for (OperationMetrics metrics : operations) {
+      if (metrics.getOperation().equals(operation)) {
+        return metrics;
+      }
+    }
+    return null;
+  }
+
+  @Override
+  public void registerItem(String itemNumber, String description, int price,
+                           String brandName, double weight, double length, double height,
+                           String color, int amountInStorage, int category) {
+    long start = registerItem.start();
+    try {
+      register.registerItem(itemNumber, description, price, brandName, weight, length,
+              height, color, amountInStorage, category);
+      updateOutOfStock(itemNumber);
+    } catch (RuntimeException e) {
+      registerItem.recordError(start);
+      throw e;
+    }
+    registerItem.record(start, true);
+  }
+
+  @Override
+  public ItemView getItemByItemNr(String itemNumber) {
+    long start = getItemByItemNr.start();
+    try {
+      ItemView item = register.getItemByItemNr(itemNumber);
+      getItemByItemNr.record(start, item != null);
+      return item;
+    } catch (RuntimeException e) {
+      getItemByItemNr.recordError(start);
+      throw e;
+    }
+  }
+
+  @Override
+  public boolean increaseStorage(String itemNumber, int increase) {
+    long start = increaseStorage.start();
+    try {
+      boolean succeeded = register.increaseStorage(itemNumber, increase);
+      if (succeeded) {
+        updateOutOfStock(itemNumber);
+      }
+      increaseStorage.record(start, succeeded);
+      return succeeded;
+    } catch (RuntimeException e) {
+      increaseStorage.recordError(start);
+      throw e;
+    }
+  }
+
+  @Override
+  public boolean decreaseStorage(String itemNumber, int decrease) {
+    long start = decreaseStorage.start();
+    try {
+      boolean succeeded = register.decreaseStorage(itemNumber, decrease);
+      if (succeeded) {
+        updateOutOfStock(itemNumber);
+      }
+      decreaseStorage.record(start, succeeded);
+      return succeeded;
+    } catch (RuntimeException e) {
+      decreaseStorage.recordError(start);
+      throw e;
+    }
+  }
+
+  @Override
+  public boolean removeItemFromStorage(String itemNumber) {
+    long start = removeItemFromStorage.start();
+    try {
+      boolean succeeded = register.removeItemFromStorage(itemNumber);
+      if (succeeded) {
+        updateOutOfStock(itemNumber);
+      }
+      removeItemFromStorage.record(start, succeeded);
+      return succeeded;
+    } catch (RuntimeException e) {
+      removeItemFromStorage.recordError(start);
+      throw e;
+    }
+  }
+
+  @Override
+  public boolean addDiscount(String itemNumber, int discount) {
+    long start = addDiscount.start();
+    try {
+      boolean succeeded = register.addDiscount(itemNumber, discount);
+      addDiscount.record(start, succeeded);
+      return succeeded;
+    } catch (RuntimeException e) {
+      addDiscount.recordError(start);
+      throw e;
+    }
+  }
+
+  @Override
+  public boolean resetPriceOfItemToBeforeDiscount(String itemNumber) {
+    long start = resetPriceOfItemToBeforeDiscount.start();
+    try {
+      boolean succeeded = register.resetPriceOfItemToBeforeDiscount(itemNumber);
+      resetPriceOfItemToBeforeDiscount.record(start, succeeded);
+      return succeeded;
+    } catch (RuntimeException e) {
+      resetPriceOfItemToBeforeDiscount.recordError(start);
+      throw e;
+    }
+  }
+
+  @Override
+  public boolean changePrice(String itemNumber, int newPrice) {
+    long start = changePrice.start();
+    try {
+      boolean succeeded = register.changePrice(itemNumber, newPrice);
+      changePrice.record(start, succeeded);
+      return succeeded;
+    } catch (RuntimeException e) {
+      changePrice.recordError(start);
+      throw e;
+    }
+  }
+
+  @Override
+  public boolean changeDescription(String itemNumber, String newDescription) {
+    long start = changeDescription.start();
+    try {
+      boolean succeeded = register.changeDescription(itemNumber, newDescription);
+      changeDescription.record(start, succeeded);
+      return succeeded;
+    } catch (RuntimeException e) {
+      changeDescription.recordError(start);
+      throw e;
+    }
+  }
+
+  @Override
+  public SortedMap<Integer, String> applyStockMovements(List<StockMovement> movements) {
+    long start = applyStockMovements.start();
+    try {
+      SortedMap<Integer, String> failures = register.applyStockMovements(movements);
+      if (failures.isEmpty()) {
+        for (StockMovement movement : movements) {
+          updateOutOfStock(movement.getItemNumber());
+        }
+      }
+      applyStockMovements.record(start, failures.isEmpty());
+      return failures;
+    } catch (RuntimeException e) {
+      applyStockMovements.recordError(start);
+      throw e;
+    }
+  }
+
+  @Override
+  public List<ItemView> getItemsByCategory(int category) {
+    long start = getItemsByCategory.start();
+    try {
+      List<ItemView> items = register.getItemsByCategory(category);
+      getItemsByCategory.record(start, items != null);
+      return items;
+    } catch (RuntimeException e) {
+      getItemsByCategory.recordError(start);
+      throw e;
+    }
+  }
+
+  @Override
+  public boolean setReorderThreshold(String itemNumber, int threshold) {
+    long start = setReorderThreshold.start();
+    try {
+      boolean set = register.setReorderThreshold(itemNumber, threshold);
+      setReorderThreshold.record(start, set);
+      return set;
+    } catch (RuntimeException e) {
+      setReorderThreshold.recordError(start);
+      throw e;
+    }
+  }
+
+  @Override
+  public void setReorderThreshold(Category category, int threshold) {
+    long start = setReorderThreshold.start();
+    try {
+      register.setReorderThreshold(category, threshold);
+    } catch (RuntimeException e) {
+      setReorderThreshold.recordError(start);
+      throw e;
+    }
+    setReorderThreshold.record(start, true);
+  }
+
+  @Override
+  public List<ItemView> checkForRestockOfItems() {
+    long start = checkForRestockOfItems.start();
+    try {
+      List<ItemView> items = register.checkForRestockOfItems();
+      checkForRestockOfItems.record(start, true);
+      return items;
+    } catch (RuntimeException e) {
+      checkForRestockOfItems.recordError(start);
+      throw e;
+    }
+  }
+
+  @Override
+  public List<ItemView> getItems(int offset, int limit) {
+    long start = getItems.start();
+    try {
+      List<ItemView> items = register.getItems(offset, limit);
+      getItems.record(start, true);
+      return items;
+    } catch (RuntimeException e) {
+      getItems.recordError(start);
+      throw e;
+    }
+  }
+
+  @Override
+  public int size() {
+    return register.size();
+  }
+
+  @Override
+  public int countDiscountedItems() {
+    return register.countDiscountedItems();
+  }
+
+  @Override
+  public Stream<ItemView> streamItems() {
+    return register.streamItems();
+  }
+
+  @Override
+  public void writeTo(Appendable out) throws IOException {
+    register.writeTo(out);
+  }
+
+  @Override
+  public int getItemCount() {
+    return register.size();
+  }
+
+  @Override
+  public long getOutOfStockCount() {
+    return itemsOutOfStock.mappingCount();
+  }
+
+  @Override
+  public int getDiscountedItemCount() {
+    return register.countDiscountedItems();
+  }
+
+  @Override
+  public String dumpMetrics() {
+    StringBuilder sb = new StringBuilder();
+    sb.append("wms_items ").append(getItemCount()).append('\n');
+    sb.append("wms_items_out_of_stock ").append(getOutOfStockCount()).append('\n');
+    sb.append("wms_items_discounted ").append(getDiscountedItemCount()).append('\n');
+    for (OperationMetrics metrics : operations) {
+      String label = "{operation=\"" + metrics.getOperation() + "\"";
+      sb.append("wms_operation_calls").append(label).append("} ")
+              .append(metrics.getCalls()).append('\n');
+      sb.append("wms_operation_failures").append(label).append("} ")
+              .append(metrics.getFailures()).append('\n');
+      sb.append("wms_operation_errors").append(label).append("} ")
+              .append(metrics.getErrors()).append('\n');
+      sb.append("wms_operation_latency_nanos").append(label).append(",quantile=\"0.5\"} ")
+              .append(metrics.getP50Nanos()).append('\n');
+      sb.append("wms_operation_latency_nanos").append(label).append(",quantile=\"0.99\"} ")
+              .append(metrics.getP99Nanos()).append('\n');
+      sb.append("wms_operation_latency_nanos").append(label).append(",quantile=\"0.999\"} ")
+              .append(metrics.getP999Nanos()).append('\n');
+      sb.append("wms_operation_latency_nanos_max").append(label).append("} ")
+              .append(metrics.getMaxNanos()).append('\n');
+    }
+    return sb.toString();
+  }
+
+  /**
+   * The method registers the metrics in the platform MBean server: the gauges under
+   * {@code wms:type=Register,name=<name>}, and the metrics of each operation under
+   * {@code wms:type=RegisterOperation,register=<name>,operation=<operation>}.
+   *
+   * @param name the name of the register in the object names.
+   * @throws JMException if the metrics could not be registered, for example because
+   *                     a register with the same name is already registered.
+   */
+  public synchronized void registerMBeans(String name) throws JMException {
+    MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+    String quoted = ObjectName.quote(name);
+    ObjectName gauges = new ObjectName("wms:type=Register,name=" + quoted);
+    server.registerMBean(this, gauges);
+    registeredNames.add(gauges);
+    for (OperationMetrics metrics : operations) {
+      ObjectName objectName = new ObjectName("wms:type=RegisterOperation,register=" + quoted
+              + ",operation=" + metrics.getOperation());
+      server.registerMBean(metrics, objectName);
+      registeredNames.add(objectName);
+    }
+  }
+
+  /**
+   * The method removes the metrics that were registered in the platform MBean server.
+   *
+   * @throws JMException if the metrics could not be removed.
+   */
+  public synchronized void unregisterMBeans() throws JMException {
+    MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+    while (!registeredNames.isEmpty()) {
+      server.unregisterMBean(registeredNames.remove(registeredNames.size() - 1));
+    }
+  }
+}
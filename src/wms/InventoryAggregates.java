@@ -0,0 +1,197 @@
+package wms;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The class keeps running totals of the stock value, amount, weight and volume of the items
+ * in a register, per category and per brand.
+ *
+ * <p>The register reports every item it adds or removes, and every change of a price or an
+ * amount in storage, and the totals are updated by the difference, so a valuation is read
+ * without visiting the items. The totals of all items are the sum of the totals of the
+ * categories, of which there are only a few. The stock value is a sum of whole numbers, and
+ * the weight and volume are exact sums of the doubles of the items, so the totals are always
+ * equal to a recomputation from the items, whatever the order of the changes.</p>
+ *
+ * @author agent.
+ * @version 1.0
+ * @since Oct 18, 2026.
+ */
+class InventoryAggregates {
+  private final Map<Integer, Totals> byCategory;
+  private final Map<String, Totals> byBrand;
+  private final Map<String, Totals> byBrandAsWritten;
+
+  /**
+   * Constructor to create totals of no items.
+   */
+  InventoryAggregates() {
+    this.byCategory = new HashMap<>();
+    this.byBrand = new HashMap<>();
+    this.byBrandAsWritten = new HashMap<>();
+  }
+
+  /**
+   * The method normalizes a brand name, so brands that only differ in case share totals.
+   *
+   * @param brandName brand name.
+   * @return the normalized brand name.
+   */
+  private static String normalizeBrandName(String brandName) {
+    return brandName.toUpperCase().trim();
+  }
+
+  /**
+   * The method finds the totals of the brand of an item. The totals are also kept by the brand
+   * name as it is written on the item, so a change of an item does not normalize the name.
+   *
+   * @param item the item.
+   * @return the totals of the brand.
+   */
+  private Totals brandOf(Item item) {
+    Totals totals = byBrandAsWritten.get(item.getBrandName());
+    if (totals == null) {
+      totals = byBrand.computeIfAbsent(normalizeBrandName(item.getBrandName()),
+              key -> new Totals());
+      byBrandAsWritten.put(item.getBrandName(), totals);
+    }
+    return totals;
+  }
+
+  /**
+   * The method records that an item was added to the register.
+   *
+   * @param item the item.
+   */
+  void added(Item item) {
+    byCategory.computeIfAbsent(item.getCategory(), key -> new Totals());
+    change(item, 1, item.getAmountInStorage());
+  }
+
+  /**
+   * The method records that an item was removed from the register.
+   *
+   * @param item the item.
+   */
+  void removed(Item item) {
+    change(item, -1, -item.getAmountInStorage());
+    Totals brand = brandOf(item);
+    if (brand.itemCount == 0) {
+      byBrand.remove(normalizeBrandName(item.getBrandName()));
+      byBrandAsWritten.values().removeIf(totals -> totals == brand);
+    }
+  }
+
+  /**
+   * The method records that the amount in storage of an item changed.
+   *
+   * @param item the item, with its new amount.
+   * @param oldAmount the amount before the change.
+   */
+  void amountChanged(Item item, int oldAmount) {
+    int change = item.getAmountInStorage() - oldAmount;
+    if (change != 0) {
+      change(item, 0, change);
+    }
+  }
+
+  /**
+   * The method adds a change of an item to the totals of its category and its brand.
+   *
+   * @param item the item.
+   * @param itemCount the change of the number of items.
+   * @param amount the change of the amount in storage.
+   */
+  private void change(Item item, int itemCount, int amount) {
+    byCategory.get(item.getCategory()).add(item, itemCount, amount);
+    brandOf(item).add(item, itemCount, amount);
+  }
+
+  /**
+   * The method records that the price of an item changed.
+   *
+   * @param item the item, with its new price.
+   * @param oldPrice the price before the change.
+   */
+  void priceChanged(Item item, int oldPrice) {
+    long change = (long) (item.getPrice() - oldPrice) * item.getAmountInStorage();
+    if (change == 0) {
+      return;
+    }
+    byCategory.get(item.getCategory()).stockValue += change;
+    brandOf(item).stockValue += change;
+  }
+
+  /**
+   * The method retrieves the valuation of every item, by adding up the categories.
+   *
+   * @return the valuation.
+   */
+  InventoryValuation getValuation() {
+    InventoryValuation valuation = InventoryValuation.EMPTY;
+    for (Totals category : byCategory.values()) {
+      valuation = valuation.plus(category.toValuation());
+    }
+    return valuation;
+  }
+
+  /**
+   * The method retrieves the valuation of the items in a category.
+   *
+   * @param category the category number.
+   * @return the valuation, which is empty if the category has no items.
+   */
+  InventoryValuation getValuationOfCategory(int category) {
+    Totals totals = byCategory.get(category);
+    return totals == null ? InventoryValuation.EMPTY : totals.toValuation();
+  }
+
+  /**
+   * The method retrieves the valuation of the items of a brand.
+   * The brand name is compared without regard to case.
+   *
+   * @param brandName brand name.
+   * @return the valuation, which is empty if the brand has no items.
+   */
+  InventoryValuation getValuationOfBrand(String brandName) {
+    Totals totals = byBrand.get(normalizeBrandName(brandName));
+    return totals == null ? InventoryValuation.EMPTY : totals.toValuation();
+  }
+
+  /**
+   * The class holds the running totals of one group of items.
+   */
+  private static final class Totals {
+    private final ExactSum totalWeight = new ExactSum();
+    private final ExactSum totalVolume = new ExactSum();
+    private int itemCount;
+    private long totalAmount;
+    private long stockValue;
+
+    /**
+     * The method adds a change of an item to the totals.
+     *
+     * @param item the item.
+     * @param itemCount the change of the number of items.
+     * @param amount the change of the amount in storage.
+     */
+    void add(Item item, int itemCount, int amount) {
+      this.itemCount += itemCount;
+      totalAmount += amount;
+      stockValue += (long) item.getPrice() * amount;
+      totalWeight.addProduct(item.getWeight(), amount);
+      totalVolume.addProduct(item.getLength(), item.getHeight(), amount);
+    }
+
+    /**
+     * The method creates a valuation of the current totals.
+     *
+     * @return the valuation.
+     */
+    InventoryValuation toValuation() {
+      return new InventoryValuation(itemCount, totalAmount, stockValue,
+              totalWeight.toBigDecimal(), totalVolume.toBigDecimal());
+    }
+  }
+}
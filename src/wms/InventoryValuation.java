@@ -0,0 +1,115 @@
+package wms;
+
+import java.math.BigDecimal;
+
+/**
+ * The class represents the value and size of a group of items in storage at one moment:
+ * the number of items, the total amount in storage, the stock value, which is the price of
+ * each item times its amount in storage, and the total weight and volume of the stock.
+ *
+ * <p>The weight and volume are exact sums of the weight, length and height of the items,
+ * so they match a recomputation no matter in which order the stock changed. Since items have
+ * no width, the volume of an item is its length times its height.</p>
+ *
+ * @author agent.
+ * @version 1.0
+ * @since Oct 18, 2026.
+ */
+public final class InventoryValuation {
+  static final InventoryValuation EMPTY =
+          new InventoryValuation(0, 0, 0, BigDecimal.ZERO, BigDecimal.ZERO);
+
+  private final int itemCount;
+  private final long totalAmount;
+  private final long stockValue;
+  private final BigDecimal totalWeight;
+  private final BigDecimal totalVolume;
+
+  /**
+   * Constructor to create a valuation.
+   *
+   * @param itemCount the number of items.
+   * @param totalAmount the total amount in storage.
+   * @param stockValue the total value of the stock.
+   * @param totalWeight the total weight of the stock.
+   * @param totalVolume the total volume of the stock.
+   */
+  InventoryValuation(int itemCount, long totalAmount, long stockValue,
+                     BigDecimal totalWeight, BigDecimal totalVolume) {
+    this.itemCount = itemCount;
+    this.totalAmount = totalAmount;
+    this.stockValue = stockValue;
+    this.totalWeight = totalWeight;
+    this.totalVolume = totalVolume;
+  }
+
+  /**
+   * The method adds another valuation to this one.
+   *
+   * @param other the other valuation.
+   * @return the valuation of both groups of items.
+   */
+  InventoryValuation plus(InventoryValuation other) {
+    return new InventoryValuation(itemCount + other.itemCount,
+            totalAmount + other.totalAmount, stockValue + other.stockValue,
+            totalWeight.add(other.totalWeight), totalVolume.add(other.totalVolume));
+  }
+
+  /**
+   * The method retrieves the number of items.
+   *
+   * @return the number of items.
+   */
+  public int getItemCount() {
+    return itemCount;
+  }
+
+  /**
+   * The method retrieves the total amount of the items in storage.
+   *
+   * @return the total amount in storage.
+   */
+  public long getTotalAmount() {
+    return totalAmount;
+  }
+
+  /**
+   * The method retrieves the stock value, which is the sum of the price
+   * times the amount in storage of each item.
+   *
+   * @return the stock value.
+   */
+  public long getStockValue() {
+    return stockValue;
+  }
+
+  /**
+   * The method retrieves the exact total weight of the stock in kg.
+   * The scale of the number depends on the weights, so use compareTo to compare it.
+   *
+   * @return the total weight.
+   */
+  public BigDecimal getTotalWeight() {
+    return totalWeight;
+  }
+
+  /**
+   * The method retrieves the exact total volume of the stock, where the volume of an item
+   * is its length times its height.
+   * The scale of the number depends on the sizes, so use compareTo to compare it.
+   *
+   * @return the total volume.
+   */
+  public BigDecimal getTotalVolume() {
+    return totalVolume;
+  }
+
+  @Override
+  public String toString() {
+    return "\nItems: " + itemCount + "."
+            + "\nAmount in storage: " + totalAmount + "."
+            + "\nStock value: " + stockValue + "."
+            + "\nWeight: " + totalWeight.stripTrailingZeros().toPlainString() + " kg."
+            + "\nVolume: " + totalVolume.stripTrailingZeros().toPlainString() + ".";
+  }
+}
@@ -2,22 +2,26 @@ package wms;
 
 /**
  * The class represents an item.
+ * The mutable fields are volatile, so readers that do not hold a lock
+ * in a concurrent register always see the latest written value.
  *
  * @author Ramtin Samavat.
  * @version 1.0
  * @since Dec 12, 2022.
  */
-public class Item {
+public class Item implements ItemView {
   private final String itemNumber;
-  private String description;
-  private int price;
+  private volatile String description;
+  private volatile int price;
   private final String brandName;
   private final double weight;
   private final double length;
   private final double height;
   private final String color;
-  private int amountInStorage;
+  private volatile int amountInStorage;
   private final int category;
+  private volatile long version;
+  private ReadOnlyItem view;
 
   /**
    * Constructor to create an object of the type item,
@@ -91,14 +95,31 @@ public class Item {
   /**
    * Deep copy of constructor.
    *
-   * @param item deep copy object.
+   * @param item deep copy object, which can be an item or a view of an item.
    */
-  public Item(Item item) {
+  public Item(ItemView item) {
     this(item.getItemNumber(), item.getDescription(), item.getPrice(), item.getBrandName(),
             item.getWeight(), item.getLength(), item.getHeight(), item.getColor(),
             item.getAmountInStorage(), item.getCategory());
   }
 
+  /**
+   * The method retrieves a read-only view of the item. The view reads the fields
+   * of this item directly, so it always shows the current state of the item,
+   * and it is created only once for each item.
+   *
+   * @return a read-only view of the item.
+   */
+  public ItemView asView() {
+    ReadOnlyItem readOnlyItem = view;
+    if (readOnlyItem == null) {
+      // The view only holds a final reference, so a racy initialization is harmless.
+      readOnlyItem = new ReadOnlyItem(this);
+      view = readOnlyItem;
+    }
+    return readOnlyItem;
+  }
+
   /**
    * The method sets a new description of the item.
    *
@@ -110,6 +131,7 @@ public class Item {
       throw new IllegalArgumentException("\nYou must enter a description for the item. Try again");
     }
     this.description = description.trim();
+    version++;
   }
 
   /**
@@ -123,6 +145,7 @@ public class Item {
       throw new IllegalArgumentException("\nPrice can't be less than zero. Try again");
     }
     this.price = price;
+    version++;
   }
 
   /**
@@ -136,6 +159,28 @@ public class Item {
       throw new IllegalArgumentException("\nAmount in storage can't be less than zero. Try again");
     }
     this.amountInStorage = amountInStorage;
+    version++;
+  }
+
+  /**
+   * The method retrieves the version of the item, which every setter increases by one.
+   * The item is only changed by one thread at a time, so the increase needs no atomic update.
+   *
+   * @return the version of the item.
+   */
+  @Override
+  public long getVersion() {
+    return version;
+  }
+
+  /**
+   * The method sets the version of an item read back from storage to the version it had
+   * when it was stored, so a version read before a restart can't match a changed item after it.
+   *
+   * @param version the stored version.
+   */
+  void restoreVersion(long version) {
+    this.version = version;
   }
 
   /**
@@ -143,6 +188,7 @@ public class Item {
    *
    * @return category name of the item.
    */
+  @Override
   public String getCategoryName() {
     return Category.getCategoryNameByCategoryNr(category);
   }
@@ -152,6 +198,7 @@ public class Item {
    *
    * @return the value of the variable itemNumber.
    */
+  @Override
   public String getItemNumber() {
     return itemNumber;
   }
@@ -161,6 +208,7 @@ public class Item {
    *
    * @return the value of the variable description.
    */
+  @Override
   public String getDescription() {
     return description;
   }
@@ -170,6 +218,7 @@ public class Item {
    *
    * @return the value of the variable price.
    */
+  @Override
   public int getPrice() {
     return price;
   }
@@ -179,6 +228,7 @@ public class Item {
    *
    * @return the value of the variable brandName.
    */
+  @Override
   public String getBrandName() {
     return brandName;
   }
@@ -188,6 +238,7 @@ public class Item {
    *
    * @return the value of the variable weight.
    */
+  @Override
   public double getWeight() {
     return weight;
   }
@@ -197,6 +248,7 @@ public class Item {
    *
    * @return the value of the variable length.
    */
+  @Override
   public double getLength() {
     return length;
   }
@@ -206,6 +258,7 @@ public class Item {
    *
    * @return the value of the variable height.
    */
+  @Override
   public double getHeight() {
     return height;
   }
@@ -215,6 +268,7 @@ public class Item {
    *
    * @return the value of the variable color.
    */
+  @Override
   public String getColor() {
     return color;
   }
@@ -224,6 +278,7 @@ public class Item {
    *
    * @return the value of the variable amountInStorage.
    */
+  @Override
   public int getAmountInStorage() {
     return amountInStorage;
   }
@@ -233,6 +288,7 @@ public class Item {
    *
    * @return the value of the variable category.
    */
+  @Override
   public int getCategory() {
     return category;
   }
@@ -245,20 +301,32 @@ public class Item {
    */
   @Override
   public String toString() {
-    return "\nItem number: " + getItemNumber() + "."
-            + "\nDescription: " + getDescription() + "."
-            + "\nPrice: " + getPrice() + " kr."
-            + "\nBrand name: " + getBrandName() + "."
-            + "\nWeight: " + getWeight() + " kg."
-            + "\nLength: " + getLength() + " m."
-            + "\nHeight: " + getHeight() + " m."
-            + "\nColor: " + getColor() + "."
-            + "\nAmount in storage: " + getAmountInStorage() + "."
-            + "\nCategory name: " + getCategoryName() + ".\n";
+    return describe(this);
+  }
+
+  /**
+   * The method collects all the information about an item or a view of an item,
+   * in the same form as toString of the class Item.
+   *
+   * @param item the item.
+   * @return information about the item.
+   */
+  static String describe(ItemView item) {
+    return "\nItem number: " + item.getItemNumber() + "."
+            + "\nDescription: " + item.getDescription() + "."
+            + "\nPrice: " + item.getPrice() + " kr."
+            + "\nBrand name: " + item.getBrandName() + "."
+            + "\nWeight: " + item.getWeight() + " kg."
+            + "\nLength: " + item.getLength() + " m."
+            + "\nHeight: " + item.getHeight() + " m."
+            + "\nColor: " + item.getColor() + "."
+            + "\nAmount in storage: " + item.getAmountInStorage() + "."
+            + "\nCategory name: " + item.getCategoryName() + ".\n";
   }
 
   /**
    * The method checks for equality between objects.
+   * Items are compared by their fields, so an item is equal to a view with the same fields.
    *
    * @param o the object to which it is being compared.
    * @return a boolean value which indicate whether they are equal or not.
@@ -268,18 +336,118 @@ public class Item {
     if (this == o) {
       return true;
     }
-    if (!(o instanceof Item item)) {
-      return false;
+    return o instanceof ItemView item && hasSameFields(this, item);
+  }
+
+  /**
+   * The method checks if two items or views of items have the same fields.
+   *
+   * @param a the first item.
+   * @param b the second item.
+   * @return a boolean value which indicate whether they have the same fields or not.
+   */
+  static boolean hasSameFields(ItemView a, ItemView b) {
+    return a.getPrice() == b.getPrice()
+            && Double.compare(b.getWeight(), a.getWeight()) == 0
+            && Double.compare(b.getLength(), a.getLength()) == 0
+            && Double.compare(b.getHeight(), a.getHeight()) == 0
+            && a.getAmountInStorage() == b.getAmountInStorage()
+            && a.getCategory() == b.getCategory()
+            && a.getItemNumber().equals(b.getItemNumber())
+            && a.getDescription().equals(b.getDescription())
+            && a.getBrandName().equals(b.getBrandName())
+            && a.getColor().equals(b.getColor());
+  }
+
+  /**
+   * The method computes a hash code from the item number,
+   * which is the only field that never changes.
+   *
+   * @return the hash code of the item.
+   */
+  @Override
+  public int hashCode() {
+    return getItemNumber().hashCode();
+  }
+
+  /**
+   * The class is a read-only view of an item, which delegates to the item.
+   */
+  private static final class ReadOnlyItem implements ItemView {
+    private final Item item;
+
+    private ReadOnlyItem(Item item) {
+      this.item = item;
+    }
+
+    @Override
+    public String getItemNumber() {
+      return item.getItemNumber();
+    }
+
+    @Override
+    public String getDescription() {
+      return item.getDescription();
+    }
+
+    @Override
+    public int getPrice() {
+      return item.getPrice();
+    }
+
+    @Override
+    public String getBrandName() {
+      return item.getBrandName();
+    }
+
+    @Override
+    public double getWeight() {
+      return item.getWeight();
+    }
+
+    @Override
+    public double getLength() {
+      return item.getLength();
+    }
+
+    @Override
+    public double getHeight() {
+      return item.getHeight();
+    }
+
+    @Override
+    public String getColor() {
+      return item.getColor();
+    }
+
+    @Override
+    public int getAmountInStorage() {
+      return item.getAmountInStorage();
+    }
+
+    @Override
+    public int getCategory() {
+      return item.getCategory();
+    }
+
+    @Override
+    public long getVersion() {
+      return item.getVersion();
+    }
+
+    @Override
+    public String toString() {
+      return item.toString();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      return this == o || item.equals(o);
+    }
+
+    @Override
+    public int hashCode() {
+      return item.hashCode();
     }
-    return getPrice() == item.getPrice()
-            && Double.compare(item.getWeight(), getWeight()) == 0
-            && Double.compare(item.getLength(), getLength()) == 0
-            && Double.compare(item.getHeight(), getHeight()) == 0
-            && getAmountInStorage() == item.getAmountInStorage()
-            && getCategory() == item.getCategory()
-            && getItemNumber().equals(item.getItemNumber())
-            && getDescription().equals(item.getDescription())
-            && getBrandName().equals(item.getBrandName())
-            && getColor().equals(item.getColor());
   }
-}
\ No newline at end of file
+}
@@ -0,0 +1,58 @@
+package wms;
+
+import java.util.function.ToDoubleFunction;
+
+/**
+ * The enum represents the numeric attributes of an item that can be queried by range.
+ * The price and the measurements are backed by range indexes in the class ItemRegister,
+ * while the amount in storage changes too often to be worth indexing.
+ *
+ * @author agent.
+ * @version 1.0
+ * @since Oct 18, 2026.
+ */
+public enum ItemAttribute {
+  PRICE("price", ItemView::getPrice, true),
+  WEIGHT("weight", ItemView::getWeight, true),
+  LENGTH("length", ItemView::getLength, true),
+  HEIGHT("height", ItemView::getHeight, true),
+  AMOUNT_IN_STORAGE("amount in storage", ItemView::getAmountInStorage, false);
+
+  private final String attributeName;
+  private final ToDoubleFunction<ItemView> getter;
+  private final boolean indexed;
+
+  ItemAttribute(String attributeName, ToDoubleFunction<ItemView> getter, boolean indexed) {
+    this.attributeName = attributeName;
+    this.getter = getter;
+    this.indexed = indexed;
+  }
+
+  /**
+   * The method reads the value of the attribute from an item.
+   *
+   * @param item the item.
+   * @return the value of the attribute.
+   */
+  public double valueOf(ItemView item) {
+    return getter.applyAsDouble(item);
+  }
+
+  /**
+   * The method checks if the item register keeps a range index on the attribute.
+   *
+   * @return a boolean value which indicate whether the attribute is indexed or not.
+   */
+  boolean isIndexed() {
+    return indexed;
+  }
+
+  /**
+   * The method retrieves the name of the attribute.
+   *
+   * @return the name of the attribute.
+   */
+  public String getAttributeName() {
+    return attributeName;
+  }
+}
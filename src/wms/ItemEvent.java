@@ -0,0 +1,137 @@
+package wms;
+
+/**
+ * The class represents a change of an item in an item register. Events are immutable,
+ * so they can be read by listeners on other threads while the register keeps changing.
+ *
+ * @author agent.
+ * @version 1.0
+ * @since Oct 18, 2026.
+ */
+public final class ItemEvent {
+  private final ItemEventType type;
+  private final String itemNumber;
+  private final int oldValue;
+  private final int newValue;
+  private final ItemView item;
+  private final String description;
+
+  private ItemEvent(ItemEventType type, String itemNumber, int oldValue, int newValue,
+                    ItemView item, String description) {
+    this.type = type;
+    this.itemNumber = itemNumber;
+    this.oldValue = oldValue;
+    this.newValue = newValue;
+    this.item = item;
+    this.description = description;
+  }
+
+  /**
+   * The method creates an event for a registered item.
+   *
+   * @param item the item, which is copied, so later changes of the item do not show.
+   * @return the event.
+   */
+  static ItemEvent registered(ItemView item) {
+    return new ItemEvent(ItemEventType.REGISTERED, item.getItemNumber(), 0, 0,
+            new Item(item).asView(), null);
+  }
+
+  /**
+   * The method creates an event for a removed item.
+   *
+   * @param item the item, which is no longer changed by the register.
+   * @return the event.
+   */
+  static ItemEvent removed(ItemView item) {
+    return new ItemEvent(ItemEventType.REMOVED, item.getItemNumber(), 0, 0, item, null);
+  }
+
+  /**
+   * The method creates an event for a change of the amount in storage or the price of an item.
+   *
+   * @param type the type of the event.
+   * @param itemNumber item number.
+   * @param oldValue the amount or price before the change.
+   * @param newValue the amount or price after the change.
+   * @return the event.
+   */
+  static ItemEvent changed(ItemEventType type, String itemNumber, int oldValue, int newValue) {
+    return new ItemEvent(type, itemNumber, oldValue, newValue, null, null);
+  }
+
+  /**
+   * The method creates an event for a change of the description of an item.
+   *
+   * @param itemNumber item number.
+   * @param description the new description.
+   * @return the event.
+   */
+  static ItemEvent descriptionChanged(String itemNumber, String description) {
+    return new ItemEvent(ItemEventType.DESCRIPTION_CHANGED, itemNumber, 0, 0, null,
+            description);
+  }
+
+  /**
+   * The method retrieves the type of the event.
+   *
+   * @return the type of the event.
+   */
+  public ItemEventType getType() {
+    return type;
+  }
+
+  /**
+   * The method retrieves the item number of the changed item.
+   *
+   * @return item number.
+   */
+  public String getItemNumber() {
+    return itemNumber;
+  }
+
+  /**
+   * The method retrieves the amount in storage or the price before the change.
+   *
+   * @return the old value, or 0 if the event is not about the amount or the price.
+   */
+  public int getOldValue() {
+    return oldValue;
+  }
+
+  /**
+   * The method retrieves the amount in storage or the price after the change.
+   *
+   * @return the new value, or 0 if the event is not about the amount or the price.
+   */
+  public int getNewValue() {
+    return newValue;
+  }
+
+  /**
+   * The method retrieves the item of an event for a registered or removed item.
+   *
+   * @return the item, or null if the event is not about a registered or removed item.
+   */
+  public ItemView getItem() {
+    return item;
+  }
+
+  /**
+   * The method retrieves the new description of an event for a changed description.
+   *
+   * @return the description, or null if the event is not about a changed description.
+   */
+  public String getDescription() {
+    return description;
+  }
+
+  @Override
+  public String toString() {
+    return switch (type) {
+      case REGISTERED, REMOVED -> type + " " + itemNumber;
+      case DESCRIPTION_CHANGED -> type + " " + itemNumber + ": " + description;
+      default -> type + " " + itemNumber + ": " + oldValue + " -> " + newValue;
+    };
+  }
+}
@@ -0,0 +1,240 @@
+package wms;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * The class delivers the change events of an item register to listeners.
+ *
+ * <p>Events are published into a bounded ring buffer without locks: a publisher claims a slot
+ * by advancing the tail with a compare-and-set, and stores the event in it. A single delivery
+ * thread takes the events from the head in batches, and passes each batch to every listener.
+ * Publishing never waits for the delivery thread or the listeners. If the buffer is full,
+ * because the listeners cannot keep up, the event is dropped and counted instead.</p>
+ *
+ * <p>The delivery thread sleeps for a short while when the buffer is empty, rather than being
+ * woken by the publishers, so an event is delivered within about a millisecond.</p>
+ *
+ * <p>A publisher checks that the bus is open again after it claimed its slot. The delivery
+ * thread only stops once the bus is closed and every slot claimed before it saw the bus closed
+ * is taken, so an event is either delivered or counted as dropped, never lost in between. A
+ * slot claimed by a publisher that found the bus closed holds a marker, which is skipped.</p>
+ *
+ * @author agent.
+ * @version 1.0
+ * @since Oct 18, 2026.
+ */
+public final class ItemEventBus implements AutoCloseable {
+  private static final long MAX_IDLE_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+  private static final ItemEvent DISCARDED =
+          ItemEvent.changed(ItemEventType.STOCK_CHANGED, "", 0, 0);
+
+  private final AtomicReferenceArray<ItemEvent> slots;
+  private final int mask;
+  private final int maxBatchSize;
+  private final AtomicLong tail;
+  private final AtomicLong dropped;
+  private final AtomicLong discarded;
+  private final AtomicLong listenerFailures;
+  private final List<ItemEventListener> listeners;
+  private final Thread deliveryThread;
+  private volatile long head;
+  private volatile boolean closed;
+
+  /**
+   * Constructor to create an event bus with a buffer of 65536 events,
+   * which delivers at most 256 events in a batch.
+   */
+  public ItemEventBus() {
+    this(1 << 16, 256);
+  }
+
+  /**
+   * Constructor to create an event bus, and start its delivery thread.
+   *
+   * @param capacity the number of events the buffer holds, which is rounded up
+   *                 to a power of two.
+   * @param maxBatchSize the maximum number of events delivered in one batch.
+   * @throws IllegalArgumentException if the capacity or the batch size is less than one,
+   *                                  or the capacity is greater than 2^30.
+   */
+  public ItemEventBus(int capacity, int maxBatchSize) {
+    if (capacity < 1 || capacity > 1 << 30) {
+      throw new IllegalArgumentException("\nThe capacity must be between 1 and 2^30.");
+    }
+    if (maxBatchSize < 1) {
+      throw new IllegalArgumentException("\nThe batch size must be at least one.");
+    }
+    int size = capacity == 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+    this.slots = new AtomicReferenceArray<>(size);
+    this.mask = size - 1;
+    this.maxBatchSize = maxBatchSize;
+    this.tail = new AtomicLong();
+    this.dropped = new AtomicLong();
+    this.discarded = new AtomicLong();
+    this.listenerFailures = new AtomicLong();
+    this.listeners = new CopyOnWriteArrayList<>();
+    this.deliveryThread = new Thread(this::deliver, "item-events");
+    deliveryThread.setDaemon(true);
+    deliveryThread.start();
+  }
+
+  /**
+   * The method adds a listener, which receives the events published after it was added.
+   *
+   * @param listener the listener.
+   */
+  public void subscribe(ItemEventListener listener) {
+    listeners.add(listener);
+  }
+
+  /**
+   * The method removes a listener.
+   *
+   * @param listener the listener.
+   * @return a boolean to see if the listener was removed.
+   */
+  public boolean unsubscribe(ItemEventListener listener) {
+    return listeners.remove(listener);
+  }
+
+  /**
+   * The method publishes an event without waiting. It is safe to call from many threads.
+   *
+   * @param event the event.
+   * @return a boolean to see if the event was published, which is false if the buffer
+   *         is full or the bus is closed.
+   */
+  boolean publish(ItemEvent event) {
+    if (closed) {
+      dropped.incrementAndGet();
+      return false;
+    }
+    long claimed;
+    do {
+      claimed = tail.get();
+      if (claimed - head > mask) {
+        dropped.incrementAndGet();
+        return false;
+      }
+    } while (!tail.compareAndSet(claimed, claimed + 1));
+    if (closed) {
+      // The delivery thread may have stopped before the slot was claimed.
+      discarded.incrementAndGet();
+      dropped.incrementAndGet();
+      slots.lazySet((int) claimed & mask, DISCARDED);
+      return false;
+    }
+    slots.lazySet((int) claimed & mask, event);
+    return true;
+  }
+
+  /**
+   * The method takes the next batch of published events from the buffer. A claimed slot
+   * that has no event yet ends the batch, so the events are taken in the order they were
+   * claimed.
+   *
+   * @param batch the list to add the events to.
+   */
+  private void take(List<ItemEvent> batch) {
+    long next = head;
+    while (batch.size() < maxBatchSize) {
+      int index = (int) next & mask;
+      ItemEvent event = slots.get(index);
+      if (event == null) {
+        break;
+      }
+      slots.lazySet(index, null);
+      if (event != DISCARDED) {
+        batch.add(event);
+      }
+      next++;
+    }
+    head = next;
+  }
+
+  /**
+   * The method runs on the delivery thread. It delivers batches until the bus is closed,
+   * and then delivers the events that are left in the buffer. A slot is claimed before
+   * the publisher checks the bus again, so the tail read after the bus was seen closed
+   * covers every event that will still be stored.
+   */
+  private void deliver() {
+    long idleNanos = 1_000;
+    while (true) {
+      boolean closing = closed;
+      List<ItemEvent> batch = new ArrayList<>();
+      take(batch);
+      if (batch.isEmpty()) {
+        if (closing && head == tail.get()) {
+          return;
+        }
+        LockSupport.parkNanos(this, idleNanos);
+        idleNanos = Math.min(idleNanos * 2, MAX_IDLE_NANOS);
+        continue;
+      }
+      idleNanos = 1_000;
+      List<ItemEvent> events = Collections.unmodifiableList(batch);
+      for (ItemEventListener listener : listeners) {
+        try {
+          listener.onEvents(events);
+        } catch (RuntimeException e) {
+          // A failing listener must not stop the delivery to the other listeners.
+          listenerFailures.incrementAndGet();
+        }
+      }
+    }
+  }
+
+  /**
+   * The method retrieves the number of events that were published.
+   *
+   * @return the number of published events.
+   */
+  public long getPublishedCount() {
+    return tail.get() - discarded.get();
+  }
+
+  /**
+   * The method retrieves the number of events that were dropped,
+   * because the buffer was full or the bus was closed.
+   *
+   * @return the number of dropped events.
+   */
+  public long getDroppedCount() {
+    return dropped.get();
+  }
+
+  /**
+   * The method retrieves the number of times a listener threw an exception
+   * while a batch was delivered to it.
+   *
+   * @return the number of listener failures.
+   */
+  public long getListenerFailureCount() {
+    return listenerFailures.get();
+  }
+
+  /**
+   * The method closes the bus. Events published after the bus is closed are dropped,
+   * and the method returns once the events published before are delivered. If the thread
+   * is interrupted while it waits, the method returns at once, with the interrupt status set,
+   * and the delivery thread delivers the remaining events by itself.
+   */
+  @Override
+  public void close() {
+    closed = true;
+    LockSupport.unpark(deliveryThread);
+    try {
+      deliveryThread.join();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -0,0 +1,22 @@
+package wms;
+
+import java.util.List;
+
+/**
+ * The interface is implemented by consumers of the change events of an item register.
+ *
+ * @author agent.
+ * @version 1.0
+ * @since Oct 18, 2026.
+ */
+@FunctionalInterface
+public interface ItemEventListener {
+  /**
+   * The method receives a batch of events, in the order they were published.
+   * It is called on the delivery thread of the event bus, never on the thread
+   * that changed the register.
+   *
+   * @param events the events.
+   */
+  void onEvents(List<ItemEvent> events);
+}
@@ -0,0 +1,40 @@
+package wms;
+
+/**
+ * The class contains the kinds of changes an item register publishes events for.
+ *
+ * @author agent.
+ * @version 1.0
+ * @since Oct 18, 2026.
+ */
+public enum ItemEventType {
+  /**
+   * An item was registered. The event holds a copy of the item as it was registered.
+   */
+  REGISTERED,
+  /**
+   * The amount in storage of an item changed. The event holds the old and the new amount.
+   */
+  STOCK_CHANGED,
+  /**
+   * The price of an item was changed. The event holds the old and the new price.
+   */
+  PRICE_CHANGED,
+  /**
+   * A discount was added to an item. The event holds the old and the new price.
+   */
+  DISCOUNT_APPLIED,
+  /**
+   * The price of an item was reset to its price before discount.
+   * The event holds the old and the new price.
+   */
+  DISCOUNT_RESET,
+  /**
+   * The description of an item was changed. The event holds the new description.
+   */
+  DESCRIPTION_CHANGED,
+  /**
+   * An item was removed. The event holds the item as it was when it was removed.
+   */
+  REMOVED
+}
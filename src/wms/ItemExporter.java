@@ -0,0 +1,344 @@
+package wms;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * The class exports every item of an item register or a durable item register, with all its
+ * fields and the price it had before its discount, to a CSV file or to a compact binary file.
+ *
+ * <p>The CSV file has the columns read by the class ItemImporter, followed by a column with the
+ * price before discount, which is empty if the item has no discount.</p>
+ *
+ * <p>The binary file starts with a magic number and the number of items, followed by blocks of
+ * at most 8192 items. A block starts with its number of items, followed by one column for each
+ * field: item number, description, price, brand name, weight, length, height, color, amount in
+ * storage, category and price before discount. Strings are UTF-8, prefixed with their length.
+ * Brand names and colors repeat a lot, so their columns hold a dictionary of the distinct values
+ * in the block, followed by the index of each value in it. Lengths, prices, amounts and indexes
+ * are written as variable-length integers, with seven bits per byte and the high bit set on all
+ * but the last byte, and the price before discount is written plus one, so zero means no
+ * discount. The measurements are big-endian doubles, and the category is one byte.</p>
+ *
+ * <p>Both exports stream the items in category name order through a buffered file channel,
+ * so the memory they use does not grow with the size of the register. A durable register is
+ * exported while holding its read lock, so the export sees every mutation either whole or not at
+ * all, and mutations wait until the export is written.</p>
+ *
+ * @author agent.
+ * @version 1.0
+ * @since Oct 18, 2026.
+ */
+public final class ItemExporter {
+  static final int BINARY_MAGIC = 0x574D5343;
+  static final int BLOCK_ROWS = 8192;
+  static final int NO_DISCOUNT = -1;
+  static final String CSV_HEADER = "itemNumber,description,price,brandName,weight,length,"
+          + "height,color,amountInStorage,category,priceBeforeDiscount";
+  private static final int BUFFER_SIZE = 1 << 16;
+
+  private ItemExporter() {
+  }
+
+  /**
+   * The method opens a file for writing, replacing its contents.
+   *
+   * @param file the file.
+   * @return the opened channel.
+   * @throws IOException if the file could not be opened.
+   */
+  private static FileChannel openForWriting(Path file) throws IOException {
+    return FileChannel.open(file, StandardOpenOption.CREATE,
+            StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+  }
+
+  /**
+   * The method exports the items of a register to a UTF-8 encoded CSV file.
+   *
+   * @param register the register.
+   * @param file the file, which is replaced if it exists.
+   * @throws IOException if the file could not be written.
+   */
+  public static void exportCsv(ItemRegister register, Path file) throws IOException {
+    try (Writer out = new BufferedWriter(
+            Channels.newWriter(openForWriting(file), StandardCharsets.UTF_8), BUFFER_SIZE)) {
+      out.write(CSV_HEADER);
+      out.write('\n');
+      Iterator<ItemView> items = register.streamItems().iterator();
+      while (items.hasNext()) {
+        ItemView item = items.next();
+        Integer priceBeforeDiscount = register.getPriceBeforeDiscount(item.getItemNumber());
+        writeCsvField(out, item.getItemNumber());
+        out.write(',');
+        writeCsvField(out, item.getDescription());
+        out.write(',');
+        out.write(Integer.toString(item.getPrice()));
+        out.write(',');
+        writeCsvField(out, item.getBrandName());
+        out.write(',');
+        out.write(Double.toString(item.getWeight()));
+        out.write(',');
+        out.write(Double.toString(item.getLength()));
+        out.write(',');
+        out.write(Double.toString(item.getHeight()));
+        out.write(',');
+        writeCsvField(out, item.getColor());
+        out.write(',');
+        out.write(Integer.toString(item.getAmountInStorage()));
+        out.write(',');
+        out.write(Integer.toString(item.getCategory()));
+        out.write(',');
+        if (priceBeforeDiscount != null) {
+          out.write(Integer.toString(priceBeforeDiscount));
+        }
+        out.write('\n');
+      }
+    }
+  }
+
+  /**
+   * The method exports the items of a durable register to a UTF-8 encoded CSV file.
+   *
+   * @param register the register.
+   * @param file the file, which is replaced if it exists.
+   * @throws IOException if the file could not be written.
+   */
+  public static void exportCsv(DurableItemRegister register, Path file) throws IOException {
+    register.export(items -> exportCsv(items, file));
+  }
+
+  /**
+   * The method writes a text field to a CSV file. The field is enclosed in double quotes
+   * if it contains a comma, a double quote or a line break.
+   *
+   * @param out the writer.
+   * @param field the field.
+   * @throws IOException if the field could not be written.
+   */
+  private static void writeCsvField(Writer out, String field) throws IOException {
+    boolean quoted = false;
+    for (int i = 0; i < field.length() && !quoted; i++) {
+      char c = field.charAt(i);
+      quoted = c == ',' || c == '"' || c == '\n' || c == '\r';
+    }
+    if (quoted) {
+      out.write('"');
+      out.write(field.replace("\"", "\"\""));
+      out.write('"');
+    } else {
+      out.write(field);
+    }
+  }
+
+  /**
+   * The method exports the items of a register to a compact binary file.
+   *
+   * @param register the register.
+   * @param file the file, which is replaced if it exists.
+   * @throws IOException if the file could not be written.
+   */
+  public static void exportBinary(ItemRegister register, Path file) throws IOException {
+    try (FileChannel channel = openForWriting(file)) {
+      ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+      buffer.putInt(BINARY_MAGIC).putInt(register.size());
+      ItemView[] block = new ItemView[BLOCK_ROWS];
+      int rows = 0;
+      Iterator<ItemView> items = register.streamItems().iterator();
+      while (items.hasNext()) {
+        block[rows++] = items.next();
+        if (rows == BLOCK_ROWS || !items.hasNext()) {
+          writeBlock(channel, buffer, register, block, rows);
+          rows = 0;
+        }
+      }
+      flush(channel, buffer);
+    }
+  }
+
+  /**
+   * The method exports the items of a durable register to a compact binary file.
+   *
+   * @param register the register.
+   * @param file the file, which is replaced if it exists.
+   * @throws IOException if the file could not be written.
+   */
+  public static void exportBinary(DurableItemRegister register, Path file) throws IOException {
+    register.export(items -> exportBinary(items, file));
+  }
+
+  /**
+   * The method writes a block of items, one column at a time.
+   *
+   * @param channel the channel.
+   * @param buffer the buffer of the channel.
+   * @param register the register of the items.
+   * @param block the items.
+   * @param rows the number of items in the block.
+   * @throws IOException if the block could not be written.
+   */
+  private static void writeBlock(FileChannel channel, ByteBuffer buffer, ItemRegister register,
+                                 ItemView[] block, int rows) throws IOException {
+    ensure(channel, buffer, Integer.BYTES).putInt(rows);
+    for (int i = 0; i < rows; i++) {
+      putString(channel, buffer, block[i].getItemNumber());
+    }
+    for (int i = 0; i < rows; i++) {
+      putString(channel, buffer, block[i].getDescription());
+    }
+    for (int i = 0; i < rows; i++) {
+      putVarInt(channel, buffer, block[i].getPrice());
+    }
+    putDictionaryColumn(channel, buffer, block, rows, ItemView::getBrandName);
+    for (int i = 0; i < rows; i++) {
+      ensure(channel, buffer, Double.BYTES).putDouble(block[i].getWeight());
+    }
+    for (int i = 0; i < rows; i++) {
+      ensure(channel, buffer, Double.BYTES).putDouble(block[i].getLength());
+    }
+    for (int i = 0; i < rows; i++) {
+      ensure(channel, buffer, Double.BYTES).putDouble(block[i].getHeight());
+    }
+    putDictionaryColumn(channel, buffer, block, rows, ItemView::getColor);
+    for (int i = 0; i < rows; i++) {
+      putVarInt(channel, buffer, block[i].getAmountInStorage());
+    }
+    for (int i = 0; i < rows; i++) {
+      ensure(channel, buffer, Byte.BYTES).put((byte) block[i].getCategory());
+    }
+    for (int i = 0; i < rows; i++) {
+      Integer priceBeforeDiscount = register.getPriceBeforeDiscount(block[i].getItemNumber());
+      putVarInt(channel, buffer,
+              (priceBeforeDiscount == null ? NO_DISCOUNT : priceBeforeDiscount) + 1);
+      block[i] = null;
+    }
+  }
+
+  /**
+   * The method writes a column of strings as a dictionary of the distinct strings,
+   * followed by the index of the string of each item in the dictionary.
+   *
+   * @param channel the channel.
+   * @param buffer the buffer of the channel.
+   * @param block the items.
+   * @param rows the number of items in the block.
+   * @param field the field of the column.
+   * @throws IOException if the column could not be written.
+   */
+  private static void putDictionaryColumn(FileChannel channel, ByteBuffer buffer,
+                                          ItemView[] block, int rows,
+                                          Function<ItemView, String> field) throws IOException {
+    Map<String, Integer> dictionary = new LinkedHashMap<>();
+    int[] indexes = new int[rows];
+    for (int i = 0; i < rows; i++) {
+      Integer index = dictionary.putIfAbsent(field.apply(block[i]), dictionary.size());
+      indexes[i] = index == null ? dictionary.size() - 1 : index;
+    }
+    putVarInt(channel, buffer, dictionary.size());
+    for (String value : dictionary.keySet()) {
+      putString(channel, buffer, value);
+    }
+    for (int index : indexes) {
+      putVarInt(channel, buffer, index);
+    }
+  }
+
+  /**
+   * The method writes a non-negative integer as a variable-length integer.
+   *
+   * @param channel the channel.
+   * @param buffer the buffer of the channel.
+   * @param value the integer.
+   * @throws IOException if the integer could not be written.
+   */
+  private static void putVarInt(FileChannel channel, ByteBuffer buffer, int value)
+          throws IOException {
+    ensure(channel, buffer, 5);
+    while ((value & ~0x7F) != 0) {
+      buffer.put((byte) ((value & 0x7F) | 0x80));
+      value >>>= 7;
+    }
+    buffer.put((byte) value);
+  }
+
+  /**
+   * The method writes a length-prefixed UTF-8 string.
+   *
+   * @param channel the channel.
+   * @param buffer the buffer of the channel.
+   * @param string the string.
+   * @throws IOException if the string could not be written.
+   */
+  private static void putString(FileChannel channel, ByteBuffer buffer, String string)
+          throws IOException {
+    byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+    putVarInt(channel, buffer, bytes.length);
+    if (bytes.length > buffer.capacity()) {
+      flush(channel, buffer);
+      ByteBuffer large = ByteBuffer.wrap(bytes);
+      while (large.hasRemaining()) {
+        channel.write(large);
+      }
+    } else {
+      ensure(channel, buffer, bytes.length).put(bytes);
+    }
+  }
+
+  /**
+   * The method makes sure the buffer has room for a number of bytes,
+   * by writing its contents to the channel if it has not.
+   *
+   * @param channel the channel.
+   * @param buffer the buffer of the channel.
+   * @param bytes the number of bytes, which is at most the capacity of the buffer.
+   * @return the buffer.
+   * @throws IOException if the buffer could not be written.
+   */
+  private static ByteBuffer ensure(FileChannel channel, ByteBuffer buffer, int bytes)
+          throws IOException {
+    if (buffer.remaining() < bytes) {
+      flush(channel, buffer);
+    }
+    return buffer;
+  }
+
+  /**
+   * The method writes the contents of the buffer to the channel, and clears the buffer.
+   *
+   * @param channel the channel.
+   * @param buffer the buffer of the channel.
+   * @throws IOException if the buffer could not be written.
+   */
+  private static void flush(FileChannel channel, ByteBuffer buffer) throws IOException {
+    buffer.flip();
+    while (buffer.hasRemaining()) {
+      channel.write(buffer);
+    }
+    buffer.clear();
+  }
+
+  /**
+   * The interface represents an export of the items of a register.
+   */
+  @FunctionalInterface
+  interface Export {
+
+    /**
+     * The method exports the items of a register.
+     *
+     * @param register the register.
+     * @throws IOException if the export could not be written.
+     */
+    void write(ItemRegister register) throws IOException;
+  }
+}
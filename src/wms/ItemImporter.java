@@ -0,0 +1,573 @@
+package wms;
+
+import java.io.BufferedReader;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * The class imports items into an item register or a durable item register
+ * from a CSV or TSV file.
+ *
+ * <p>The first line of the file is a header, and every other line holds one item, with the
+ * columns in the order of the constructor of the class Item: item number, description, price,
+ * brand name, weight, length, height, color, amount in storage and category, optionally followed
+ * by the price before discount as written by the class ItemExporter. A field may be
+ * enclosed in double quotes, in which case it may contain the delimiter, and a double quote is
+ * written as two double quotes. Fields can't contain line breaks, and blank lines are skipped.</p>
+ *
+ * <p>The file is read as a stream of chunks of lines. The chunks are parsed in parallel into
+ * items, which are validated by the constructor of the class Item, while the items of the
+ * parsed chunks are added to the register in the order of the file, one chunk at a time. A durable
+ * register logs each chunk as one record, so an import that is cut short by a crash is recovered
+ * up to the last chunk that was added. A row that can't be parsed,
+ * or whose item number is already registered, is rejected and reported, and the import goes
+ * on with the next row.</p>
+ *
+ * <p>The importer also reads the binary files written by the class ItemExporter.</p>
+ *
+ * @author agent.
+ * @version 1.0
+ * @since Oct 18, 2026.
+ */
+public final class ItemImporter {
+  private static final int CHUNK_SIZE = 4096;
+  private static final int COLUMNS = 10;
+  private static final int BUFFER_SIZE = 1 << 16;
+
+  private final char delimiter;
+
+  /**
+   * Constructor to create an importer for files with a given delimiter.
+   *
+   * @param delimiter the character that separates the fields.
+   * @throws IllegalArgumentException if the delimiter is a double quote or a line break.
+   */
+  public ItemImporter(char delimiter) {
+    if (delimiter == '"' || delimiter == '\n' || delimiter == '\r') {
+      throw new IllegalArgumentException("\nThe delimiter can't be a double quote "
+              + "or a line break.");
+    }
+    this.delimiter = delimiter;
+  }
+
+  /**
+   * The method creates an importer for a file, which separates the fields with tabs
+   * if the file name ends with .tsv, and with commas otherwise.
+   *
+   * @param file the file.
+   * @return the importer.
+   */
+  public static ItemImporter forFile(Path file) {
+    return new ItemImporter(file.getFileName().toString().toLowerCase().endsWith(".tsv")
+            ? '\t' : ',');
+  }
+
+  /**
+   * The method imports the items of a UTF-8 encoded file into a register.
+   *
+   * @param file the file.
+   * @param register the register.
+   * @return a report of the imported items and the rejected rows.
+   * @throws IOException if the file could not be read.
+   */
+  public ImportReport importItems(Path file, ItemRegister register) throws IOException {
+    return importItems(file, register::addItemsIfAbsent);
+  }
+
+  /**
+   * The method imports the items of a UTF-8 encoded file into a durable register.
+   *
+   * @param file the file.
+   * @param register the register.
+   * @return a report of the imported items and the rejected rows.
+   * @throws IOException if the file could not be read.
+   * @throws IllegalStateException if the log of the register could not be written.
+   */
+  public ImportReport importItems(Path file, DurableItemRegister register) throws IOException {
+    return importItems(file, register::addItemsIfAbsent);
+  }
+
+  /**
+   * The method imports the items of a UTF-8 encoded file.
+   *
+   * @param file the file.
+   * @param target where the items are added.
+   * @return a report of the imported items and the rejected rows.
+   * @throws IOException if the file could not be read.
+   */
+  private ImportReport importItems(Path file, Target target) throws IOException {
+    return importItems(Files.newBufferedReader(file, StandardCharsets.UTF_8), target);
+  }
+
+  /**
+   * The method imports the items read from a reader into a register, and closes the reader.
+   *
+   * @param reader the reader.
+   * @param register the register.
+   * @return a report of the imported items and the rejected rows.
+   * @throws IOException if the reader could not be read.
+   */
+  public ImportReport importItems(Reader reader, ItemRegister register) throws IOException {
+    return importItems(reader, register::addItemsIfAbsent);
+  }
+
+  /**
+   * The method imports the items read from a reader into a durable register,
+   * and closes the reader.
+   *
+   * @param reader the reader.
+   * @param register the register.
+   * @return a report of the imported items and the rejected rows.
+   * @throws IOException if the reader could not be read.
+   * @throws IllegalStateException if the log of the register could not be written.
+   */
+  public ImportReport importItems(Reader reader, DurableItemRegister register)
+          throws IOException {
+    return importItems(reader, register::addItemsIfAbsent);
+  }
+
+  /**
+   * The method imports the items read from a reader, and closes the reader.
+   *
+   * @param reader the reader.
+   * @param target where the items are added.
+   * @return a report of the imported items and the rejected rows.
+   * @throws IOException if the reader could not be read.
+   */
+  private ImportReport importItems(Reader reader, Target target) throws IOException {
+    int importedCount = 0;
+    SortedMap<Long, String> rejectedRows = new TreeMap<>();
+    // Only a few chunks are parsed ahead of the insertion, which bounds the memory in use.
+    int maxPendingChunks = 2 * ForkJoinPool.getCommonPoolParallelism();
+    Deque<CompletableFuture<ParsedChunk>> pendingChunks = new ArrayDeque<>();
+    try (BufferedReader in = new BufferedReader(reader)) {
+      long lineNumber = 1;
+      if (in.readLine() != null) {
+        List<String> lines = new ArrayList<>(CHUNK_SIZE);
+        String line;
+        while ((line = in.readLine()) != null) {
+          lines.add(line);
+          if (lines.size() == CHUNK_SIZE) {
+            pendingChunks.add(parseAsync(lines, lineNumber + 1));
+            lineNumber += lines.size();
+            lines = new ArrayList<>(CHUNK_SIZE);
+            if (pendingChunks.size() > maxPendingChunks) {
+              importedCount += insert(pendingChunks.remove().join(), target, rejectedRows);
+            }
+          }
+        }
+        pendingChunks.add(parseAsync(lines, lineNumber + 1));
+      }
+    }
+    while (!pendingChunks.isEmpty()) {
+      importedCount += insert(pendingChunks.remove().join(), target, rejectedRows);
+    }
+    return new ImportReport(importedCount, rejectedRows);
+  }
+
+  /**
+   * The method imports the items of a binary file written by the class ItemExporter
+   * into a register. Rejected items are reported by their row number, starting at 1.
+   *
+   * @param file the file.
+   * @param register the register.
+   * @return a report of the imported items and the rejected rows.
+   * @throws IOException if the file could not be read, or is not a binary item export.
+   */
+  public static ImportReport importBinary(Path file, ItemRegister register) throws IOException {
+    return importBinary(file, register::addItemsIfAbsent);
+  }
+
+  /**
+   * The method imports the items of a binary file written by the class ItemExporter
+   * into a durable register, which logs each block of the file as one record.
+   * Rejected items are reported by their row number, starting at 1.
+   *
+   * @param file the file.
+   * @param register the register.
+   * @return a report of the imported items and the rejected rows.
+   * @throws IOException if the file could not be read, or is not a binary item export.
+   * @throws IllegalStateException if the log of the register could not be written.
+   */
+  public static ImportReport importBinary(Path file, DurableItemRegister register)
+          throws IOException {
+    return importBinary(file, register::addItemsIfAbsent);
+  }
+
+  /**
+   * The method imports the items of a binary file written by the class ItemExporter.
+   *
+   * @param file the file.
+   * @param target where the items are added.
+   * @return a report of the imported items and the rejected rows.
+   * @throws IOException if the file could not be read, or is not a binary item export.
+   */
+  private static ImportReport importBinary(Path file, Target target) throws IOException {
+    int importedCount = 0;
+    SortedMap<Long, String> rejectedRows = new TreeMap<>();
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE).flip();
+      if (require(channel, buffer, 2 * Integer.BYTES).getInt() != ItemExporter.BINARY_MAGIC) {
+        throw new IOException("\nThe file " + file + " is not a binary item export.");
+      }
+      int count = buffer.getInt();
+      String[] itemNumbers = new String[ItemExporter.BLOCK_ROWS];
+      String[] descriptions = new String[ItemExporter.BLOCK_ROWS];
+      int[] prices = new int[ItemExporter.BLOCK_ROWS];
+      String[] brandNames = new String[ItemExporter.BLOCK_ROWS];
+      double[] weights = new double[ItemExporter.BLOCK_ROWS];
+      double[] lengths = new double[ItemExporter.BLOCK_ROWS];
+      double[] heights = new double[ItemExporter.BLOCK_ROWS];
+      String[] colors = new String[ItemExporter.BLOCK_ROWS];
+      int[] amounts = new int[ItemExporter.BLOCK_ROWS];
+      Item[] items = new Item[ItemExporter.BLOCK_ROWS];
+      int[] pricesBeforeDiscount = new int[ItemExporter.BLOCK_ROWS];
+      for (long row = 1; row <= count; ) {
+        int rows = require(channel, buffer, Integer.BYTES).getInt();
+        if (rows <= 0 || rows > ItemExporter.BLOCK_ROWS) {
+          throw new IOException("\nThe file " + file + " has a block of " + rows + " items.");
+        }
+        for (int i = 0; i < rows; i++) {
+          itemNumbers[i] = getString(channel, buffer);
+        }
+        for (int i = 0; i < rows; i++) {
+          descriptions[i] = getString(channel, buffer);
+        }
+        for (int i = 0; i < rows; i++) {
+          prices[i] = getVarInt(channel, buffer);
+        }
+        getDictionaryColumn(channel, buffer, brandNames, rows);
+        for (int i = 0; i < rows; i++) {
+          weights[i] = require(channel, buffer, Double.BYTES).getDouble();
+        }
+        for (int i = 0; i < rows; i++) {
+          lengths[i] = require(channel, buffer, Double.BYTES).getDouble();
+        }
+        for (int i = 0; i < rows; i++) {
+          heights[i] = require(channel, buffer, Double.BYTES).getDouble();
+        }
+        getDictionaryColumn(channel, buffer, colors, rows);
+        for (int i = 0; i < rows; i++) {
+          amounts[i] = getVarInt(channel, buffer);
+        }
+        byte[] categories = new byte[rows];
+        require(channel, buffer, rows).get(categories);
+        Arrays.fill(items, null);
+        for (int i = 0; i < rows; i++) {
+          pricesBeforeDiscount[i] = getVarInt(channel, buffer) - 1;
+          try {
+            items[i] = new Item(itemNumbers[i], descriptions[i], prices[i], brandNames[i],
+                    weights[i], lengths[i], heights[i], colors[i], amounts[i], categories[i]);
+          } catch (IllegalArgumentException e) {
+            rejectedRows.put(row + i, e.getMessage().trim());
+          }
+        }
+        boolean[] added = target.addItemsIfAbsent(items, pricesBeforeDiscount);
+        for (int i = 0; i < rows; i++, row++) {
+          if (added[i]) {
+            importedCount++;
+          } else if (items[i] != null) {
+            rejectedRows.put(row, "An item with the same item number already exists.");
+          }
+        }
+      }
+    }
+    return new ImportReport(importedCount, rejectedRows);
+  }
+
+  /**
+   * The method makes sure a number of bytes can be read from the buffer,
+   * by reading more of the channel into it if they can't.
+   *
+   * @param channel the channel.
+   * @param buffer the buffer of the channel.
+   * @param bytes the number of bytes, which is at most the capacity of the buffer.
+   * @return the buffer.
+   * @throws IOException if the channel could not be read, or ends before the bytes.
+   */
+  private static ByteBuffer require(FileChannel channel, ByteBuffer buffer, int bytes)
+          throws IOException {
+    if (buffer.remaining() < bytes) {
+      buffer.compact();
+      while (buffer.position() < bytes) {
+        if (channel.read(buffer) < 0) {
+          throw new EOFException("\nThe binary item export ends in the middle of a block.");
+        }
+      }
+      buffer.flip();
+    }
+    return buffer;
+  }
+
+  /**
+   * The method reads a column of strings written as a dictionary and indexes into it.
+   *
+   * @param channel the channel.
+   * @param buffer the buffer of the channel.
+   * @param values the array the strings of the items are put into.
+   * @param rows the number of items in the block.
+   * @throws IOException if the channel could not be read, or the column is invalid.
+   */
+  private static void getDictionaryColumn(FileChannel channel, ByteBuffer buffer,
+                                          String[] values, int rows) throws IOException {
+    String[] dictionary = new String[getVarInt(channel, buffer)];
+    for (int i = 0; i < dictionary.length; i++) {
+      dictionary[i] = getString(channel, buffer);
+    }
+    for (int i = 0; i < rows; i++) {
+      int index = getVarInt(channel, buffer);
+      if (index >= dictionary.length) {
+        throw new IOException("\nThe binary item export has an invalid dictionary index.");
+      }
+      values[i] = dictionary[index];
+    }
+  }
+
+  /**
+   * The method reads a non-negative variable-length integer.
+   *
+   * @param channel the channel.
+   * @param buffer the buffer of the channel.
+   * @return the integer.
+   * @throws IOException if the channel could not be read, or the integer is invalid.
+   */
+  private static int getVarInt(FileChannel channel, ByteBuffer buffer) throws IOException {
+    int value = 0;
+    for (int shift = 0; shift < Integer.SIZE; shift += 7) {
+      byte b = require(channel, buffer, Byte.BYTES).get();
+      value |= (b & 0x7F) << shift;
+      if (b >= 0) {
+        return value;
+      }
+    }
+    throw new IOException("\nThe binary item export has an invalid variable-length integer.");
+  }
+
+  /**
+   * The method reads a length-prefixed UTF-8 string.
+   *
+   * @param channel the channel.
+   * @param buffer the buffer of the channel.
+   * @return the string.
+   * @throws IOException if the channel could not be read, or ends before the string.
+   */
+  private static String getString(FileChannel channel, ByteBuffer buffer) throws IOException {
+    byte[] bytes = new byte[getVarInt(channel, buffer)];
+    for (int offset = 0; offset < bytes.length; ) {
+      int length = Math.min(bytes.length - offset, buffer.capacity());
+      require(channel, buffer, length).get(bytes, offset, length);
+      offset += length;
+    }
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  /**
+   * The method starts parsing a chunk of lines in the common fork-join pool.
+   *
+   * @param lines the lines.
+   * @param firstLineNumber the line number of the first line.
+   * @return the parsed chunk, once it is parsed.
+   */
+  private CompletableFuture<ParsedChunk> parseAsync(List<String> lines, long firstLineNumber) {
+    return CompletableFuture.supplyAsync(() -> parse(lines, firstLineNumber));
+  }
+
+  /**
+   * The method parses a chunk of lines into items.
+   *
+   * @param lines the lines.
+   * @param firstLineNumber the line number of the first line.
+   * @return the parsed chunk.
+   */
+  private ParsedChunk parse(List<String> lines, long firstLineNumber) {
+    ParsedChunk chunk = new ParsedChunk(firstLineNumber, lines.size());
+    String[] fields = new String[COLUMNS + 1];
+    for (int i = 0; i < lines.size(); i++) {
+      String line = lines.get(i);
+      if (line.isBlank()) {
+        continue;
+      }
+      try {
+        boolean hasDiscount = split(line, fields) > COLUMNS && !fields[COLUMNS].isBlank();
+        chunk.pricesBeforeDiscount[i] = hasDiscount
+                ? parseInt(fields[COLUMNS], "price before discount") : ItemExporter.NO_DISCOUNT;
+        if (chunk.pricesBeforeDiscount[i] < ItemExporter.NO_DISCOUNT) {
+          throw new IllegalArgumentException("The price before discount can't be less than zero.");
+        }
+        chunk.items[i] = new Item(fields[0], fields[1], parseInt(fields[2], "price"),
+                fields[3], parseDouble(fields[4], "weight"), parseDouble(fields[5], "length"),
+                parseDouble(fields[6], "height"), fields[7],
+                parseInt(fields[8], "amount in storage"), parseInt(fields[9], "category"));
+      } catch (IllegalArgumentException e) {
+        chunk.errors[i] = e.getMessage().trim();
+      }
+    }
+    return chunk;
+  }
+
+  /**
+   * The method splits a line into its fields.
+   *
+   * @param line the line.
+   * @param fields the array the fields are put into.
+   * @return the number of fields.
+   * @throws IllegalArgumentException if the line does not have the right number of fields,
+   *                                  or a quoted field is not closed.
+   */
+  private int split(String line, String[] fields) {
+    int count = 0;
+    int position = 0;
+    StringBuilder field = new StringBuilder();
+    while (true) {
+      field.setLength(0);
+      if (position < line.length() && line.charAt(position) == '"') {
+        position++;
+        while (true) {
+          int quote = line.indexOf('"', position);
+          if (quote < 0) {
+            throw new IllegalArgumentException("A quoted field is not closed.");
+          }
+          field.append(line, position, quote);
+          position = quote + 1;
+          if (position < line.length() && line.charAt(position) == '"') {
+            field.append('"');
+            position++;
+          } else {
+            break;
+          }
+        }
+        if (position < line.length() && line.charAt(position) != delimiter) {
+          throw new IllegalArgumentException("A quoted field is followed by text.");
+        }
+      } else {
+        int end = line.indexOf(delimiter, position);
+        end = end < 0 ? line.length() : end;
+        field.append(line, position, end);
+        position = end;
+      }
+      if (count == fields.length) {
+        throw new IllegalArgumentException("The row has more than " + fields.length
+                + " fields.");
+      }
+      fields[count++] = field.toString();
+      if (position >= line.length()) {
+        break;
+      }
+      position++;
+    }
+    if (count < COLUMNS) {
+      throw new IllegalArgumentException("The row has " + count + " fields instead of "
+              + COLUMNS + ".");
+    }
+    return count;
+  }
+
+  /**
+   * The method parses an integer field.
+   *
+   * @param field the field.
+   * @param column the name of the column, used in the error message.
+   * @return the integer.
+   * @throws IllegalArgumentException if the field is not an integer.
+   */
+  private static int parseInt(String field, String column) {
+    try {
+      return Integer.parseInt(field.trim());
+    } catch (NumberFormatException e) {
+      throw new IllegalArgumentException("The " + column + " must be a whole number.");
+    }
+  }
+
+  /**
+   * The method parses a decimal number field.
+   *
+   * @param field the field.
+   * @param column the name of the column, used in the error message.
+   * @return the number.
+   * @throws IllegalArgumentException if the field is not a number.
+   */
+  private static double parseDouble(String field, String column) {
+    try {
+      return Double.parseDouble(field.trim());
+    } catch (NumberFormatException e) {
+      throw new IllegalArgumentException("The " + column + " must be a number.");
+    }
+  }
+
+  /**
+   * The method adds the items of a parsed chunk, and reports the rejected rows.
+   *
+   * @param chunk the parsed chunk.
+   * @param target where the items are added.
+   * @param rejectedRows the rejected rows, by line number.
+   * @return the number of items that were added.
+   */
+  private static int insert(ParsedChunk chunk, Target target,
+                            SortedMap<Long, String> rejectedRows) {
+    boolean[] added = target.addItemsIfAbsent(chunk.items, chunk.pricesBeforeDiscount);
+    int addedCount = 0;
+    for (int i = 0; i < chunk.items.length; i++) {
+      if (chunk.errors[i] != null) {
+        rejectedRows.put(chunk.firstLineNumber + i, chunk.errors[i]);
+      } else if (added[i]) {
+        addedCount++;
+      } else if (chunk.items[i] != null) {
+        rejectedRows.put(chunk.firstLineNumber + i,
+                "An item with the same item number already exists.");
+      }
+    }
+    return addedCount;
+  }
+
+  /**
+   * The interface represents where an import adds its items, one chunk at a time.
+   */
+  @FunctionalInterface
+  private interface Target {
+
+    /**
+     * The method adds a chunk of items, each unless an item with the same item number
+     * is already registered.
+     *
+     * @param items the items, where a null element is skipped.
+     * @param pricesBeforeDiscount the price before discount of each item,
+     *                             or -1 if the item has no discount.
+     * @return which of the items were added.
+     */
+    boolean[] addItemsIfAbsent(Item[] items, int[] pricesBeforeDiscount);
+  }
+
+  /**
+   * The class holds the outcome of parsing a chunk of lines, where each line
+   * either has an item, an error or, if it is blank, neither.
+   */
+  private static final class ParsedChunk {
+    private final long firstLineNumber;
+    private final Item[] items;
+    private final int[] pricesBeforeDiscount;
+    private final String[] errors;
+
+    private ParsedChunk(long firstLineNumber, int size) {
+      this.firstLineNumber = firstLineNumber;
+      this.items = new Item[size];
+      this.pricesBeforeDiscount = new int[size];
+      this.errors = new String[size];
+    }
+  }
+}
@@ -0,0 +1,171 @@
+package wms;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * The class represents a query for items, made up of predicates that must all hold.
+ * A query can restrict the category, the color and the range of any numeric attribute,
+ * and can be refined with any other predicate on an item.
+ *
+ * <p>The methods return the query itself, so predicates can be chained, as in
+ * {@code new ItemQuery().inCategory(2).between(ItemAttribute.HEIGHT, 1.2, 1.8)
+ * .atMost(ItemAttribute.WEIGHT, 40)}. Restricting the same attribute twice keeps
+ * the values that are in both ranges.</p>
+ *
+ * @author agent.
+ * @version 1.0
+ * @since Oct 18, 2026.
+ */
+public final class ItemQuery {
+  private int category;
+  private String color;
+  private final Map<ItemAttribute, double[]> ranges;
+  private final List<Predicate<? super ItemView>> predicates;
+
+  /**
+   * Constructor to create a query that matches every item.
+   */
+  public ItemQuery() {
+    this.ranges = new EnumMap<>(ItemAttribute.class);
+    this.predicates = new ArrayList<>();
+  }
+
+  /**
+   * The method restricts the query to items in a category.
+   *
+   * @param category the category number.
+   * @return the query.
+   * @throws IllegalArgumentException if the category number does not exist.
+   */
+  public ItemQuery inCategory(int category) {
+    if (Category.getCategoryNameByCategoryNr(category) == null) {
+      throw new IllegalArgumentException("\nThe category number must be between 1 and 4.");
+    }
+    this.category = category;
+    return this;
+  }
+
+  /**
+   * The method restricts the query to items with a color. The color is not case sensitive.
+   *
+   * @param color the color.
+   * @return the query.
+   * @throws IllegalArgumentException if the color is blank.
+   */
+  public ItemQuery withColor(String color) {
+    if (color == null || color.isBlank()) {
+      throw new IllegalArgumentException("\nThe color can't be blank.");
+    }
+    this.color = color.trim();
+    return this;
+  }
+
+  /**
+   * The method restricts the query to items where an attribute is within a range.
+   *
+   * @param attribute the attribute.
+   * @param min the lowest value, inclusive.
+   * @param max the highest value, inclusive.
+   * @return the query.
+   * @throws IllegalArgumentException if a bound is not a number, or min is greater than max.
+   */
+  public ItemQuery between(ItemAttribute attribute, double min, double max) {
+    if (Double.isNaN(min) || Double.isNaN(max) || min > max) {
+      throw new IllegalArgumentException("\nThe lowest value can't be greater than the highest.");
+    }
+    double[] range = ranges.get(attribute);
+    if (range == null) {
+      ranges.put(attribute, new double[] {min, max});
+    } else {
+      range[0] = Math.max(range[0], min);
+      range[1] = Math.min(range[1], max);
+    }
+    return this;
+  }
+
+  /**
+   * The method restricts the query to items where an attribute is at least a value.
+   *
+   * @param attribute the attribute.
+   * @param min the lowest value, inclusive.
+   * @return the query.
+   * @throws IllegalArgumentException if the value is not a number.
+   */
+  public ItemQuery atLeast(ItemAttribute attribute, double min) {
+    return between(attribute, min, Double.POSITIVE_INFINITY);
+  }
+
+  /**
+   * The method restricts the query to items where an attribute is at most a value.
+   *
+   * @param attribute the attribute.
+   * @param max the highest value, inclusive.
+   * @return the query.
+   * @throws IllegalArgumentException if the value is not a number.
+   */
+  public ItemQuery atMost(ItemAttribute attribute, double max) {
+    return between(attribute, Double.NEGATIVE_INFINITY, max);
+  }
+
+  /**
+   * The method restricts the query to items that satisfy a predicate.
+   * The predicate is checked after the restrictions the register has indexes for.
+   *
+   * @param predicate the predicate.
+   * @return the query.
+   */
+  public ItemQuery matching(Predicate<? super ItemView> predicate) {
+    predicates.add(predicate);
+    return this;
+  }
+
+  /**
+   * The method checks if an item satisfies every predicate of the query.
+   *
+   * @param item the item.
+   * @return a boolean value which indicate whether the item matches the query or not.
+   */
+  public boolean test(ItemView item) {
+    if (category != 0 && item.getCategory() != category) {
+      return false;
+    }
+    if (color != null && !color.equalsIgnoreCase(item.getColor())) {
+      return false;
+    }
+    for (Map.Entry<ItemAttribute, double[]> entry : ranges.entrySet()) {
+      double value = entry.getKey().valueOf(item);
+      if (value < entry.getValue()[0] || value > entry.getValue()[1]) {
+        return false;
+      }
+    }
+    for (Predicate<? super ItemView> predicate : predicates) {
+      if (!predicate.test(item)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * The method retrieves the category the query is restricted to.
+   *
+   * @return the category number, or 0 if the query is not restricted to a category.
+   */
+  int getCategory() {
+    return category;
+  }
+
+  /**
+   * The method retrieves the ranges the query restricts attributes to.
+   *
+   * @return the lowest and highest value of each restricted attribute.
+   */
+  Map<ItemAttribute, double[]> getRanges() {
+    return Collections.unmodifiableMap(ranges);
+  }
+}
@@ -1,12 +1,21 @@
 package wms;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Comparator;
+import java.util.EnumMap;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.SortedMap;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * The class represents an item register,
@@ -16,43 +25,143 @@ import java.util.stream.Collectors;
  * @version 1.0
  * @since Dec 12, 2022.
  */
-public class ItemRegister {
-  private final List<Item> items;
+public class ItemRegister implements Register {
+  private static final Comparator<Item> CATEGORY_NAME_THEN_ITEM_NUMBER = Comparator
+          .comparing(Item::getCategoryName).thenComparing(Item::getItemNumber);
+
+  private final Map<String, Item> items;
   private final Map<String, Integer> priceOfItemsBeforeDiscount;
+  private final CategoryIndex categoryIndex;
+  private final RestockTracker restockTracker;
+  private final InventoryAggregates aggregates;
+  private final Map<ItemAttribute, RangeIndex> rangeIndexes;
+  private final ItemEventBus events;
+  private final MovementLedger ledger;
+  private SearchIndex searchIndex;
 
   /**
    * Constructor to create an object of ItemRegister.
    */
   public ItemRegister() {
-    this.items = new ArrayList<>();
+    this(null);
+  }
+
+  /**
+   * Constructor to create an object of ItemRegister, which publishes an event
+   * for every change of its items.
+   *
+   * @param events the event bus to publish to, or null to publish no events.
+   */
+  public ItemRegister(ItemEventBus events) {
+    this(events, null);
+  }
+
+  /**
+   * Constructor to create an object of ItemRegister, which publishes an event for every change
+   * of its items, and records every change of the amount in storage of an item in a ledger.
+   *
+   * @param events the event bus to publish to, or null to publish no events.
+   * @param ledger the ledger to record the movements in, or null to record no movements.
+   */
+  public ItemRegister(ItemEventBus events, MovementLedger ledger) {
+    this.events = events;
+    this.ledger = ledger;
+    this.items = new LinkedHashMap<>();
     this.priceOfItemsBeforeDiscount = new HashMap<>();
+    this.categoryIndex = new CategoryIndex();
+    this.restockTracker = new RestockTracker();
+    this.aggregates = new InventoryAggregates();
+    this.rangeIndexes = new EnumMap<>(ItemAttribute.class);
+  }
+
+  /**
+   * The method normalizes an item number to the form used as key in the register,
+   * which is the same form the class Item stores the item number in.
+   *
+   * @param itemNumber item number.
+   * @return the normalized item number.
+   */
+  private static String normalizeItemNr(String itemNumber) {
+    return itemNumber.toUpperCase().trim();
+  }
+
+  /**
+   * The method publishes an event for a change of the amount in storage or the price of an item,
+   * if the register publishes events.
+   *
+   * @param type the type of the event.
+   * @param item the item.
+   * @param oldValue the amount or price before the change.
+   * @param newValue the amount or price after the change.
+   */
+  private void publish(ItemEventType type, Item item, int oldValue, int newValue) {
+    if (events != null) {
+      events.publish(ItemEvent.changed(type, item.getItemNumber(), oldValue, newValue));
+    }
+  }
+
+  /**
+   * The method records a change of the amount in storage of an item in the ledger,
+   * if the register has a ledger and the amount changed.
+   *
+   * @param item the item, with its new amount.
+   * @param oldAmount the amount before the change.
+   * @param reason the reason of the change.
+   */
+  private void recordMovement(Item item, int oldAmount, MovementReason reason) {
+    int newAmount = item.getAmountInStorage();
+    if (ledger != null && newAmount != oldAmount) {
+      ledger.record(item.getItemNumber(), newAmount - oldAmount, newAmount, reason);
+    }
   }
 
   /**
    * The method finds an item by item number.
+   * The items are indexed by their normalized item number, so the lookup is a single hash lookup.
    *
    * @param itemNumber item number.
    * @return item by given item number.
    */
   private Item findItemByItemNr(String itemNumber) {
-    for (Item item : items) {
-      if (item.getItemNumber().equalsIgnoreCase(itemNumber.trim())) {
-        return item;
-      }
-    }
-    return null;
+    return items.get(normalizeItemNr(itemNumber));
+  }
+
+  /**
+   * The method lists the items after category name, and in the order they were registered
+   * within each category. The category index keeps each category in registration order,
+   * so the items are read lazily without sorting.
+   *
+   * @return a lazy stream of the items sorted after category name.
+   */
+  private Stream<Item> sortListAfterCategoryName() {
+    return Category.getCategoriesSortedByName().stream()
+            .flatMap(category -> StreamSupport.stream(Spliterators.spliterator(
+                    categoryIndex.iterateInRegistrationOrder(category.getCategoryNr()),
+                    categoryIndex.count(category.getCategoryNr()),
+                    Spliterator.ORDERED | Spliterator.NONNULL), false));
   }
 
   /**
-   * The method sorts the list of items after category name.
+   * The method sets a new price on an item, and keeps the category index,
+   * which is sorted by price, and the stock value up to date.
    *
-   * @return a sorted item list.
+   * @param item the item.
+   * @param price new price for the item.
+   * @throws IllegalArgumentException if price is less than zero.
    */
-  private List<Item> sortListAfterCategoryName() {
-    List<Item> sortedItemList = items.stream()
-            .sorted(Comparator.comparing(Item::getCategoryName))
-            .collect(Collectors.toList());
-    return sortedItemList;
+  private void updatePrice(Item item, int price) {
+    int oldPrice = item.getPrice();
+    categoryIndex.remove(item);
+    try {
+      item.setPrice(price);
+    } finally {
+      categoryIndex.add(item);
+    }
+    aggregates.priceChanged(item, oldPrice);
+    RangeIndex priceIndex = rangeIndexes.get(ItemAttribute.PRICE);
+    if (priceIndex != null) {
+      priceIndex.changed(item);
+    }
   }
 
   /**
@@ -61,7 +170,7 @@ public class ItemRegister {
    * @param itemNumber item number.
    */
   private void removeItemFromMapPriceOfItemsBeforeDiscount(String itemNumber) {
-    priceOfItemsBeforeDiscount.remove(itemNumber.toUpperCase().trim());
+    priceOfItemsBeforeDiscount.remove(normalizeItemNr(itemNumber));
   }
 
   /**
@@ -79,28 +188,142 @@ public class ItemRegister {
    * @param category category number of the item.
    * @throws IllegalArgumentException if an item with the same information already exists.
    */
+  @Override
   public void registerItem(String itemNumber, String description, int price,
                            String brandName, double weight, double length, double height,
                            String color, int amountInStorage, int category) {
     if (findItemByItemNr(itemNumber) != null) {
       throw new IllegalArgumentException("\nAn item with the same item number already exists.");
     }
-    Item item = new Item(itemNumber, description, price, brandName, weight,
-            length, height, color, amountInStorage, category);
-    items.add(item);
+    addItem(new Item(itemNumber, description, price, brandName, weight,
+            length, height, color, amountInStorage, category));
+  }
+
+  /**
+   * The method adds an item to the register and to its indexes.
+   *
+   * @param item the item.
+   * @throws IllegalArgumentException if an item with the same item number already exists.
+   */
+  private void addItem(Item item) {
+    if (!addItemIfAbsent(item)) {
+      throw new IllegalArgumentException("\nAn item with the same item number already exists.");
+    }
+  }
+
+  /**
+   * The method adds an item unless an item with the same item number is already registered.
+   * The item number index is only checked once, which makes it suited for bulk imports.
+   *
+   * @param item the item.
+   * @return a boolean to see if the item was added.
+   */
+  boolean addItemIfAbsent(Item item) {
+    if (items.putIfAbsent(item.getItemNumber(), item) != null) {
+      return false;
+    }
+    categoryIndex.add(item);
+    restockTracker.update(item);
+    aggregates.added(item);
+    if (ledger != null) {
+      ledger.record(item.getItemNumber(), item.getAmountInStorage(), item.getAmountInStorage(),
+              MovementReason.REGISTERED);
+    }
+    if (searchIndex != null) {
+      searchIndex.add(item);
+    }
+    for (RangeIndex rangeIndex : rangeIndexes.values()) {
+      rangeIndex.changed(item);
+    }
+    if (events != null) {
+      events.publish(ItemEvent.registered(item));
+    }
+    return true;
+  }
+
+  /**
+   * The method adds an item unless an item with the same item number is already registered,
+   * together with the price it had before its discount.
+   *
+   * @param item the item.
+   * @param priceBeforeDiscount the price before discount, or null if the item has no discount.
+   * @return a boolean to see if the item was added.
+   */
+  boolean addItemIfAbsent(Item item, Integer priceBeforeDiscount) {
+    if (!addItemIfAbsent(item)) {
+      return false;
+    }
+    if (priceBeforeDiscount != null) {
+      priceOfItemsBeforeDiscount.put(item.getItemNumber(), priceBeforeDiscount);
+    }
+    return true;
+  }
+
+  /**
+   * The method adds a chunk of items, each unless an item with the same item number
+   * is already registered, together with the prices they had before their discount.
+   *
+   * @param items the items, where a null element is skipped.
+   * @param pricesBeforeDiscount the price before discount of each item,
+   *                             or -1 if the item has no discount.
+   * @return which of the items were added.
+   */
+  boolean[] addItemsIfAbsent(Item[] items, int[] pricesBeforeDiscount) {
+    boolean[] added = new boolean[items.length];
+    for (int i = 0; i < items.length; i++) {
+      added[i] = items[i] != null && addItemIfAbsent(items[i],
+              pricesBeforeDiscount[i] == ItemExporter.NO_DISCOUNT ? null : pricesBeforeDiscount[i]);
+    }
+    return added;
+  }
+
+  /**
+   * The method puts an item back into the register, together with the price it had
+   * before its discount. It is used when the register is restored from a snapshot.
+   *
+   * @param item the item.
+   * @param priceBeforeDiscount the price before discount, or null if the item has no discount.
+   * @throws IllegalArgumentException if an item with the same item number already exists.
+   */
+  void restoreItem(Item item, Integer priceBeforeDiscount) {
+    addItem(item);
+    if (priceBeforeDiscount != null) {
+      priceOfItemsBeforeDiscount.put(item.getItemNumber(), priceBeforeDiscount);
+    }
+  }
+
+  /**
+   * The method streams all registered items in the order they were registered.
+   *
+   * @return a stream of read-only views of all items.
+   */
+  Stream<ItemView> streamItemsInRegistrationOrder() {
+    return items.values().stream().map(Item::asView);
+  }
+
+  /**
+   * The method retrieves the price an item had before its discount.
+   *
+   * @param itemNumber item number.
+   * @return the price before discount, or null if the item has no discount.
+   */
+  Integer getPriceBeforeDiscount(String itemNumber) {
+    return priceOfItemsBeforeDiscount.get(normalizeItemNr(itemNumber));
   }
 
   /**
    * The method gets an item by item number.
    *
    * @param itemNumber item number.
-   * @return item by given item number.
+   * @return a read-only view of the item by given item number.
    */
-  public Item getItemByItemNr(String itemNumber) {
-    if (findItemByItemNr(itemNumber) == null) {
+  @Override
+  public ItemView getItemByItemNr(String itemNumber) {
+    Item item = findItemByItemNr(itemNumber);
+    if (item == null) {
       return null;
     }
-    return new Item(findItemByItemNr(itemNumber));
+    return item.asView();
   }
 
   /**
@@ -111,16 +334,21 @@ public class ItemRegister {
    * @return a boolean to see if the increase was successful.
    * @throws IllegalArgumentException if the increase is less than zero.
    */
+  @Override
   public boolean increaseStorage(String itemNumber, int increase) {
-    if (findItemByItemNr(itemNumber) == null) {
+    Item item = findItemByItemNr(itemNumber);
+    if (item == null) {
       return false;
     }
-    if (increase < 0) {
-      throw new IllegalArgumentException("\nThe increase can't be less than zero.");
+    checkIncrease(increase);
+    int oldAmount = item.getAmountInStorage();
+    item.setAmountInStorage(oldAmount + increase);
+    restockTracker.update(item);
+    aggregates.amountChanged(item, oldAmount);
+    recordMovement(item, oldAmount, MovementReason.RECEIVED);
+    if (increase != 0) {
+      publish(ItemEventType.STOCK_CHANGED, item, oldAmount, item.getAmountInStorage());
     }
-    findItemByItemNr(itemNumber)
-            .setAmountInStorage(findItemByItemNr(itemNumber)
-                    .getAmountInStorage() + increase);
     return true;
   }
 
@@ -132,18 +360,216 @@ public class ItemRegister {
    * @return a boolean to see if the decrease was successful.
    * @throws IllegalArgumentException if the decrease is less than zero.
    */
+  @Override
   public boolean decreaseStorage(String itemNumber, int decrease) {
-    if (findItemByItemNr(itemNumber) == null) {
+    Item item = findItemByItemNr(itemNumber);
+    if (item == null) {
       return false;
     }
+    checkDecrease(decrease);
+    decrease(item, decrease);
+    return true;
+  }
+
+  /**
+   * The method checks that an increase of the amount of an item is valid.
+   *
+   * @param increase the increase of the quantity.
+   * @throws IllegalArgumentException if the increase is less than zero.
+   */
+  static void checkIncrease(int increase) {
+    if (increase < 0) {
+      throw new IllegalArgumentException("\nThe increase can't be less than zero.");
+    }
+  }
+
+  /**
+   * The method checks that a decrease of the amount of an item is valid.
+   *
+   * @param decrease the removal of the quantity.
+   * @throws IllegalArgumentException if the decrease is less than zero.
+   */
+  static void checkDecrease(int decrease) {
     if (decrease < 0) {
       throw new IllegalArgumentException("\nThe amount you want to remove, "
               + "can't be less than zero.");
     }
-    findItemByItemNr(itemNumber)
-            .setAmountInStorage(findItemByItemNr(itemNumber)
-                    .getAmountInStorage() - decrease);
-    return true;
+  }
+
+  /**
+   * The method reduces the amount of an item, and updates the restock tracker
+   * and the stock value.
+   *
+   * @param item the item.
+   * @param decrease the removal of the quantity, which is not less than zero.
+   * @throws IllegalArgumentException if the item has fewer in storage than the decrease.
+   */
+  private void decrease(Item item, int decrease) {
+    int oldAmount = item.getAmountInStorage();
+    item.setAmountInStorage(oldAmount - decrease);
+    restockTracker.update(item);
+    aggregates.amountChanged(item, oldAmount);
+    recordMovement(item, oldAmount, MovementReason.ISSUED);
+    if (decrease != 0) {
+      publish(ItemEventType.STOCK_CHANGED, item, oldAmount, item.getAmountInStorage());
+    }
+  }
+
+  /**
+   * The method reduces the amount of an item, if the item has not changed since it was read
+   * and has enough in storage. A caller that gets a version conflict can read the item again
+   * and retry.
+   *
+   * @param itemNumber item number.
+   * @param decrease the removal of the quantity.
+   * @param expectedVersion the version of the item when it was read.
+   * @return the outcome of the update.
+   * @throws IllegalArgumentException if the decrease is less than zero.
+   */
+  public UpdateResult decreaseStorageIfVersion(String itemNumber, int decrease,
+                                               long expectedVersion) {
+    Item item = findItemByItemNr(itemNumber);
+    if (item == null) {
+      return UpdateResult.NOT_FOUND;
+    }
+    checkDecrease(decrease);
+    if (item.getVersion() != expectedVersion) {
+      return UpdateResult.VERSION_CONFLICT;
+    }
+    if (item.getAmountInStorage() < decrease) {
+      return UpdateResult.INSUFFICIENT_STOCK;
+    }
+    decrease(item, decrease);
+    return UpdateResult.APPLIED;
+  }
+
+  /**
+   * The method reduces the amount of an item, if it has at least as many in storage
+   * as the decrease. Unlike decreaseStorage, a decrease that is too large is not an error.
+   *
+   * @param itemNumber item number.
+   * @param decrease the removal of the quantity.
+   * @return the outcome of the update.
+   * @throws IllegalArgumentException if the decrease is less than zero.
+   */
+  public UpdateResult decreaseStorageIfAvailable(String itemNumber, int decrease) {
+    Item item = findItemByItemNr(itemNumber);
+    if (item == null) {
+      return UpdateResult.NOT_FOUND;
+    }
+    checkDecrease(decrease);
+    if (item.getAmountInStorage() < decrease) {
+      return UpdateResult.INSUFFICIENT_STOCK;
+    }
+    decrease(item, decrease);
+    return UpdateResult.APPLIED;
+  }
+
+  /**
+   * The method applies a batch of stock movements, such as a goods receipt or a pick wave,
+   * as one unit. Every line is validated first, in order, and the batch is only applied
+   * if all lines are valid. The lines are grouped by item, and the amount in storage of each
+   * item is set once, to the sum of its lines. The ledger, if any, records every line.
+   *
+   * @param movements the lines of the batch.
+   * @return the reason each invalid line was rejected, by the index of the line,
+   *         which is empty if the batch was applied.
+   */
+  @Override
+  public SortedMap<Integer, String> applyStockMovements(List<StockMovement> movements) {
+    SortedMap<Integer, String> failures = new TreeMap<>();
+    // The item and the amount in storage after each line, which are only kept for the ledger.
+    Item[] lineItems = ledger == null ? null : new Item[movements.size()];
+    int[] lineBalances = ledger == null ? null : new int[movements.size()];
+    List<Item> batchItems = new ArrayList<>();
+    Map<Item, long[]> amounts = validateStockMovements(movements, failures, batchItems,
+            lineItems, lineBalances);
+    if (failures.isEmpty()) {
+      for (Item item : batchItems) {
+        int oldAmount = item.getAmountInStorage();
+        int newAmount = (int) amounts.get(item)[0];
+        if (oldAmount != newAmount) {
+          item.setAmountInStorage(newAmount);
+          restockTracker.update(item);
+          aggregates.amountChanged(item, oldAmount);
+          publish(ItemEventType.STOCK_CHANGED, item, oldAmount, newAmount);
+        }
+      }
+      if (ledger != null) {
+        int line = 0;
+        for (StockMovement movement : movements) {
+          if (movement.getChange() != 0) {
+            ledger.record(lineItems[line].getItemNumber(), movement.getChange(),
+                    lineBalances[line], MovementReason.BATCH);
+          }
+          line++;
+        }
+      }
+    }
+    return failures;
+  }
+
+  /**
+   * The method validates a batch of stock movements without applying it.
+   *
+   * @param movements the lines of the batch.
+   * @return the reason each invalid line would be rejected, by the index of the line,
+   *         which is empty if the batch can be applied.
+   */
+  SortedMap<Integer, String> checkStockMovements(List<StockMovement> movements) {
+    SortedMap<Integer, String> failures = new TreeMap<>();
+    validateStockMovements(movements, failures, new ArrayList<>(), null, null);
+    return failures;
+  }
+
+  /**
+   * The method validates the lines of a batch of stock movements, in order, and sums them
+   * for each item. The items are compared by identity, since every item is registered once.
+   *
+   * @param movements the lines of the batch.
+   * @param failures receives the reason each invalid line was rejected.
+   * @param batchItems receives the items of the batch, in the order they first appear.
+   * @param lineItems receives the item of each valid line, or null if not needed.
+   * @param lineBalances receives the amount in storage after each valid line,
+   *                     or null if not needed.
+   * @return the amount in storage of each item after the batch.
+   */
+  private Map<Item, long[]> validateStockMovements(List<StockMovement> movements,
+                                                   SortedMap<Integer, String> failures,
+                                                   List<Item> batchItems, Item[] lineItems,
+                                                   int[] lineBalances) {
+    Map<Item, long[]> amounts = new IdentityHashMap<>();
+    int line = 0;
+    for (StockMovement movement : movements) {
+      Item item = findItemByItemNr(movement.getItemNumber());
+      if (item == null) {
+        failures.put(line, "There is no item with item number "
+                + movement.getItemNumber() + ".");
+      } else {
+        long[] amount = amounts.get(item);
+        if (amount == null) {
+          amount = new long[] {item.getAmountInStorage()};
+          amounts.put(item, amount);
+          batchItems.add(item);
+        }
+        long newAmount = amount[0] + movement.getChange();
+        if (newAmount < 0) {
+          failures.put(line, "There are not enough of item " + item.getItemNumber()
+                  + " in storage.");
+        } else if (newAmount > Integer.MAX_VALUE) {
+          failures.put(line, "The amount in storage of item " + item.getItemNumber()
+                  + " would be too large.");
+        } else {
+          amount[0] = newAmount;
+          if (lineItems != null) {
+            lineItems[line] = item;
+            lineBalances[line] = (int) newAmount;
+          }
+        }
+      }
+      line++;
+    }
+    return amounts;
   }
 
   /**
@@ -152,8 +578,30 @@ public class ItemRegister {
    * @param itemNumber item number.
    * @return a boolean to see if the removal was successful.
    */
+  @Override
   public boolean removeItemFromStorage(String itemNumber) {
-    return items.removeIf(item -> item.getItemNumber().equalsIgnoreCase(itemNumber.trim()));
+    Item item = items.remove(normalizeItemNr(itemNumber));
+    if (item == null) {
+      return false;
+    }
+    categoryIndex.unregister(item);
+    restockTracker.remove(item);
+    aggregates.removed(item);
+    if (ledger != null) {
+      ledger.record(item.getItemNumber(), -item.getAmountInStorage(), 0,
+              MovementReason.REMOVED);
+    }
+    if (searchIndex != null) {
+      searchIndex.remove(item);
+    }
+    for (RangeIndex rangeIndex : rangeIndexes.values()) {
+      rangeIndex.removed(item);
+    }
+    if (events != null) {
+      events.publish(ItemEvent.removed(item.asView()));
+    }
+    removeItemFromMapPriceOfItemsBeforeDiscount(itemNumber);
+    return true;
   }
 
   /**
@@ -164,21 +612,30 @@ public class ItemRegister {
    * @return a boolean to see if the discount was successful.
    * @throws IllegalArgumentException if discount is not a number between 0 and 100.
    */
+  @Override
   public boolean addDiscount(String itemNumber, int discount) {
-    if (findItemByItemNr(itemNumber) == null) {
+    Item item = findItemByItemNr(itemNumber);
+    if (item == null) {
       return false;
     }
+    checkDiscount(discount);
+    int oldPrice = item.getPrice();
+    priceOfItemsBeforeDiscount.putIfAbsent(item.getItemNumber(), oldPrice);
+    updatePrice(item, (int) Math.round(oldPrice * (100 - discount) / 100.0));
+    publish(ItemEventType.DISCOUNT_APPLIED, item, oldPrice, item.getPrice());
+    return true;
+  }
+
+  /**
+   * The method checks that a discount is valid.
+   *
+   * @param discount the discount.
+   * @throws IllegalArgumentException if discount is not a number between 0 and 100.
+   */
+  static void checkDiscount(int discount) {
     if (discount < 0 || discount > 100) {
       throw new IllegalArgumentException("\nMake sure the discount is between 0 and 100 percent.");
     }
-    if (!priceOfItemsBeforeDiscount.containsKey(itemNumber.toUpperCase().trim())) {
-      priceOfItemsBeforeDiscount
-              .put(itemNumber.toUpperCase().trim(), findItemByItemNr(itemNumber).getPrice());
-    }
-    findItemByItemNr(itemNumber)
-            .setPrice((int) Math.round(findItemByItemNr(itemNumber)
-                    .getPrice() * (100 - discount) / 100.0));
-    return true;
   }
 
   /**
@@ -187,13 +644,16 @@ public class ItemRegister {
    * @param itemNumber item number.
    * @return a boolean to see if the reset was successful.
    */
+  @Override
   public boolean resetPriceOfItemToBeforeDiscount(String itemNumber) {
-    if (priceOfItemsBeforeDiscount.get(itemNumber.toUpperCase().trim()) == null) {
+    Integer priceBeforeDiscount = priceOfItemsBeforeDiscount.remove(normalizeItemNr(itemNumber));
+    if (priceBeforeDiscount == null) {
       return false;
     }
-    findItemByItemNr(itemNumber)
-            .setPrice(priceOfItemsBeforeDiscount.get(itemNumber.toUpperCase().trim()));
-    removeItemFromMapPriceOfItemsBeforeDiscount(itemNumber);
+    Item item = findItemByItemNr(itemNumber);
+    int oldPrice = item.getPrice();
+    updatePrice(item, priceBeforeDiscount);
+    publish(ItemEventType.DISCOUNT_RESET, item, oldPrice, priceBeforeDiscount);
     return true;
   }
 
@@ -204,15 +664,64 @@ public class ItemRegister {
    * @param newPrice new price.
    * @return a boolean to see if the price was changed.
    */
+  @Override
   public boolean changePrice(String itemNumber, int newPrice) {
-    if (findItemByItemNr(itemNumber) == null) {
+    Item item = findItemByItemNr(itemNumber);
+    if (item == null) {
       return false;
     }
-    findItemByItemNr(itemNumber).setPrice(newPrice);
-    removeItemFromMapPriceOfItemsBeforeDiscount(itemNumber);
+    changePrice(item, newPrice);
     return true;
   }
 
+  /**
+   * The method changes the price of an item, and forgets its price before discount.
+   *
+   * @param item the item.
+   * @param newPrice new price.
+   */
+  private void changePrice(Item item, int newPrice) {
+    int oldPrice = item.getPrice();
+    updatePrice(item, newPrice);
+    removeItemFromMapPriceOfItemsBeforeDiscount(item.getItemNumber());
+    publish(ItemEventType.PRICE_CHANGED, item, oldPrice, newPrice);
+  }
+
+  /**
+   * The method changes the price of an item, if the item has not changed since it was read.
+   *
+   * @param itemNumber item number.
+   * @param newPrice new price.
+   * @param expectedVersion the version of the item when it was read.
+   * @return the outcome of the update.
+   * @throws IllegalArgumentException if the new price is less than zero.
+   */
+  public UpdateResult changePriceIfVersion(String itemNumber, int newPrice,
+                                           long expectedVersion) {
+    Item item = findItemByItemNr(itemNumber);
+    if (item == null) {
+      return UpdateResult.NOT_FOUND;
+    }
+    checkPrice(newPrice);
+    if (item.getVersion() != expectedVersion) {
+      return UpdateResult.VERSION_CONFLICT;
+    }
+    changePrice(item, newPrice);
+    return UpdateResult.APPLIED;
+  }
+
+  /**
+   * The method checks that a new price is valid.
+   *
+   * @param newPrice new price.
+   * @throws IllegalArgumentException if the new price is less than zero.
+   */
+  static void checkPrice(int newPrice) {
+    if (newPrice < 0) {
+      throw new IllegalArgumentException("\nPrice can't be less than zero. Try again");
+    }
+  }
+
   /**
    * The method changes the description of an item.
    *
@@ -220,47 +729,326 @@ public class ItemRegister {
    * @param newDescription new description.
    * @return a boolean to see if the description was changed.
    */
+  @Override
   public boolean changeDescription(String itemNumber, String newDescription) {
-    if (findItemByItemNr(itemNumber) == null) {
+    Item item = findItemByItemNr(itemNumber);
+    if (item == null) {
       return false;
     }
-    findItemByItemNr(itemNumber).setDescription(newDescription);
+    item.setDescription(newDescription);
+    if (searchIndex != null) {
+      searchIndex.update(item);
+    }
+    if (events != null) {
+      events.publish(ItemEvent.descriptionChanged(item.getItemNumber(), item.getDescription()));
+    }
     return true;
   }
 
+  /**
+   * The method searches for items by item number, brand name and description. The search
+   * finds items whose item number or a word of whose brand name or description starts with
+   * the search, items with a field that contains the search, and, for searches of four
+   * characters or more, items with a word that is one or two typos away from the search.
+   * The search index is built by the first search, and kept up to date after that.
+   *
+   * @param query the search, which is not case sensitive.
+   * @param limit the maximum number of items to find.
+   * @return read-only views of the best matching items, best match first.
+   * @throws IllegalArgumentException if the search has less than two characters,
+   *                                  or the limit is less than zero.
+   */
+  public List<ItemView> search(String query, int limit) {
+    if (query.trim().length() < 2) {
+      throw new IllegalArgumentException("\nThe search must have at least two characters.");
+    }
+    if (limit < 0) {
+      throw new IllegalArgumentException("\nThe limit can't be less than zero.");
+    }
+    if (searchIndex == null) {
+      searchIndex = new SearchIndex();
+      items.values().forEach(searchIndex::add);
+    }
+    List<ItemView> result = new ArrayList<>();
+    for (Item item : searchIndex.search(query, limit)) {
+      result.add(item.asView());
+    }
+    return result;
+  }
+
+  /**
+   * The method retrieves the range index on an attribute, building it if it does not exist
+   * and rebuilding it if it has too many changes since it was built.
+   *
+   * @param attribute the attribute.
+   * @return the range index.
+   */
+  private RangeIndex rangeIndex(ItemAttribute attribute) {
+    RangeIndex rangeIndex = rangeIndexes.computeIfAbsent(attribute,
+            a -> new RangeIndex(a, items.values()));
+    rangeIndex.rebuildIfStale(items.values());
+    return rangeIndex;
+  }
+
+  /**
+   * The method chooses the most selective range index for a query. The number of candidates
+   * of each indexed range is compared with the number of items in the category of the query,
+   * or with the number of items in the register if the query has no category.
+   *
+   * @param query the query.
+   * @return the attribute of the chosen range index, or null if no range index has fewer
+   *         candidates than the category index or a full scan.
+   */
+  private ItemAttribute chooseRangeIndex(ItemQuery query) {
+    ItemAttribute chosen = null;
+    int fewest = query.getCategory() != 0 ? categoryIndex.count(query.getCategory()) : size();
+    for (Map.Entry<ItemAttribute, double[]> range : query.getRanges().entrySet()) {
+      if (range.getKey().isIndexed()) {
+        int candidates = rangeIndex(range.getKey())
+                .estimate(range.getValue()[0], range.getValue()[1]);
+        if (candidates < fewest) {
+          chosen = range.getKey();
+          fewest = candidates;
+        }
+      }
+    }
+    return chosen;
+  }
+
+  /**
+   * The method finds the items that match a query. The most selective of the range indexes
+   * on price, weight, length and height, the category index and a full scan provides the
+   * candidates, and the other predicates are checked on each candidate. A range index is built
+   * by the first query on its attribute, and kept up to date after that.
+   *
+   * @param query the query.
+   * @return read-only views of the matching items, sorted by category name and item number.
+   */
+  public List<ItemView> findItems(ItemQuery query) {
+    List<Item> found = new ArrayList<>();
+    ItemAttribute attribute = chooseRangeIndex(query);
+    if (attribute != null) {
+      double[] range = query.getRanges().get(attribute);
+      rangeIndexes.get(attribute).forEachCandidate(range[0], range[1], item -> {
+        if (items.get(item.getItemNumber()) == item && query.test(item)) {
+          found.add(item);
+        }
+      });
+    } else {
+      Iterator<Item> candidates = query.getCategory() != 0
+              ? categoryIndex.iterateInRegistrationOrder(query.getCategory())
+              : items.values().iterator();
+      while (candidates.hasNext()) {
+        Item item = candidates.next();
+        if (query.test(item)) {
+          found.add(item);
+        }
+      }
+    }
+    found.sort(CATEGORY_NAME_THEN_ITEM_NUMBER);
+    List<ItemView> result = new ArrayList<>(found.size());
+    for (Item item : found) {
+      result.add(item.asView());
+    }
+    return result;
+  }
+
+  /**
+   * The method describes how a query would be answered: which index provides
+   * the candidates, and how many candidates it provides at most.
+   *
+   * @param query the query.
+   * @return a description of the plan of the query.
+   */
+  public String explainQuery(ItemQuery query) {
+    ItemAttribute attribute = chooseRangeIndex(query);
+    if (attribute != null) {
+      double[] range = query.getRanges().get(attribute);
+      return "Range index on " + attribute.getAttributeName() + ", "
+              + rangeIndexes.get(attribute).estimate(range[0], range[1]) + " candidates.";
+    }
+    if (query.getCategory() != 0) {
+      return "Category index on " + Category.getCategoryNameByCategoryNr(query.getCategory())
+              + ", " + categoryIndex.count(query.getCategory()) + " candidates.";
+    }
+    return "Full scan, " + size() + " candidates.";
+  }
+
   /**
    * The method gets items by category number.
+   * The items are read from the category index, which is already sorted by price,
+   * so the cost is proportional to the number of items in the category.
    *
    * @param category the category number.
-   * @return a list of all items with given category.
+   * @return read-only views of all items with given category, sorted by price descending.
    */
-  public List<Item> getItemsByCategory(int category) {
-    List<Item> listItemsByCategory = new ArrayList<>();
-    for (Item item : items) {
-      if (item.getCategory() == category) {
-        listItemsByCategory.add(new Item(item));
-      }
+  @Override
+  public List<ItemView> getItemsByCategory(int category) {
+    Collection<Item> itemsInCategory = categoryIndex.getItems(category);
+    List<ItemView> listItemsByCategory = new ArrayList<>(itemsInCategory.size());
+    for (Item item : itemsInCategory) {
+      listItemsByCategory.add(item.asView());
     }
-    return listItemsByCategory.stream()
-            .sorted(Comparator.comparing(Item::getPrice).reversed())
-            .collect(Collectors.toList());
+    return listItemsByCategory;
+  }
+
+  /**
+   * The method sets the reorder threshold of an item. The item needs replenishment
+   * when its amount in storage is at or below the threshold.
+   * A threshold set on an item overrides the threshold of its category.
+   *
+   * @param itemNumber item number.
+   * @param threshold the reorder threshold.
+   * @return a boolean to see if the threshold was set.
+   * @throws IllegalArgumentException if threshold is less than zero.
+   */
+  @Override
+  public boolean setReorderThreshold(String itemNumber, int threshold) {
+    Item item = findItemByItemNr(itemNumber);
+    if (item == null) {
+      return false;
+    }
+    restockTracker.setItemThreshold(item, threshold);
+    return true;
+  }
+
+  /**
+   * The method sets the reorder threshold of all items in a category,
+   * except the items that have a threshold of their own.
+   *
+   * @param category the category.
+   * @param threshold the reorder threshold.
+   * @throws IllegalArgumentException if threshold is less than zero.
+   */
+  @Override
+  public void setReorderThreshold(Category category, int threshold) {
+    restockTracker.setCategoryThreshold(category.getCategoryNr(), threshold,
+            categoryIndex.getItems(category.getCategoryNr()));
+  }
+
+  /**
+   * The method retrieves the reorder threshold set on an item itself.
+   *
+   * @param itemNumber item number.
+   * @return the reorder threshold of the item, or null if the item is not registered
+   *         or has no threshold of its own.
+   */
+  Integer getOwnReorderThreshold(String itemNumber) {
+    Item item = findItemByItemNr(itemNumber);
+    return item == null ? null : restockTracker.getItemThreshold(item);
+  }
+
+  /**
+   * The method retrieves the reorder thresholds set on categories.
+   *
+   * @return the reorder thresholds by category number.
+   */
+  Map<Integer, Integer> getCategoryReorderThresholds() {
+    return restockTracker.getCategoryThresholds();
   }
 
   /**
    * The method checks for which items need replenishment.
+   * The items needing replenishment are tracked as the stock changes,
+   * so the cost is proportional to the number of items returned.
    *
-   * @return a list of all items that need replenishment.
+   * @return read-only views of all items that need replenishment,
+   *         sorted by category name and then by item number.
    */
-  public List<Item> checkForRestockOfItems() {
-    List<Item> listItemsWithEmptyStock = new ArrayList<>();
-    for (Item item : sortListAfterCategoryName()) {
-      if (item.getAmountInStorage() == 0) {
-        listItemsWithEmptyStock.add(new Item(item));
-      }
+  @Override
+  public List<ItemView> checkForRestockOfItems() {
+    List<ItemView> listItemsWithEmptyStock = new ArrayList<>();
+    for (Item item : restockTracker.getItemsNeedingRestock()) {
+      listItemsWithEmptyStock.add(item.asView());
     }
     return listItemsWithEmptyStock;
   }
 
+  /**
+   * The method retrieves the value, amount, weight and volume of all items in storage.
+   * The totals are kept up to date as the items change, so they are read without
+   * visiting the items.
+   *
+   * @return the valuation of all items.
+   */
+  public InventoryValuation getValuation() {
+    return aggregates.getValuation();
+  }
+
+  /**
+   * The method retrieves the value, amount, weight and volume of the items in a category.
+   *
+   * @param category the category.
+   * @return the valuation of the items in the category.
+   */
+  public InventoryValuation getValuation(Category category) {
+    return aggregates.getValuationOfCategory(category.getCategoryNr());
+  }
+
+  /**
+   * The method retrieves the value, amount, weight and volume of the items of a brand.
+   * The brand name is compared without regard to case.
+   *
+   * @param brandName brand name.
+   * @return the valuation of the items of the brand.
+   */
+  public InventoryValuation getValuationOfBrand(String brandName) {
+    return aggregates.getValuationOfBrand(brandName);
+  }
+
+  @Override
+  public int size() {
+    return items.size();
+  }
+
+  @Override
+  public int countDiscountedItems() {
+    return priceOfItemsBeforeDiscount.size();
+  }
+
+  @Override
+  public Stream<ItemView> streamItems() {
+    return sortListAfterCategoryName().map(Item::asView);
+  }
+
+  /**
+   * The method gets one page of all registered items, sorted by category name.
+   * Whole categories before the page are skipped by their size.
+   *
+   * @param offset the number of items to skip.
+   * @param limit the largest number of items to return.
+   * @return read-only views of the items on the page.
+   * @throws IllegalArgumentException if offset or limit is less than zero.
+   */
+  @Override
+  public List<ItemView> getItems(int offset, int limit) {
+    if (offset < 0 || limit < 0) {
+      throw new IllegalArgumentException("\nOffset and limit can't be less than zero.");
+    }
+    List<ItemView> page = new ArrayList<>(Math.min(limit, items.size()));
+    int skip = offset;
+    for (Category category : Category.getCategoriesSortedByName()) {
+      int count = categoryIndex.count(category.getCategoryNr());
+      if (skip >= count) {
+        skip -= count;
+        continue;
+      }
+      Iterator<Item> iterator = categoryIndex.iterateInRegistrationOrder(category.getCategoryNr());
+      while (iterator.hasNext() && page.size() < limit) {
+        Item item = iterator.next();
+        if (skip > 0) {
+          skip--;
+        } else {
+          page.add(item.asView());
+        }
+      }
+      if (page.size() == limit) {
+        break;
+      }
+    }
+    return page;
+  }
+
   /**
    * The method gives each registered item in
    * the list their descriptions, and displays it.
@@ -0,0 +1,101 @@
+package wms;
+
+/**
+ * The interface represents a read-only view of an item.
+ * The register hands out views instead of copies, so reading an item allocates nothing,
+ * while the state of the register can only be changed through the register itself.
+ *
+ * @author agent.
+ * @version 1.0
+ * @since Oct 18, 2026.
+ */
+public interface ItemView {
+
+  /**
+   * The method retrieves the item number of the item.
+   *
+   * @return the item number.
+   */
+  String getItemNumber();
+
+  /**
+   * The method retrieves the description of the item.
+   *
+   * @return the description.
+   */
+  String getDescription();
+
+  /**
+   * The method retrieves the price of the item.
+   *
+   * @return the price.
+   */
+  int getPrice();
+
+  /**
+   * The method retrieves the brand name of the item.
+   *
+   * @return the brand name.
+   */
+  String getBrandName();
+
+  /**
+   * The method retrieves the weight of the item.
+   *
+   * @return the weight.
+   */
+  double getWeight();
+
+  /**
+   * The method retrieves the length of the item.
+   *
+   * @return the length.
+   */
+  double getLength();
+
+  /**
+   * The method retrieves the height of the item.
+   *
+   * @return the height.
+   */
+  double getHeight();
+
+  /**
+   * The method retrieves the color of the item.
+   *
+   * @return the color.
+   */
+  String getColor();
+
+  /**
+   * The method retrieves the amount in storage of the item.
+   *
+   * @return the amount in storage.
+   */
+  int getAmountInStorage();
+
+  /**
+   * The method retrieves the category number of the item.
+   *
+   * @return the category number.
+   */
+  int getCategory();
+
+  /**
+   * The method retrieves the version of the item, which increases every time the description,
+   * the price or the amount in storage of the item changes. The version starts at zero when
+   * the item is registered, and also when a register is restored from a snapshot.
+   *
+   * @return the version.
+   */
+  long getVersion();
+
+  /**
+   * The method retrieves the category name of the item.
+   *
+   * @return the category name.
+   */
+  default String getCategoryName() {
+    return Category.getCategoryNameByCategoryNr(getCategory());
+  }
+}
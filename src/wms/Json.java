@@ -0,0 +1,281 @@
+package wms;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.ToIntFunction;
+
+/**
+ * The class writes items as JSON, and reads the flat JSON objects the register server
+ * accepts as request bodies. Only what the server needs is supported: an object of
+ * strings, numbers, booleans and nulls, without nested objects or arrays.
+ *
+ * @author agent.
+ * @version 1.0
+ * @since Oct 18, 2026.
+ */
+final class Json {
+
+  private Json() {
+  }
+
+  /**
+   * The method writes a string as a JSON string.
+   *
+   * @param sb the builder to write to.
+   * @param value the string.
+   */
+  static void writeString(StringBuilder sb, String value) {
+    sb.append('"');
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      switch (c) {
+        case '"' -> sb.append("\\\"");
+        case '\\' -> sb.append("\\\\");
+        case '\n' -> sb.append("\\n");
+        case '\r' -> sb.append("\\r");
+        case '\t' -> sb.append("\\t");
+        default -> {
+          if (c < 0x20) {
+            sb.append(String.format("\\u%04x", (int) c));
+          } else {
+            sb.append(c);
+          }
+        }
+      }
+    }
+    sb.append('"');
+  }
+
+  /**
+   * The method writes an item as a JSON object.
+   *
+   * @param sb the builder to write to.
+   * @param item the item.
+   * @param effectivePrice the effective price of an item under the active campaigns.
+   */
+  static void writeItem(StringBuilder sb, ItemView item, ToIntFunction<ItemView> effectivePrice) {
+    sb.append("{\"itemNumber\":");
+    writeString(sb, item.getItemNumber());
+    sb.append(",\"description\":");
+    writeString(sb, item.getDescription());
+    sb.append(",\"price\":").append(item.getPrice());
+    sb.append(",\"effectivePrice\":").append(effectivePrice.applyAsInt(item));
+    sb.append(",\"brandName\":");
+    writeString(sb, item.getBrandName());
+    sb.append(",\"weight\":").append(item.getWeight());
+    sb.append(",\"length\":").append(item.getLength());
+    sb.append(",\"height\":").append(item.getHeight());
+    sb.append(",\"color\":");
+    writeString(sb, item.getColor());
+    sb.append(",\"amountInStorage\":").append(item.getAmountInStorage());
+    sb.append(",\"category\":").append(item.getCategory());
+    sb.append(",\"version\":").append(item.getVersion());
+    sb.append('}');
+  }
+
+  /**
+   * The method converts an item to a JSON object.
+   *
+   * @param item the item.
+   * @param effectivePrice the effective price of an item under the active campaigns.
+   * @return the JSON object.
+   */
+  static String item(ItemView item, ToIntFunction<ItemView> effectivePrice) {
+    StringBuilder sb = new StringBuilder(256);
+    writeItem(sb, item, effectivePrice);
+    return sb.toString();
+  }
+
+  /**
+   * The method converts a list of items to a JSON array of objects.
+   *
+   * @param items the items.
+   * @param effectivePrice the effective price of an item under the active campaigns.
+   * @return the JSON array.
+   */
+  static String items(List<ItemView> items, ToIntFunction<ItemView> effectivePrice) {
+    StringBuilder sb = new StringBuilder(2 + items.size() * 256);
+    sb.append('[');
+    for (int i = 0; i < items.size(); i++) {
+      if (i > 0) {
+        sb.append(',');
+      }
+      writeItem(sb, items.get(i), effectivePrice);
+    }
+    return sb.append(']').toString();
+  }
+
+  /**
+   * The method converts an error message to a JSON object with an error field.
+   *
+   * @param message the message.
+   * @return the JSON object.
+   */
+  static String error(String message) {
+    StringBuilder sb = new StringBuilder("{\"error\":");
+    writeString(sb, message.trim());
+    return sb.append('}').toString();
+  }
+
+  /**
+   * The method reads a flat JSON object. Strings are unescaped, and numbers, booleans
+   * and nulls are kept as the text they were written as.
+   *
+   * @param json the JSON object.
+   * @return the value of each field, by name.
+   * @throws IllegalArgumentException if the text is not a flat JSON object.
+   */
+  static Map<String, String> parseObject(String json) {
+    Map<String, String> fields = new HashMap<>();
+    int[] position = {skipWhitespace(json, 0)};
+    expect(json, position, '{');
+    if (peek(json, position) == '}') {
+      position[0]++;
+    } else {
+      while (true) {
+        String name = readString(json, position);
+        expect(json, position, ':');
+        String value = peek(json, position) == '"'
+                ? readString(json, position) : readLiteral(json, position);
+        fields.put(name, value);
+        if (peek(json, position) == ',') {
+          position[0]++;
+        } else {
+          expect(json, position, '}');
+          break;
+        }
+      }
+    }
+    if (skipWhitespace(json, position[0]) != json.length()) {
+      throw invalid();
+    }
+    return fields;
+  }
+
+  /**
+   * The method creates the exception thrown for a malformed request body.
+   *
+   * @return the exception.
+   */
+  private static IllegalArgumentException invalid() {
+    return new IllegalArgumentException("\nThe request body must be a flat JSON object.");
+  }
+
+  /**
+   * The method skips whitespace.
+   *
+   * @param json the JSON text.
+   * @param position the position to start at.
+   * @return the position of the first character that is not whitespace.
+   */
+  private static int skipWhitespace(String json, int position) {
+    while (position < json.length() && Character.isWhitespace(json.charAt(position))) {
+      position++;
+    }
+    return position;
+  }
+
+  /**
+   * The method skips whitespace, and reads the next character without consuming it.
+   *
+   * @param json the JSON text.
+   * @param position the current position, which is moved past the whitespace.
+   * @return the next character.
+   * @throws IllegalArgumentException if the text ends.
+   */
+  private static char peek(String json, int[] position) {
+    position[0] = skipWhitespace(json, position[0]);
+    if (position[0] >= json.length()) {
+      throw invalid();
+    }
+    return json.charAt(position[0]);
+  }
+
+  /**
+   * The method consumes the next character, which must be the expected one.
+   *
+   * @param json the JSON text.
+   * @param position the current position.
+   * @param expected the expected character.
+   * @throws IllegalArgumentException if the next character is another one.
+   */
+  private static void expect(String json, int[] position, char expected) {
+    if (peek(json, position) != expected) {
+      throw invalid();
+    }
+    position[0]++;
+  }
+
+  /**
+   * The method reads a JSON string.
+   *
+   * @param json the JSON text.
+   * @param position the current position, which is moved past the string.
+   * @return the unescaped string.
+   * @throws IllegalArgumentException if the string is malformed.
+   */
+  private static String readString(String json, int[] position) {
+    expect(json, position, '"');
+    StringBuilder sb = new StringBuilder();
+    int i = position[0];
+    while (i < json.length() && json.charAt(i) != '"') {
+      char c = json.charAt(i++);
+      if (c == '\\') {
+        if (i >= json.length()) {
+          throw invalid();
+        }
+        char escaped = json.charAt(i++);
+        switch (escaped) {
+          case '"', '\\', '/' -> sb.append(escaped);
+          case 'b' -> sb.append('\b');
+          case 'f' -> sb.append('\f');
+          case 'n' -> sb.append('\n');
+          case 'r' -> sb.append('\r');
+          case 't' -> sb.append('\t');
+          case 'u' -> {
+            if (i + 4 > json.length()) {
+              throw invalid();
+            }
+            try {
+              sb.append((char) Integer.parseInt(json.substring(i, i + 4), 16));
+            } catch (NumberFormatException e) {
+              throw invalid();
+            }
+            i += 4;
+          }
+          default -> throw invalid();
+        }
+      } else {
+        sb.append(c);
+      }
+    }
+    if (i >= json.length()) {
+      throw invalid();
+    }
+    position[0] = i + 1;
+    return sb.toString();
+  }
+
+  /**
+   * The method reads a number, boolean or null.
+   *
+   * @param json the JSON text.
+   * @param position the current position, which is moved past the literal.
+   * @return the text of the literal.
+   * @throws IllegalArgumentException if there is no literal.
+   */
+  private static String readLiteral(String json, int[] position) {
+    int start = position[0];
+    int i = start;
+    while (i < json.length() && ",}".indexOf(json.charAt(i)) < 0
+            && !Character.isWhitespace(json.charAt(i))) {
+      i++;
+    }
+    if (i == start) {
+      throw invalid();
+    }
+    position[0] = i;
+    return json.substring(start, i);
+  }
+}
@@ -0,0 +1,144 @@
+package wms;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The class represents a histogram of latencies in nanoseconds, with buckets of the same
+ * relative width in the style of an HDR histogram.
+ *
+ * <p>Values below 16 have a bucket each. Every power of two above that is divided into 16
+ * buckets, so a value is counted with an error of at most one sixteenth, about 6 percent,
+ * and every value that fits in a long has a bucket. Recording a value finds its bucket with a
+ * few bit operations, and increments it without a lock, so it is safe to call from many
+ * threads.</p>
+ *
+ * @author agent.
+ * @version 1.0
+ * @since Oct 18, 2026.
+ */
+final class LatencyHistogram {
+  private static final int SUB_BUCKET_BITS = 4;
+  private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+  private static final int BUCKETS = SUB_BUCKETS + (63 - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+  private final AtomicLongArray counts;
+  private final LongAdder totalNanos;
+  private final AtomicLong maxNanos;
+
+  /**
+   * Constructor to create an empty histogram.
+   */
+  LatencyHistogram() {
+    this.counts = new AtomicLongArray(BUCKETS);
+    this.totalNanos = new LongAdder();
+    this.maxNanos = new AtomicLong();
+  }
+
+  /**
+   * The method finds the bucket of a value.
+   *
+   * @param value the value, which is at least zero.
+   * @return the index of the bucket.
+   */
+  private static int bucketOf(long value) {
+    if (value < SUB_BUCKETS) {
+      return (int) value;
+    }
+    int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+    return (shift + 1) * SUB_BUCKETS + (int) (value >>> shift) - SUB_BUCKETS;
+  }
+
+  /**
+   * The method finds the highest value counted in a bucket.
+   *
+   * @param bucket the index of the bucket.
+   * @return the highest value of the bucket.
+   */
+  private static long highestValueOf(int bucket) {
+    if (bucket < SUB_BUCKETS) {
+      return bucket;
+    }
+    int shift = bucket / SUB_BUCKETS - 1;
+    long subBucket = bucket % SUB_BUCKETS + SUB_BUCKETS;
+    return ((subBucket + 1) << shift) - 1;
+  }
+
+  /**
+   * The method records a latency. Negative latencies are recorded as zero.
+   *
+   * @param nanos the latency in nanoseconds.
+   */
+  void record(long nanos) {
+    long value = Math.max(0, nanos);
+    counts.incrementAndGet(bucketOf(value));
+    totalNanos.add(value);
+    long max = maxNanos.get();
+    while (value > max && !maxNanos.compareAndSet(max, value)) {
+      max = maxNanos.get();
+    }
+  }
+
+  /**
+   * The method retrieves the number of recorded latencies.
+   *
+   * @return the number of latencies.
+   */
+  long getCount() {
+    long count = 0;
+    for (int i = 0; i < BUCKETS; i++) {
+      count += counts.get(i);
+    }
+    return count;
+  }
+
+  /**
+   * The method computes the mean of the recorded latencies.
+   *
+   * @return the mean in nanoseconds, or zero if nothing is recorded.
+   */
+  double getMean() {
+    long count = getCount();
+    return count == 0 ? 0 : totalNanos.sum() / (double) count;
+  }
+
+  /**
+   * The method retrieves the highest recorded latency.
+   *
+   * @return the highest latency in nanoseconds, or zero if nothing is recorded.
+   */
+  long getMax() {
+    return maxNanos.get();
+  }
+
+  /**
+   * The method finds the latency that a percentage of the recorded latencies are at or below.
+   * It is the highest value of the bucket the percentile falls in, but never above the
+   * highest recorded latency.
+   *
+   * @param percentile the percentage, between 0 and 100.
+   * @return the latency in nanoseconds, or zero if nothing is recorded.
+   * @throws IllegalArgumentException if the percentage is not between 0 and 100.
+   */
+  long getValueAtPercentile(double percentile) {
+    if (!(percentile >= 0 && percentile <= 100)) {
+      throw new IllegalArgumentException("\nThe percentile must be between 0 and 100.");
+    }
+    long[] snapshot = new long[BUCKETS];
+    long count = 0;
+    for (int i = 0; i < BUCKETS; i++) {
+      snapshot[i] = counts.get(i);
+      count += snapshot[i];
+    }
+    long rank = Math.max(1, (long) Math.ceil(percentile / 100 * count));
+    long seen = 0;
+    for (int i = 0; i < BUCKETS; i++) {
+      seen += snapshot[i];
+      if (seen >= rank) {
+        return Math.min(highestValueOf(i), getMax());
+      }
+    }
+    return 0;
+  }
+}
@@ -0,0 +1,170 @@
+package wms;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * The class holds a fixed number of consecutive movements of a movement ledger.
+ *
+ * <p>The fields of the movements are kept in one primitive array each, so a movement takes
+ * 21 bytes and no object. Once the segment is full it never changes again, and it can be
+ * spilled: the arrays are written to a file in the same layout, one array after the other,
+ * and the segment then reads the movements from a read-only memory map of the file. The
+ * operating system keeps the parts that are read often in memory, and the heap only holds
+ * the segments that were not spilled.</p>
+ *
+ * @author agent.
+ * @version 1.0
+ * @since Oct 18, 2026.
+ */
+final class LedgerSegment {
+  private static final int BYTES_PER_MOVEMENT =
+          Long.BYTES + Integer.BYTES + Integer.BYTES + Integer.BYTES + Byte.BYTES;
+
+  private final int capacity;
+  private long[] times;
+  private int[] items;
+  private int[] changes;
+  private int[] balances;
+  private byte[] reasons;
+  private int size;
+  private MappedByteBuffer spilled;
+
+  /**
+   * Constructor to create an empty segment.
+   *
+   * @param capacity the number of movements the segment holds.
+   */
+  LedgerSegment(int capacity) {
+    this.capacity = capacity;
+    this.times = new long[capacity];
+    this.items = new int[capacity];
+    this.changes = new int[capacity];
+    this.balances = new int[capacity];
+    this.reasons = new byte[capacity];
+  }
+
+  /**
+   * The method appends a movement. The segment must not be full.
+   *
+   * @param time the time of the movement.
+   * @param item the code of the item number.
+   * @param change the change of the amount in storage.
+   * @param balance the amount in storage after the change.
+   * @param reason the reason of the change.
+   */
+  void append(long time, int item, int change, int balance, MovementReason reason) {
+    times[size] = time;
+    items[size] = item;
+    changes[size] = change;
+    balances[size] = balance;
+    reasons[size] = (byte) reason.ordinal();
+    size++;
+  }
+
+  /**
+   * The method checks if the segment holds as many movements as it can.
+   *
+   * @return a boolean to see if the segment is full.
+   */
+  boolean isFull() {
+    return size == capacity;
+  }
+
+  /**
+   * The method checks if the movements are read from a file.
+   *
+   * @return a boolean to see if the segment was spilled.
+   */
+  boolean isSpilled() {
+    return spilled != null;
+  }
+
+  /**
+   * The method writes the movements to a file, and reads them from a memory map of the file
+   * from then on, so the arrays can be collected.
+   *
+   * @param file the file, which is created or replaced.
+   * @throws IOException if the file could not be written or mapped.
+   */
+  void spill(Path file) throws IOException {
+    ByteBuffer contents = ByteBuffer.allocate(capacity * BYTES_PER_MOVEMENT);
+    contents.asLongBuffer().put(times);
+    contents.position(capacity * Long.BYTES);
+    contents.asIntBuffer().put(items).put(changes).put(balances);
+    contents.position(capacity * (BYTES_PER_MOVEMENT - Byte.BYTES));
+    contents.put(reasons);
+    contents.flip();
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+            StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ,
+            StandardOpenOption.WRITE)) {
+      while (contents.hasRemaining()) {
+        channel.write(contents);
+      }
+      spilled = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+    }
+    times = null;
+    items = null;
+    changes = null;
+    balances = null;
+    reasons = null;
+  }
+
+  /**
+   * The method retrieves the time of a movement.
+   *
+   * @param index the position of the movement in the segment.
+   * @return the time.
+   */
+  long time(int index) {
+    return spilled == null ? times[index] : spilled.getLong(index * Long.BYTES);
+  }
+
+  /**
+   * The method retrieves the code of the item number of a movement.
+   *
+   * @param index the position of the movement in the segment.
+   * @return the code of the item number.
+   */
+  int item(int index) {
+    return spilled == null ? items[index]
+            : spilled.getInt(capacity * Long.BYTES + index * Integer.BYTES);
+  }
+
+  /**
+   * The method retrieves the change of the amount in storage of a movement.
+   *
+   * @param index the position of the movement in the segment.
+   * @return the change.
+   */
+  int change(int index) {
+    return spilled == null ? changes[index]
+            : spilled.getInt(capacity * (Long.BYTES + Integer.BYTES) + index * Integer.BYTES);
+  }
+
+  /**
+   * The method retrieves the amount in storage after a movement.
+   *
+   * @param index the position of the movement in the segment.
+   * @return the amount in storage.
+   */
+  int balance(int index) {
+    return spilled == null ? balances[index] : spilled.getInt(
+            capacity * (Long.BYTES + 2 * Integer.BYTES) + index * Integer.BYTES);
+  }
+
+  /**
+   * The method retrieves the reason of a movement.
+   *
+   * @param index the position of the movement in the segment.
+   * @return the reason.
+   */
+  MovementReason reason(int index) {
+    return MovementReason.of(spilled == null ? reasons[index]
+            : spilled.get(capacity * (BYTES_PER_MOVEMENT - Byte.BYTES) + index));
+  }
+}
@@ -0,0 +1,104 @@
+package wms;
+
+/**
+ * The class represents one change of the amount in storage of an item, as it is recorded
+ * in a movement ledger: when it happened, how much moved, why, and the amount in storage
+ * of the item after the change.
+ *
+ * @author agent.
+ * @version 1.0
+ * @since Oct 18, 2026.
+ */
+public final class Movement {
+  private final long sequence;
+  private final long time;
+  private final String itemNumber;
+  private final int change;
+  private final int balance;
+  private final MovementReason reason;
+
+  /**
+   * Constructor to create a movement.
+   *
+   * @param sequence the position of the movement in the ledger.
+   * @param time the time of the movement, in milliseconds.
+   * @param itemNumber item number.
+   * @param change the change of the amount in storage.
+   * @param balance the amount in storage after the change.
+   * @param reason the reason of the change.
+   */
+  Movement(long sequence, long time, String itemNumber, int change, int balance,
+           MovementReason reason) {
+    this.sequence = sequence;
+    this.time = time;
+    this.itemNumber = itemNumber;
+    this.change = change;
+    this.balance = balance;
+    this.reason = reason;
+  }
+
+  /**
+   * The method retrieves the position of the movement in the ledger,
+   * which counts the movements from zero in the order they were recorded.
+   *
+   * @return the sequence number.
+   */
+  public long getSequence() {
+    return sequence;
+  }
+
+  /**
+   * The method retrieves the time of the movement.
+   *
+   * @return the time, in milliseconds.
+   */
+  public long getTime() {
+    return time;
+  }
+
+  /**
+   * The method retrieves the item number.
+   *
+   * @return item number.
+   */
+  public String getItemNumber() {
+    return itemNumber;
+  }
+
+  /**
+   * The method retrieves the change of the amount in storage.
+   *
+   * @return the change, which is negative if items were moved out of storage.
+   */
+  public int getChange() {
+    return change;
+  }
+
+  /**
+   * The method retrieves the amount of the item in storage after the movement.
+   *
+   * @return the amount in storage.
+   */
+  public int getBalance() {
+    return balance;
+  }
+
+  /**
+   * The method retrieves the reason of the movement.
+   *
+   * @return the reason.
+   */
+  public MovementReason getReason() {
+    return reason;
+  }
+
+  @Override
+  public String toString() {
+    return "\nSequence: " + sequence + "."
+            + "\nTime: " + time + "."
+            + "\nItem number: " + itemNumber + "."
+            + "\nChange: " + change + "."
+            + "\nBalance: " + balance + "."
+            + "\nReason: " + reason + ".";
+  }
+}
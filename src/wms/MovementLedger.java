@@ -0,0 +1,380 @@
+package wms;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.LongSupplier;
+
+/**
+ * The class represents an append-only ledger of every change of the amount in storage
+ * of the items of a register, with its time, item, change, reason and the amount after it.
+ *
+ * <p>The movements are stored in segments of 65536 movements, with one primitive array per
+ * field, and are numbered in the order they were recorded. Their times never decrease, so the
+ * movements in a time range are found with a binary search over all of them. The ledger also
+ * keeps the positions of the movements of each item, which are searched by time to find the
+ * movements of one item, and the amount of an item in storage at any moment, since every
+ * movement holds the amount after it.</p>
+ *
+ * <p>If the ledger has a spill directory, full segments beyond a number kept in memory are
+ * written to files there, oldest first, and are read from memory maps of the files. Each ledger
+ * writes its files to a directory of its own inside the spill directory, so ledgers can share
+ * a spill directory. The files only live as long as the ledger, and are deleted with their
+ * directory when it is closed.</p>
+ *
+ * <p>Spilling only moves the movements themselves off the heap. The positions of the movements
+ * of each item stay on the heap, at four bytes per movement and up to as much again while an
+ * array waits to grow, so the heap still grows with the number of movements, only about a
+ * third as fast as without spilling.</p>
+ *
+ * @author agent.
+ * @version 1.0
+ * @since Oct 18, 2026.
+ */
+public class MovementLedger implements Closeable {
+  private static final int SEGMENT_SHIFT = 16;
+  private static final int SEGMENT_SIZE = 1 << SEGMENT_SHIFT;
+  private static final int SEGMENT_MASK = SEGMENT_SIZE - 1;
+
+  private final LongSupplier clock;
+  private final Path spillDirectory;
+  private Path segmentDirectory;
+  private final int maxSegmentsInMemory;
+  private final StringDictionary itemNumbers;
+  private final List<LedgerSegment> segments;
+  private int[][] positions;
+  private int[] positionCounts;
+  private int size;
+  private long lastTime;
+  private int spilledSegments;
+
+  /**
+   * Constructor to create a ledger that keeps every movement in memory,
+   * and records the time of a movement with the system clock.
+   */
+  public MovementLedger() {
+    this(System::currentTimeMillis, null, Integer.MAX_VALUE);
+  }
+
+  /**
+   * Constructor to create a ledger.
+   *
+   * @param clock the time in milliseconds, which is read when a movement is recorded.
+   * @param spillDirectory the directory to spill segments to, or null to keep every
+   *                       movement in memory.
+   * @param maxSegmentsInMemory the number of segments of 65536 movements to keep in memory
+   *                            before segments are spilled.
+   * @throws IllegalArgumentException if the number of segments is less than one.
+   */
+  public MovementLedger(LongSupplier clock, Path spillDirectory, int maxSegmentsInMemory) {
+    if (maxSegmentsInMemory < 1) {
+      throw new IllegalArgumentException("\nAt least one segment must be kept in memory.");
+    }
+    this.clock = clock;
+    this.spillDirectory = spillDirectory;
+    this.maxSegmentsInMemory = maxSegmentsInMemory;
+    this.itemNumbers = new StringDictionary();
+    this.segments = new ArrayList<>();
+    this.positions = new int[1024][];
+    this.positionCounts = new int[1024];
+    this.lastTime = Long.MIN_VALUE;
+  }
+
+  /**
+   * The method normalizes an item number to the form the class Item stores it in.
+   *
+   * @param itemNumber item number.
+   * @return the normalized item number.
+   */
+  private static String normalizeItemNr(String itemNumber) {
+    return itemNumber.toUpperCase().trim();
+  }
+
+  /**
+   * The method records a movement at the current time, or at the time of the previous
+   * movement if the clock went back.
+   *
+   * @param itemNumber the normalized item number.
+   * @param change the change of the amount in storage.
+   * @param balance the amount in storage after the change.
+   * @param reason the reason of the change.
+   * @return the sequence number of the movement.
+   * @throws IllegalStateException if the ledger holds as many movements as it can.
+   * @throws UncheckedIOException if a segment could not be spilled.
+   */
+  synchronized long record(String itemNumber, int change, int balance, MovementReason reason) {
+    if (size == Integer.MAX_VALUE) {
+      throw new IllegalStateException("\nThe ledger can't hold any more movements.");
+    }
+    int item = itemNumbers.encode(itemNumber);
+    long time = Math.max(clock.getAsLong(), lastTime);
+    if ((size & SEGMENT_MASK) == 0) {
+      segments.add(new LedgerSegment(SEGMENT_SIZE));
+      spillIfNeeded();
+    }
+    segments.get(segments.size() - 1).append(time, item, change, balance, reason);
+    addPosition(item, size);
+    lastTime = time;
+    return size++;
+  }
+
+  /**
+   * The method adds the position of a movement to the positions of its item.
+   *
+   * @param item the code of the item number.
+   * @param position the position of the movement.
+   */
+  private void addPosition(int item, int position) {
+    if (item == positions.length) {
+      positions = Arrays.copyOf(positions, item * 2);
+      positionCounts = Arrays.copyOf(positionCounts, item * 2);
+    }
+    int[] itemPositions = positions[item];
+    int count = positionCounts[item];
+    if (itemPositions == null) {
+      itemPositions = new int[4];
+      positions[item] = itemPositions;
+    } else if (count == itemPositions.length) {
+      itemPositions = Arrays.copyOf(itemPositions, count * 2);
+      positions[item] = itemPositions;
+    }
+    itemPositions[count] = position;
+    positionCounts[item] = count + 1;
+  }
+
+  /**
+   * The method spills the oldest segments in memory, until no more than the maximum number
+   * are left. The segment being appended to is never spilled.
+   *
+   * @throws UncheckedIOException if a segment could not be spilled.
+   */
+  private void spillIfNeeded() {
+    if (spillDirectory == null) {
+      return;
+    }
+    try {
+      while (segments.size() - spilledSegments > maxSegmentsInMemory) {
+        if (segmentDirectory == null) {
+          Files.createDirectories(spillDirectory);
+          segmentDirectory = Files.createTempDirectory(spillDirectory, "ledger");
+        }
+        segments.get(spilledSegments).spill(segmentFile(spilledSegments));
+        spilledSegments++;
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /**
+   * The method retrieves the file a segment is spilled to, in the directory of the ledger.
+   *
+   * @param segment the position of the segment.
+   * @return the file.
+   */
+  private Path segmentFile(int segment) {
+    return segmentDirectory.resolve("movements-" + segment + ".segment");
+  }
+
+  /**
+   * The method retrieves the time of a movement.
+   *
+   * @param position the position of the movement.
+   * @return the time.
+   */
+  private long timeAt(int position) {
+    return segments.get(position >>> SEGMENT_SHIFT).time(position & SEGMENT_MASK);
+  }
+
+  /**
+   * The method creates the movement at a position.
+   *
+   * @param position the position of the movement.
+   * @return the movement.
+   */
+  private Movement movementAt(int position) {
+    LedgerSegment segment = segments.get(position >>> SEGMENT_SHIFT);
+    int index = position & SEGMENT_MASK;
+    return new Movement(position, segment.time(index),
+            itemNumbers.decode(segment.item(index)), segment.change(index),
+            segment.balance(index), segment.reason(index));
+  }
+
+  /**
+   * The method finds the first of a list of movements with a time at or after a bound.
+   *
+   * @param list the positions of the movements in time order, or null for every movement.
+   * @param count the number of movements in the list.
+   * @param time the bound.
+   * @return the index in the list, which is the count if every movement is before the bound.
+   */
+  private int firstAtOrAfter(int[] list, int count, long time) {
+    int low = 0;
+    int high = count;
+    while (low < high) {
+      int mid = (low + high) >>> 1;
+      if (timeAt(list == null ? mid : list[mid]) < time) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+    return low;
+  }
+
+  /**
+   * The method finds the last of a list of movements with a time at or before a bound.
+   *
+   * @param list the positions of the movements in time order.
+   * @param count the number of movements in the list.
+   * @param time the bound.
+   * @return the index in the list, which is -1 if every movement is after the bound.
+   */
+  private int lastAtOrBefore(int[] list, int count, long time) {
+    return (time == Long.MAX_VALUE ? count : firstAtOrAfter(list, count, time + 1)) - 1;
+  }
+
+  /**
+   * The method retrieves the number of recorded movements.
+   *
+   * @return the number of movements.
+   */
+  public synchronized int getMovementCount() {
+    return size;
+  }
+
+  /**
+   * The method counts the movements in a time range, without reading them.
+   *
+   * @param fromTime the start of the range, inclusive.
+   * @param toTime the end of the range, exclusive.
+   * @return the number of movements in the range.
+   */
+  public synchronized int countMovements(long fromTime, long toTime) {
+    if (fromTime >= toTime) {
+      return 0;
+    }
+    return firstAtOrAfter(null, size, toTime) - firstAtOrAfter(null, size, fromTime);
+  }
+
+  /**
+   * The method retrieves the movements of every item in a time range.
+   *
+   * @param fromTime the start of the range, inclusive.
+   * @param toTime the end of the range, exclusive.
+   * @return the movements in the range, in the order they were recorded.
+   */
+  public synchronized List<Movement> getMovements(long fromTime, long toTime) {
+    if (fromTime >= toTime) {
+      return new ArrayList<>();
+    }
+    int end = firstAtOrAfter(null, size, toTime);
+    int start = firstAtOrAfter(null, end, fromTime);
+    List<Movement> movements = new ArrayList<>(end - start);
+    for (int position = start; position < end; position++) {
+      movements.add(movementAt(position));
+    }
+    return movements;
+  }
+
+  /**
+   * The method retrieves the movements of an item in a time range.
+   *
+   * @param itemNumber item number.
+   * @param fromTime the start of the range, inclusive.
+   * @param toTime the end of the range, exclusive.
+   * @return the movements of the item in the range, in the order they were recorded.
+   */
+  public synchronized List<Movement> getMovements(String itemNumber, long fromTime,
+                                                  long toTime) {
+    List<Movement> movements = new ArrayList<>();
+    int item = itemNumbers.lookup(normalizeItemNr(itemNumber));
+    if (item < 0 || fromTime >= toTime) {
+      return movements;
+    }
+    int[] itemPositions = positions[item];
+    int end = firstAtOrAfter(itemPositions, positionCounts[item], toTime);
+    for (int i = firstAtOrAfter(itemPositions, end, fromTime); i < end; i++) {
+      movements.add(movementAt(itemPositions[i]));
+    }
+    return movements;
+  }
+
+  /**
+   * The method retrieves the amount of an item in storage at a moment,
+   * which is the amount after the last movement of the item at or before that moment.
+   *
+   * @param itemNumber item number.
+   * @param time the moment.
+   * @return the amount in storage, which is zero if the item had no movements yet.
+   */
+  public synchronized int getStockAt(String itemNumber, long time) {
+    int item = itemNumbers.lookup(normalizeItemNr(itemNumber));
+    if (item < 0) {
+      return 0;
+    }
+    int last = lastAtOrBefore(positions[item], positionCounts[item], time);
+    if (last < 0) {
+      return 0;
+    }
+    int position = positions[item][last];
+    return segments.get(position >>> SEGMENT_SHIFT).balance(position & SEGMENT_MASK);
+  }
+
+  /**
+   * The method reconstructs the amount in storage of every item that was registered
+   * at a moment. The last movement of each item at or before the moment is found with
+   * a binary search, so the cost depends on the number of items, not of movements.
+   *
+   * @param time the moment.
+   * @return the amount in storage by item number, sorted by item number.
+   */
+  public synchronized Map<String, Integer> getStockAt(long time) {
+    Map<String, Integer> stock = new TreeMap<>();
+    for (int item = 0; item < itemNumbers.size(); item++) {
+      int last = lastAtOrBefore(positions[item], positionCounts[item], time);
+      if (last >= 0) {
+        int position = positions[item][last];
+        LedgerSegment segment = segments.get(position >>> SEGMENT_SHIFT);
+        int index = position & SEGMENT_MASK;
+        if (segment.reason(index) != MovementReason.REMOVED) {
+          stock.put(itemNumbers.decode(item), segment.balance(index));
+        }
+      }
+    }
+    return stock;
+  }
+
+  /**
+   * The method retrieves the number of segments that were spilled to files.
+   *
+   * @return the number of spilled segments.
+   */
+  public synchronized int getSpilledSegmentCount() {
+    return spilledSegments;
+  }
+
+  /**
+   * The method deletes the files of the spilled segments and their directory.
+   * The ledger must not be used after it is closed.
+   *
+   * @throws IOException if a file could not be deleted.
+   */
+  @Override
+  public synchronized void close() throws IOException {
+    if (segmentDirectory == null) {
+      return;
+    }
+    for (int segment = 0; segment < spilledSegments; segment++) {
+      Files.deleteIfExists(segmentFile(segment));
+    }
+    Files.deleteIfExists(segmentDirectory);
+  }
+}
@@ -0,0 +1,44 @@
+package wms;
+
+/**
+ * The class contains the reasons the amount in storage of an item changes,
+ * as they are recorded in a movement ledger.
+ *
+ * @author agent.
+ * @version 1.0
+ * @since Oct 18, 2026.
+ */
+public enum MovementReason {
+  /**
+   * An item was registered. The change is the amount it was registered with.
+   */
+  REGISTERED,
+  /**
+   * Items were moved into storage, by increasing the amount of an item.
+   */
+  RECEIVED,
+  /**
+   * Items were moved out of storage, by decreasing the amount of an item.
+   */
+  ISSUED,
+  /**
+   * A line of a batch of stock movements, such as a goods receipt or a pick wave.
+   */
+  BATCH,
+  /**
+   * An item was removed. The change takes its amount in storage to zero.
+   */
+  REMOVED;
+
+  private static final MovementReason[] REASONS = values();
+
+  /**
+   * The method retrieves a reason by its position in the enum.
+   *
+   * @param ordinal the position of the reason.
+   * @return the reason.
+   */
+  static MovementReason of(int ordinal) {
+    return REASONS[ordinal];
+  }
+}
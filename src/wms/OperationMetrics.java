@@ -0,0 +1,127 @@
+package wms;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The class keeps the counters and the latency histogram of one register operation.
+ * Every call is counted, but the latency may be measured for only a sample of the calls,
+ * since reading the clock costs more than the rest of the bookkeeping.
+ * It is safe to use from many threads.
+ *
+ * @author agent.
+ * @version 1.0
+ * @since Oct 18, 2026.
+ */
+final class OperationMetrics implements OperationMetricsMXBean {
+  static final long NOT_SAMPLED = Long.MIN_VALUE;
+
+  private final String operation;
+  private final int sampleMask;
+  private final LatencyHistogram latencies;
+  private final LongAdder calls;
+  private final LongAdder failures;
+  private final LongAdder errors;
+
+  /**
+   * Constructor to create the metrics of an operation without calls.
+   *
+   * @param operation the name of the operation.
+   * @param sampleRate the latency is measured for one in this many calls,
+   *                   which must be a power of two.
+   */
+  OperationMetrics(String operation, int sampleRate) {
+    this.operation = operation;
+    this.sampleMask = sampleRate - 1;
+    this.latencies = new LatencyHistogram();
+    this.calls = new LongAdder();
+    this.failures = new LongAdder();
+    this.errors = new LongAdder();
+  }
+
+  /**
+   * The method starts a call, and decides if its latency is measured.
+   *
+   * @return the value of System.nanoTime, or NOT_SAMPLED if the latency is not measured.
+   */
+  long start() {
+    if (sampleMask != 0 && (ThreadLocalRandom.current().nextInt() & sampleMask) != 0) {
+      return NOT_SAMPLED;
+    }
+    return System.nanoTime();
+  }
+
+  /**
+   * The method records a call that returned.
+   *
+   * @param startNanos the value returned by start when the call started.
+   * @param succeeded whether the call succeeded.
+   */
+  void record(long startNanos, boolean succeeded) {
+    if (startNanos != NOT_SAMPLED) {
+      latencies.record(System.nanoTime() - startNanos);
+    }
+    calls.increment();
+    if (!succeeded) {
+      failures.increment();
+    }
+  }
+
+  /**
+   * The method records a call that threw an exception.
+   *
+   * @param startNanos the value returned by start when the call started.
+   */
+  void recordError(long startNanos) {
+    if (startNanos != NOT_SAMPLED) {
+      latencies.record(System.nanoTime() - startNanos);
+    }
+    calls.increment();
+    errors.increment();
+  }
+
+  @Override
+  public String getOperation() {
+    return operation;
+  }
+
+  @Override
+  public long getCalls() {
+    return calls.sum();
+  }
+
+  @Override
+  public long getFailures() {
+    return failures.sum();
+  }
+
+  @Override
+  public long getErrors() {
+    return errors.sum();
+  }
+
+  @Override
+  public double getMeanNanos() {
+    return latencies.getMean();
+  }
+
+  @Override
+  public long getP50Nanos() {
+    return latencies.getValueAtPercentile(50);
+  }
+
+  @Override
+  public long getP99Nanos() {
+    return latencies.getValueAtPercentile(99);
+  }
+
+  @Override
+  public long getP999Nanos() {
+    return latencies.getValueAtPercentile(99.9);
+  }
+
+  @Override
+  public long getMaxNanos() {
+    return latencies.getMax();
+  }
+}
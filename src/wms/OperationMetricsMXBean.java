@@ -0,0 +1,76 @@
+package wms;
+
+/**
+ * The interface exposes the metrics of one register operation through JMX.
+ * The latencies are computed from the calls whose latency was measured.
+ *
+ * @author agent.
+ * @version 1.0
+ * @since Oct 18, 2026.
+ */
+public interface OperationMetricsMXBean {
+
+  /**
+   * The method retrieves the name of the operation, which is the name of the register method.
+   *
+   * @return the name of the operation.
+   */
+  String getOperation();
+
+  /**
+   * The method retrieves the number of calls of the operation.
+   *
+   * @return the number of calls.
+   */
+  long getCalls();
+
+  /**
+   * The method retrieves the number of calls that returned false or null,
+   * because the item did not exist or the update was not applied.
+   *
+   * @return the number of failed calls.
+   */
+  long getFailures();
+
+  /**
+   * The method retrieves the number of calls that threw an exception.
+   *
+   * @return the number of calls with errors.
+   */
+  long getErrors();
+
+  /**
+   * The method computes the mean latency of the operation.
+   *
+   * @return the mean latency in nanoseconds.
+   */
+  double getMeanNanos();
+
+  /**
+   * The method retrieves the median latency of the operation.
+   *
+   * @return the median latency in nanoseconds.
+   */
+  long getP50Nanos();
+
+  /**
+   * The method retrieves the 99th percentile latency of the operation.
+   *
+   * @return the 99th percentile latency in nanoseconds.
+   */
+  long getP99Nanos();
+
+  /**
+   * The method retrieves the 99.9th percentile latency of the operation.
+   *
+   * @return the 99.9th percentile latency in nanoseconds.
+   */
+  long getP999Nanos();
+
+  /**
+   * The method retrieves the highest latency of the operation.
+   *
+   * @return the highest latency in nanoseconds.
+   */
+  long getMaxNanos();
+}
@@ -0,0 +1,207 @@
+package wms;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+/**
+ * The class computes the effective price of items from their price and the price campaigns
+ * that are active.
+ *
+ * <p>Unlike a discount added to an item, a campaign never changes the price stored on the
+ * item. The effective price is computed when it is read: the campaigns on the category, the
+ * brand and the item number of the item are looked up by key, and the active one with the
+ * highest discount is applied. Campaigns do not stack. The cost of adding a campaign therefore
+ * does not depend on how many items it covers, and nothing has to be undone when it ends.</p>
+ *
+ * <p>The campaigns are kept in an immutable set of lookup tables, so prices are read without
+ * locking. Adding or removing a campaign rebuilds the tables from every campaign, which takes
+ * time in proportion to the number of campaigns and the item numbers they list. Campaigns that
+ * have ended are dropped by the first read after the earliest of them ends, which rebuilds the
+ * tables too.</p>
+ *
+ * @author agent.
+ * @version 1.0
+ * @since Oct 18, 2026.
+ */
+public class PricingEngine {
+  private final LongSupplier clock;
+  private volatile Rules rules;
+
+  /**
+   * Constructor to create a pricing engine without campaigns,
+   * on the wall clock of the system.
+   */
+  public PricingEngine() {
+    this(System::currentTimeMillis);
+  }
+
+  /**
+   * Constructor to create a pricing engine without campaigns.
+   *
+   * @param clock the clock giving the current time in milliseconds since the epoch.
+   */
+  public PricingEngine(LongSupplier clock) {
+    this.clock = clock;
+    this.rules = new Rules(List.of());
+  }
+
+  /**
+   * The method adds a campaign, and rebuilds the lookup tables.
+   *
+   * @param campaign the campaign.
+   * @throws IllegalArgumentException if a campaign with the same name exists.
+   */
+  public synchronized void addCampaign(Campaign campaign) {
+    List<Campaign> campaigns = new ArrayList<>(current(clock.getAsLong()).campaigns);
+    for (Campaign existing : campaigns) {
+      if (existing.getName().equals(campaign.getName())) {
+        throw new IllegalArgumentException("\nA campaign with the same name already exists.");
+      }
+    }
+    campaigns.add(campaign);
+    rules = new Rules(campaigns);
+  }
+
+  /**
+   * The method removes a campaign before it ends, and rebuilds the lookup tables.
+   *
+   * @param name the name of the campaign.
+   * @return a boolean to see if the campaign was removed.
+   */
+  public synchronized boolean removeCampaign(String name) {
+    List<Campaign> campaigns = new ArrayList<>(current(clock.getAsLong()).campaigns);
+    if (!campaigns.removeIf(campaign -> campaign.getName().equals(name.trim()))) {
+      return false;
+    }
+    rules = new Rules(campaigns);
+    return true;
+  }
+
+  /**
+   * The method retrieves the campaigns that have not ended, in the order they were added.
+   *
+   * @return an unmodifiable list of campaigns.
+   */
+  public List<Campaign> getCampaigns() {
+    return current(clock.getAsLong()).campaigns;
+  }
+
+  /**
+   * The method finds the campaign that gives an item its effective price.
+   *
+   * @param item the item.
+   * @return the active campaign on the item with the highest discount,
+   *         or null if no campaign on the item is active.
+   */
+  public Campaign findBestCampaign(ItemView item) {
+    long now = clock.getAsLong();
+    Rules current = current(now);
+    Campaign best = best(current.byCategory.get(item.getCategory()), now, null);
+    best = best(current.byBrand.get(Campaign.normalizeBrandName(item.getBrandName())), now,
+            best);
+    return best(current.byItem.get(Campaign.normalizeItemNr(item.getItemNumber())), now, best);
+  }
+
+  /**
+   * The method computes the effective price of an item.
+   *
+   * @param item the item.
+   * @return the price of the item with the best active campaign applied,
+   *         or the price of the item if no campaign on it is active.
+   */
+  public int getEffectivePrice(ItemView item) {
+    Campaign campaign = findBestCampaign(item);
+    return campaign == null ? item.getPrice() : campaign.applyTo(item.getPrice());
+  }
+
+  /**
+   * The method finds the active campaign with the highest discount.
+   *
+   * @param campaigns the campaigns to look through, or null.
+   * @param now the current time.
+   * @param best the best campaign found so far, or null.
+   * @return the best campaign, or null if none of them is active.
+   */
+  private static Campaign best(List<Campaign> campaigns, long now, Campaign best) {
+    if (campaigns == null) {
+      return best;
+    }
+    for (Campaign campaign : campaigns) {
+      if (campaign.isActiveAt(now)
+              && (best == null || campaign.getDiscount() > best.getDiscount())) {
+        best = campaign;
+      }
+    }
+    return best;
+  }
+
+  /**
+   * The method retrieves the lookup tables, without the campaigns that have ended.
+   *
+   * @param now the current time.
+   * @return the lookup tables.
+   */
+  private Rules current(long now) {
+    Rules current = rules;
+    return now < current.nextEnd ? current : dropEnded(now);
+  }
+
+  /**
+   * The method replaces the lookup tables with tables without the campaigns that have ended.
+   *
+   * @param now the current time.
+   * @return the new lookup tables.
+   */
+  private synchronized Rules dropEnded(long now) {
+    if (now >= rules.nextEnd) {
+      List<Campaign> campaigns = new ArrayList<>(rules.campaigns);
+      campaigns.removeIf(campaign -> campaign.getEndsAt() <= now);
+      rules = new Rules(campaigns);
+    }
+    return rules;
+  }
+
+  /**
+   * The class represents the campaigns at one moment, with tables to look them up
+   * by category, brand and item number.
+   */
+  private static final class Rules {
+    private final List<Campaign> campaigns;
+    private final Map<Integer, List<Campaign>> byCategory;
+    private final Map<String, List<Campaign>> byBrand;
+    private final Map<String, List<Campaign>> byItem;
+    private final long nextEnd;
+
+    /**
+     * Constructor to create the lookup tables of campaigns.
+     *
+     * @param campaigns the campaigns.
+     */
+    private Rules(List<Campaign> campaigns) {
+      this.campaigns = Collections.unmodifiableList(campaigns);
+      this.byCategory = new HashMap<>();
+      this.byBrand = new HashMap<>();
+      this.byItem = new HashMap<>();
+      long earliestEnd = Long.MAX_VALUE;
+      for (Campaign campaign : campaigns) {
+        if (campaign.getCategory() != 0) {
+          byCategory.computeIfAbsent(campaign.getCategory(), c -> new ArrayList<>())
+                  .add(campaign);
+        }
+        if (campaign.getBrandName() != null) {
+          byBrand.computeIfAbsent(Campaign.normalizeBrandName(campaign.getBrandName()),
+                  b -> new ArrayList<>()).add(campaign);
+        }
+        for (String itemNumber : campaign.getItemNumbers()) {
+          byItem.computeIfAbsent(itemNumber, i -> new ArrayList<>()).add(campaign);
+        }
+        earliestEnd = Math.min(earliestEnd, campaign.getEndsAt());
+      }
+      this.nextEnd = earliestEnd;
+    }
+  }
+}
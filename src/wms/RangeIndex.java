@@ -0,0 +1,168 @@
+package wms;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * The class represents a secondary index of items by the value of a numeric attribute.
+ *
+ * <p>The items are kept in an array sorted by value, next to a primitive array of the values,
+ * so the number of items in a range is found with two binary searches, and the items in it
+ * are read without boxing. Items that are added or change value after the arrays were built
+ * are kept in a set of changed items, which every range includes, and items that are removed
+ * are left in the arrays, so the caller has to check every candidate. The arrays are rebuilt
+ * once the changed and removed items make up more than an eighth of them.</p>
+ *
+ * @author agent.
+ * @version 1.0
+ * @since Oct 18, 2026.
+ */
+class RangeIndex {
+  private static final int MIN_CHANGES_BEFORE_REBUILD = 1024;
+
+  private final ItemAttribute attribute;
+  private final Set<Item> changed;
+  private Item[] items;
+  private double[] values;
+  private int removed;
+
+  /**
+   * Constructor to create an index of items.
+   *
+   * @param attribute the indexed attribute.
+   * @param items the items.
+   */
+  RangeIndex(ItemAttribute attribute, Collection<Item> items) {
+    this.attribute = attribute;
+    this.changed = Collections.newSetFromMap(new IdentityHashMap<>());
+    build(items);
+  }
+
+  /**
+   * The method sorts the items by value, and clears the changed and removed items.
+   *
+   * @param items the items.
+   */
+  private void build(Collection<Item> items) {
+    this.items = items.toArray(new Item[0]);
+    Arrays.sort(this.items, Comparator.comparingDouble(attribute::valueOf));
+    this.values = new double[this.items.length];
+    for (int i = 0; i < values.length; i++) {
+      values[i] = attribute.valueOf(this.items[i]);
+    }
+    changed.clear();
+    removed = 0;
+  }
+
+  /**
+   * The method rebuilds the index if the changed and removed items make up too much of it.
+   *
+   * @param items every item in the register.
+   */
+  void rebuildIfStale(Collection<Item> items) {
+    int stale = changed.size() + removed;
+    if (stale > MIN_CHANGES_BEFORE_REBUILD && stale > values.length / 8) {
+      build(items);
+    }
+  }
+
+  /**
+   * The method records that an item was added, or that its value changed.
+   *
+   * @param item the item.
+   */
+  void changed(Item item) {
+    changed.add(item);
+  }
+
+  /**
+   * The method records that an item was removed.
+   *
+   * @param item the item.
+   */
+  void removed(Item item) {
+    changed.remove(item);
+    removed++;
+  }
+
+  /**
+   * The method finds the first position with a value that is at least a bound.
+   *
+   * @param min the bound.
+   * @return the position.
+   */
+  private int lowerBound(double min) {
+    int low = 0;
+    int high = values.length;
+    while (low < high) {
+      int mid = (low + high) >>> 1;
+      if (values[mid] < min) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+    return low;
+  }
+
+  /**
+   * The method finds the first position with a value that is greater than a bound.
+   *
+   * @param max the bound.
+   * @return the position.
+   */
+  private int upperBound(double max) {
+    int low = 0;
+    int high = values.length;
+    while (low < high) {
+      int mid = (low + high) >>> 1;
+      if (values[mid] <= max) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+    return low;
+  }
+
+  /**
+   * The method estimates the number of items with a value in a range. The estimate is never
+   * lower than the real number, since it counts every changed and removed item.
+   *
+   * @param min the lowest value, inclusive.
+   * @param max the highest value, inclusive.
+   * @return the number of candidates for the range.
+   */
+  int estimate(double min, double max) {
+    if (min > max) {
+      return 0;
+    }
+    return Math.max(0, upperBound(max) - lowerBound(min)) + changed.size();
+  }
+
+  /**
+   * The method passes every item that may have a value in a range to an action, each once.
+   * The candidates may include removed items, and changed items outside the range.
+   *
+   * @param min the lowest value, inclusive.
+   * @param max the highest value, inclusive.
+   * @param action the action.
+   */
+  void forEachCandidate(double min, double max, Consumer<Item> action) {
+    if (min > max) {
+      return;
+    }
+    int end = upperBound(max);
+    for (int i = lowerBound(min); i < end; i++) {
+      if (changed.isEmpty() || !changed.contains(items[i])) {
+        action.accept(items[i]);
+      }
+    }
+    changed.forEach(action);
+  }
+}
@@ -0,0 +1,255 @@
+package wms;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+/**
+ * The interface represents a register of items,
+ * and contains the operations every item register implementation must support.
+ *
+ * @author agent.
+ * @version 1.0
+ * @since Oct 18, 2026.
+ */
+public interface Register {
+
+  /**
+   * The method registers an item.
+   *
+   * @param itemNumber item number.
+   * @param description description of the item.
+   * @param price price of the item.
+   * @param brandName brand name of the item.
+   * @param weight weight of the item.
+   * @param length length of the item.
+   * @param height height of the item.
+   * @param color color of the item.
+   * @param amountInStorage amount in storage of the item.
+   * @param category category number of the item.
+   * @throws IllegalArgumentException if an item with the same information already exists.
+   */
+  void registerItem(String itemNumber, String description, int price,
+                    String brandName, double weight, double length, double height,
+                    String color, int amountInStorage, int category);
+
+  /**
+   * The method gets an item by item number.
+   *
+   * @param itemNumber item number.
+   * @return a read-only view of the item by given item number, or null if it does not exist.
+   */
+  ItemView getItemByItemNr(String itemNumber);
+
+  /**
+   * The method increases the amount of an existing item.
+   *
+   * @param itemNumber item number.
+   * @param increase the increase of the quantity.
+   * @return a boolean to see if the increase was successful.
+   * @throws IllegalArgumentException if the increase is less than zero.
+   */
+  boolean increaseStorage(String itemNumber, int increase);
+
+  /**
+   * The method reduces the amount of an existing item.
+   *
+   * @param itemNumber item number.
+   * @param decrease the removal of the quantity.
+   * @return a boolean to see if the decrease was successful.
+   * @throws IllegalArgumentException if the decrease is less than zero.
+   */
+  boolean decreaseStorage(String itemNumber, int decrease);
+
+  /**
+   * The method removes an item from the storage.
+   *
+   * @param itemNumber item number.
+   * @return a boolean to see if the removal was successful.
+   */
+  boolean removeItemFromStorage(String itemNumber);
+
+  /**
+   * The method adds discount to an item, by changing its price. For a sale on many items,
+   * or one that should end by itself, add a Campaign to a PricingEngine instead.
+   *
+   * @param itemNumber item number.
+   * @param discount desired discount.
+   * @return a boolean to see if the discount was successful.
+   * @throws IllegalArgumentException if discount is not a number between 0 and 100.
+   */
+  boolean addDiscount(String itemNumber, int discount);
+
+  /**
+   * The method resets the price, to the price before the discount on item.
+   *
+   * @param itemNumber item number.
+   * @return a boolean to see if the reset was successful.
+   */
+  boolean resetPriceOfItemToBeforeDiscount(String itemNumber);
+
+  /**
+   * The method changes the price of an item.
+   *
+   * @param itemNumber item number.
+   * @param newPrice new price.
+   * @return a boolean to see if the price was changed.
+   */
+  boolean changePrice(String itemNumber, int newPrice);
+
+  /**
+   * The method changes the description of an item.
+   *
+   * @param itemNumber item number.
+   * @param newDescription new description.
+   * @return a boolean to see if the description was changed.
+   */
+  boolean changeDescription(String itemNumber, String newDescription);
+
+  /**
+   * The method gets items by category number.
+   *
+   * @param category the category number.
+   * @return read-only views of all items with given category, sorted by price descending.
+   */
+  List<ItemView> getItemsByCategory(int category);
+
+  /**
+   * The method sets the reorder threshold of an item. The item needs replenishment
+   * when its amount in storage is at or below the threshold.
+   * A threshold set on an item overrides the threshold of its category.
+   *
+   * @param itemNumber item number.
+   * @param threshold the reorder threshold.
+   * @return a boolean to see if the threshold was set.
+   * @throws IllegalArgumentException if threshold is less than zero.
+   */
+  boolean setReorderThreshold(String itemNumber, int threshold);
+
+  /**
+   * The method sets the reorder threshold of all items in a category,
+   * except the items that have a threshold of their own.
+   *
+   * @param category the category.
+   * @param threshold the reorder threshold.
+   * @throws IllegalArgumentException if threshold is less than zero.
+   */
+  void setReorderThreshold(Category category, int threshold);
+
+  /**
+   * The method checks for which items need replenishment, which are the items whose amount
+   * in storage is at or below their reorder threshold. Items without a threshold of their own
+   * or of their category have a threshold of zero.
+   *
+   * @return read-only views of all items that need replenishment, sorted by category name.
+   */
+  List<ItemView> checkForRestockOfItems();
+
+  /**
+   * The method retrieves the number of registered items.
+   *
+   * @return the number of registered items.
+   */
+  int size();
+
+  /**
+   * The method retrieves the number of items with a discount that has not been reset.
+   *
+   * @return the number of discounted items.
+   */
+  int countDiscountedItems();
+
+  /**
+   * The method applies a batch of stock movements, such as a goods receipt or a pick wave,
+   * as one unit. Every line is validated first, in order, and the batch is only applied
+   * if all lines are valid.
+   *
+   * <p>The default implementation validates the lines against the items it reads, and then
+   * applies them one at a time, so it is only atomic if no other thread changes the register
+   * meanwhile. Registers that are shared between threads apply the batch under their locks.</p>
+   *
+   * @param movements the lines of the batch.
+   * @return the reason each invalid line was rejected, by the index of the line,
+   *         which is empty if the batch was applied.
+   */
+  default SortedMap<Integer, String> applyStockMovements(List<StockMovement> movements) {
+    SortedMap<Integer, String> failures = new TreeMap<>();
+    // The running amount in storage of each item, by normalized item number.
+    Map<String, long[]> amounts = new HashMap<>();
+    int line = 0;
+    for (StockMovement movement : movements) {
+      ItemView item = getItemByItemNr(movement.getItemNumber());
+      if (item == null) {
+        failures.put(line, "There is no item with item number "
+                + movement.getItemNumber() + ".");
+      } else {
+        long[] amount = amounts.computeIfAbsent(item.getItemNumber(),
+                itemNumber -> new long[] {item.getAmountInStorage()});
+        long newAmount = amount[0] + movement.getChange();
+        if (newAmount < 0) {
+          failures.put(line, "There are not enough of item " + item.getItemNumber()
+                  + " in storage.");
+        } else if (newAmount > Integer.MAX_VALUE) {
+          failures.put(line, "The amount in storage of item " + item.getItemNumber()
+                  + " would be too large.");
+        } else {
+          amount[0] = newAmount;
+        }
+      }
+      line++;
+    }
+    if (failures.isEmpty()) {
+      for (StockMovement movement : movements) {
+        if (movement.getChange() > 0) {
+          increaseStorage(movement.getItemNumber(), movement.getChange());
+        } else if (movement.getChange() < 0) {
+          decreaseStorage(movement.getItemNumber(), -movement.getChange());
+        }
+      }
+    }
+    return failures;
+  }
+
+  /**
+   * The method streams all registered items, sorted by category name.
+   * The stream is lazy, so the items can be consumed before the whole register is read.
+   *
+   * @return a stream of read-only views of all items.
+   */
+  Stream<ItemView> streamItems();
+
+  /**
+   * The method gets one page of all registered items, sorted by category name.
+   *
+   * @param offset the number of items to skip.
+   * @param limit the largest number of items to return.
+   * @return read-only views of the items on the page.
+   * @throws IllegalArgumentException if offset or limit is less than zero.
+   */
+  default List<ItemView> getItems(int offset, int limit) {
+    if (offset < 0 || limit < 0) {
+      throw new IllegalArgumentException("\nOffset and limit can't be less than zero.");
+    }
+    return streamItems().skip(offset).limit(limit).toList();
+  }
+
+  /**
+   * The method writes the descriptions of all registered items, sorted by category name,
+   * one item at a time. The output is the same as the output of toString, but it starts
+   * immediately and does not need memory for the whole text.
+   *
+   * @param out where the descriptions are written.
+   * @throws IOException if the descriptions could not be written.
+   */
+  default void writeTo(Appendable out) throws IOException {
+    Iterator<ItemView> iterator = streamItems().iterator();
+    while (iterator.hasNext()) {
+      out.append(iterator.next().toString());
+    }
+  }
+}
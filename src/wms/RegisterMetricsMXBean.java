@@ -0,0 +1,41 @@
+package wms;
+
+/**
+ * The interface exposes the catalogue gauges of an instrumented register through JMX,
+ * together with a text dump of every metric.
+ *
+ * @author agent.
+ * @version 1.0
+ * @since Oct 18, 2026.
+ */
+public interface RegisterMetricsMXBean {
+
+  /**
+   * The method retrieves the number of registered items.
+   *
+   * @return the number of items.
+   */
+  int getItemCount();
+
+  /**
+   * The method counts the items with nothing in storage.
+   *
+   * @return the number of items that are out of stock.
+   */
+  long getOutOfStockCount();
+
+  /**
+   * The method retrieves the number of items with a discount that has not been reset.
+   *
+   * @return the number of discounted items.
+   */
+  int getDiscountedItemCount();
+
+  /**
+   * The method writes every gauge, counter and latency percentile as text,
+   * one metric on each line.
+   *
+   * @return the metrics as text.
+   */
+  String dumpMetrics();
+}
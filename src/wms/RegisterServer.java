@@ -0,0 +1,421 @@
+package wms;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * The class represents an HTTP server, which offers every operation of the console menu
+ * as a JSON endpoint, so many handheld scanners can use one shared register at once.
+ *
+ * <p>The endpoints are:</p>
+ * <ul>
+ *   <li>GET /items, with the optional parameters offset and limit, or category.</li>
+ *   <li>POST /items, with the fields of the item, to register an item.</li>
+ *   <li>GET /items/{itemNumber} and DELETE /items/{itemNumber}.</li>
+ *   <li>POST /items/{itemNumber}/increase and /decrease, with an amount.</li>
+ *   <li>POST /items/{itemNumber}/discount, with a discount,
+ *       and DELETE /items/{itemNumber}/discount.</li>
+ *   <li>PUT /items/{itemNumber}/price, with a price,
+ *       and PUT /items/{itemNumber}/description, with a description.</li>
+ *   <li>GET /restock, and GET /search with the parameters q and optionally limit.</li>
+ * </ul>
+ *
+ * <p>Request bodies are flat JSON objects. Items are answered as JSON objects, with their
+ * version and their effective price under the active price campaigns of the register, lists
+ * as JSON arrays, and errors as an object with an error field: 400 for invalid input, 404 for
+ * an item that does not exist, 405 for a method the path does not support, 409 for an item
+ * number that already exists, and 500 for any other failure. A decrease or a price change with an
+ * expectedVersion field is only applied if the item still has that version, and is answered
+ * with 409 if the item has changed or has too few in storage.</p>
+ *
+ * <p>Each request is handled on a thread of a fixed pool, which blocks while the register
+ * waits for its log to be written, so the pool should be about as large as the number of
+ * concurrent clients.</p>
+ *
+ * @author agent.
+ * @version 1.0
+ * @since Oct 18, 2026.
+ */
+public class RegisterServer implements Closeable {
+  private static final Path DATA_DIRECTORY = Path.of("wms-data");
+  private static final int SNAPSHOT_INTERVAL = 1000;
+  private static final int DEFAULT_PORT = 8080;
+  private static final int DEFAULT_THREADS = 200;
+  private static final int DEFAULT_PAGE_SIZE = 100;
+  private static final int DEFAULT_SEARCH_LIMIT = 20;
+
+  private static final Pattern SURROUNDING_SLASHES = Pattern.compile("^/+|/+$");
+  private static final Pattern SLASHES = Pattern.compile("/+");
+
+  static {
+    // The headers and the body of a response are written separately, so without TCP_NODELAY
+    // every response waits about 40 ms for the delayed acknowledgement of the client.
+    if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+      System.setProperty("sun.net.httpserver.nodelay", "true");
+    }
+  }
+
+  private final DurableItemRegister register;
+  private final HttpServer server;
+  private final ExecutorService executor;
+
+  /**
+   * Constructor to create a server, and start it.
+   *
+   * @param register the register, which is shared by all requests.
+   * @param address the address to listen on, where port 0 picks a free port.
+   * @param threads the number of requests that can be handled at once.
+   * @throws IOException if the server could not listen on the address.
+   * @throws IllegalArgumentException if the number of threads is less than one.
+   */
+  public RegisterServer(DurableItemRegister register, InetSocketAddress address, int threads)
+          throws IOException {
+    if (threads < 1) {
+      throw new IllegalArgumentException("\nThe server needs at least one thread.");
+    }
+    this.register = register;
+    // The second argument is the accept backlog, where zero means the system default.
+    this.server = HttpServer.create(address, 0);
+    this.executor = Executors.newFixedThreadPool(threads);
+    server.setExecutor(executor);
+    server.createContext("/", this::handle);
+    server.start();
+  }
+
+  /**
+   * The main method opens the register in the data directory, and serves it until
+   * the process is stopped, when the server and the register are closed.
+   *
+   * @param args the port, which is 8080 if it is not given, and the number of threads,
+   *             which is 200 if it is not given.
+   * @throws IOException if the register could not be opened, or the port is taken.
+   */
+  public static void main(String[] args) throws IOException {
+    int port = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PORT;
+    int threads = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_THREADS;
+    DurableItemRegister durableRegister = DurableItemRegister.open(DATA_DIRECTORY,
+            FsyncPolicy.GROUP_COMMIT, SNAPSHOT_INTERVAL);
+    RegisterServer server = new RegisterServer(durableRegister,
+            new InetSocketAddress(port), threads);
+    Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+      server.close();
+      try {
+        durableRegister.close();
+      } catch (IOException e) {
+        System.out.println("\nThe storage in " + DATA_DIRECTORY + " could not be written.");
+      }
+    }));
+    System.out.println("Serving " + DATA_DIRECTORY + " on port " + server.getPort() + ".");
+  }
+
+  /**
+   * The method retrieves the port the server listens on.
+   *
+   * @return the port.
+   */
+  public int getPort() {
+    return server.getAddress().getPort();
+  }
+
+  /**
+   * The method handles a request, and sends the response.
+   *
+   * @param exchange the request and response.
+   * @throws IOException if the response could not be sent.
+   */
+  private void handle(HttpExchange exchange) throws IOException {
+    int status;
+    String body;
+    try (InputStream in = exchange.getRequestBody()) {
+      String request = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+      Response response = route(exchange.getRequestMethod(),
+              exchange.getRequestURI().getRawPath(),
+              parseQuery(exchange.getRequestURI().getRawQuery()), request);
+      status = response.status;
+      body = response.body;
+    } catch (NumberFormatException e) {
+      status = 400;
+      body = Json.error("You must enter a valid number.");
+    } catch (IllegalArgumentException e) {
+      status = 400;
+      body = Json.error(e.getMessage());
+    } catch (UncheckedIOException e) {
+      status = 500;
+      body = Json.error("The storage could not be written.");
+    } catch (RuntimeException e) {
+      // Any other failure is answered, so the client is not left with a dropped connection.
+      status = 500;
+      body = Json.error("The request could not be handled.");
+    }
+    byte[] bytes = body == null ? new byte[0] : body.getBytes(StandardCharsets.UTF_8);
+    if (body != null) {
+      exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+    }
+    exchange.sendResponseHeaders(status, bytes.length == 0 ? -1 : bytes.length);
+    try (OutputStream out = exchange.getResponseBody()) {
+      out.write(bytes);
+    }
+  }
+
+  /**
+   * The method finds the operation of a request, and performs it.
+   *
+   * @param method the HTTP method.
+   * @param rawPath the path, which is not yet decoded.
+   * @param query the parameters of the query string.
+   * @param request the request body.
+   * @return the response.
+   */
+  private Response route(String method, String rawPath, Map<String, String> query,
+                         String request) {
+    String[] path = SLASHES.split(SURROUNDING_SLASHES.matcher(rawPath).replaceAll(""));
+    for (int i = 0; i < path.length; i++) {
+      path[i] = URLDecoder.decode(path[i], StandardCharsets.UTF_8);
+    }
+    String resource = path[0];
+    if (resource.equals("items") && path.length == 1) {
+      return switch (method) {
+        case "GET" -> getItems(query);
+        case "POST" -> registerItem(Json.parseObject(request));
+        default -> Response.METHOD_NOT_ALLOWED;
+      };
+    }
+    if (resource.equals("items") && path.length == 2) {
+      return switch (method) {
+        case "GET" -> item(path[1]);
+        case "DELETE" -> register.removeItemFromStorage(path[1])
+                ? Response.NO_CONTENT : Response.NOT_FOUND;
+        default -> Response.METHOD_NOT_ALLOWED;
+      };
+    }
+    if (resource.equals("items") && path.length == 3) {
+      return updateItem(method, path[1], path[2], request);
+    }
+    if (resource.equals("restock") && path.length == 1) {
+      return method.equals("GET")
+              ? new Response(200, Json.items(register.checkForRestockOfItems(),
+                      register::getEffectivePrice))
+              : Response.METHOD_NOT_ALLOWED;
+    }
+    if (resource.equals("search") && path.length == 1) {
+      if (!method.equals("GET")) {
+        return Response.METHOD_NOT_ALLOWED;
+      }
+      int limit = Integer.parseInt(query.getOrDefault("limit", "" + DEFAULT_SEARCH_LIMIT));
+      return new Response(200, Json.items(register.search(query.getOrDefault("q", ""), limit),
+              register::getEffectivePrice));
+    }
+    return new Response(404, Json.error("There is no such resource."));
+  }
+
+  /**
+   * The method lists items, either a page of all items or all items in a category.
+   *
+   * @param query the parameters of the query string.
+   * @return the response.
+   */
+  private Response getItems(Map<String, String> query) {
+    List<ItemView> items;
+    if (query.containsKey("category")) {
+      items = register.getItemsByCategory(Integer.parseInt(query.get("category")));
+    } else {
+      items = register.getItems(Integer.parseInt(query.getOrDefault("offset", "0")),
+              Integer.parseInt(query.getOrDefault("limit", "" + DEFAULT_PAGE_SIZE)));
+    }
+    return new Response(200, Json.items(items, register::getEffectivePrice));
+  }
+
+  /**
+   * The method registers an item.
+   *
+   * @param fields the fields of the item.
+   * @return the response.
+   */
+  private Response registerItem(Map<String, String> fields) {
+    String itemNumber = field(fields, "itemNumber");
+    try {
+      register.registerItem(itemNumber, field(fields, "description"),
+              Integer.parseInt(field(fields, "price")), field(fields, "brandName"),
+              Double.parseDouble(field(fields, "weight")),
+              Double.parseDouble(field(fields, "length")),
+              Double.parseDouble(field(fields, "height")), field(fields, "color"),
+              Integer.parseInt(field(fields, "amountInStorage")),
+              Integer.parseInt(field(fields, "category")));
+    } catch (IllegalArgumentException e) {
+      // A duplicate is found by looking the item up, not by the message of the exception.
+      if (!itemNumber.isBlank() && register.getItemByItemNr(itemNumber) != null) {
+        return new Response(409,
+                Json.error("An item with the same item number already exists."));
+      }
+      throw e;
+    }
+    return new Response(201, Json.item(register.getItemByItemNr(itemNumber),
+            register::getEffectivePrice));
+  }
+
+  /**
+   * The method changes an item.
+   *
+   * @param method the HTTP method.
+   * @param itemNumber item number.
+   * @param operation the last part of the path, which names the change.
+   * @param request the request body.
+   * @return the response.
+   */
+  private Response updateItem(String method, String itemNumber, String operation,
+                              String request) {
+    if (method.equals("POST") && operation.equals("decrease")
+            || method.equals("PUT") && operation.equals("price")) {
+      Map<String, String> fields = Json.parseObject(request);
+      if (fields.containsKey("expectedVersion")) {
+        long expectedVersion = Long.parseLong(fields.get("expectedVersion"));
+        return conditionalUpdate(itemNumber, operation.equals("price")
+                ? register.changePriceIfVersion(itemNumber,
+                        Integer.parseInt(field(fields, "price")), expectedVersion)
+                : register.decreaseStorageIfVersion(itemNumber,
+                        Integer.parseInt(field(fields, "amount")), expectedVersion));
+      }
+    }
+    boolean changed;
+    switch (method + " " + operation) {
+      case "POST increase" -> changed = register.increaseStorage(itemNumber,
+              Integer.parseInt(field(Json.parseObject(request), "amount")));
+      case "POST decrease" -> changed = register.decreaseStorage(itemNumber,
+              Integer.parseInt(field(Json.parseObject(request), "amount")));
+      case "POST discount" -> changed = register.addDiscount(itemNumber,
+              Integer.parseInt(field(Json.parseObject(request), "discount")));
+      case "DELETE discount" -> changed = register.resetPriceOfItemToBeforeDiscount(itemNumber);
+      case "PUT price" -> changed = register.changePrice(itemNumber,
+              Integer.parseInt(field(Json.parseObject(request), "price")));
+      case "PUT description" -> changed = register.changeDescription(itemNumber,
+              field(Json.parseObject(request), "description"));
+      default -> {
+        return operation.matches("increase|decrease|discount|price|description")
+                ? Response.METHOD_NOT_ALLOWED
+                : new Response(404, Json.error("There is no such resource."));
+      }
+    }
+    if (!changed) {
+      return method.equals("DELETE") && register.getItemByItemNr(itemNumber) != null
+              ? new Response(404, Json.error("The item has no discount."))
+              : Response.NOT_FOUND;
+    }
+    return item(itemNumber);
+  }
+
+  /**
+   * The method answers a conditional update with the updated item, or with the reason
+   * the update was not applied.
+   *
+   * @param itemNumber item number.
+   * @param result the outcome of the update.
+   * @return the response.
+   */
+  private Response conditionalUpdate(String itemNumber, UpdateResult result) {
+    return switch (result) {
+      case APPLIED -> item(itemNumber);
+      case NOT_FOUND -> Response.NOT_FOUND;
+      case INSUFFICIENT_STOCK ->
+              new Response(409, Json.error("There are not enough of the item in storage."));
+      default -> new Response(409, Json.error("The item was changed since it was read."));
+    };
+  }
+
+  /**
+   * The method answers with an item.
+   *
+   * @param itemNumber item number.
+   * @return the response.
+   */
+  private Response item(String itemNumber) {
+    ItemView item = register.getItemByItemNr(itemNumber);
+    return item == null ? Response.NOT_FOUND
+            : new Response(200, Json.item(item, register::getEffectivePrice));
+  }
+
+  /**
+   * The method retrieves a field of a request body.
+   *
+   * @param fields the fields of the request body.
+   * @param name the name of the field.
+   * @return the value of the field.
+   * @throws IllegalArgumentException if the field is missing.
+   */
+  private static String field(Map<String, String> fields, String name) {
+    String value = fields.get(name);
+    if (value == null) {
+      throw new IllegalArgumentException("\nThe field " + name + " is missing.");
+    }
+    return value;
+  }
+
+  /**
+   * The method reads the parameters of a query string.
+   *
+   * @param rawQuery the query string, which is not yet decoded, or null.
+   * @return the value of each parameter, by name.
+   */
+  private static Map<String, String> parseQuery(String rawQuery) {
+    Map<String, String> parameters = new HashMap<>();
+    if (rawQuery != null) {
+      for (String parameter : rawQuery.split("&")) {
+        int equals = parameter.indexOf('=');
+        if (equals > 0) {
+          parameters.put(URLDecoder.decode(parameter.substring(0, equals), StandardCharsets.UTF_8),
+                  URLDecoder.decode(parameter.substring(equals + 1), StandardCharsets.UTF_8));
+        }
+      }
+    }
+    return parameters;
+  }
+
+  /**
+   * The method stops the server, after the requests that are being handled have finished.
+   * The register is not closed.
+   */
+  @Override
+  public void close() {
+    server.stop(0);
+    executor.shutdown();
+    try {
+      executor.awaitTermination(10, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  /**
+   * The class represents the status and the body of a response.
+   */
+  private static final class Response {
+    private static final Response NO_CONTENT = new Response(204, null);
+    private static final Response NOT_FOUND =
+            new Response(404, Json.error("Item with that item number does not exist."));
+    private static final Response METHOD_NOT_ALLOWED =
+            new Response(405, Json.error("The method is not allowed for this resource."));
+
+    private final int status;
+    private final String body;
+
+    private Response(int status, String body) {
+      this.status = status;
+      this.body = body;
+    }
+  }
+}
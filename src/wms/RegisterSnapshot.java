@@ -0,0 +1,452 @@
+package wms;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The class represents a snapshot of the whole state of an item register,
+ * stored in a compact fixed-layout binary file that is read through a memory mapping.
+ *
+ * <p>The file starts with a header, followed by one fixed-size record per item, sorted by the
+ * UTF-8 bytes of the item number, followed by a heap of length-prefixed UTF-8 strings. The records
+ * refer to their strings by offset into the heap, and brand names and colors are stored in the
+ * heap only once. Opening a snapshot only maps the file, so items can be read, and found by item
+ * number with a binary search, straight from the mapping before any object is built. Each record
+ * also holds the position of the item in registration order, so a restored register lists its
+ * items in the same order as the register the snapshot was taken of, the version of the
+ * item, so a version read before a restart still only matches an unchanged item, and the reorder
+ * threshold set on the item. The reorder thresholds set on categories follow the heap.</p>
+ *
+ * <p>A snapshot records the sequence number of the last log record it covers,
+ * so recovery only has to replay the log records written after it. Taking a snapshot is split
+ * in two steps: the fields of the items are copied into arrays, which is all that has to happen
+ * while the register is locked, and the copy is then written to the file.</p>
+ *
+ * @author agent.
+ * @version 1.0
+ * @since Oct 18, 2026.
+ */
+final class RegisterSnapshot {
+  private static final int MAGIC = 0x574D5335;
+  private static final int HEADER_SIZE = 32;
+  private static final int RECORD_SIZE = 72;
+  private static final int NO_DISCOUNT = -1;
+  private static final int NO_THRESHOLD = -1;
+  private static final int BUFFER_SIZE = 1 << 16;
+
+  private static final int ITEM_NUMBER = 0;
+  private static final int DESCRIPTION = 4;
+  private static final int BRAND_NAME = 8;
+  private static final int COLOR = 12;
+  private static final int PRICE = 16;
+  private static final int PRICE_BEFORE_DISCOUNT = 20;
+  private static final int AMOUNT_IN_STORAGE = 24;
+  private static final int CATEGORY = 28;
+  private static final int WEIGHT = 32;
+  private static final int LENGTH = 40;
+  private static final int HEIGHT = 48;
+  private static final int REGISTRATION_ORDER = 56;
+  private static final int REORDER_THRESHOLD = 60;
+  private static final int VERSION = 64;
+
+  private final ByteBuffer buffer;
+  private final long lsn;
+  private final int size;
+  private final int heapStart;
+  private final int thresholdsStart;
+
+  /**
+   * Constructor to create a snapshot over a mapped file.
+   *
+   * @param buffer the mapped file.
+   * @throws IOException if the file is not a register snapshot.
+   */
+  private RegisterSnapshot(ByteBuffer buffer) throws IOException {
+    if (buffer.limit() < HEADER_SIZE || buffer.getInt(0) != MAGIC) {
+      throw new IOException("\nThe file is not a register snapshot.");
+    }
+    this.buffer = buffer;
+    this.lsn = buffer.getLong(4);
+    this.size = buffer.getInt(12);
+    this.heapStart = Math.toIntExact(buffer.getLong(16));
+    this.thresholdsStart = Math.toIntExact(buffer.getLong(24));
+  }
+
+  /**
+   * The method copies the items and reorder thresholds of a register, in the order the items
+   * were registered, so the copy can be written after the register is unlocked.
+   *
+   * @param register the register.
+   * @return the copy of the items.
+   */
+  static Contents copy(ItemRegister register) {
+    return new Contents(register);
+  }
+
+  /**
+   * The class holds a copy of the fields of every item of a register, one array per field,
+   * in the order the items were registered, and of the reorder thresholds of its categories.
+   */
+  static final class Contents {
+    private final int size;
+    private final String[] itemNumbers;
+    private final String[] descriptions;
+    private final String[] brandNames;
+    private final String[] colors;
+    private final int[] prices;
+    private final int[] pricesBeforeDiscount;
+    private final int[] amounts;
+    private final int[] categories;
+    private final double[] weights;
+    private final double[] lengths;
+    private final double[] heights;
+    private final long[] versions;
+    private final int[] reorderThresholds;
+    private final Map<Integer, Integer> categoryThresholds;
+
+    /**
+     * Constructor to copy the items of a register.
+     *
+     * @param register the register.
+     */
+    private Contents(ItemRegister register) {
+      this.size = register.size();
+      this.itemNumbers = new String[size];
+      this.descriptions = new String[size];
+      this.brandNames = new String[size];
+      this.colors = new String[size];
+      this.prices = new int[size];
+      this.pricesBeforeDiscount = new int[size];
+      this.amounts = new int[size];
+      this.categories = new int[size];
+      this.weights = new double[size];
+      this.lengths = new double[size];
+      this.heights = new double[size];
+      this.versions = new long[size];
+      this.reorderThresholds = new int[size];
+      this.categoryThresholds = register.getCategoryReorderThresholds();
+      int[] index = {0};
+      register.streamItemsInRegistrationOrder().forEachOrdered(item -> {
+        int i = index[0]++;
+        itemNumbers[i] = item.getItemNumber();
+        descriptions[i] = item.getDescription();
+        brandNames[i] = item.getBrandName();
+        colors[i] = item.getColor();
+        prices[i] = item.getPrice();
+        Integer priceBeforeDiscount = register.getPriceBeforeDiscount(item.getItemNumber());
+        pricesBeforeDiscount[i] = priceBeforeDiscount == null ? NO_DISCOUNT : priceBeforeDiscount;
+        amounts[i] = item.getAmountInStorage();
+        categories[i] = item.getCategory();
+        weights[i] = item.getWeight();
+        lengths[i] = item.getLength();
+        heights[i] = item.getHeight();
+        versions[i] = item.getVersion();
+        Integer threshold = register.getOwnReorderThreshold(item.getItemNumber());
+        reorderThresholds[i] = threshold == null ? NO_THRESHOLD : threshold;
+      });
+    }
+
+    /**
+     * The method writes the copy as a snapshot. The snapshot is first written to a temporary
+     * file, which then replaces the old snapshot, so a crash never leaves a half-written
+     * snapshot.
+     *
+     * @param lsn the sequence number of the last log record covered by the snapshot.
+     * @param file the snapshot file.
+     * @throws IOException if the snapshot could not be written.
+     */
+    void write(long lsn, Path file) throws IOException {
+      byte[][] numberBytes = new byte[size][];
+      Integer[] order = new Integer[size];
+      for (int i = 0; i < size; i++) {
+        numberBytes[i] = itemNumbers[i].getBytes(StandardCharsets.UTF_8);
+        order[i] = i;
+      }
+      Arrays.sort(order, (a, b) -> Arrays.compareUnsigned(numberBytes[a], numberBytes[b]));
+
+      Path temporaryFile = file.resolveSibling(file.getFileName() + ".tmp");
+      long heapStart = HEADER_SIZE + (long) size * RECORD_SIZE;
+      try (FileChannel channel = FileChannel.open(temporaryFile, StandardOpenOption.CREATE,
+              StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+        // The records and the heap are written through separate buffers, each to its own region.
+        ByteBuffer records = ByteBuffer.allocate(BUFFER_SIZE);
+        ByteBuffer heap = ByteBuffer.allocate(BUFFER_SIZE);
+        long recordPosition = HEADER_SIZE;
+        long heapPosition = heapStart;
+        int heapSize = 0;
+        Map<String, Integer> sharedStrings = new HashMap<>();
+        for (int i : order) {
+          int[] references = new int[4];
+          byte[][] strings = {numberBytes[i],
+              descriptions[i].getBytes(StandardCharsets.UTF_8), null, null};
+          String[] shared = {null, null, brandNames[i], colors[i]};
+          for (int s = 0; s < strings.length; s++) {
+            Integer reference = shared[s] == null ? null : sharedStrings.get(shared[s]);
+            if (reference == null) {
+              byte[] bytes = strings[s] != null
+                      ? strings[s] : shared[s].getBytes(StandardCharsets.UTF_8);
+              if (heap.remaining() < Integer.BYTES + bytes.length) {
+                heapPosition += flush(channel, heap, heapPosition);
+                if (heap.capacity() < Integer.BYTES + bytes.length) {
+                  heap = ByteBuffer.allocate(Integer.BYTES + bytes.length);
+                }
+              }
+              reference = heapSize;
+              heap.putInt(bytes.length).put(bytes);
+              heapSize = Math.addExact(heapSize, Integer.BYTES + bytes.length);
+              if (shared[s] != null) {
+                sharedStrings.put(shared[s], reference);
+              }
+            }
+            references[s] = reference;
+          }
+          if (records.remaining() < RECORD_SIZE) {
+            recordPosition += flush(channel, records, recordPosition);
+          }
+          records.putInt(references[0]).putInt(references[1])
+                  .putInt(references[2]).putInt(references[3])
+                  .putInt(prices[i]).putInt(pricesBeforeDiscount[i])
+                  .putInt(amounts[i]).putInt(categories[i])
+                  .putDouble(weights[i]).putDouble(lengths[i]).putDouble(heights[i])
+                  .putInt(i).putInt(reorderThresholds[i]).putLong(versions[i]);
+        }
+        flush(channel, records, recordPosition);
+        long thresholdsStart = heapPosition + flush(channel, heap, heapPosition);
+        ByteBuffer thresholds = ByteBuffer.allocate(
+                Integer.BYTES + categoryThresholds.size() * 2 * Integer.BYTES)
+                .putInt(categoryThresholds.size());
+        categoryThresholds.forEach((category, threshold) ->
+                thresholds.putInt(category).putInt(threshold));
+        writeFully(channel, thresholds.flip(), thresholdsStart);
+        // The header is written last, since it holds where the category thresholds start.
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).putInt(MAGIC).putLong(lsn)
+                .putInt(size).putLong(heapStart).putLong(thresholdsStart).flip();
+        writeFully(channel, header, 0);
+        channel.force(true);
+      }
+      Files.move(temporaryFile, file, StandardCopyOption.REPLACE_EXISTING,
+              StandardCopyOption.ATOMIC_MOVE);
+    }
+  }
+
+  /**
+   * The method writes the contents of a buffer at a position of a channel, and clears the buffer.
+   *
+   * @param channel the channel.
+   * @param buffer the buffer, from its start to its position.
+   * @param position the position in the channel.
+   * @return the number of bytes written.
+   * @throws IOException if the buffer could not be written.
+   */
+  private static int flush(FileChannel channel, ByteBuffer buffer, long position)
+          throws IOException {
+    int written = writeFully(channel, buffer.flip(), position);
+    buffer.clear();
+    return written;
+  }
+
+  /**
+   * The method writes the remaining bytes of a buffer at a position of a channel.
+   *
+   * @param channel the channel.
+   * @param buffer the buffer.
+   * @param position the position in the channel.
+   * @return the number of bytes written.
+   * @throws IOException if the buffer could not be written.
+   */
+  private static int writeFully(FileChannel channel, ByteBuffer buffer, long position)
+          throws IOException {
+    int written = 0;
+    while (buffer.hasRemaining()) {
+      written += channel.write(buffer, position + written);
+    }
+    return written;
+  }
+
+  /**
+   * The method opens a snapshot by mapping its file into memory.
+   *
+   * @param file the snapshot file.
+   * @return the opened snapshot.
+   * @throws IOException if the file could not be mapped, or is not a register snapshot.
+   */
+  static RegisterSnapshot open(Path file) throws IOException {
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      if (channel.size() > Integer.MAX_VALUE) {
+        throw new IOException("\nThe snapshot " + file + " is too large to be mapped.");
+      }
+      MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+      return new RegisterSnapshot(buffer);
+    }
+  }
+
+  /**
+   * The method retrieves the sequence number of the last log record covered by the snapshot.
+   *
+   * @return the sequence number.
+   */
+  long getLsn() {
+    return lsn;
+  }
+
+  /**
+   * The method retrieves the number of items in the snapshot.
+   *
+   * @return the number of items.
+   */
+  int size() {
+    return size;
+  }
+
+  /**
+   * The method reads a string from the heap of the snapshot.
+   *
+   * @param index the index of the item.
+   * @param field the offset of the string reference in the record.
+   * @return the string.
+   */
+  private String string(int index, int field) {
+    return heapString(buffer.getInt(recordOffset(index) + field));
+  }
+
+  /**
+   * The method reads a string from the heap of the snapshot.
+   *
+   * @param reference the offset of the string in the heap.
+   * @return the string.
+   */
+  private String heapString(int reference) {
+    int position = heapStart + reference;
+    byte[] bytes = new byte[buffer.getInt(position)];
+    buffer.get(position + Integer.BYTES, bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  /**
+   * The method finds where the record of an item starts.
+   *
+   * @param index the index of the item.
+   * @return the offset of the record in the file.
+   */
+  private static int recordOffset(int index) {
+    return HEADER_SIZE + index * RECORD_SIZE;
+  }
+
+  /**
+   * The method reads an item straight from the mapped file.
+   *
+   * @param index the index of the item, in item number order.
+   * @return a read-only view of the item.
+   */
+  ItemView get(int index) {
+    Item item = new Item(string(index, ITEM_NUMBER), string(index, DESCRIPTION),
+            buffer.getInt(recordOffset(index) + PRICE), string(index, BRAND_NAME),
+            buffer.getDouble(recordOffset(index) + WEIGHT),
+            buffer.getDouble(recordOffset(index) + LENGTH),
+            buffer.getDouble(recordOffset(index) + HEIGHT), string(index, COLOR),
+            buffer.getInt(recordOffset(index) + AMOUNT_IN_STORAGE),
+            buffer.getInt(recordOffset(index) + CATEGORY));
+    item.restoreVersion(buffer.getLong(recordOffset(index) + VERSION));
+    return item.asView();
+  }
+
+  /**
+   * The method finds an item by item number, with a binary search over the mapped records.
+   *
+   * @param itemNumber item number.
+   * @return a read-only view of the item, or null if it is not in the snapshot.
+   */
+  ItemView find(String itemNumber) {
+    byte[] key = itemNumber.toUpperCase().trim().getBytes(StandardCharsets.UTF_8);
+    int low = 0;
+    int high = size - 1;
+    while (low <= high) {
+      int middle = (low + high) >>> 1;
+      int position = heapStart + buffer.getInt(recordOffset(middle) + ITEM_NUMBER);
+      int comparison = compareUnsigned(position + Integer.BYTES, buffer.getInt(position), key);
+      if (comparison < 0) {
+        low = middle + 1;
+      } else if (comparison > 0) {
+        high = middle - 1;
+      } else {
+        return get(middle);
+      }
+    }
+    return null;
+  }
+
+  /**
+   * The method compares bytes of the mapped file with a key, as unsigned bytes.
+   *
+   * @param position where the bytes start in the file.
+   * @param length the number of bytes.
+   * @param key the key.
+   * @return a negative number, zero or a positive number if the bytes are less than,
+   *         equal to or greater than the key.
+   */
+  private int compareUnsigned(int position, int length, byte[] key) {
+    int common = Math.min(length, key.length);
+    for (int i = 0; i < common; i++) {
+      int comparison = Byte.compareUnsigned(buffer.get(position + i), key[i]);
+      if (comparison != 0) {
+        return comparison;
+      }
+    }
+    return Integer.compare(length, key.length);
+  }
+
+  /**
+   * The method puts every item of the snapshot into an empty register,
+   * in the order they were registered, and sets the reorder thresholds of the snapshot.
+   *
+   * @param register the empty register.
+   */
+  void restoreInto(ItemRegister register) {
+    int[] indexes = new int[size];
+    for (int index = 0; index < size; index++) {
+      indexes[buffer.getInt(recordOffset(index) + REGISTRATION_ORDER)] = index;
+    }
+    Map<Integer, String> sharedStrings = new HashMap<>();
+    for (int index : indexes) {
+      int record = recordOffset(index);
+      String brandName = sharedStrings.computeIfAbsent(buffer.getInt(record + BRAND_NAME),
+              this::heapString);
+      String color = sharedStrings.computeIfAbsent(buffer.getInt(record + COLOR),
+              this::heapString);
+      Item item = new Item(string(index, ITEM_NUMBER), string(index, DESCRIPTION),
+              buffer.getInt(record + PRICE), brandName, buffer.getDouble(record + WEIGHT),
+              buffer.getDouble(record + LENGTH), buffer.getDouble(record + HEIGHT), color,
+              buffer.getInt(record + AMOUNT_IN_STORAGE), buffer.getInt(record + CATEGORY));
+      item.restoreVersion(buffer.getLong(record + VERSION));
+      int priceBeforeDiscount = buffer.getInt(record + PRICE_BEFORE_DISCOUNT);
+      register.restoreItem(item,
+              priceBeforeDiscount == NO_DISCOUNT ? null : priceBeforeDiscount);
+      int threshold = buffer.getInt(record + REORDER_THRESHOLD);
+      if (threshold != NO_THRESHOLD) {
+        register.setReorderThreshold(item.getItemNumber(), threshold);
+      }
+    }
+    Map<Integer, Integer> categoryThresholds = new HashMap<>();
+    int count = buffer.getInt(thresholdsStart);
+    for (int pair = 0; pair < count; pair++) {
+      int position = thresholdsStart + Integer.BYTES + pair * 2 * Integer.BYTES;
+      categoryThresholds.put(buffer.getInt(position), buffer.getInt(position + Integer.BYTES));
+    }
+    for (Category category : Category.values()) {
+      Integer threshold = categoryThresholds.get(category.getCategoryNr());
+      if (threshold != null) {
+        register.setReorderThreshold(category, threshold);
+      }
+    }
+  }
+}
@@ -0,0 +1,107 @@
+package wms;
+
+/**
+ * The class represents a hold on an amount of an item for an open order. The hold is open
+ * until it is committed, which takes the amount out of storage, or released, or it expires.
+ *
+ * @author agent.
+ * @version 1.0
+ * @since Oct 18, 2026.
+ */
+public final class Reservation {
+  private final long id;
+  private final String itemNumber;
+  private final int quantity;
+  private final long expiresAt;
+  private final long deadlineTick;
+  private volatile boolean open;
+
+  /**
+   * Constructor to create an open reservation.
+   *
+   * @param id the identifier of the reservation.
+   * @param itemNumber normalized item number.
+   * @param quantity the reserved amount.
+   * @param expiresAt the time the reservation expires, in milliseconds of the engine clock.
+   * @param deadlineTick the tick of the timer wheel the reservation expires at.
+   */
+  Reservation(long id, String itemNumber, int quantity, long expiresAt, long deadlineTick) {
+    this.id = id;
+    this.itemNumber = itemNumber;
+    this.quantity = quantity;
+    this.expiresAt = expiresAt;
+    this.deadlineTick = deadlineTick;
+    this.open = true;
+  }
+
+  /**
+   * The method retrieves the identifier of the reservation.
+   *
+   * @return the identifier.
+   */
+  public long getId() {
+    return id;
+  }
+
+  /**
+   * The method retrieves the item number of the reserved item.
+   *
+   * @return item number.
+   */
+  public String getItemNumber() {
+    return itemNumber;
+  }
+
+  /**
+   * The method retrieves the reserved amount.
+   *
+   * @return the quantity.
+   */
+  public int getQuantity() {
+    return quantity;
+  }
+
+  /**
+   * The method retrieves the time the reservation expires, in milliseconds
+   * of the clock of the engine that made it.
+   *
+   * @return the expiry time.
+   */
+  public long getExpiresAt() {
+    return expiresAt;
+  }
+
+  /**
+   * The method retrieves the tick of the timer wheel the reservation expires at.
+   *
+   * @return the deadline tick.
+   */
+  long getDeadlineTick() {
+    return deadlineTick;
+  }
+
+  /**
+   * The method checks if the reservation is still open. The reservation is only closed
+   * while holding the lock of the item in the engine.
+   *
+   * @return a boolean to see if the reservation is open.
+   */
+  boolean isOpen() {
+    return open;
+  }
+
+  /**
+   * The method closes the reservation, because it was committed, released or expired.
+   */
+  void close() {
+    open = false;
+  }
+
+  @Override
+  public String toString() {
+    return "\nReservation: " + id + "."
+            + "\nItem number: " + itemNumber + "."
+            + "\nQuantity: " + quantity + "."
+            + "\nExpires at: " + expiresAt + " ms.";
+  }
+}
@@ -0,0 +1,330 @@
+package wms;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * The class reserves stock of the items in a register for open orders.
+ *
+ * <p>For every item the engine keeps the amount held by open reservations next to the amount
+ * on hand in the register, and only reserves what is available: the amount on hand minus the
+ * amount reserved. A reservation is committed when the order is completed, which takes the
+ * amount out of storage, or released when the order is cancelled. A reservation that is
+ * neither committed nor released before its time to live ends expires, and its amount
+ * becomes available again.</p>
+ *
+ * <p>Reservations of the same item are made, committed and released while holding one of a
+ * fixed set of striped locks, chosen by the hash of the item number, so two orders can never
+ * reserve the same stock. Expiry is driven by a timer wheel with one slot per tick. The wheel
+ * is advanced by the threads that reserve, once per tick, or by calling expireReservations,
+ * so a reservation stops counting as reserved at most one tick after it expires. It can never
+ * be committed after it expires.</p>
+ *
+ * <p>Stock must leave storage through commit for the engine to prevent oversell. Decreasing
+ * the storage of a reserved item directly in the register may leave less on hand than is
+ * reserved. To take orders from many threads, the register has to be thread-safe, such as
+ * a ConcurrentItemRegister or a DurableItemRegister. Reservations are kept in memory only,
+ * and are lost when the program stops.</p>
+ *
+ * @author agent.
+ * @version 1.0
+ * @since Oct 18, 2026.
+ */
+public class ReservationEngine {
+  private static final int STRIPES = 64;
+
+  private final Register register;
+  private final long tickMillis;
+  private final LongSupplier clock;
+  private final ReentrantLock[] locks;
+  private final Map<String, Integer> reservedAmounts;
+  private final Map<Long, Reservation> reservations;
+  private final AtomicLong lastId;
+  private final ReentrantLock wheelLock;
+  private final TimerWheel wheel;
+  private volatile long nextTickAt;
+
+  /**
+   * Constructor to create a reservation engine with ticks of 100 milliseconds
+   * and a wheel of 4096 slots, on the monotonic clock of the system.
+   *
+   * @param register the register of the reserved items.
+   */
+  public ReservationEngine(Register register) {
+    this(register, 100, 4096, () -> System.nanoTime() / 1_000_000);
+  }
+
+  /**
+   * Constructor to create a reservation engine.
+   *
+   * @param register the register of the reserved items.
+   * @param tickMillis the length of a tick of the timer wheel, in milliseconds.
+   * @param slots the number of slots of the timer wheel, rounded up to a power of two.
+   * @param clock the clock giving the current time in milliseconds, which must never go back.
+   * @throws IllegalArgumentException if the tick or the number of slots is less than one,
+   *                                  or the number of slots is greater than 2^30.
+   */
+  public ReservationEngine(Register register, long tickMillis, int slots, LongSupplier clock) {
+    if (tickMillis < 1) {
+      throw new IllegalArgumentException("\nThe tick must be at least one millisecond.");
+    }
+    if (slots < 1 || slots > 1 << 30) {
+      throw new IllegalArgumentException("\nThe number of slots must be between 1 and 2^30.");
+    }
+    this.register = register;
+    this.tickMillis = tickMillis;
+    this.clock = clock;
+    this.locks = new ReentrantLock[STRIPES];
+    for (int i = 0; i < STRIPES; i++) {
+      locks[i] = new ReentrantLock();
+    }
+    this.reservedAmounts = new ConcurrentHashMap<>();
+    this.reservations = new ConcurrentHashMap<>();
+    this.lastId = new AtomicLong();
+    this.wheelLock = new ReentrantLock();
+    long currentTick = Math.floorDiv(clock.getAsLong(), tickMillis);
+    this.wheel = new TimerWheel(slots == 1 ? 1 : Integer.highestOneBit(slots - 1) << 1,
+            currentTick);
+    this.nextTickAt = (currentTick + 1) * tickMillis;
+  }
+
+  /**
+   * The method normalizes an item number to the form used as key in the register.
+   *
+   * @param itemNumber item number.
+   * @return the normalized item number.
+   */
+  private static String normalizeItemNr(String itemNumber) {
+    return itemNumber.toUpperCase().trim();
+  }
+
+  /**
+   * The method finds the lock stripe guarding the reservations of an item.
+   *
+   * @param key normalized item number.
+   * @return the lock guarding the item.
+   */
+  private ReentrantLock lockFor(String key) {
+    int hash = key.hashCode();
+    return locks[(hash ^ (hash >>> 16)) & (STRIPES - 1)];
+  }
+
+  /**
+   * The method reserves an amount of an item, if that much is available.
+   *
+   * @param itemNumber item number.
+   * @param quantity the amount to reserve.
+   * @param ttlMillis the time to live of the reservation, in milliseconds.
+   * @return the reservation, or null if the item does not exist or less than the quantity
+   *         is available.
+   * @throws IllegalArgumentException if the quantity is less than one,
+   *                                  or the time to live is less than zero.
+   */
+  public Reservation reserve(String itemNumber, int quantity, long ttlMillis) {
+    if (quantity < 1) {
+      throw new IllegalArgumentException("\nThe amount you want to reserve, "
+              + "can't be less than one.");
+    }
+    if (ttlMillis < 0) {
+      throw new IllegalArgumentException("\nThe time to live can't be less than zero.");
+    }
+    long now = clock.getAsLong();
+    if (now >= nextTickAt) {
+      expireUntil(now, false);
+    }
+    String key = normalizeItemNr(itemNumber);
+    long expiresAt = now + ttlMillis;
+    Reservation reservation;
+    ReentrantLock lock = lockFor(key);
+    lock.lock();
+    try {
+      ItemView item = register.getItemByItemNr(key);
+      if (item == null) {
+        return null;
+      }
+      int reserved = reservedAmounts.getOrDefault(key, 0);
+      if (item.getAmountInStorage() - reserved < quantity) {
+        return null;
+      }
+      reservedAmounts.put(key, reserved + quantity);
+      reservation = new Reservation(lastId.incrementAndGet(), key, quantity, expiresAt,
+              Math.floorDiv(expiresAt + tickMillis - 1, tickMillis));
+      reservations.put(reservation.getId(), reservation);
+    } finally {
+      lock.unlock();
+    }
+    wheelLock.lock();
+    try {
+      wheel.schedule(reservation);
+    } finally {
+      wheelLock.unlock();
+    }
+    return reservation;
+  }
+
+  /**
+   * The method commits a reservation, which takes the reserved amount out of storage.
+   *
+   * @param reservationId the identifier of the reservation.
+   * @return a boolean to see if the reservation was committed, which is false if it does
+   *         not exist, is closed, has expired, or its item was removed from the register.
+   */
+  public boolean commit(long reservationId) {
+    Reservation reservation = reservations.get(reservationId);
+    if (reservation == null) {
+      return false;
+    }
+    ReentrantLock lock = lockFor(reservation.getItemNumber());
+    lock.lock();
+    try {
+      if (!reservation.isOpen()) {
+        return false;
+      }
+      boolean committed = clock.getAsLong() < reservation.getExpiresAt()
+              && register.decreaseStorage(reservation.getItemNumber(),
+              reservation.getQuantity());
+      close(reservation);
+      return committed;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * The method releases a reservation, which makes the reserved amount available again.
+   *
+   * @param reservationId the identifier of the reservation.
+   * @return a boolean to see if the reservation was released, which is false if it does
+   *         not exist or is closed.
+   */
+  public boolean release(long reservationId) {
+    Reservation reservation = reservations.get(reservationId);
+    if (reservation == null) {
+      return false;
+    }
+    ReentrantLock lock = lockFor(reservation.getItemNumber());
+    lock.lock();
+    try {
+      if (!reservation.isOpen()) {
+        return false;
+      }
+      close(reservation);
+      return true;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * The method closes a reservation, and subtracts it from the reserved amount of its item.
+   * It must be called while holding the lock of the item.
+   *
+   * @param reservation the open reservation.
+   */
+  private void close(Reservation reservation) {
+    reservation.close();
+    reservations.remove(reservation.getId());
+    String key = reservation.getItemNumber();
+    int reserved = reservedAmounts.get(key) - reservation.getQuantity();
+    if (reserved == 0) {
+      reservedAmounts.remove(key);
+    } else {
+      reservedAmounts.put(key, reserved);
+    }
+  }
+
+  /**
+   * The method expires every reservation whose time to live has ended.
+   *
+   * @return the number of reservations that expired.
+   */
+  public int expireReservations() {
+    return expireUntil(clock.getAsLong(), true);
+  }
+
+  /**
+   * The method advances the timer wheel to a time, and closes the reservations that expired.
+   * The reservations are closed after the wheel is unlocked, so that reserving other items
+   * does not wait for it.
+   *
+   * @param now the current time.
+   * @param wait whether to wait if another thread is advancing the wheel, or else return.
+   * @return the number of reservations that expired.
+   */
+  private int expireUntil(long now, boolean wait) {
+    List<Reservation> expired = new ArrayList<>();
+    if (wait) {
+      wheelLock.lock();
+    } else if (!wheelLock.tryLock()) {
+      return 0;
+    }
+    try {
+      long tick = Math.floorDiv(now, tickMillis);
+      wheel.advance(tick, expired);
+      nextTickAt = (wheel.getCurrentTick() + 1) * tickMillis;
+    } finally {
+      wheelLock.unlock();
+    }
+    int count = 0;
+    for (Reservation reservation : expired) {
+      ReentrantLock lock = lockFor(reservation.getItemNumber());
+      lock.lock();
+      try {
+        if (reservation.isOpen()) {
+          close(reservation);
+          count++;
+        }
+      } finally {
+        lock.unlock();
+      }
+    }
+    return count;
+  }
+
+  /**
+   * The method finds an open reservation.
+   *
+   * @param reservationId the identifier of the reservation.
+   * @return the reservation, or null if it does not exist or is closed.
+   */
+  public Reservation getReservation(long reservationId) {
+    return reservations.get(reservationId);
+  }
+
+  /**
+   * The method retrieves the stock of an item: the amount on hand,
+   * the amount reserved, and the amount available.
+   *
+   * @param itemNumber item number.
+   * @return the stock level, or null if the item does not exist.
+   */
+  public StockLevel getStockLevel(String itemNumber) {
+    String key = normalizeItemNr(itemNumber);
+    ReentrantLock lock = lockFor(key);
+    lock.lock();
+    try {
+      ItemView item = register.getItemByItemNr(key);
+      if (item == null) {
+        return null;
+      }
+      return new StockLevel(item.getItemNumber(), item.getAmountInStorage(),
+              reservedAmounts.getOrDefault(key, 0));
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * The method retrieves the number of open reservations.
+   *
+   * @return the number of open reservations.
+   */
+  public int getOpenReservationCount() {
+    return reservations.size();
+  }
+}
@@ -0,0 +1,159 @@
+package wms;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+
+/**
+ * The class keeps track of which items need replenishment.
+ *
+ * <p>An item needs replenishment when its amount in storage is at or below its reorder
+ * threshold. The threshold of an item is the threshold set on the item, or else the threshold
+ * set on its category, or else zero. The set of items needing replenishment is updated every
+ * time the register changes the amount of an item, so it never has to be recomputed.</p>
+ *
+ * @author agent.
+ * @version 1.0
+ * @since Oct 18, 2026.
+ */
+class RestockTracker {
+  private final Map<Integer, Integer> categoryThresholds;
+  private final Map<String, Integer> itemThresholds;
+  private final Map<Integer, NavigableSet<Item>> itemsNeedingRestock;
+
+  /**
+   * Constructor to create a tracker where every threshold is zero.
+   */
+  RestockTracker() {
+    this.categoryThresholds = new HashMap<>();
+    this.itemThresholds = new HashMap<>();
+    this.itemsNeedingRestock = new HashMap<>();
+  }
+
+  /**
+   * The method checks that a reorder threshold is valid.
+   *
+   * @param threshold the reorder threshold.
+   * @throws IllegalArgumentException if threshold is less than zero.
+   */
+  static void checkThreshold(int threshold) {
+    if (threshold < 0) {
+      throw new IllegalArgumentException("\nThe reorder threshold can't be less than zero.");
+    }
+  }
+
+  /**
+   * The method retrieves the reorder threshold that applies to an item.
+   *
+   * @param item the item.
+   * @return the reorder threshold of the item.
+   */
+  int getThreshold(Item item) {
+    Integer threshold = itemThresholds.get(item.getItemNumber());
+    if (threshold == null) {
+      threshold = categoryThresholds.getOrDefault(item.getCategory(), 0);
+    }
+    return threshold;
+  }
+
+  /**
+   * The method retrieves the reorder threshold set on an item itself.
+   *
+   * @param item the item.
+   * @return the reorder threshold of the item, or null if it has none of its own.
+   */
+  Integer getItemThreshold(Item item) {
+    return itemThresholds.get(item.getItemNumber());
+  }
+
+  /**
+   * The method retrieves the reorder thresholds set on categories.
+   *
+   * @return an unmodifiable copy of the thresholds by category number.
+   */
+  Map<Integer, Integer> getCategoryThresholds() {
+    return Map.copyOf(categoryThresholds);
+  }
+
+  /**
+   * The method sets the reorder threshold of a single item.
+   *
+   * @param item the item.
+   * @param threshold the reorder threshold.
+   * @throws IllegalArgumentException if threshold is less than zero.
+   */
+  void setItemThreshold(Item item, int threshold) {
+    checkThreshold(threshold);
+    itemThresholds.put(item.getItemNumber(), threshold);
+    update(item);
+  }
+
+  /**
+   * The method sets the reorder threshold of a category,
+   * and re-evaluates the items in that category.
+   *
+   * @param category the category number.
+   * @param threshold the reorder threshold.
+   * @param itemsInCategory all registered items in the category.
+   * @throws IllegalArgumentException if threshold is less than zero.
+   */
+  void setCategoryThreshold(int category, int threshold, Iterable<Item> itemsInCategory) {
+    checkThreshold(threshold);
+    categoryThresholds.put(category, threshold);
+    for (Item item : itemsInCategory) {
+      update(item);
+    }
+  }
+
+  /**
+   * The method adds or removes an item from the set of items needing replenishment,
+   * based on its current amount in storage.
+   *
+   * @param item the item.
+   */
+  void update(Item item) {
+    if (item.getAmountInStorage() <= getThreshold(item)) {
+      itemsNeedingRestock.computeIfAbsent(item.getCategory(),
+              c -> new TreeSet<>(Comparator.comparing(Item::getItemNumber))).add(item);
+    } else {
+      NavigableSet<Item> items = itemsNeedingRestock.get(item.getCategory());
+      if (items != null) {
+        items.remove(item);
+      }
+    }
+  }
+
+  /**
+   * The method forgets an item that is removed from the register.
+   *
+   * @param item the item.
+   */
+  void remove(Item item) {
+    itemThresholds.remove(item.getItemNumber());
+    NavigableSet<Item> items = itemsNeedingRestock.get(item.getCategory());
+    if (items != null) {
+      items.remove(item);
+    }
+  }
+
+  /**
+   * The method retrieves the items needing replenishment,
+   * sorted by category name and then by item number.
+   *
+   * @return a list of the items needing replenishment.
+   */
+  List<Item> getItemsNeedingRestock() {
+    List<Item> result = new ArrayList<>();
+    for (Category category : Category.getCategoriesSortedByName()) {
+      NavigableSet<Item> items = itemsNeedingRestock.get(category.getCategoryNr());
+      if (items != null) {
+        result.addAll(items);
+      }
+    }
+    return result;
+  }
+}
@@ -0,0 +1,484 @@
+package wms;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * The class represents a trigram index over the item number, brand name and description
+ * of the items in a register, which answers prefix, substring and typo-tolerant searches.
+ *
+ * <p>Every item gets an id, and the index maps each sequence of three characters in the
+ * lower-cased fields of the item, padded with a space on each side, to the ids of the items
+ * that contain it. Ids are handed out in increasing order, so each list of ids is sorted.
+ * An item that is removed leaves its id behind in the lists, and an item whose description
+ * changes gets a new id. The index is rebuilt when the ids left behind outnumber the items.</p>
+ *
+ * <p>Matches are ranked as follows: the item number is the search, the item number or a word
+ * of the brand name or description starts with the search, a field contains the search, and
+ * finally a word is one or, for searches of ten characters or more, two typos away from the
+ * search. Within a rank, items come in the order of their ids, which is the order they were
+ * added to the index or had their description changed. The lists of ids of the trigrams are
+ * intersected and merged with cursors that jump over the ids that can't match, so a search
+ * costs about as much as the ids it has to look at, not as the longest list.</p>
+ *
+ * @author agent.
+ * @version 1.0
+ * @since Oct 18, 2026.
+ */
+final class SearchIndex {
+  private static final int MIN_FUZZY_LENGTH = 4;
+  private static final int TWO_TYPOS_LENGTH = 10;
+  private static final int MIN_STALE_IDS_FOR_REBUILD = 1024;
+  private static final int MAX_FUZZY_CANDIDATES = 4096;
+
+  private final Map<Long, Postings> postings;
+  private final Map<String, Integer> ids;
+  private Item[] items;
+  private int nextId;
+  private int staleIds;
+
+  /**
+   * Constructor to create an empty search index.
+   */
+  SearchIndex() {
+    this.postings = new HashMap<>();
+    this.ids = new HashMap<>();
+    this.items = new Item[16];
+  }
+
+  /**
+   * The method normalizes text to the form it is indexed and searched in.
+   *
+   * @param text the text.
+   * @return the lower-cased text.
+   */
+  static String normalize(String text) {
+    return text.toLowerCase(Locale.ROOT);
+  }
+
+  /**
+   * The method packs three characters into the key of a trigram.
+   *
+   * @param text the text.
+   * @param start where the trigram starts in the text.
+   * @return the key of the trigram.
+   */
+  private static long trigram(String text, int start) {
+    return (long) text.charAt(start) << 32 | (long) text.charAt(start + 1) << 16
+            | text.charAt(start + 2);
+  }
+
+  /**
+   * The method adds an item to the index.
+   *
+   * @param item the item.
+   */
+  void add(Item item) {
+    int id = nextId++;
+    if (id == items.length) {
+      items = Arrays.copyOf(items, id * 2);
+    }
+    items[id] = item;
+    ids.put(item.getItemNumber(), id);
+
+    String[] fields = {item.getItemNumber(), item.getBrandName(), item.getDescription()};
+    long[] trigrams = new long[0];
+    int count = 0;
+    for (String field : fields) {
+      String text = " " + normalize(field) + " ";
+      trigrams = Arrays.copyOf(trigrams, count + text.length() - 2);
+      for (int i = 0; i + 3 <= text.length(); i++) {
+        trigrams[count++] = trigram(text, i);
+      }
+    }
+    Arrays.sort(trigrams, 0, count);
+    for (int i = 0; i < count; i++) {
+      if (i == 0 || trigrams[i] != trigrams[i - 1]) {
+        postings.computeIfAbsent(trigrams[i], t -> new Postings()).add(id);
+      }
+    }
+  }
+
+  /**
+   * The method removes an item from the index.
+   *
+   * @param item the item.
+   */
+  void remove(Item item) {
+    Integer id = ids.remove(item.getItemNumber());
+    if (id != null) {
+      items[id] = null;
+      staleIds++;
+      if (staleIds > MIN_STALE_IDS_FOR_REBUILD && staleIds > ids.size()) {
+        rebuild();
+      }
+    }
+  }
+
+  /**
+   * The method updates the index after the description of an item has changed.
+   *
+   * @param item the item.
+   */
+  void update(Item item) {
+    remove(item);
+    add(item);
+  }
+
+  /**
+   * The method rebuilds the index from the items in it, which drops the ids left behind.
+   */
+  private void rebuild() {
+    Item[] liveItems = new Item[ids.size()];
+    int count = 0;
+    for (int id = 0; id < nextId; id++) {
+      if (items[id] != null) {
+        liveItems[count++] = items[id];
+      }
+    }
+    postings.clear();
+    ids.clear();
+    items = new Item[Math.max(16, liveItems.length)];
+    nextId = 0;
+    staleIds = 0;
+    for (Item item : liveItems) {
+      add(item);
+    }
+  }
+
+  /**
+   * The method searches for items. The matches of each rank are found in the order of
+   * their ids, and the search stops as soon as it has found enough items.
+   *
+   * @param query the search, which has at least two characters.
+   * @param limit the maximum number of items to find.
+   * @return the best matching items, best match first.
+   */
+  List<Item> search(String query, int limit) {
+    String search = normalize(query.trim());
+    List<Item> result = new ArrayList<>(Math.min(limit, 64));
+    Set<Integer> found = new HashSet<>();
+    Integer exact = ids.get(query.toUpperCase().trim());
+    if (exact != null && limit > 0) {
+      result.add(items[exact]);
+      found.add(exact);
+    }
+    scan(" " + search, limit, result, found, item -> hasWordStartingWith(item, search));
+    if (search.length() >= 3) {
+      scan(search, limit, result, found, item -> contains(item, search));
+    }
+    if (search.length() >= MIN_FUZZY_LENGTH && search.indexOf(' ') < 0) {
+      int maxTypos = search.length() >= TWO_TYPOS_LENGTH ? 2 : 1;
+      for (int typos = 1; typos <= maxTypos; typos++) {
+        scanForTypos(search, typos, limit, result, found);
+      }
+    }
+    return result;
+  }
+
+  /**
+   * The method finds the items that have every trigram of a pattern and pass a test,
+   * until the result is full. The lists of the trigrams are intersected by leapfrogging:
+   * each cursor in turn jumps to the id the previous one stopped at, so runs of ids that
+   * are missing from any list are skipped without being looked at one by one.
+   *
+   * @param pattern the pattern, which has at least three characters.
+   * @param limit the maximum number of items in the result.
+   * @param result the items found so far.
+   * @param found the ids of the items found so far.
+   * @param test the test an item must pass.
+   */
+  private void scan(String pattern, int limit, List<Item> result, Set<Integer> found,
+                    Predicate<Item> test) {
+    if (result.size() >= limit) {
+      return;
+    }
+    Cursor[] cursors = cursors(trigramLists(pattern));
+    for (int id = nextInAll(cursors, 0); id != Cursor.END && result.size() < limit;
+         id = nextInAll(cursors, id + 1)) {
+      if (items[id] != null && !found.contains(id) && test.test(items[id])) {
+        result.add(items[id]);
+        found.add(id);
+      }
+    }
+  }
+
+  /**
+   * The method finds the smallest id from a bound on that is in every list.
+   *
+   * @param cursors the cursors over the lists, shortest list first.
+   * @param from the bound.
+   * @return the id, or Cursor.END if there is none.
+   */
+  private static int nextInAll(Cursor[] cursors, int from) {
+    int candidate = from;
+    int agreeing = 0;
+    for (int i = 0; agreeing < cursors.length; i = (i + 1) % cursors.length) {
+      cursors[i].skipTo(candidate);
+      int id = cursors[i].current();
+      if (id == Cursor.END) {
+        return Cursor.END;
+      }
+      if (id == candidate) {
+        agreeing++;
+      } else {
+        candidate = id;
+        agreeing = 1;
+      }
+    }
+    return candidate;
+  }
+
+  /**
+   * The method finds the items with a word a number of typos away from the search,
+   * until the result is full. A typo changes at most three of the trigrams of the padded
+   * search, so such a word shares all but 3 * typos of them. The lists of the trigrams are
+   * merged in id order, and the merge skips ahead: while fewer lists than required are at
+   * the smallest id, no id below the head of the list that would complete the required
+   * number can be a match, so every list behind it jumps straight to it. At most 4096 items
+   * are compared with the search for each number of typos, which bounds the time a search
+   * for a very common word takes.
+   *
+   * @param search the normalized search.
+   * @param typos the number of typos.
+   * @param limit the maximum number of items in the result.
+   * @param result the items found so far.
+   * @param found the ids of the items found so far.
+   */
+  private void scanForTypos(String search, int typos, int limit, List<Item> result,
+                            Set<Integer> found) {
+    if (result.size() >= limit) {
+      return;
+    }
+    Cursor[] cursors = cursors(trigramLists(" " + search + " "));
+    int required = cursors.length - 3 * typos;
+    if (required < 1) {
+      return;
+    }
+    int[] heads = new int[cursors.length];
+    int compared = 0;
+    while (result.size() < limit && compared < MAX_FUZZY_CANDIDATES) {
+      int smallest = Cursor.END;
+      int atSmallest = 0;
+      for (int i = 0; i < cursors.length; i++) {
+        heads[i] = cursors[i].current();
+        if (heads[i] < smallest) {
+          smallest = heads[i];
+          atSmallest = 1;
+        } else if (heads[i] == smallest) {
+          atSmallest++;
+        }
+      }
+      if (smallest == Cursor.END) {
+        return;
+      }
+      if (atSmallest >= required) {
+        if (items[smallest] != null && !found.contains(smallest)) {
+          compared++;
+          if (fewestTypos(items[smallest], search, typos) == typos) {
+            result.add(items[smallest]);
+            found.add(smallest);
+          }
+        }
+        for (Cursor cursor : cursors) {
+          cursor.skipTo(smallest + 1);
+        }
+      } else {
+        Arrays.sort(heads);
+        int target = heads[required - 1];
+        if (target == Cursor.END) {
+          return;
+        }
+        for (Cursor cursor : cursors) {
+          cursor.skipTo(target);
+        }
+      }
+    }
+  }
+
+  /**
+   * The method finds the lists of ids of the trigrams of a pattern, shortest first.
+   *
+   * @param pattern the pattern, which has at least three characters.
+   * @return the lists of ids.
+   */
+  private Postings[] trigramLists(String pattern) {
+    Postings[] lists = new Postings[pattern.length() - 2];
+    for (int i = 0; i < lists.length; i++) {
+      Postings list = postings.get(trigram(pattern, i));
+      lists[i] = list == null ? Postings.EMPTY : list;
+    }
+    Arrays.sort(lists, Comparator.comparingInt(list -> list.size));
+    return lists;
+  }
+
+  /**
+   * The method creates a cursor over each list of ids.
+   *
+   * @param lists the lists of ids.
+   * @return the cursors.
+   */
+  private static Cursor[] cursors(Postings[] lists) {
+    Cursor[] cursors = new Cursor[lists.length];
+    for (int i = 0; i < lists.length; i++) {
+      cursors[i] = new Cursor(lists[i]);
+    }
+    return cursors;
+  }
+
+  /**
+   * The method retrieves the fields of an item that are searched, normalized.
+   *
+   * @param item the item.
+   * @return the item number, brand name and description.
+   */
+  private static String[] fields(Item item) {
+    return new String[] {normalize(item.getItemNumber()), normalize(item.getBrandName()),
+        normalize(item.getDescription())};
+  }
+
+  /**
+   * The method checks if the item number, or a word of the brand name or description,
+   * starts with the search.
+   *
+   * @param item the item.
+   * @param search the normalized search.
+   * @return a boolean to see if a word starts with the search.
+   */
+  private static boolean hasWordStartingWith(Item item, String search) {
+    for (String field : fields(item)) {
+      if (field.startsWith(search) || field.contains(" " + search)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * The method checks if a field of an item contains the search.
+   *
+   * @param item the item.
+   * @param search the normalized search.
+   * @return a boolean to see if a field contains the search.
+   */
+  private static boolean contains(Item item, String search) {
+    for (String field : fields(item)) {
+      if (field.contains(search)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * The method finds the smallest number of typos between a search and a word of an item.
+   *
+   * @param item the item.
+   * @param search the normalized search.
+   * @param maxTypos the maximum number of typos of interest.
+   * @return the number of typos, or maxTypos + 1 if every word has more typos.
+   */
+  private static int fewestTypos(Item item, String search, int maxTypos) {
+    int fewest = maxTypos + 1;
+    for (String field : fields(item)) {
+      for (String word : field.split(" ")) {
+        fewest = Math.min(fewest, editDistance(search, word, fewest - 1));
+      }
+    }
+    return fewest;
+  }
+
+  /**
+   * The method computes the edit distance between two words, which is the number of
+   * characters that have to be inserted, deleted or replaced to turn one into the other.
+   *
+   * @param a the first word.
+   * @param b the second word.
+   * @param max the largest distance of interest.
+   * @return the distance, or max + 1 if it is larger than max.
+   */
+  static int editDistance(String a, String b, int max) {
+    if (Math.abs(a.length() - b.length()) > max) {
+      return max + 1;
+    }
+    int[] previous = new int[b.length() + 1];
+    int[] current = new int[b.length() + 1];
+    for (int j = 0; j <= b.length(); j++) {
+      previous[j] = j;
+    }
+    for (int i = 1; i <= a.length(); i++) {
+      current[0] = i;
+      int rowMin = i;
+      for (int j = 1; j <= b.length(); j++) {
+        int replace = previous[j - 1] + (a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1);
+        current[j] = Math.min(replace, Math.min(previous[j], current[j - 1]) + 1);
+        rowMin = Math.min(rowMin, current[j]);
+      }
+      if (rowMin > max) {
+        return max + 1;
+      }
+      int[] swap = previous;
+      previous = current;
+      current = swap;
+    }
+    return Math.min(previous[b.length()], max + 1);
+  }
+
+  /**
+   * The class holds a growing, sorted list of ids.
+   */
+  private static final class Postings {
+    private static final Postings EMPTY = new Postings();
+
+    private int[] ids = new int[4];
+    private int size;
+
+    private void add(int id) {
+      if (size == ids.length) {
+        ids = Arrays.copyOf(ids, size * 2);
+      }
+      ids[size++] = id;
+    }
+  }
+
+  /**
+   * The class holds a position in a list of ids, which moves forward
+   * with steps that double in size until they pass the id looked for.
+   */
+  private static final class Cursor {
+    private static final int END = Integer.MAX_VALUE;
+
+    private final Postings list;
+    private int position;
+
+    private Cursor(Postings list) {
+      this.list = list;
+    }
+
+    private int current() {
+      return position < list.size ? list.ids[position] : END;
+    }
+
+    private boolean skipTo(int id) {
+      int low = position;
+      int high = position;
+      int step = 1;
+      while (high < list.size && list.ids[high] < id) {
+        low = high + 1;
+        high = position + step;
+        step <<= 1;
+      }
+      int index = Arrays.binarySearch(list.ids, low, Math.min(high + 1, list.size), id);
+      position = index >= 0 ? index : -index - 1;
+      return index >= 0;
+    }
+  }
+}
@@ -0,0 +1,469 @@
+package wms;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * The class represents an item register partitioned into shards by the hash of the item number.
+ *
+ * <p>Every shard is an ItemRegister of its own, with its own indexes, guarded by its own
+ * lock. An operation on one item only locks the shard of the item, so operations on items in
+ * different shards never contend. Operations on the whole register, such as listing the items
+ * of a category, the items that need replenishment, or every item, run on each shard, and the
+ * sorted results of the shards are merged. Once the register holds as many items as the
+ * parallel threshold, the shards are listed in parallel in the common fork-join pool.</p>
+ *
+ * <p>Items are sharded by item number rather than by category, so that an item is found from
+ * its item number alone, and so that the register is not limited to one shard for each of the
+ * four categories. Listings are sorted by category name and then by item number, as in the
+ * class ConcurrentItemRegister, since the order the items were registered in is only known
+ * within a shard.</p>
+ *
+ * @author agent.
+ * @version 1.0
+ * @since Oct 18, 2026.
+ */
+public class ShardedItemRegister implements Register {
+  private static final Comparator<ItemView> CATEGORY_NAME_THEN_ITEM_NUMBER = Comparator
+          .comparing(ItemView::getCategoryName).thenComparing(ItemView::getItemNumber);
+  private static final Comparator<Map.Entry<Integer, ItemView>> PRICE_DESCENDING_THEN_ITEM_NUMBER =
+          Map.Entry.<Integer, ItemView>comparingByKey().reversed()
+                  .thenComparing(entry -> entry.getValue().getItemNumber());
+
+  private final Shard[] shards;
+  private volatile int parallelThreshold;
+
+  /**
+   * Constructor to create a register with four shards for each available processor,
+   * rounded up to a power of two, so that threads rarely wait for the same shard.
+   */
+  public ShardedItemRegister() {
+    this(4 * Runtime.getRuntime().availableProcessors());
+  }
+
+  /**
+   * Constructor to create a register.
+   *
+   * @param shards the number of shards, rounded up to a power of two.
+   * @throws IllegalArgumentException if the number of shards is less than one,
+   *                                  or greater than 2^16.
+   */
+  public ShardedItemRegister(int shards) {
+    if (shards < 1 || shards > 1 << 16) {
+      throw new IllegalArgumentException("\nThe number of shards must be between 1 and 2^16.");
+    }
+    int size = shards == 1 ? 1 : Integer.highestOneBit(shards - 1) << 1;
+    this.parallelThreshold = ConcurrentItemRegister.DEFAULT_PARALLEL_THRESHOLD;
+    this.shards = new Shard[size];
+    for (int i = 0; i < size; i++) {
+      this.shards[i] = new Shard();
+    }
+  }
+
+  /**
+   * The method finds the shard of an item number. The shard is chosen by the highest bits
+   * of the mixed hash of the item number, since the lowest bits choose the bucket in the
+   * hash map of the shard, and using them for both would leave most buckets empty.
+   *
+   * @param itemNumber item number.
+   * @return the shard of the item number.
+   */
+  private Shard shardFor(String itemNumber) {
+    return shards[shardIndexFor(itemNumber)];
+  }
+
+  /**
+   * The method finds the index of the shard of an item number.
+   *
+   * @param itemNumber item number.
+   * @return the index of the shard of the item number.
+   */
+  private int shardIndexFor(String itemNumber) {
+    long hash = (itemNumber.toUpperCase().trim().hashCode() * 0x9E3779B9) & 0xFFFFFFFFL;
+    return (int) ((hash * shards.length) >>> 32);
+  }
+
+  /**
+   * The method sets the number of items from which the shards are listed in parallel.
+   *
+   * @param minItems the smallest number of items to list in parallel, or Integer.MAX_VALUE
+   *                 to always list the shards one after the other.
+   * @throws IllegalArgumentException if the number of items is less than zero.
+   * @see ConcurrentItemRegister#DEFAULT_PARALLEL_THRESHOLD
+   */
+  public void setParallelThreshold(int minItems) {
+    if (minItems < 0) {
+      throw new IllegalArgumentException("\nThe number of items can't be less than zero.");
+    }
+    this.parallelThreshold = minItems;
+  }
+
+  /**
+   * The method runs a query on every shard, each while holding the lock of the shard.
+   * The shards are queried in parallel if the register has reached the parallel threshold.
+   *
+   * @param query the query.
+   * @param <T> the type of the result of the query.
+   * @return the results of the shards.
+   */
+  private <T> List<T> fanOut(Function<ItemRegister, T> query) {
+    if (parallelThreshold > 0 && size() < parallelThreshold) {
+      List<T> results = new ArrayList<>(shards.length);
+      for (Shard shard : shards) {
+        results.add(shard.apply(query));
+      }
+      return results;
+    }
+    List<ForkJoinTask<T>> tasks = new ArrayList<>(shards.length);
+    for (Shard shard : shards) {
+      tasks.add(ForkJoinTask.adapt(() -> shard.apply(query)));
+    }
+    ForkJoinTask.invokeAll(tasks);
+    List<T> results = new ArrayList<>(shards.length);
+    for (ForkJoinTask<T> task : tasks) {
+      results.add(task.join());
+    }
+    return results;
+  }
+
+  /**
+   * The method runs a listing on every shard in parallel, and merges the lists of the shards.
+   *
+   * @param listing the listing, which must list the items of a shard in that order.
+   * @param order the order of the merged list.
+   * @return the merged list.
+   */
+  private <T> List<T> fanOutSorted(Function<ItemRegister, List<T>> listing,
+                                   Comparator<T> order) {
+    return merge(fanOut(listing), order);
+  }
+
+  /**
+   * The method merges sorted lists into one sorted list, by merging them in pairs
+   * until one list is left.
+   *
+   * @param sortedLists the sorted lists.
+   * @param order the order of the lists.
+   * @param <T> the type of the elements of the lists.
+   * @return the merged list.
+   */
+  private static <T> List<T> merge(List<List<T>> sortedLists, Comparator<T> order) {
+    List<List<T>> lists = sortedLists;
+    while (lists.size() > 1) {
+      List<List<T>> merged = new ArrayList<>((lists.size() + 1) / 2);
+      for (int i = 0; i + 1 < lists.size(); i += 2) {
+        merged.add(merge(lists.get(i), lists.get(i + 1), order));
+      }
+      if (lists.size() % 2 == 1) {
+        merged.add(lists.get(lists.size() - 1));
+      }
+      lists = merged;
+    }
+    return lists.isEmpty() ? new ArrayList<>() : lists.get(0);
+  }
+
+  /**
+   * The method merges two sorted lists into one sorted list. When two items are equal in
+   * the order, the item of the first list comes first.
+   *
+   * @param first the first list.
+   * @param second the second list.
+   * @param order the order of the lists.
+   * @param <T> the type of the elements of the lists.
+   * @return the merged list.
+   */
+  private static <T> List<T> merge(List<T> first, List<T> second, Comparator<T> order) {
+    List<T> merged = new ArrayList<>(first.size() + second.size());
+    int i = 0;
+    int j = 0;
+    while (i < first.size() && j < second.size()) {
+      if (order.compare(second.get(j), first.get(i)) < 0) {
+        merged.add(second.get(j++));
+      } else {
+        merged.add(first.get(i++));
+      }
+    }
+    merged.addAll(first.subList(i, first.size()));
+    merged.addAll(second.subList(j, second.size()));
+    return merged;
+  }
+
+  @Override
+  public void registerItem(String itemNumber, String description, int price,
+                           String brandName, double weight, double length, double height,
+                           String color, int amountInStorage, int category) {
+    shardFor(itemNumber).apply(register -> {
+      register.registerItem(itemNumber, description, price, brandName, weight, length,
+              height, color, amountInStorage, category);
+      return null;
+    });
+  }
+
+  @Override
+  public ItemView getItemByItemNr(String itemNumber) {
+    return shardFor(itemNumber).apply(register -> register.getItemByItemNr(itemNumber));
+  }
+
+  @Override
+  public boolean increaseStorage(String itemNumber, int increase) {
+    return shardFor(itemNumber).apply(register -> register.increaseStorage(itemNumber,
+            increase));
+  }
+
+  @Override
+  public boolean decreaseStorage(String itemNumber, int decrease) {
+    return shardFor(itemNumber).apply(register -> register.decreaseStorage(itemNumber,
+            decrease));
+  }
+
+  @Override
+  public boolean removeItemFromStorage(String itemNumber) {
+    return shardFor(itemNumber).apply(register -> register.removeItemFromStorage(itemNumber));
+  }
+
+  @Override
+  public boolean addDiscount(String itemNumber, int discount) {
+    return shardFor(itemNumber).apply(register -> register.addDiscount(itemNumber, discount));
+  }
+
+  @Override
+  public boolean resetPriceOfItemToBeforeDiscount(String itemNumber) {
+    return shardFor(itemNumber).apply(register ->
+            register.resetPriceOfItemToBeforeDiscount(itemNumber));
+  }
+
+  @Override
+  public boolean changePrice(String itemNumber, int newPrice) {
+    return shardFor(itemNumber).apply(register -> register.changePrice(itemNumber, newPrice));
+  }
+
+  @Override
+  public boolean changeDescription(String itemNumber, String newDescription) {
+    return shardFor(itemNumber).apply(register ->
+            register.changeDescription(itemNumber, newDescription));
+  }
+
+  /**
+   * The method applies a batch of stock movements as one unit. The shards of every item in the
+   * batch are locked while it is validated and applied, in the order of the shards, so two
+   * batches can never wait for each other.
+   *
+   * @param movements the lines of the batch.
+   * @return the reason each invalid line was rejected, by the index of the line,
+   *         which is empty if the batch was applied.
+   */
+  @Override
+  public SortedMap<Integer, String> applyStockMovements(List<StockMovement> movements) {
+    int[] indexes = movements.stream()
+            .mapToInt(movement -> shardIndexFor(movement.getItemNumber()))
+            .distinct().sorted().toArray();
+    for (int index : indexes) {
+      shards[index].lock.lock();
+    }
+    try {
+      return Register.super.applyStockMovements(movements);
+    } finally {
+      for (int i = indexes.length - 1; i >= 0; i--) {
+        shards[indexes[i]].lock.unlock();
+      }
+    }
+  }
+
+  /**
+   * The method gets the items in a category, from every shard in parallel. The price of each
+   * item is read while the lock of its shard is held, and the lists are merged on those prices,
+   * so a price changed during the merge can't leave the merged list out of order.
+   *
+   * @param category category number.
+   * @return read-only views of the items in the category, sorted by price from highest
+   *         to lowest, and by item number when the price is the same.
+   */
+  @Override
+  public List<ItemView> getItemsByCategory(int category) {
+    List<Map.Entry<Integer, ItemView>> items = fanOutSorted(register -> {
+      List<ItemView> itemsInCategory = register.getItemsByCategory(category);
+      List<Map.Entry<Integer, ItemView>> prices = new ArrayList<>(itemsInCategory.size());
+      for (ItemView item : itemsInCategory) {
+        prices.add(Map.entry(item.getPrice(), item));
+      }
+      return prices;
+    }, PRICE_DESCENDING_THEN_ITEM_NUMBER);
+    List<ItemView> itemsByPrice = new ArrayList<>(items.size());
+    for (Map.Entry<Integer, ItemView> item : items) {
+      itemsByPrice.add(item.getValue());
+    }
+    return itemsByPrice;
+  }
+
+  /**
+   * The method gets the items that need replenishment, from every shard in parallel.
+   *
+   * @return read-only views of the items, sorted by category name and item number.
+   */
+  @Override
+  public boolean setReorderThreshold(String itemNumber, int threshold) {
+    return shardFor(itemNumber).apply(register -> register.setReorderThreshold(itemNumber,
+            threshold));
+  }
+
+  /**
+   * The method sets the reorder threshold of all items in a category, in every shard.
+   *
+   * @param category the category.
+   * @param threshold the reorder threshold.
+   * @throws IllegalArgumentException if threshold is less than zero.
+   */
+  @Override
+  public void setReorderThreshold(Category category, int threshold) {
+    RestockTracker.checkThreshold(threshold);
+    for (Shard shard : shards) {
+      shard.apply(register -> {
+        register.setReorderThreshold(category, threshold);
+        return null;
+      });
+    }
+  }
+
+  @Override
+  public List<ItemView> checkForRestockOfItems() {
+    return fanOutSorted(ItemRegister::checkForRestockOfItems, CATEGORY_NAME_THEN_ITEM_NUMBER);
+  }
+
+  @Override
+  public int size() {
+    int size = 0;
+    for (Shard shard : shards) {
+      size += shard.apply(ItemRegister::size);
+    }
+    return size;
+  }
+
+  @Override
+  public int countDiscountedItems() {
+    int count = 0;
+    for (Shard shard : shards) {
+      count += shard.apply(ItemRegister::countDiscountedItems);
+    }
+    return count;
+  }
+
+  /**
+   * The method retrieves the value, amount, weight and volume of all items in storage,
+   * by adding up the running totals of the shards. The shards are read one at a time,
+   * so changes made while the totals are added up may be counted in part.
+   *
+   * @return the valuation of all items.
+   * @see ItemRegister#getValuation()
+   */
+  public InventoryValuation getValuation() {
+    return sum(ItemRegister::getValuation);
+  }
+
+  /**
+   * The method retrieves the value, amount, weight and volume of the items in a category.
+   *
+   * @param category the category.
+   * @return the valuation of the items in the category.
+   * @see ItemRegister#getValuation(Category)
+   */
+  public InventoryValuation getValuation(Category category) {
+    return sum(register -> register.getValuation(category));
+  }
+
+  /**
+   * The method retrieves the value, amount, weight and volume of the items of a brand.
+   *
+   * @param brandName brand name, which is not case sensitive.
+   * @return the valuation of the items of the brand.
+   * @see ItemRegister#getValuationOfBrand(String)
+   */
+  public InventoryValuation getValuationOfBrand(String brandName) {
+    return sum(register -> register.getValuationOfBrand(brandName));
+  }
+
+  /**
+   * The method adds up a valuation of every shard.
+   *
+   * @param valuation the valuation to read from a shard.
+   * @return the sum of the valuations.
+   */
+  private InventoryValuation sum(Function<ItemRegister, InventoryValuation> valuation) {
+    InventoryValuation total = InventoryValuation.EMPTY;
+    for (Shard shard : shards) {
+      total = total.plus(shard.apply(valuation));
+    }
+    return total;
+  }
+
+  /**
+   * The method streams all registered items, sorted by category name and item number.
+   * The items of every shard are collected and sorted in parallel before the stream is
+   * returned.
+   *
+   * @return a stream of read-only views of all items.
+   */
+  @Override
+  public Stream<ItemView> streamItems() {
+    return fanOutSorted(register -> {
+      List<ItemView> items = new ArrayList<>(register.size());
+      register.streamItems().forEach(items::add);
+      items.sort(CATEGORY_NAME_THEN_ITEM_NUMBER);
+      return items;
+    }, CATEGORY_NAME_THEN_ITEM_NUMBER).stream();
+  }
+
+  /**
+   * The method gives each registered item in the list their descriptions, and displays it.
+   *
+   * @return information about all the items in the register, sorted by category name
+   *         and item number.
+   */
+  @Override
+  public String toString() {
+    List<ItemView> items = streamItems().toList();
+    StringBuilder sb = new StringBuilder(items.size() * 256);
+    for (ItemView item : items) {
+      sb.append(item);
+    }
+    return sb.toString();
+  }
+
+  /**
+   * The class represents one shard: an item register and the lock guarding it.
+   */
+  private static final class Shard {
+    private final ItemRegister register;
+    private final ReentrantLock lock;
+
+    /**
+     * Constructor to create an empty shard.
+     */
+    private Shard() {
+      this.register = new ItemRegister();
+      this.lock = new ReentrantLock();
+    }
+
+    /**
+     * The method runs an operation on the register, while holding the lock of the shard.
+     *
+     * @param operation the operation.
+     * @param <T> the type of the result.
+     * @return the result of the operation.
+     */
+    private <T> T apply(Function<ItemRegister, T> operation) {
+      lock.lock();
+      try {
+        return operation.apply(register);
+      } finally {
+        lock.unlock();
+      }
+    }
+  }
+}
@@ -0,0 +1,73 @@
+package wms;
+
+/**
+ * The class represents the stock of an item at one moment: the amount on hand in storage,
+ * the amount held by open reservations, and the amount that is left to reserve.
+ *
+ * @author agent.
+ * @version 1.0
+ * @since Oct 18, 2026.
+ */
+public final class StockLevel {
+  private final String itemNumber;
+  private final int onHand;
+  private final int reserved;
+
+  /**
+   * Constructor to create a stock level.
+   *
+   * @param itemNumber item number.
+   * @param onHand the amount in storage.
+   * @param reserved the amount held by open reservations.
+   */
+  StockLevel(String itemNumber, int onHand, int reserved) {
+    this.itemNumber = itemNumber;
+    this.onHand = onHand;
+    this.reserved = reserved;
+  }
+
+  /**
+   * The method retrieves the item number.
+   *
+   * @return item number.
+   */
+  public String getItemNumber() {
+    return itemNumber;
+  }
+
+  /**
+   * The method retrieves the amount of the item in storage.
+   *
+   * @return the amount on hand.
+   */
+  public int getOnHand() {
+    return onHand;
+  }
+
+  /**
+   * The method retrieves the amount of the item held by open reservations.
+   *
+   * @return the reserved amount.
+   */
+  public int getReserved() {
+    return reserved;
+  }
+
+  /**
+   * The method retrieves the amount of the item that can still be reserved.
+   * It is never less than zero.
+   *
+   * @return the available amount.
+   */
+  public int getAvailable() {
+    return Math.max(0, onHand - reserved);
+  }
+
+  @Override
+  public String toString() {
+    return "\nItem number: " + itemNumber + "."
+            + "\nOn hand: " + onHand + "."
+            + "\nReserved: " + reserved + "."
+            + "\nAvailable: " + getAvailable() + ".";
+  }
+}
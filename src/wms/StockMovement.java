@@ -0,0 +1,53 @@
+package wms;
+
+/**
+ * The class represents one line of a stock movement, such as a line of a goods receipt
+ * or of a pick wave. A positive change moves items into storage, and a negative change
+ * moves items out of storage.
+ *
+ * @author agent.
+ * @version 1.0
+ * @since Oct 18, 2026.
+ */
+public final class StockMovement {
+  private final String itemNumber;
+  private final int change;
+
+  /**
+   * Constructor to create a stock movement.
+   *
+   * @param itemNumber item number.
+   * @param change the change of the amount in storage.
+   * @throws IllegalArgumentException if the item number is blank.
+   */
+  public StockMovement(String itemNumber, int change) {
+    if (itemNumber.isBlank()) {
+      throw new IllegalArgumentException("\nYou must enter an item number.");
+    }
+    this.itemNumber = itemNumber;
+    this.change = change;
+  }
+
+  /**
+   * The method retrieves the item number.
+   *
+   * @return item number.
+   */
+  public String getItemNumber() {
+    return itemNumber;
+  }
+
+  /**
+   * The method retrieves the change of the amount in storage.
+   *
+   * @return the change, which is negative if items are moved out of storage.
+   */
+  public int getChange() {
+    return change;
+  }
+
+  @Override
+  public String toString() {
+    return itemNumber + (change < 0 ? " " : " +") + change;
+  }
+}
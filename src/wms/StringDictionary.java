@@ -0,0 +1,74 @@
+package wms;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The class dictionary-encodes strings that repeat across many items, such as brand names
+ * and colors. Each distinct string is stored once and is referred to by an integer code.
+ * Codes are never reused, so a code stays valid for the lifetime of the dictionary.
+ *
+ * @author agent.
+ * @version 1.0
+ * @since Oct 18, 2026.
+ */
+class StringDictionary {
+  private final Map<String, Integer> codes;
+  private final List<String> values;
+
+  /**
+   * Constructor to create an empty dictionary.
+   */
+  StringDictionary() {
+    this.codes = new HashMap<>();
+    this.values = new ArrayList<>();
+  }
+
+  /**
+   * The method retrieves the code of a string, and adds the string if it is new.
+   *
+   * @param value the string.
+   * @return the code of the string.
+   */
+  int encode(String value) {
+    Integer code = codes.get(value);
+    if (code == null) {
+      code = values.size();
+      codes.put(value, code);
+      values.add(value);
+    }
+    return code;
+  }
+
+  /**
+   * The method retrieves the code of a string, without adding it.
+   *
+   * @param value the string.
+   * @return the code of the string, or -1 if the string is not in the dictionary.
+   */
+  int lookup(String value) {
+    Integer code = codes.get(value);
+    return code == null ? -1 : code;
+  }
+
+  /**
+   * The method retrieves the string with the given code.
+   *
+   * @param code the code of the string.
+   * @return the string.
+   */
+  String decode(int code) {
+    return values.get(code);
+  }
+
+  /**
+   * The method retrieves the number of distinct strings in the dictionary.
+   *
+   * @return the number of distinct strings.
+   */
+  int size() {
+    return values.size();
+  }
+}
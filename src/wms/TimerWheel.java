@@ -0,0 +1,107 @@
+package wms;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The class represents a hashed timer wheel of reservations, which finds the reservations that
+ * have expired without looking at the ones that have not.
+ *
+ * <p>Time is divided into ticks of a fixed length, and the wheel has a fixed number of slots.
+ * A reservation is put in the slot of the tick it expires at, modulo the number of slots, so
+ * scheduling is constant time. Advancing the wheel visits only the slots of the ticks that
+ * passed, and takes the reservations in them whose tick has come. Reservations that expire more
+ * than a turn of the wheel ahead share the slot, and stay in it until their turn. Reservations
+ * that are closed before they expire are not taken out of their slot, but dropped when the slot
+ * is visited.</p>
+ *
+ * <p>The class is not thread-safe.</p>
+ *
+ * @author agent.
+ * @version 1.0
+ * @since Oct 18, 2026.
+ */
+class TimerWheel {
+  private final List<List<Reservation>> slots;
+  private final int mask;
+  private long currentTick;
+
+  /**
+   * Constructor to create an empty wheel.
+   *
+   * @param slots the number of slots, which must be a power of two.
+   * @param currentTick the tick the wheel starts at.
+   */
+  TimerWheel(int slots, long currentTick) {
+    this.slots = new ArrayList<>(slots);
+    for (int i = 0; i < slots; i++) {
+      this.slots.add(new ArrayList<>());
+    }
+    this.mask = slots - 1;
+    this.currentTick = currentTick;
+  }
+
+  /**
+   * The method retrieves the last tick the wheel was advanced to.
+   *
+   * @return the current tick.
+   */
+  long getCurrentTick() {
+    return currentTick;
+  }
+
+  /**
+   * The method puts a reservation in the slot of the tick it expires at. A reservation
+   * whose tick has already passed is put in the slot of the next tick.
+   *
+   * @param reservation the reservation.
+   */
+  void schedule(Reservation reservation) {
+    long tick = Math.max(reservation.getDeadlineTick(), currentTick + 1);
+    slots.get((int) tick & mask).add(reservation);
+  }
+
+  /**
+   * The method advances the wheel to a tick, and takes out the reservations that expire
+   * at or before it. Closed reservations in the visited slots are dropped. If more than a
+   * turn of ticks passed, every slot is visited once.
+   *
+   * @param tick the tick to advance to.
+   * @param expired the list to add the expired reservations to, which may include
+   *                reservations that were closed after the last sweep.
+   */
+  void advance(long tick, List<Reservation> expired) {
+    if (tick <= currentTick) {
+      return;
+    }
+    long end = Math.min(tick, currentTick + slots.size());
+    for (long t = currentTick + 1; t <= end; t++) {
+      sweep(slots.get((int) t & mask), tick, expired);
+    }
+    currentTick = tick;
+  }
+
+  /**
+   * The method takes the expired reservations out of a slot, and drops the closed ones,
+   * compacting the slot in place.
+   *
+   * @param slot the slot.
+   * @param tick the tick the wheel is advanced to.
+   * @param expired the list to add the expired reservations to.
+   */
+  private static void sweep(List<Reservation> slot, long tick, List<Reservation> expired) {
+    int kept = 0;
+    for (int i = 0; i < slot.size(); i++) {
+      Reservation reservation = slot.get(i);
+      if (!reservation.isOpen()) {
+        continue;
+      }
+      if (reservation.getDeadlineTick() <= tick) {
+        expired.add(reservation);
+      } else {
+        slot.set(kept++, reservation);
+      }
+    }
+    slot.subList(kept, slot.size()).clear();
+  }
+}
@@ -0,0 +1,36 @@
+package wms;
+
+/**
+ * The class contains the outcomes of a conditional update of an item.
+ *
+ * @author agent.
+ * @version 1.0
+ * @since Oct 18, 2026.
+ */
+public enum UpdateResult {
+  /**
+   * The condition held, and the item was updated.
+   */
+  APPLIED,
+  /**
+   * There is no item with the item number.
+   */
+  NOT_FOUND,
+  /**
+   * The item has another version than expected, because it was changed since it was read.
+   */
+  VERSION_CONFLICT,
+  /**
+   * The item has fewer in storage than the decrease.
+   */
+  INSUFFICIENT_STOCK;
+
+  /**
+   * The method checks if the update was applied.
+   *
+   * @return a boolean value which indicate whether the update was applied or not.
+   */
+  public boolean isApplied() {
+    return this == APPLIED;
+  }
+}
@@ -0,0 +1,310 @@
+package wms;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32C;
+
+/**
+ * The class represents an append-only log of binary records, written before a mutation
+ * of the register is acknowledged.
+ *
+ * <p>Each record is framed as its payload length, its log sequence number, its type,
+ * the payload and a checksum. A record that was only partly written when the process stopped
+ * fails its checksum, and is cut off the end of the log when the log is opened again.</p>
+ *
+ * <p>Appending a record only copies it into a buffer. The caller then waits for the record to be
+ * durable, and with group commit the first waiting caller writes and forces the records of all
+ * waiting callers with a single fsync.</p>
+ *
+ * <p>Once a snapshot covers the records at the start of the log, they are cut off by copying
+ * the records after them to a new file, which replaces the log. Records appended meanwhile
+ * are kept, so the log does not have to be empty when a snapshot is taken.</p>
+ *
+ * @author agent.
+ * @version 1.0
+ * @since Oct 18, 2026.
+ */
+class WriteAheadLog implements Closeable {
+  private static final int HEADER_SIZE = Integer.BYTES + Long.BYTES + Byte.BYTES;
+  private static final int RECORD_OVERHEAD = HEADER_SIZE + Integer.BYTES;
+  private static final int INITIAL_BUFFER_SIZE = 64 * 1024;
+
+  private final Path file;
+  private final FsyncPolicy policy;
+  private final CRC32C checksum;
+  private FileChannel channel;
+  private ByteBuffer pending;
+  private ByteBuffer flushing;
+  private long appendedLsn;
+  private long durableLsn;
+  private long size;
+  private boolean flushInProgress;
+  private IOException failure;
+
+  /**
+   * Constructor to create a log that appends to an open channel.
+   *
+   * @param file the log file.
+   * @param channel the channel of the log file, positioned at the end of the valid records.
+   * @param policy when records are forced to disk.
+   * @param lastLsn the sequence number of the last record already in the log.
+   * @param size the size of the valid records already in the log.
+   */
+  private WriteAheadLog(Path file, FileChannel channel, FsyncPolicy policy, long lastLsn,
+                        long size) {
+    this.file = file;
+    this.channel = channel;
+    this.policy = policy;
+    this.checksum = new CRC32C();
+    this.pending = ByteBuffer.allocate(INITIAL_BUFFER_SIZE);
+    this.flushing = ByteBuffer.allocate(INITIAL_BUFFER_SIZE);
+    this.appendedLsn = lastLsn;
+    this.durableLsn = lastLsn;
+    this.size = size;
+  }
+
+  /**
+   * The method opens a log file, and hands every valid record to a handler.
+   * Anything after the last valid record is cut off, so new records follow it directly.
+   *
+   * @param file the log file, which is created if it does not exist.
+   * @param policy when records are forced to disk.
+   * @param firstLsn the sequence number to continue from if the log is empty.
+   * @param handler receives every valid record, in the order they were appended.
+   * @return the opened log.
+   * @throws IOException if the log could not be read or opened.
+   */
+  static WriteAheadLog open(Path file, FsyncPolicy policy, long firstLsn, RecordHandler handler)
+          throws IOException {
+    FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+            StandardOpenOption.READ, StandardOpenOption.WRITE);
+    try {
+      long lastLsn = firstLsn;
+      long validEnd = 0;
+      if (channel.size() > 0) {
+        ByteBuffer contents = ByteBuffer.allocate(Math.toIntExact(channel.size()));
+        while (contents.hasRemaining() && channel.read(contents) >= 0) {
+          // Reads until the whole file is in the buffer.
+        }
+        contents.flip();
+        CRC32C crc = new CRC32C();
+        while (contents.remaining() >= RECORD_OVERHEAD) {
+          int start = contents.position();
+          int length = contents.getInt(start);
+          if (length < 0 || contents.remaining() < RECORD_OVERHEAD + length) {
+            break;
+          }
+          crc.reset();
+          crc.update(contents.slice(start, HEADER_SIZE + length));
+          if ((int) crc.getValue() != contents.getInt(start + HEADER_SIZE + length)) {
+            break;
+          }
+          long lsn = contents.getLong(start + Integer.BYTES);
+          byte type = contents.get(start + Integer.BYTES + Long.BYTES);
+          handler.accept(lsn, type, contents.slice(start + HEADER_SIZE, length).asReadOnlyBuffer());
+          lastLsn = Math.max(lastLsn, lsn);
+          contents.position(start + RECORD_OVERHEAD + length);
+          validEnd = contents.position();
+        }
+      }
+      channel.truncate(validEnd);
+      channel.position(validEnd);
+      return new WriteAheadLog(file, channel, policy, lastLsn, validEnd);
+    } catch (IOException | RuntimeException e) {
+      channel.close();
+      throw e;
+    }
+  }
+
+  /**
+   * The method appends a record to the log buffer. The record is not durable
+   * before awaitDurable has returned for its sequence number.
+   *
+   * @param type the type of the record.
+   * @param payload the payload, read from its position to its limit.
+   * @return the sequence number of the record.
+   */
+  synchronized long append(byte type, ByteBuffer payload) {
+    checkNotFailed();
+    int length = payload.remaining();
+    if (pending.remaining() < RECORD_OVERHEAD + length) {
+      int capacity = Math.max(pending.capacity() * 2, pending.position() + RECORD_OVERHEAD + length);
+      pending = ByteBuffer.allocate(capacity).put(pending.flip());
+    }
+    long lsn = ++appendedLsn;
+    int start = pending.position();
+    pending.putInt(length).putLong(lsn).put(type).put(payload);
+    checksum.reset();
+    checksum.update(pending.slice(start, HEADER_SIZE + length));
+    pending.putInt((int) checksum.getValue());
+    size += RECORD_OVERHEAD + length;
+    return lsn;
+  }
+
+  /**
+   * The method waits until a record has been written, and forced to disk if the policy says so.
+   *
+   * @param lsn the sequence number of the record.
+   * @throws UncheckedIOException if the log could not be written.
+   */
+  void awaitDurable(long lsn) {
+    while (true) {
+      ByteBuffer batch;
+      long batchLsn;
+      FileChannel target;
+      synchronized (this) {
+        while (durableLsn < lsn && flushInProgress && failure == null) {
+          try {
+            wait();
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("\nInterrupted while waiting for the log.", e);
+          }
+        }
+        checkNotFailed();
+        if (durableLsn >= lsn) {
+          return;
+        }
+        flushInProgress = true;
+        target = channel;
+        batch = pending.flip();
+        batchLsn = appendedLsn;
+        pending = flushing.clear();
+        flushing = batch;
+      }
+      IOException error = null;
+      try {
+        while (batch.hasRemaining()) {
+          target.write(batch);
+        }
+        if (policy != FsyncPolicy.NONE) {
+          target.force(false);
+        }
+      } catch (IOException e) {
+        error = e;
+      }
+      synchronized (this) {
+        flushInProgress = false;
+        if (error == null) {
+          durableLsn = batchLsn;
+        } else {
+          failure = error;
+        }
+        notifyAll();
+      }
+    }
+  }
+
+  /**
+   * The method retrieves the sequence number of the last appended record.
+   *
+   * @return the sequence number of the last appended record.
+   */
+  synchronized long getLastLsn() {
+    return appendedLsn;
+  }
+
+  /**
+   * The method retrieves the size of the log, including the records that are not written yet.
+   * The size right after a record is where the records after it start.
+   *
+   * @return the size of the log in bytes.
+   */
+  synchronized long getSize() {
+    return size;
+  }
+
+  /**
+   * The method cuts off the records at the start of the log, once they are covered by a
+   * snapshot. The records after them are copied to a new file, which replaces the log.
+   *
+   * @param end the size of the log right after the last record covered by the snapshot.
+   * @throws IOException if the log could not be replaced.
+   */
+  synchronized void truncate(long end) throws IOException {
+    awaitDurable(appendedLsn);
+    while (flushInProgress) {
+      try {
+        wait();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new IllegalStateException("\nInterrupted while waiting for the log.", e);
+      }
+    }
+    checkNotFailed();
+    long written = channel.size();
+    Path temporaryFile = file.resolveSibling(file.getFileName() + ".tmp");
+    try (FileChannel copy = FileChannel.open(temporaryFile, StandardOpenOption.CREATE,
+            StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+      for (long position = end; position < written; ) {
+        position += channel.transferTo(position, written - position, copy);
+      }
+      copy.force(true);
+    }
+    Files.move(temporaryFile, file, StandardCopyOption.REPLACE_EXISTING,
+            StandardCopyOption.ATOMIC_MOVE);
+    channel.close();
+    channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+    channel.position(written - end);
+    size -= end;
+  }
+
+  /**
+   * The method throws the first write failure of the log, if there was one.
+   *
+   * @throws UncheckedIOException if a write to the log has failed.
+   */
+  private void checkNotFailed() {
+    if (failure != null) {
+      throw new UncheckedIOException("\nThe write-ahead log could not be written.", failure);
+    }
+  }
+
+  /**
+   * The method writes the remaining records and closes the log file.
+   *
+   * @throws IOException if the log could not be written or closed.
+   */
+  @Override
+  public void close() throws IOException {
+    try {
+      awaitDurable(getLastLsn());
+    } catch (UncheckedIOException e) {
+      closeChannel();
+      throw e.getCause();
+    }
+    closeChannel();
+  }
+
+  /**
+   * The method closes the current channel of the log file.
+   *
+   * @throws IOException if the channel could not be closed.
+   */
+  private synchronized void closeChannel() throws IOException {
+    channel.close();
+  }
+
+  /**
+   * The interface receives the records of a log when it is opened.
+   */
+  @FunctionalInterface
+  interface RecordHandler {
+
+    /**
+     * The method receives one record.
+     *
+     * @param lsn the sequence number of the record.
+     * @param type the type of the record.
+     * @param payload the payload of the record.
+     */
+    void accept(long lsn, byte type, ByteBuffer payload);
+  }
+}